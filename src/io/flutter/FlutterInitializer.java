@@ -22,11 +22,14 @@ import io.flutter.analytics.Analytics;
 import io.flutter.analytics.ToolWindowTracker;
 import io.flutter.android.IntelliJAndroidSdk;
 import io.flutter.dart.DartfmtSettings;
+import io.flutter.inspector.FlutterWidget;
 import io.flutter.pub.PubRoot;
 import io.flutter.run.FlutterReloadManager;
 import io.flutter.run.FlutterRunNotifications;
 import io.flutter.run.daemon.DeviceService;
+import io.flutter.run.test.TestTimingHistory;
 import io.flutter.sdk.FlutterPluginsLibraryManager;
+import io.flutter.sdk.FlutterSdk;
 import io.flutter.settings.FlutterSettings;
 import io.flutter.utils.FlutterModuleUtils;
 import io.flutter.view.FlutterViewFactory;
@@ -121,6 +124,15 @@ public class FlutterInitializer implements StartupActivity {
     // Start watching for Flutter debug active events.
     FlutterViewFactory.init(project);
 
+    // Load the widget catalog in the background so the first inspector render does not have to.
+    FlutterWidget.preloadCatalog();
+
+    // Query flutter config in the background so that launches find the Android SDK without waiting.
+    final FlutterSdk flutterSdk = FlutterSdk.getFlutterSdk(project);
+    if (flutterSdk != null) {
+      flutterSdk.queryFlutterConfig("android-sdk");
+    }
+
     // If the project declares a Flutter dependency, do some extra initialization.
     final PubRoot root = PubRoot.singleForProjectWithRefresh(project);
     if (root != null && root.declaresFlutter()) {
@@ -147,6 +159,9 @@ public class FlutterInitializer implements StartupActivity {
     // Watch save actions.
     FlutterReloadManager.init(project);
 
+    // Record the durations of every test run, not only the runs that use them.
+    TestTimingHistory.init(project);
+
     // Do a one-time set for the default value of the whole file dartfmt setting.
     if (DartfmtSettings.dartPluginHasSetting()) {
       if (!DartfmtSettings.hasBeenOneTimeSet()) {
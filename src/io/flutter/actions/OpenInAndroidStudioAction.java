@@ -14,6 +14,7 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.Presentation;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.util.SystemInfo;
@@ -28,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
 
 public class OpenInAndroidStudioAction extends AnAction {
 
@@ -75,33 +77,41 @@ public class OpenInAndroidStudioAction extends AnAction {
     return null;
   }
 
-  @Nullable
-  private static String findAndroidStudio(@Nullable Project project) {
+  /**
+   * Returns the Android Studio location that flutter config reports, or null if it's not known.
+   */
+  @NotNull
+  private static CompletableFuture<String> findAndroidStudio(@Nullable Project project) {
     if (project == null) {
-      return null;
+      return CompletableFuture.completedFuture(null);
     }
 
     final FlutterSdk flutterSdk = FlutterSdk.getFlutterSdk(project);
-    if (flutterSdk != null) {
-      String androidSdkLocation = flutterSdk.queryFlutterConfig("android-studio-dir", true);
-      if (androidSdkLocation != null) {
-        if (androidSdkLocation.contains("/Android Studio 2")) {
-          Messages.showErrorDialog(FlutterBundle.message("old.android.studio.message", File.separator),
-                                   FlutterBundle.message("old.android.studio.title"));
-          return null;
-        }
-        if (androidSdkLocation.endsWith("/")) {
-          androidSdkLocation = androidSdkLocation.substring(0, androidSdkLocation.length() - 1);
-        }
-        final String contents = "/Contents";
-        // On a mac, trim off "/Contents".
-        if (SystemInfo.isMac && androidSdkLocation.endsWith(contents)) {
-          return androidSdkLocation.substring(0, androidSdkLocation.length() - contents.length());
-        }
-        return androidSdkLocation;
-      }
+    if (flutterSdk == null) {
+      return CompletableFuture.completedFuture(null);
     }
-    return null;
+    return flutterSdk.queryFlutterConfig("android-studio-dir");
+  }
+
+  /**
+   * Returns the path to launch Android Studio with, or null after telling the user if it's too old.
+   */
+  @Nullable
+  private static String toAndroidStudioPath(@NotNull String androidSdkLocation) {
+    if (androidSdkLocation.contains("/Android Studio 2")) {
+      Messages.showErrorDialog(FlutterBundle.message("old.android.studio.message", File.separator),
+                               FlutterBundle.message("old.android.studio.title"));
+      return null;
+    }
+    if (androidSdkLocation.endsWith("/")) {
+      androidSdkLocation = androidSdkLocation.substring(0, androidSdkLocation.length() - 1);
+    }
+    final String contents = "/Contents";
+    // On a mac, trim off "/Contents".
+    if (SystemInfo.isMac && androidSdkLocation.endsWith(contents)) {
+      return androidSdkLocation.substring(0, androidSdkLocation.length() - contents.length());
+    }
+    return androidSdkLocation;
   }
 
   private static VirtualFile findProjectFile(@Nullable AnActionEvent e) {
@@ -141,18 +151,26 @@ public class OpenInAndroidStudioAction extends AnAction {
       return;
     }
 
-    final String androidStudioPath = findAndroidStudio(e.getProject());
-    if (androidStudioPath == null) {
-      FlutterMessages.showError("Error Opening Android Studio", "Unable to locate Android Studio.");
-      return;
-    }
-
     final VirtualFile projectFile = findProjectFile(e);
-    if (projectFile == null) {
-      FlutterMessages.showError("Error Opening Android Studio", "Project not found.");
-      return;
-    }
 
-    openFileInStudio(projectFile, androidStudioPath);
+    // Asking flutter config can take a while, so don't wait for it on the UI thread.
+    findAndroidStudio(e.getProject()).thenAccept(location -> ApplicationManager.getApplication().invokeLater(() -> {
+      if (location == null) {
+        FlutterMessages.showError("Error Opening Android Studio", "Unable to locate Android Studio.");
+        return;
+      }
+
+      final String androidStudioPath = toAndroidStudioPath(location);
+      if (androidStudioPath == null) {
+        return;
+      }
+
+      if (projectFile == null) {
+        FlutterMessages.showError("Error Opening Android Studio", "Project not found.");
+        return;
+      }
+
+      openFileInStudio(projectFile, androidStudioPath);
+    }));
   }
 }
@@ -111,11 +111,11 @@ public class IntelliJAndroidSdk {
       return intelliJAndroidSdk.getHome().getPath();
     }
 
-    // Ask flutter tools.
+    // Ask flutter tools; the answer is usually cached since FlutterInitializer asks at startup.
     if (askFlutterTools) {
       final FlutterSdk flutterSdk = FlutterSdk.getFlutterSdk(project);
       if (flutterSdk != null) {
-        final String androidSdkLocation = flutterSdk.queryFlutterConfig("android-sdk", true);
+        final String androidSdkLocation = flutterSdk.getFlutterConfig("android-sdk");
         if (androidSdkLocation != null) {
           return androidSdkLocation;
         }
@@ -8,140 +8,188 @@ package io.flutter.editor;
 import com.intellij.lang.annotation.Annotation;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ui.ColorIcon;
+import com.jetbrains.lang.dart.DartTokenTypes;
 import com.jetbrains.lang.dart.psi.DartArrayAccessExpression;
 import com.jetbrains.lang.dart.psi.DartNewExpression;
 import com.jetbrains.lang.dart.psi.DartReferenceExpression;
 import io.flutter.utils.FlutterModuleUtils;
+import io.flutter.utils.IconCache;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.IOException;
-import java.util.Properties;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class FlutterEditorAnnotator implements Annotator {
-  private static final Logger LOG = Logger.getInstance(FlutterEditorAnnotator.class);
+  private static final int MAX_CACHED_COLOR_ICONS = 256;
 
-  private static final Properties colors;
-
-  static {
-    colors = new Properties();
-
-    try {
-      colors.load(FlutterEditorAnnotator.class.getResourceAsStream("/flutter/colors.properties"));
-    }
-    catch (IOException e) {
-      LOG.warn(e);
-    }
-  }
+  /**
+   * Gutter color icons keyed by ARGB value.
+   */
+  private static final IconCache<Integer> colorIcons = new IconCache<>(MAX_CACHED_COLOR_ICONS);
 
   @Override
   public void annotate(@NotNull PsiElement element, @NotNull AnnotationHolder holder) {
     if (holder.isBatchMode()) return;
 
-    // TODO(devoncarew): Use a DartVisitor instead of calling element.getText()?
+    if (!(element instanceof DartReferenceExpression || element instanceof DartArrayAccessExpression ||
+          element instanceof DartNewExpression)) {
+      return;
+    }
+    final PsiFile file = element.getContainingFile();
+    if (file == null) return;
 
-    if (element instanceof DartReferenceExpression || element instanceof DartArrayAccessExpression) {
-      if (!FlutterModuleUtils.isInFlutterModule(element)) {
-        return;
-      }
+    final Icon icon = getFileIcons(file).get(element);
+    if (icon != null) {
+      attachIcon(element, holder, icon);
+    }
+  }
 
-      final String text = element.getText();
+  /**
+   * Returns the gutter icons for the Colors, Icons, IconData and Color expressions in a file.
+   * <p>
+   * The file is scanned in a single pass that is cached until the file is
+   * modified, so re-highlighting an unchanged file only does a map lookup
+   * per element.
+   */
+  @NotNull
+  private static Map<PsiElement, Icon> getFileIcons(@NotNull PsiFile file) {
+    return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(computeFileIcons(file), file));
+  }
 
-      if (text.startsWith("Colors.")) {
-        final String key = text.substring("Colors.".length());
-        if (colors.containsKey(key)) {
-          final Color color = getColor(key);
-          if (color != null) {
-            attachColorIcon(element, holder, color);
+  @NotNull
+  private static Map<PsiElement, Icon> computeFileIcons(@NotNull PsiFile file) {
+    final boolean inFlutterModule = FlutterModuleUtils.isInFlutterModule(file);
+    final Map<PsiElement, Icon> icons = new HashMap<>();
+    file.accept(new PsiRecursiveElementWalkingVisitor() {
+      @Override
+      public void visitElement(PsiElement element) {
+        super.visitElement(element);
+
+        Icon icon = null;
+        if (element instanceof DartReferenceExpression || element instanceof DartArrayAccessExpression) {
+          if (inFlutterModule) {
+            icon = getReferenceIcon(element);
           }
         }
-        else if (!(element.getParent() instanceof DartArrayAccessExpression) && colors.containsKey(key + ".primary")) {
-          // If we're a primary color access, and we're not followed by an array access (really referencing a
-          // more specific color).
-          final Color color = getColor(key + ".primary");
-          if (color != null) {
-            attachColorIcon(element, holder, color);
-          }
+        else if (element instanceof DartNewExpression) {
+          // For IconData, we want to be able to show icons in the flutter package as well.
+          icon = getNewExpressionIcon(element);
         }
-      }
-      else if (text.startsWith("Icons.")) {
-        final String key = text.substring("Icons.".length());
-        final Icon icon = FlutterMaterialIcons.getMaterialIconForName(key);
         if (icon != null) {
-          attachIcon(element, holder, icon);
+          icons.put(element, icon);
         }
       }
-    }
-    else if (element instanceof DartNewExpression) {
-      // For IconData, we want to be able to show icons in the flutter package as well.
-      //if (!isInFlutterModule(element)) {
-      //  return;
-      //}
-
-      // const IconData(0xe914)
-      final String text = element.getText();
-
-      if (text.startsWith("const IconData(") && text.endsWith(")")) {
-        String val = text.substring("const IconData(".length());
-        val = val.substring(0, val.length() - 1);
-        final int index = val.indexOf(',');
-        if (index != -1) {
-          val = val.substring(0, index);
-        }
-        try {
-          final int value = val.startsWith("0x")
-                            ? Integer.parseInt(val.substring(2), 16)
-                            : Integer.parseInt(val);
-          final String hex = Integer.toHexString(value);
-          final Icon icon = FlutterMaterialIcons.getMaterialIconForHex(hex);
-          if (icon != null) {
-            attachIcon(element, holder, icon);
-          }
-        }
-        catch (NumberFormatException ignored) {
-        }
-      }
-      else if (text.startsWith("const Color(") && text.endsWith(")")) {
-        String val = text.substring("const Color(".length());
-        val = val.substring(0, val.length() - 1);
-        try {
-          final long value = val.startsWith("0x")
-                             ? Long.parseLong(val.substring(2), 16)
-                             : Long.parseLong(val);
-          //noinspection UseJBColor
-          final Color color = new Color((int)(value >> 16) & 0xFF, (int)(value >> 8) & 0xFF, (int)value & 0xFF, (int)(value >> 24) & 0xFF);
-          attachColorIcon(element, holder, color);
-        }
-        catch (NumberFormatException ignored) {
-        }
+    });
+    return icons.isEmpty() ? Collections.emptyMap() : icons;
+  }
+
+  /**
+   * Returns the icon for a <code>Colors.*</code> or <code>Icons.*</code> reference.
+   */
+  @Nullable
+  private static Icon getReferenceIcon(@NotNull PsiElement element) {
+    // Check the tokens so that no text is allocated for the common case of other references.
+    final PsiElement first = PsiTreeUtil.firstChild(element);
+    if (!isToken(first, DartTokenTypes.IDENTIFIER)) return null;
+    final boolean isColors = first.textMatches("Colors");
+    if (!isColors && !first.textMatches("Icons")) return null;
+    final PsiElement dot = PsiTreeUtil.nextLeaf(first);
+    if (!isToken(dot, DartTokenTypes.DOT)) return null;
+
+    final String key = getTextAfter(dot, element);
+    if (key.isEmpty()) return null;
+
+    if (isColors) {
+      Integer argb = FlutterMaterialIcons.getColorValue(key);
+      if (argb == null && !(element.getParent() instanceof DartArrayAccessExpression)) {
+        // If we're a primary color access, and we're not followed by an array access (really referencing a
+        // more specific color).
+        argb = FlutterMaterialIcons.getColorValue(key + ".primary");
       }
+      return argb != null ? getColorIcon(argb) : null;
     }
+    return FlutterMaterialIcons.getMaterialIconForName(key);
   }
 
-  private static Color getColor(String name) {
+  /**
+   * Returns the icon for a <code>const IconData(0xe914)</code> or <code>const Color(0xff00ff00)</code> expression.
+   */
+  @Nullable
+  private static Icon getNewExpressionIcon(@NotNull PsiElement element) {
+    final PsiElement constKeyword = PsiTreeUtil.firstChild(element);
+    if (!isToken(constKeyword, DartTokenTypes.CONST)) return null;
+    final PsiElement space = PsiTreeUtil.nextLeaf(constKeyword);
+    if (!isToken(space, TokenType.WHITE_SPACE) || !space.textMatches(" ")) return null;
+    final PsiElement type = PsiTreeUtil.nextLeaf(space);
+    if (!isToken(type, DartTokenTypes.IDENTIFIER)) return null;
+    final boolean isIconData = type.textMatches("IconData");
+    if (!isIconData && !type.textMatches("Color")) return null;
+    final PsiElement leftParen = PsiTreeUtil.nextLeaf(type);
+    if (!isToken(leftParen, DartTokenTypes.LPAREN)) return null;
+    final PsiElement number = PsiTreeUtil.nextLeaf(leftParen);
+    if (!isToken(number, DartTokenTypes.NUMBER) && !isToken(number, DartTokenTypes.HEX_NUMBER)) return null;
+
+    final PsiElement last = PsiTreeUtil.lastChild(element);
+    if (!isToken(last, DartTokenTypes.RPAREN)) return null;
+    final PsiElement afterNumber = PsiTreeUtil.nextLeaf(number);
+    if (afterNumber != last && !(isIconData && isToken(afterNumber, DartTokenTypes.COMMA))) return null;
+
+    final String val = number.getText();
     try {
-      final String hexValue = colors.getProperty(name);
-      if (hexValue == null) {
-        return null;
+      if (isIconData) {
+        final int value = val.startsWith("0x")
+                          ? Integer.parseInt(val.substring(2), 16)
+                          : Integer.parseInt(val);
+        final String hex = Integer.toHexString(value);
+        return FlutterMaterialIcons.getMaterialIconForHex(hex);
+      }
+      else {
+        final long value = val.startsWith("0x")
+                           ? Long.parseLong(val.substring(2), 16)
+                           : Long.parseLong(val);
+        return getColorIcon((int)value);
       }
-
-      // argb to r, g, b, a
-      final long value = Long.parseLong(hexValue, 16);
-
-      //noinspection UseJBColor
-      return new Color((int)(value >> 16) & 0xFF, (int)(value >> 8) & 0xFF, (int)value & 0xFF, (int)(value >> 24) & 0xFF);
     }
-    catch (IllegalArgumentException e) {
+    catch (NumberFormatException ignored) {
       return null;
     }
   }
 
-  private static void attachColorIcon(final PsiElement element, AnnotationHolder holder, Color color) {
-    attachIcon(element, holder, new ColorIcon(16, 12, color, true));
+  private static boolean isToken(@Nullable PsiElement element, @NotNull IElementType type) {
+    return element != null && element.getNode() != null && element.getNode().getElementType() == type;
+  }
+
+  /**
+   * Returns the text of the leaves of element that follow the given leaf.
+   */
+  @NotNull
+  private static String getTextAfter(@NotNull PsiElement leaf, @NotNull PsiElement element) {
+    final PsiElement last = PsiTreeUtil.lastChild(element);
+    if (leaf == last) return "";
+    final StringBuilder text = new StringBuilder();
+    for (PsiElement next = PsiTreeUtil.nextLeaf(leaf); next != null; next = PsiTreeUtil.nextLeaf(next)) {
+      text.append(next.getNode().getChars());
+      if (next == last) break;
+    }
+    return text.toString();
+  }
+
+  private static Icon getColorIcon(int argb) {
+    //noinspection UseJBColor
+    return colorIcons.get(argb, (Integer value) -> new ColorIcon(16, 12, new Color(value, true), true));
   }
 
   private static void attachIcon(final PsiElement element, AnnotationHolder holder, Icon icon) {
@@ -5,46 +5,68 @@
  */
 package io.flutter.editor;
 
-import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.IconLoader;
+import io.flutter.utils.IconCache;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
-import java.io.IOException;
-import java.util.Properties;
+import java.util.Arrays;
 
+/**
+ * Material icons and colors, looked up in the precompiled {@link MaterialIndex}.
+ */
 public class FlutterMaterialIcons {
-  private static final Logger LOG = Logger.getInstance(FlutterMaterialIcons.class);
-
-  private static final Properties icons;
+  private static final int MAX_CACHED_ICONS = 256;
 
-  static {
-    icons = new Properties();
+  /**
+   * Loaded icons keyed by their index in {@link MaterialIndex#ICON_NAMES}.
+   */
+  private static final IconCache<Integer> icons = new IconCache<>(MAX_CACHED_ICONS);
 
+  public static Icon getMaterialIconForHex(String hexValue) {
     try {
-      icons.load(FlutterEditorAnnotator.class.getResourceAsStream("/flutter/icons.properties"));
+      return getMaterialIconForCodePoint(Integer.parseInt(hexValue, 16));
     }
-    catch (IOException e) {
-      LOG.warn(e);
+    catch (NumberFormatException e) {
+      return null;
     }
   }
 
-  public static Icon getMaterialIconForHex(String hexValue) {
-    final String iconName = icons.getProperty(hexValue + ".codepoint");
-    return getIcon(iconName);
+  @Nullable
+  public static Icon getMaterialIconForCodePoint(int codePoint) {
+    final int index = Arrays.binarySearch(MaterialIndex.ICON_CODE_POINTS, codePoint);
+    if (index < 0) {
+      return null;
+    }
+    return getIcon(MaterialIndex.ICON_CODE_POINT_NAMES[index]);
   }
 
   public static Icon getMaterialIconForName(String name) {
-    return getIcon(name);
-  }
-
-  private static Icon getIcon(String name) {
     if (name == null) {
       return null;
     }
-    final String path = icons.getProperty(name);
-    if (path == null) {
+    final int index = Arrays.binarySearch(MaterialIndex.ICON_NAMES, name);
+    return index < 0 ? null : getIcon(index);
+  }
+
+  /**
+   * Returns the ARGB value of a material color such as <code>red[500]</code>
+   * or <code>red.primary</code>, or null if there is no such color.
+   */
+  @Nullable
+  public static Integer getColorValue(String name) {
+    if (name == null) {
       return null;
     }
-    return IconLoader.findIcon(path, FlutterEditorAnnotator.class);
+    final int index = Arrays.binarySearch(MaterialIndex.COLOR_NAMES, name);
+    return index < 0 ? null : MaterialIndex.COLOR_VALUES[index];
+  }
+
+  private static Icon getIcon(int index) {
+    return icons.get(index, (Integer i) -> {
+      final String path = "/flutter/icons/" + MaterialIndex.ICON_CATEGORIES[MaterialIndex.ICON_CATEGORY[i]] + "/" +
+                          MaterialIndex.ICON_NAMES[i] + ".png";
+      return IconLoader.findIcon(path, FlutterEditorAnnotator.class);
+    });
   }
 }
@@ -0,0 +1,1697 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.editor;
+
+// Generated file - do not edit.
+// Compiled from resources/flutter/colors.properties and icons.properties by tool/editor/material_index_main.dart.
+
+/**
+ * Precompiled index of the material colors and icons.
+ */
+final class MaterialIndex {
+  private MaterialIndex() {
+  }
+
+  /**
+   * Names of the material colors relative to Colors, sorted for binary search.
+   */
+  static final String[] COLOR_NAMES = {
+    "amber.primary",
+    "amberAccent.primary",
+    "amberAccent[100]",
+    "amberAccent[200]",
+    "amberAccent[400]",
+    "amberAccent[700]",
+    "amber[100]",
+    "amber[200]",
+    "amber[300]",
+    "amber[400]",
+    "amber[500]",
+    "amber[50]",
+    "amber[600]",
+    "amber[700]",
+    "amber[800]",
+    "amber[900]",
+    "black",
+    "black12",
+    "black26",
+    "black38",
+    "black45",
+    "black54",
+    "black87",
+    "blue.primary",
+    "blueAccent.primary",
+    "blueAccent[100]",
+    "blueAccent[200]",
+    "blueAccent[400]",
+    "blueAccent[700]",
+    "blueGrey.primary",
+    "blueGrey[100]",
+    "blueGrey[200]",
+    "blueGrey[300]",
+    "blueGrey[400]",
+    "blueGrey[500]",
+    "blueGrey[50]",
+    "blueGrey[600]",
+    "blueGrey[700]",
+    "blueGrey[800]",
+    "blueGrey[900]",
+    "blue[100]",
+    "blue[200]",
+    "blue[300]",
+    "blue[400]",
+    "blue[500]",
+    "blue[50]",
+    "blue[600]",
+    "blue[700]",
+    "blue[800]",
+    "blue[900]",
+    "brown.primary",
+    "brown[100]",
+    "brown[200]",
+    "brown[300]",
+    "brown[400]",
+    "brown[500]",
+    "brown[50]",
+    "brown[600]",
+    "brown[700]",
+    "brown[800]",
+    "brown[900]",
+    "cyan.primary",
+    "cyanAccent.primary",
+    "cyanAccent[100]",
+    "cyanAccent[200]",
+    "cyanAccent[400]",
+    "cyanAccent[700]",
+    "cyan[100]",
+    "cyan[200]",
+    "cyan[300]",
+    "cyan[400]",
+    "cyan[500]",
+    "cyan[50]",
+    "cyan[600]",
+    "cyan[700]",
+    "cyan[800]",
+    "cyan[900]",
+    "deepOrange.primary",
+    "deepOrangeAccent.primary",
+    "deepOrangeAccent[100]",
+    "deepOrangeAccent[200]",
+    "deepOrangeAccent[400]",
+    "deepOrangeAccent[700]",
+    "deepOrange[100]",
+    "deepOrange[200]",
+    "deepOrange[300]",
+    "deepOrange[400]",
+    "deepOrange[500]",
+    "deepOrange[50]",
+    "deepOrange[600]",
+    "deepOrange[700]",
+    "deepOrange[800]",
+    "deepOrange[900]",
+    "deepPurple.primary",
+    "deepPurpleAccent.primary",
+    "deepPurpleAccent[100]",
+    "deepPurpleAccent[200]",
+    "deepPurpleAccent[400]",
+    "deepPurpleAccent[700]",
+    "deepPurple[100]",
+    "deepPurple[200]",
+    "deepPurple[300]",
+    "deepPurple[400]",
+    "deepPurple[500]",
+    "deepPurple[50]",
+    "deepPurple[600]",
+    "deepPurple[700]",
+    "deepPurple[800]",
+    "deepPurple[900]",
+    "green.primary",
+    "greenAccent.primary",
+    "greenAccent[100]",
+    "greenAccent[200]",
+    "greenAccent[400]",
+    "greenAccent[700]",
+    "green[100]",
+    "green[200]",
+    "green[300]",
+    "green[400]",
+    "green[500]",
+    "green[50]",
+    "green[600]",
+    "green[700]",
+    "green[800]",
+    "green[900]",
+    "grey.primary",
+    "grey[100]",
+    "grey[200]",
+    "grey[300]",
+    "grey[350]",
+    "grey[400]",
+    "grey[500]",
+    "grey[50]",
+    "grey[600]",
+    "grey[700]",
+    "grey[800]",
+    "grey[850]",
+    "grey[900]",
+    "indigo.primary",
+    "indigoAccent.primary",
+    "indigoAccent[100]",
+    "indigoAccent[200]",
+    "indigoAccent[400]",
+    "indigoAccent[700]",
+    "indigo[100]",
+    "indigo[200]",
+    "indigo[300]",
+    "indigo[400]",
+    "indigo[500]",
+    "indigo[50]",
+    "indigo[600]",
+    "indigo[700]",
+    "indigo[800]",
+    "indigo[900]",
+    "lightBlue.primary",
+    "lightBlueAccent.primary",
+    "lightBlueAccent[100]",
+    "lightBlueAccent[200]",
+    "lightBlueAccent[400]",
+    "lightBlueAccent[700]",
+    "lightBlue[100]",
+    "lightBlue[200]",
+    "lightBlue[300]",
+    "lightBlue[400]",
+    "lightBlue[500]",
+    "lightBlue[50]",
+    "lightBlue[600]",
+    "lightBlue[700]",
+    "lightBlue[800]",
+    "lightBlue[900]",
+    "lightGreen.primary",
+    "lightGreenAccent.primary",
+    "lightGreenAccent[100]",
+    "lightGreenAccent[200]",
+    "lightGreenAccent[400]",
+    "lightGreenAccent[700]",
+    "lightGreen[100]",
+    "lightGreen[200]",
+    "lightGreen[300]",
+    "lightGreen[400]",
+    "lightGreen[500]",
+    "lightGreen[50]",
+    "lightGreen[600]",
+    "lightGreen[700]",
+    "lightGreen[800]",
+    "lightGreen[900]",
+    "lime.primary",
+    "limeAccent.primary",
+    "limeAccent[100]",
+    "limeAccent[200]",
+    "limeAccent[400]",
+    "limeAccent[700]",
+    "lime[100]",
+    "lime[200]",
+    "lime[300]",
+    "lime[400]",
+    "lime[500]",
+    "lime[50]",
+    "lime[600]",
+    "lime[700]",
+    "lime[800]",
+    "lime[900]",
+    "orange.primary",
+    "orangeAccent.primary",
+    "orangeAccent[100]",
+    "orangeAccent[200]",
+    "orangeAccent[400]",
+    "orangeAccent[700]",
+    "orange[100]",
+    "orange[200]",
+    "orange[300]",
+    "orange[400]",
+    "orange[500]",
+    "orange[50]",
+    "orange[600]",
+    "orange[700]",
+    "orange[800]",
+    "orange[900]",
+    "pink.primary",
+    "pinkAccent.primary",
+    "pinkAccent[100]",
+    "pinkAccent[200]",
+    "pinkAccent[400]",
+    "pinkAccent[700]",
+    "pink[100]",
+    "pink[200]",
+    "pink[300]",
+    "pink[400]",
+    "pink[500]",
+    "pink[50]",
+    "pink[600]",
+    "pink[700]",
+    "pink[800]",
+    "pink[900]",
+    "purple.primary",
+    "purpleAccent.primary",
+    "purpleAccent[100]",
+    "purpleAccent[200]",
+    "purpleAccent[400]",
+    "purpleAccent[700]",
+    "purple[100]",
+    "purple[200]",
+    "purple[300]",
+    "purple[400]",
+    "purple[500]",
+    "purple[50]",
+    "purple[600]",
+    "purple[700]",
+    "purple[800]",
+    "purple[900]",
+    "red.primary",
+    "redAccent.primary",
+    "redAccent[100]",
+    "redAccent[200]",
+    "redAccent[400]",
+    "redAccent[700]",
+    "red[100]",
+    "red[200]",
+    "red[300]",
+    "red[400]",
+    "red[500]",
+    "red[50]",
+    "red[600]",
+    "red[700]",
+    "red[800]",
+    "red[900]",
+    "teal.primary",
+    "tealAccent.primary",
+    "tealAccent[100]",
+    "tealAccent[200]",
+    "tealAccent[400]",
+    "tealAccent[700]",
+    "teal[100]",
+    "teal[200]",
+    "teal[300]",
+    "teal[400]",
+    "teal[500]",
+    "teal[50]",
+    "teal[600]",
+    "teal[700]",
+    "teal[800]",
+    "teal[900]",
+    "transparent",
+    "white",
+    "white10",
+    "white12",
+    "white30",
+    "white70",
+    "yellow.primary",
+    "yellowAccent.primary",
+    "yellowAccent[100]",
+    "yellowAccent[200]",
+    "yellowAccent[400]",
+    "yellowAccent[700]",
+    "yellow[100]",
+    "yellow[200]",
+    "yellow[300]",
+    "yellow[400]",
+    "yellow[500]",
+    "yellow[50]",
+    "yellow[600]",
+    "yellow[700]",
+    "yellow[800]",
+    "yellow[900]",
+  };
+
+  /**
+   * ARGB value of each color in COLOR_NAMES.
+   */
+  static final int[] COLOR_VALUES = {
+    0xffffc107, 0xffffd740, 0xffffe57f, 0xffffd740, 0xffffc400, 0xffffab00, 0xffffecb3, 0xffffe082,
+    0xffffd54f, 0xffffca28, 0xffffc107, 0xfffff8e1, 0xffffb300, 0xffffa000, 0xffff8f00, 0xffff6f00,
+    0xff000000, 0x1f000000, 0x42000000, 0x61000000, 0x73000000, 0x8a000000, 0xdd000000, 0xff2196f3,
+    0xff448aff, 0xff82b1ff, 0xff448aff, 0xff2979ff, 0xff2962ff, 0xff607d8b, 0xffcfd8dc, 0xffb0bec5,
+    0xff90a4ae, 0xff78909c, 0xff607d8b, 0xffeceff1, 0xff546e7a, 0xff455a64, 0xff37474f, 0xff263238,
+    0xffbbdefb, 0xff90caf9, 0xff64b5f6, 0xff42a5f5, 0xff2196f3, 0xffe3f2fd, 0xff1e88e5, 0xff1976d2,
+    0xff1565c0, 0xff0d47a1, 0xff795548, 0xffd7ccc8, 0xffbcaaa4, 0xffa1887f, 0xff8d6e63, 0xff795548,
+    0xffefebe9, 0xff6d4c41, 0xff5d4037, 0xff4e342e, 0xff3e2723, 0xff00bcd4, 0xff18ffff, 0xff84ffff,
+    0xff18ffff, 0xff00e5ff, 0xff00b8d4, 0xffb2ebf2, 0xff80deea, 0xff4dd0e1, 0xff26c6da, 0xff00bcd4,
+    0xffe0f7fa, 0xff00acc1, 0xff0097a7, 0xff00838f, 0xff006064, 0xffff5722, 0xffff6e40, 0xffff9e80,
+    0xffff6e40, 0xffff3d00, 0xffdd2c00, 0xffffccbc, 0xffffab91, 0xffff8a65, 0xffff7043, 0xffff5722,
+    0xfffbe9e7, 0xfff4511e, 0xffe64a19, 0xffd84315, 0xffbf360c, 0xff673ab7, 0xff7c4dff, 0xffb388ff,
+    0xff7c4dff, 0xff651fff, 0xff6200ea, 0xffd1c4e9, 0xffb39ddb, 0xff9575cd, 0xff7e57c2, 0xff673ab7,
+    0xffede7f6, 0xff5e35b1, 0xff512da8, 0xff4527a0, 0xff311b92, 0xff4caf50, 0xff69f0ae, 0xffb9f6ca,
+    0xff69f0ae, 0xff00e676, 0xff00c853, 0xffc8e6c9, 0xffa5d6a7, 0xff81c784, 0xff66bb6a, 0xff4caf50,
+    0xffe8f5e9, 0xff43a047, 0xff388e3c, 0xff2e7d32, 0xff1b5e20, 0xff9e9e9e, 0xfff5f5f5, 0xffeeeeee,
+    0xffe0e0e0, 0xffd6d6d6, 0xffbdbdbd, 0xff9e9e9e, 0xfffafafa, 0xff757575, 0xff616161, 0xff424242,
+    0xff303030, 0xff212121, 0xff3f51b5, 0xff536dfe, 0xff8c9eff, 0xff536dfe, 0xff3d5afe, 0xff304ffe,
+    0xffc5cae9, 0xff9fa8da, 0xff7986cb, 0xff5c6bc0, 0xff3f51b5, 0xffe8eaf6, 0xff3949ab, 0xff303f9f,
+    0xff283593, 0xff1a237e, 0xff03a9f4, 0xff40c4ff, 0xff80d8ff, 0xff40c4ff, 0xff00b0ff, 0xff0091ea,
+    0xffb3e5fc, 0xff81d4fa, 0xff4fc3f7, 0xff29b6f6, 0xff03a9f4, 0xffe1f5fe, 0xff039be5, 0xff0288d1,
+    0xff0277bd, 0xff01579b, 0xff8bc34a, 0xffb2ff59, 0xffccff90, 0xffb2ff59, 0xff76ff03, 0xff64dd17,
+    0xffdcedc8, 0xffc5e1a5, 0xffaed581, 0xff9ccc65, 0xff8bc34a, 0xfff1f8e9, 0xff7cb342, 0xff689f38,
+    0xff558b2f, 0xff33691e, 0xffcddc39, 0xffeeff41, 0xfff4ff81, 0xffeeff41, 0xffc6ff00, 0xffaeea00,
+    0xfff0f4c3, 0xffe6ee9c, 0xffdce775, 0xffd4e157, 0xffcddc39, 0xfff9fbe7, 0xffc0ca33, 0xffafb42b,
+    0xff9e9d24, 0xff827717, 0xffff9800, 0xffffab40, 0xffffd180, 0xffffab40, 0xffff9100, 0xffff6d00,
+    0xffffe0b2, 0xffffcc80, 0xffffb74d, 0xffffa726, 0xffff9800, 0xfffff3e0, 0xfffb8c00, 0xfff57c00,
+    0xffef6c00, 0xffe65100, 0xffe91e63, 0xffff4081, 0xffff80ab, 0xffff4081, 0xfff50057, 0xffc51162,
+    0xfff8bbd0, 0xfff48fb1, 0xfff06292, 0xffec407a, 0xffe91e63, 0xfffce4ec, 0xffd81b60, 0xffc2185b,
+    0xffad1457, 0xff880e4f, 0xff9c27b0, 0xffe040fb, 0xffea80fc, 0xffe040fb, 0xffd500f9, 0xffaa00ff,
+    0xffe1bee7, 0xffce93d8, 0xffba68c8, 0xffab47bc, 0xff9c27b0, 0xfff3e5f5, 0xff8e24aa, 0xff7b1fa2,
+    0xff6a1b9a, 0xff4a148c, 0xfff44336, 0xffff5252, 0xffff8a80, 0xffff5252, 0xffff1744, 0xffd50000,
+    0xffffcdd2, 0xffef9a9a, 0xffe57373, 0xffef5350, 0xfff44336, 0xffffebee, 0xffe53935, 0xffd32f2f,
+    0xffc62828, 0xffb71c1c, 0xff009688, 0xff64ffda, 0xffa7ffeb, 0xff64ffda, 0xff1de9b6, 0xff00bfa5,
+    0xffb2dfdb, 0xff80cbc4, 0xff4db6ac, 0xff26a69a, 0xff009688, 0xffe0f2f1, 0xff00897b, 0xff00796b,
+    0xff00695c, 0xff004d40, 0x00000000, 0xffffffff, 0x1affffff, 0x1fffffff, 0x4dffffff, 0xb3ffffff,
+    0xffffeb3b, 0xffffff00, 0xffffff8d, 0xffffff00, 0xffffea00, 0xffffd600, 0xfffff9c4, 0xfffff59d,
+    0xfffff176, 0xffffee58, 0xffffeb3b, 0xfffffde7, 0xfffdd835, 0xfffbc02d, 0xfff9a825, 0xfff57f17,
+  };
+
+  static final String[] ICON_CATEGORIES = {
+    "action",
+    "alert",
+    "av",
+    "communication",
+    "content",
+    "device",
+    "editor",
+    "file",
+    "hardware",
+    "image",
+    "maps",
+    "navigation",
+    "notification",
+    "places",
+    "social",
+    "toggle",
+  };
+
+  /**
+   * Names of the material icons relative to Icons, sorted for binary search.
+   */
+  static final String[] ICON_NAMES = {
+    "ac_unit",
+    "access_alarm",
+    "access_alarms",
+    "access_time",
+    "accessibility",
+    "accessible",
+    "account_balance",
+    "account_balance_wallet",
+    "account_box",
+    "account_circle",
+    "adb",
+    "add",
+    "add_a_photo",
+    "add_alarm",
+    "add_alert",
+    "add_box",
+    "add_circle",
+    "add_circle_outline",
+    "add_location",
+    "add_shopping_cart",
+    "add_to_photos",
+    "add_to_queue",
+    "adjust",
+    "airline_seat_flat",
+    "airline_seat_flat_angled",
+    "airline_seat_individual_suite",
+    "airline_seat_legroom_extra",
+    "airline_seat_legroom_normal",
+    "airline_seat_legroom_reduced",
+    "airline_seat_recline_extra",
+    "airline_seat_recline_normal",
+    "airplanemode_active",
+    "airplanemode_inactive",
+    "airplay",
+    "airport_shuttle",
+    "alarm",
+    "alarm_add",
+    "alarm_off",
+    "alarm_on",
+    "album",
+    "all_inclusive",
+    "all_out",
+    "android",
+    "announcement",
+    "apps",
+    "archive",
+    "arrow_back",
+    "arrow_downward",
+    "arrow_drop_down",
+    "arrow_drop_down_circle",
+    "arrow_drop_up",
+    "arrow_forward",
+    "arrow_upward",
+    "art_track",
+    "aspect_ratio",
+    "assessment",
+    "assignment",
+    "assignment_ind",
+    "assignment_late",
+    "assignment_return",
+    "assignment_returned",
+    "assignment_turned_in",
+    "assistant",
+    "assistant_photo",
+    "attach_file",
+    "attach_money",
+    "attachment",
+    "audiotrack",
+    "autorenew",
+    "av_timer",
+    "backspace",
+    "backup",
+    "battery_alert",
+    "battery_charging_full",
+    "battery_full",
+    "battery_std",
+    "battery_unknown",
+    "beach_access",
+    "beenhere",
+    "block",
+    "bluetooth",
+    "bluetooth_audio",
+    "bluetooth_connected",
+    "bluetooth_disabled",
+    "bluetooth_searching",
+    "blur_circular",
+    "blur_linear",
+    "blur_off",
+    "blur_on",
+    "book",
+    "bookmark",
+    "bookmark_border",
+    "border_all",
+    "border_bottom",
+    "border_clear",
+    "border_color",
+    "border_horizontal",
+    "border_inner",
+    "border_left",
+    "border_outer",
+    "border_right",
+    "border_style",
+    "border_top",
+    "border_vertical",
+    "branding_watermark",
+    "brightness_1",
+    "brightness_2",
+    "brightness_3",
+    "brightness_4",
+    "brightness_5",
+    "brightness_6",
+    "brightness_7",
+    "brightness_auto",
+    "brightness_high",
+    "brightness_low",
+    "brightness_medium",
+    "broken_image",
+    "brush",
+    "bubble_chart",
+    "bug_report",
+    "build",
+    "burst_mode",
+    "business",
+    "business_center",
+    "cached",
+    "cake",
+    "call",
+    "call_end",
+    "call_made",
+    "call_merge",
+    "call_missed",
+    "call_missed_outgoing",
+    "call_received",
+    "call_split",
+    "call_to_action",
+    "camera",
+    "camera_alt",
+    "camera_enhance",
+    "camera_front",
+    "camera_rear",
+    "camera_roll",
+    "cancel",
+    "card_giftcard",
+    "card_membership",
+    "card_travel",
+    "casino",
+    "cast",
+    "cast_connected",
+    "center_focus_strong",
+    "center_focus_weak",
+    "change_history",
+    "chat",
+    "chat_bubble",
+    "chat_bubble_outline",
+    "check",
+    "check_box",
+    "check_box_outline_blank",
+    "check_circle",
+    "chevron_left",
+    "chevron_right",
+    "child_care",
+    "child_friendly",
+    "chrome_reader_mode",
+    "class_",
+    "clear",
+    "clear_all",
+    "close",
+    "closed_caption",
+    "cloud",
+    "cloud_circle",
+    "cloud_done",
+    "cloud_download",
+    "cloud_off",
+    "cloud_queue",
+    "cloud_upload",
+    "code",
+    "collections",
+    "collections_bookmark",
+    "color_lens",
+    "colorize",
+    "comment",
+    "compare",
+    "compare_arrows",
+    "computer",
+    "confirmation_number",
+    "contact_mail",
+    "contact_phone",
+    "contacts",
+    "content_copy",
+    "content_cut",
+    "content_paste",
+    "control_point",
+    "control_point_duplicate",
+    "copyright",
+    "create",
+    "create_new_folder",
+    "credit_card",
+    "crop",
+    "crop_16_9",
+    "crop_3_2",
+    "crop_5_4",
+    "crop_7_5",
+    "crop_din",
+    "crop_free",
+    "crop_landscape",
+    "crop_original",
+    "crop_portrait",
+    "crop_rotate",
+    "crop_square",
+    "dashboard",
+    "data_usage",
+    "date_range",
+    "dehaze",
+    "delete",
+    "delete_forever",
+    "delete_sweep",
+    "description",
+    "desktop_mac",
+    "desktop_windows",
+    "details",
+    "developer_board",
+    "developer_mode",
+    "device_hub",
+    "devices",
+    "devices_other",
+    "dialer_sip",
+    "dialpad",
+    "directions",
+    "directions_bike",
+    "directions_boat",
+    "directions_bus",
+    "directions_car",
+    "directions_railway",
+    "directions_run",
+    "directions_subway",
+    "directions_transit",
+    "directions_walk",
+    "disc_full",
+    "dns",
+    "do_not_disturb",
+    "do_not_disturb_alt",
+    "do_not_disturb_off",
+    "do_not_disturb_on",
+    "dock",
+    "domain",
+    "done",
+    "done_all",
+    "donut_large",
+    "donut_small",
+    "drafts",
+    "drag_handle",
+    "drive_eta",
+    "dvr",
+    "edit",
+    "edit_location",
+    "eject",
+    "email",
+    "enhanced_encryption",
+    "equalizer",
+    "error",
+    "error_outline",
+    "euro_symbol",
+    "ev_station",
+    "event",
+    "event_available",
+    "event_busy",
+    "event_note",
+    "event_seat",
+    "exit_to_app",
+    "expand_less",
+    "expand_more",
+    "explicit",
+    "explore",
+    "exposure",
+    "exposure_neg_1",
+    "exposure_neg_2",
+    "exposure_plus_1",
+    "exposure_plus_2",
+    "exposure_zero",
+    "extension",
+    "face",
+    "fast_forward",
+    "fast_rewind",
+    "favorite",
+    "favorite_border",
+    "featured_play_list",
+    "featured_video",
+    "feedback",
+    "fiber_dvr",
+    "fiber_manual_record",
+    "fiber_new",
+    "fiber_pin",
+    "fiber_smart_record",
+    "file_download",
+    "file_upload",
+    "filter",
+    "filter_1",
+    "filter_2",
+    "filter_3",
+    "filter_4",
+    "filter_5",
+    "filter_6",
+    "filter_7",
+    "filter_8",
+    "filter_9",
+    "filter_9_plus",
+    "filter_b_and_w",
+    "filter_center_focus",
+    "filter_drama",
+    "filter_frames",
+    "filter_hdr",
+    "filter_list",
+    "filter_none",
+    "filter_tilt_shift",
+    "filter_vintage",
+    "find_in_page",
+    "find_replace",
+    "fingerprint",
+    "first_page",
+    "fitness_center",
+    "flag",
+    "flare",
+    "flash_auto",
+    "flash_off",
+    "flash_on",
+    "flight",
+    "flight_land",
+    "flight_takeoff",
+    "flip",
+    "flip_to_back",
+    "flip_to_front",
+    "folder",
+    "folder_open",
+    "folder_shared",
+    "folder_special",
+    "font_download",
+    "format_align_center",
+    "format_align_justify",
+    "format_align_left",
+    "format_align_right",
+    "format_bold",
+    "format_clear",
+    "format_color_fill",
+    "format_color_reset",
+    "format_color_text",
+    "format_indent_decrease",
+    "format_indent_increase",
+    "format_italic",
+    "format_line_spacing",
+    "format_list_bulleted",
+    "format_list_numbered",
+    "format_paint",
+    "format_quote",
+    "format_shapes",
+    "format_size",
+    "format_strikethrough",
+    "format_textdirection_l_to_r",
+    "format_textdirection_r_to_l",
+    "format_underlined",
+    "forum",
+    "forward",
+    "forward_10",
+    "forward_30",
+    "forward_5",
+    "free_breakfast",
+    "fullscreen",
+    "fullscreen_exit",
+    "functions",
+    "g_translate",
+    "gamepad",
+    "games",
+    "gavel",
+    "gesture",
+    "get_app",
+    "gif",
+    "golf_course",
+    "gps_fixed",
+    "gps_not_fixed",
+    "gps_off",
+    "grade",
+    "gradient",
+    "grain",
+    "graphic_eq",
+    "grid_off",
+    "grid_on",
+    "group",
+    "group_add",
+    "group_work",
+    "hd",
+    "hdr_off",
+    "hdr_on",
+    "hdr_strong",
+    "hdr_weak",
+    "headset",
+    "headset_mic",
+    "healing",
+    "hearing",
+    "help",
+    "help_outline",
+    "high_quality",
+    "highlight",
+    "highlight_off",
+    "history",
+    "home",
+    "hot_tub",
+    "hotel",
+    "hourglass_empty",
+    "hourglass_full",
+    "http",
+    "https",
+    "image",
+    "image_aspect_ratio",
+    "import_contacts",
+    "import_export",
+    "important_devices",
+    "inbox",
+    "indeterminate_check_box",
+    "info",
+    "info_outline",
+    "input",
+    "insert_chart",
+    "insert_comment",
+    "insert_drive_file",
+    "insert_emoticon",
+    "insert_invitation",
+    "insert_link",
+    "insert_photo",
+    "invert_colors",
+    "invert_colors_off",
+    "iso",
+    "keyboard",
+    "keyboard_arrow_down",
+    "keyboard_arrow_left",
+    "keyboard_arrow_right",
+    "keyboard_arrow_up",
+    "keyboard_backspace",
+    "keyboard_capslock",
+    "keyboard_hide",
+    "keyboard_return",
+    "keyboard_tab",
+    "keyboard_voice",
+    "kitchen",
+    "label",
+    "label_outline",
+    "landscape",
+    "language",
+    "laptop",
+    "laptop_chromebook",
+    "laptop_mac",
+    "laptop_windows",
+    "last_page",
+    "launch",
+    "layers",
+    "layers_clear",
+    "leak_add",
+    "leak_remove",
+    "library_add",
+    "library_books",
+    "library_music",
+    "lightbulb_outline",
+    "line_style",
+    "line_weight",
+    "linear_scale",
+    "link",
+    "linked_camera",
+    "list",
+    "live_help",
+    "live_tv",
+    "local_activity",
+    "local_airport",
+    "local_atm",
+    "local_bar",
+    "local_cafe",
+    "local_car_wash",
+    "local_convenience_store",
+    "local_dining",
+    "local_drink",
+    "local_florist",
+    "local_gas_station",
+    "local_grocery_store",
+    "local_hospital",
+    "local_hotel",
+    "local_laundry_service",
+    "local_library",
+    "local_mall",
+    "local_movies",
+    "local_offer",
+    "local_parking",
+    "local_pharmacy",
+    "local_phone",
+    "local_pizza",
+    "local_play",
+    "local_post_office",
+    "local_printshop",
+    "local_see",
+    "local_shipping",
+    "local_taxi",
+    "location_city",
+    "location_disabled",
+    "location_off",
+    "location_on",
+    "location_searching",
+    "lock",
+    "lock_open",
+    "lock_outline",
+    "looks",
+    "looks_3",
+    "looks_4",
+    "looks_5",
+    "looks_6",
+    "looks_one",
+    "looks_two",
+    "loop",
+    "loupe",
+    "low_priority",
+    "loyalty",
+    "mail",
+    "mail_outline",
+    "map",
+    "markunread",
+    "markunread_mailbox",
+    "memory",
+    "menu",
+    "merge_type",
+    "message",
+    "mic",
+    "mic_none",
+    "mic_off",
+    "mms",
+    "mode_comment",
+    "mode_edit",
+    "monetization_on",
+    "money_off",
+    "monochrome_photos",
+    "mood",
+    "mood_bad",
+    "more",
+    "more_horiz",
+    "more_vert",
+    "motorcycle",
+    "mouse",
+    "move_to_inbox",
+    "movie",
+    "movie_creation",
+    "movie_filter",
+    "multiline_chart",
+    "music_note",
+    "music_video",
+    "my_location",
+    "nature",
+    "nature_people",
+    "navigate_before",
+    "navigate_next",
+    "navigation",
+    "near_me",
+    "network_cell",
+    "network_check",
+    "network_locked",
+    "network_wifi",
+    "new_releases",
+    "next_week",
+    "nfc",
+    "no_encryption",
+    "no_sim",
+    "not_interested",
+    "note",
+    "note_add",
+    "notifications",
+    "notifications_active",
+    "notifications_none",
+    "notifications_off",
+    "notifications_paused",
+    "offline_pin",
+    "ondemand_video",
+    "opacity",
+    "open_in_browser",
+    "open_in_new",
+    "open_with",
+    "pages",
+    "pageview",
+    "palette",
+    "pan_tool",
+    "panorama",
+    "panorama_fish_eye",
+    "panorama_horizontal",
+    "panorama_vertical",
+    "panorama_wide_angle",
+    "party_mode",
+    "pause",
+    "pause_circle_filled",
+    "pause_circle_outline",
+    "payment",
+    "people",
+    "people_outline",
+    "perm_camera_mic",
+    "perm_contact_calendar",
+    "perm_data_setting",
+    "perm_device_information",
+    "perm_identity",
+    "perm_media",
+    "perm_phone_msg",
+    "perm_scan_wifi",
+    "person",
+    "person_add",
+    "person_outline",
+    "person_pin",
+    "person_pin_circle",
+    "personal_video",
+    "pets",
+    "phone",
+    "phone_android",
+    "phone_bluetooth_speaker",
+    "phone_forwarded",
+    "phone_in_talk",
+    "phone_iphone",
+    "phone_locked",
+    "phone_missed",
+    "phone_paused",
+    "phonelink",
+    "phonelink_erase",
+    "phonelink_lock",
+    "phonelink_off",
+    "phonelink_ring",
+    "phonelink_setup",
+    "photo",
+    "photo_album",
+    "photo_camera",
+    "photo_filter",
+    "photo_library",
+    "photo_size_select_actual",
+    "photo_size_select_large",
+    "photo_size_select_small",
+    "picture_as_pdf",
+    "picture_in_picture",
+    "picture_in_picture_alt",
+    "pie_chart",
+    "pie_chart_outlined",
+    "pin_drop",
+    "place",
+    "play_arrow",
+    "play_circle_filled",
+    "play_circle_outline",
+    "play_for_work",
+    "playlist_add",
+    "playlist_add_check",
+    "playlist_play",
+    "plus_one",
+    "poll",
+    "polymer",
+    "pool",
+    "portable_wifi_off",
+    "portrait",
+    "power",
+    "power_input",
+    "power_settings_new",
+    "pregnant_woman",
+    "present_to_all",
+    "print",
+    "priority_high",
+    "public",
+    "publish",
+    "query_builder",
+    "question_answer",
+    "queue",
+    "queue_music",
+    "queue_play_next",
+    "radio",
+    "radio_button_checked",
+    "radio_button_unchecked",
+    "rate_review",
+    "receipt",
+    "recent_actors",
+    "record_voice_over",
+    "redeem",
+    "redo",
+    "refresh",
+    "remove",
+    "remove_circle",
+    "remove_circle_outline",
+    "remove_from_queue",
+    "remove_red_eye",
+    "remove_shopping_cart",
+    "reorder",
+    "repeat",
+    "repeat_one",
+    "replay",
+    "replay_10",
+    "replay_30",
+    "replay_5",
+    "reply",
+    "reply_all",
+    "report",
+    "report_problem",
+    "restaurant",
+    "restaurant_menu",
+    "restore",
+    "restore_page",
+    "ring_volume",
+    "room",
+    "room_service",
+    "rotate_90_degrees_ccw",
+    "rotate_left",
+    "rotate_right",
+    "rounded_corner",
+    "router",
+    "rowing",
+    "rss_feed",
+    "rv_hookup",
+    "satellite",
+    "save",
+    "scanner",
+    "schedule",
+    "school",
+    "screen_lock_landscape",
+    "screen_lock_portrait",
+    "screen_lock_rotation",
+    "screen_rotation",
+    "screen_share",
+    "sd_card",
+    "sd_storage",
+    "search",
+    "security",
+    "select_all",
+    "send",
+    "sentiment_dissatisfied",
+    "sentiment_neutral",
+    "sentiment_satisfied",
+    "sentiment_very_dissatisfied",
+    "sentiment_very_satisfied",
+    "settings",
+    "settings_applications",
+    "settings_backup_restore",
+    "settings_bluetooth",
+    "settings_brightness",
+    "settings_cell",
+    "settings_ethernet",
+    "settings_input_antenna",
+    "settings_input_component",
+    "settings_input_composite",
+    "settings_input_hdmi",
+    "settings_input_svideo",
+    "settings_overscan",
+    "settings_phone",
+    "settings_power",
+    "settings_remote",
+    "settings_system_daydream",
+    "settings_voice",
+    "share",
+    "shop",
+    "shop_two",
+    "shopping_basket",
+    "shopping_cart",
+    "short_text",
+    "show_chart",
+    "shuffle",
+    "signal_cellular_4_bar",
+    "signal_cellular_connected_no_internet_4_bar",
+    "signal_cellular_no_sim",
+    "signal_cellular_null",
+    "signal_cellular_off",
+    "signal_wifi_4_bar",
+    "signal_wifi_4_bar_lock",
+    "signal_wifi_off",
+    "sim_card",
+    "sim_card_alert",
+    "skip_next",
+    "skip_previous",
+    "slideshow",
+    "slow_motion_video",
+    "smartphone",
+    "smoke_free",
+    "smoking_rooms",
+    "sms",
+    "sms_failed",
+    "snooze",
+    "sort",
+    "sort_by_alpha",
+    "spa",
+    "space_bar",
+    "speaker",
+    "speaker_group",
+    "speaker_notes",
+    "speaker_notes_off",
+    "speaker_phone",
+    "spellcheck",
+    "star",
+    "star_border",
+    "star_half",
+    "stars",
+    "stay_current_landscape",
+    "stay_current_portrait",
+    "stay_primary_landscape",
+    "stay_primary_portrait",
+    "stop",
+    "stop_screen_share",
+    "storage",
+    "store",
+    "store_mall_directory",
+    "straighten",
+    "streetview",
+    "strikethrough_s",
+    "style",
+    "subdirectory_arrow_left",
+    "subdirectory_arrow_right",
+    "subject",
+    "subscriptions",
+    "subtitles",
+    "subway",
+    "supervisor_account",
+    "surround_sound",
+    "swap_calls",
+    "swap_horiz",
+    "swap_vert",
+    "swap_vertical_circle",
+    "switch_camera",
+    "switch_video",
+    "sync",
+    "sync_disabled",
+    "sync_problem",
+    "system_update",
+    "system_update_alt",
+    "tab",
+    "tab_unselected",
+    "tablet",
+    "tablet_android",
+    "tablet_mac",
+    "tag_faces",
+    "tap_and_play",
+    "terrain",
+    "text_fields",
+    "text_format",
+    "textsms",
+    "texture",
+    "theaters",
+    "threed_rotation",
+    "thumb_down",
+    "thumb_up",
+    "thumbs_up_down",
+    "time_to_leave",
+    "timelapse",
+    "timeline",
+    "timer",
+    "timer_10",
+    "timer_3",
+    "timer_off",
+    "title",
+    "toc",
+    "today",
+    "toll",
+    "tonality",
+    "touch_app",
+    "toys",
+    "track_changes",
+    "traffic",
+    "train",
+    "tram",
+    "transfer_within_a_station",
+    "transform",
+    "translate",
+    "trending_down",
+    "trending_flat",
+    "trending_up",
+    "tune",
+    "turned_in",
+    "turned_in_not",
+    "tv",
+    "unarchive",
+    "undo",
+    "unfold_less",
+    "unfold_more",
+    "update",
+    "usb",
+    "verified_user",
+    "vertical_align_bottom",
+    "vertical_align_center",
+    "vertical_align_top",
+    "vibration",
+    "video_call",
+    "video_label",
+    "video_library",
+    "videocam",
+    "videocam_off",
+    "videogame_asset",
+    "view_agenda",
+    "view_array",
+    "view_carousel",
+    "view_column",
+    "view_comfy",
+    "view_compact",
+    "view_day",
+    "view_headline",
+    "view_list",
+    "view_module",
+    "view_quilt",
+    "view_stream",
+    "view_week",
+    "vignette",
+    "visibility",
+    "visibility_off",
+    "voice_chat",
+    "voicemail",
+    "volume_down",
+    "volume_mute",
+    "volume_off",
+    "volume_up",
+    "vpn_key",
+    "vpn_lock",
+    "wallpaper",
+    "warning",
+    "watch",
+    "watch_later",
+    "wb_auto",
+    "wb_cloudy",
+    "wb_incandescent",
+    "wb_iridescent",
+    "wb_sunny",
+    "wc",
+    "web",
+    "web_asset",
+    "weekend",
+    "whatshot",
+    "widgets",
+    "wifi",
+    "wifi_lock",
+    "wifi_tethering",
+    "work",
+    "wrap_text",
+    "youtube_searched_for",
+    "zoom_in",
+    "zoom_out",
+    "zoom_out_map",
+  };
+
+  /**
+   * Index into ICON_CATEGORIES of each icon in ICON_NAMES. The image for an icon is
+   * /flutter/icons/&lt;category&gt;/&lt;name&gt;.png.
+   */
+  static final byte[] ICON_CATEGORY = {
+    13, 5, 5, 5, 0, 0, 0, 0,
+    0, 0, 12, 4, 9, 5, 1, 4,
+    4, 4, 10, 0, 9, 2, 9, 12,
+    12, 12, 12, 12, 12, 12, 12, 5,
+    5, 2, 13, 0, 0, 0, 0, 2,
+    13, 0, 0, 0, 11, 4, 11, 11,
+    11, 11, 11, 11, 11, 2, 0, 0,
+    0, 0, 0, 0, 0, 0, 9, 9,
+    6, 6, 7, 9, 0, 2, 4, 0,
+    5, 5, 5, 5, 5, 13, 10, 4,
+    5, 12, 5, 5, 5, 9, 9, 9,
+    9, 0, 0, 0, 6, 6, 6, 6,
+    6, 6, 6, 6, 6, 6, 6, 6,
+    2, 9, 9, 9, 9, 9, 9, 9,
+    5, 5, 5, 5, 9, 9, 6, 0,
+    0, 9, 3, 13, 0, 14, 3, 3,
+    3, 3, 3, 3, 3, 3, 2, 9,
+    9, 0, 9, 9, 9, 11, 0, 0,
+    0, 13, 8, 8, 9, 9, 0, 3,
+    3, 3, 11, 15, 15, 0, 11, 11,
+    13, 13, 0, 0, 4, 3, 11, 2,
+    7, 7, 7, 7, 7, 7, 7, 0,
+    9, 9, 9, 9, 3, 9, 0, 8,
+    12, 3, 3, 3, 4, 4, 4, 9,
+    9, 0, 4, 7, 0, 9, 9, 9,
+    9, 9, 9, 9, 9, 9, 9, 9,
+    9, 0, 5, 0, 9, 0, 0, 4,
+    0, 8, 8, 9, 8, 5, 8, 5,
+    8, 3, 3, 10, 10, 10, 10, 10,
+    10, 10, 10, 10, 10, 12, 0, 12,
+    12, 12, 12, 8, 14, 0, 0, 0,
+    0, 4, 6, 12, 5, 9, 10, 0,
+    3, 12, 2, 1, 1, 0, 10, 0,
+    12, 12, 12, 0, 0, 11, 11, 2,
+    0, 9, 9, 9, 9, 9, 9, 0,
+    0, 2, 2, 0, 0, 2, 2, 0,
+    2, 2, 2, 2, 2, 7, 7, 9,
+    9, 9, 9, 9, 9, 9, 9, 9,
+    9, 9, 9, 9, 9, 9, 9, 4,
+    9, 9, 9, 0, 0, 0, 11, 13,
+    4, 9, 9, 9, 9, 10, 0, 0,
+    9, 0, 0, 7, 7, 7, 12, 4,
+    6, 6, 6, 6, 6, 6, 6, 6,
+    6, 6, 6, 6, 6, 6, 6, 6,
+    6, 6, 6, 6, 6, 6, 6, 3,
+    4, 2, 2, 2, 13, 11, 11, 6,
+    0, 8, 2, 0, 4, 0, 0, 13,
+    5, 5, 5, 0, 9, 9, 5, 9,
+    9, 14, 14, 0, 2, 9, 9, 9,
+    9, 8, 8, 9, 2, 0, 0, 2,
+    6, 0, 0, 0, 13, 10, 0, 0,
+    0, 0, 9, 9, 3, 3, 0, 4,
+    15, 0, 0, 0, 6, 6, 6, 6,
+    6, 6, 6, 0, 3, 9, 8, 8,
+    8, 8, 8, 8, 8, 8, 8, 8,
+    8, 13, 0, 0, 9, 0, 8, 8,
+    8, 8, 11, 0, 10, 10, 9, 9,
+    2, 2, 2, 0, 0, 0, 6, 4,
+    9, 0, 3, 12, 10, 10, 10, 10,
+    10, 10, 10, 10, 10, 10, 10, 10,
+    10, 10, 10, 10, 10, 10, 10, 10,
+    10, 10, 10, 10, 10, 10, 10, 10,
+    10, 14, 5, 3, 3, 5, 0, 0,
+    0, 9, 9, 9, 9, 9, 9, 9,
+    2, 9, 4, 0, 4, 3, 10, 4,
+    0, 8, 11, 6, 3, 2, 2, 2,
+    12, 6, 6, 6, 6, 9, 14, 14,
+    12, 11, 11, 0, 8, 4, 2, 9,
+    9, 6, 9, 2, 10, 9, 9, 9,
+    9, 10, 10, 5, 12, 12, 5, 2,
+    4, 5, 12, 3, 2, 2, 0, 14,
+    14, 14, 14, 14, 0, 12, 0, 0,
+    0, 0, 14, 0, 9, 0, 9, 9,
+    9, 9, 9, 14, 2, 2, 2, 0,
+    14, 14, 0, 0, 0, 0, 0, 0,
+    0, 0, 14, 14, 14, 10, 10, 12,
+    0, 3, 8, 12, 12, 12, 8, 12,
+    12, 12, 8, 3, 3, 8, 3, 3,
+    9, 9, 9, 9, 9, 9, 9, 9,
+    9, 0, 0, 6, 6, 10, 10, 2,
+    2, 2, 0, 2, 2, 2, 14, 14,
+    0, 13, 3, 9, 12, 8, 0, 0,
+    3, 0, 12, 14, 6, 0, 0, 2,
+    2, 2, 2, 15, 15, 10, 0, 2,
+    0, 0, 4, 11, 4, 4, 4, 2,
+    9, 0, 0, 2, 2, 2, 2, 2,
+    2, 4, 4, 4, 0, 10, 10, 0,
+    0, 3, 0, 13, 9, 9, 9, 0,
+    8, 0, 3, 13, 10, 4, 8, 0,
+    14, 5, 5, 5, 5, 3, 12, 5,
+    0, 8, 4, 4, 14, 14, 14, 14,
+    14, 0, 0, 0, 0, 0, 0, 0,
+    0, 0, 0, 0, 0, 0, 0, 0,
+    0, 5, 0, 14, 0, 0, 0, 0,
+    6, 6, 2, 5, 5, 5, 5, 5,
+    5, 5, 5, 8, 12, 2, 2, 9,
+    2, 8, 13, 13, 12, 12, 2, 4,
+    2, 13, 6, 8, 8, 0, 0, 3,
+    0, 15, 15, 15, 0, 3, 3, 3,
+    3, 2, 3, 5, 0, 10, 9, 10,
+    6, 9, 11, 11, 0, 2, 2, 10,
+    0, 2, 3, 0, 0, 0, 9, 9,
+    12, 12, 12, 12, 0, 0, 0, 8,
+    8, 8, 9, 12, 10, 6, 4, 3,
+    9, 0, 0, 0, 0, 0, 12, 9,
+    0, 9, 9, 9, 9, 6, 0, 0,
+    0, 9, 0, 8, 0, 10, 10, 10,
+    10, 9, 0, 0, 0, 0, 9, 0,
+    0, 8, 4, 4, 11, 11, 0, 5,
+    0, 6, 6, 6, 12, 2, 2, 2,
+    2, 2, 8, 0, 0, 0, 0, 9,
+    9, 0, 0, 0, 0, 0, 0, 0,
+    9, 0, 0, 12, 3, 2, 2, 2,
+    2, 3, 12, 5, 1, 8, 0, 9,
+    9, 9, 9, 9, 12, 2, 2, 4,
+    14, 5, 12, 5, 5, 0, 6, 0,
+    0, 0, 10,
+  };
+
+  /**
+   * Code points of the material icons, sorted for binary search.
+   */
+  static final int[] ICON_CODE_POINTS = {
+    0xe000, 0xe001, 0xe002, 0xe003, 0xe019, 0xe01b, 0xe01c, 0xe01d,
+    0xe01e, 0xe01f, 0xe020, 0xe021, 0xe023, 0xe024, 0xe028, 0xe029,
+    0xe02a, 0xe02b, 0xe02c, 0xe02e, 0xe02f, 0xe030, 0xe031, 0xe033,
+    0xe034, 0xe035, 0xe036, 0xe037, 0xe038, 0xe039, 0xe03b, 0xe03c,
+    0xe03d, 0xe03e, 0xe03f, 0xe040, 0xe041, 0xe042, 0xe043, 0xe044,
+    0xe045, 0xe046, 0xe047, 0xe048, 0xe049, 0xe04a, 0xe04b, 0xe04c,
+    0xe04d, 0xe04e, 0xe04f, 0xe050, 0xe051, 0xe052, 0xe053, 0xe055,
+    0xe056, 0xe057, 0xe058, 0xe059, 0xe05a, 0xe05b, 0xe05c, 0xe05d,
+    0xe05e, 0xe05f, 0xe060, 0xe061, 0xe062, 0xe063, 0xe064, 0xe065,
+    0xe066, 0xe067, 0xe068, 0xe069, 0xe06a, 0xe06b, 0xe06c, 0xe06d,
+    0xe06e, 0xe06f, 0xe070, 0xe071, 0xe0af, 0xe0b0, 0xe0b1, 0xe0b2,
+    0xe0b3, 0xe0b4, 0xe0b5, 0xe0b6, 0xe0b7, 0xe0b8, 0xe0b9, 0xe0ba,
+    0xe0bb, 0xe0bc, 0xe0be, 0xe0bf, 0xe0c3, 0xe0c4, 0xe0c6, 0xe0c7,
+    0xe0c8, 0xe0c9, 0xe0ca, 0xe0cb, 0xe0cc, 0xe0cd, 0xe0ce, 0xe0cf,
+    0xe0d0, 0xe0d1, 0xe0d2, 0xe0d3, 0xe0d4, 0xe0d5, 0xe0d6, 0xe0d7,
+    0xe0d8, 0xe0d9, 0xe0da, 0xe0db, 0xe0dc, 0xe0dd, 0xe0de, 0xe0df,
+    0xe0e0, 0xe0e1, 0xe0e2, 0xe0e3, 0xe0e4, 0xe0e5, 0xe145, 0xe146,
+    0xe147, 0xe148, 0xe149, 0xe14a, 0xe14b, 0xe14c, 0xe14d, 0xe14e,
+    0xe14f, 0xe150, 0xe151, 0xe152, 0xe153, 0xe154, 0xe155, 0xe156,
+    0xe157, 0xe158, 0xe159, 0xe15a, 0xe15b, 0xe15c, 0xe15d, 0xe15e,
+    0xe15f, 0xe160, 0xe161, 0xe162, 0xe163, 0xe164, 0xe165, 0xe166,
+    0xe167, 0xe168, 0xe169, 0xe16a, 0xe16b, 0xe16c, 0xe16d, 0xe190,
+    0xe191, 0xe192, 0xe193, 0xe194, 0xe195, 0xe19c, 0xe1a3, 0xe1a4,
+    0xe1a5, 0xe1a6, 0xe1a7, 0xe1a8, 0xe1a9, 0xe1aa, 0xe1ab, 0xe1ac,
+    0xe1ad, 0xe1ae, 0xe1af, 0xe1b0, 0xe1b1, 0xe1b2, 0xe1b3, 0xe1b4,
+    0xe1b5, 0xe1b6, 0xe1b7, 0xe1b8, 0xe1b9, 0xe1ba, 0xe1bb, 0xe1bc,
+    0xe1bd, 0xe1be, 0xe1bf, 0xe1c0, 0xe1c1, 0xe1c2, 0xe1c3, 0xe1c8,
+    0xe1cd, 0xe1ce, 0xe1cf, 0xe1d0, 0xe1d8, 0xe1d9, 0xe1da, 0xe1db,
+    0xe1e0, 0xe1e1, 0xe1e2, 0xe226, 0xe227, 0xe228, 0xe229, 0xe22a,
+    0xe22b, 0xe22c, 0xe22d, 0xe22e, 0xe22f, 0xe230, 0xe231, 0xe232,
+    0xe233, 0xe234, 0xe235, 0xe236, 0xe237, 0xe238, 0xe239, 0xe23a,
+    0xe23b, 0xe23c, 0xe23d, 0xe23e, 0xe23f, 0xe240, 0xe241, 0xe242,
+    0xe243, 0xe244, 0xe245, 0xe246, 0xe247, 0xe248, 0xe249, 0xe24a,
+    0xe24b, 0xe24c, 0xe24d, 0xe24e, 0xe24f, 0xe250, 0xe251, 0xe252,
+    0xe253, 0xe254, 0xe255, 0xe256, 0xe257, 0xe258, 0xe259, 0xe25a,
+    0xe25b, 0xe25c, 0xe25d, 0xe25e, 0xe25f, 0xe260, 0xe261, 0xe262,
+    0xe263, 0xe264, 0xe2bc, 0xe2bd, 0xe2be, 0xe2bf, 0xe2c0, 0xe2c1,
+    0xe2c2, 0xe2c3, 0xe2c4, 0xe2c6, 0xe2c7, 0xe2c8, 0xe2c9, 0xe2cc,
+    0xe307, 0xe308, 0xe30a, 0xe30b, 0xe30c, 0xe30d, 0xe30e, 0xe30f,
+    0xe310, 0xe311, 0xe312, 0xe313, 0xe314, 0xe315, 0xe316, 0xe317,
+    0xe318, 0xe31a, 0xe31b, 0xe31c, 0xe31d, 0xe31e, 0xe31f, 0xe320,
+    0xe321, 0xe322, 0xe323, 0xe324, 0xe325, 0xe326, 0xe327, 0xe328,
+    0xe329, 0xe32a, 0xe32b, 0xe32c, 0xe32d, 0xe32e, 0xe32f, 0xe330,
+    0xe331, 0xe332, 0xe333, 0xe334, 0xe335, 0xe336, 0xe337, 0xe338,
+    0xe39d, 0xe39e, 0xe39f, 0xe3a0, 0xe3a1, 0xe3a2, 0xe3a3, 0xe3a4,
+    0xe3a5, 0xe3a6, 0xe3a7, 0xe3a8, 0xe3a9, 0xe3aa, 0xe3ab, 0xe3ac,
+    0xe3ad, 0xe3ae, 0xe3af, 0xe3b0, 0xe3b1, 0xe3b2, 0xe3b3, 0xe3b4,
+    0xe3b5, 0xe3b6, 0xe3b7, 0xe3b8, 0xe3b9, 0xe3ba, 0xe3bb, 0xe3bc,
+    0xe3bd, 0xe3be, 0xe3bf, 0xe3c0, 0xe3c1, 0xe3c2, 0xe3c3, 0xe3c4,
+    0xe3c5, 0xe3c6, 0xe3c7, 0xe3c8, 0xe3c9, 0xe3ca, 0xe3cb, 0xe3cc,
+    0xe3cd, 0xe3ce, 0xe3cf, 0xe3d0, 0xe3d1, 0xe3d2, 0xe3d3, 0xe3d4,
+    0xe3d5, 0xe3d6, 0xe3d7, 0xe3d8, 0xe3d9, 0xe3da, 0xe3db, 0xe3dc,
+    0xe3dd, 0xe3de, 0xe3df, 0xe3e0, 0xe3e2, 0xe3e3, 0xe3e4, 0xe3e5,
+    0xe3e6, 0xe3e7, 0xe3e8, 0xe3e9, 0xe3ea, 0xe3eb, 0xe3ec, 0xe3ed,
+    0xe3ee, 0xe3f1, 0xe3f2, 0xe3f3, 0xe3f4, 0xe3f5, 0xe3f6, 0xe3f7,
+    0xe3f8, 0xe3f9, 0xe3fb, 0xe3fc, 0xe3fd, 0xe3fe, 0xe3ff, 0xe400,
+    0xe401, 0xe402, 0xe403, 0xe404, 0xe405, 0xe406, 0xe407, 0xe408,
+    0xe409, 0xe40a, 0xe40b, 0xe40c, 0xe40d, 0xe40e, 0xe40f, 0xe410,
+    0xe411, 0xe412, 0xe413, 0xe415, 0xe416, 0xe417, 0xe418, 0xe419,
+    0xe41a, 0xe41b, 0xe41c, 0xe41d, 0xe41e, 0xe41f, 0xe420, 0xe421,
+    0xe422, 0xe423, 0xe424, 0xe425, 0xe426, 0xe427, 0xe428, 0xe429,
+    0xe42a, 0xe42b, 0xe42c, 0xe42d, 0xe42e, 0xe430, 0xe431, 0xe432,
+    0xe433, 0xe434, 0xe435, 0xe436, 0xe437, 0xe438, 0xe439, 0xe43a,
+    0xe43b, 0xe43c, 0xe52d, 0xe52e, 0xe52f, 0xe530, 0xe531, 0xe532,
+    0xe533, 0xe534, 0xe535, 0xe536, 0xe539, 0xe53a, 0xe53b, 0xe53c,
+    0xe53d, 0xe53e, 0xe53f, 0xe540, 0xe541, 0xe542, 0xe543, 0xe544,
+    0xe545, 0xe546, 0xe547, 0xe548, 0xe549, 0xe54a, 0xe54b, 0xe54c,
+    0xe54d, 0xe54e, 0xe54f, 0xe550, 0xe551, 0xe552, 0xe553, 0xe554,
+    0xe555, 0xe556, 0xe557, 0xe558, 0xe559, 0xe55a, 0xe55b, 0xe55c,
+    0xe55d, 0xe55e, 0xe55f, 0xe560, 0xe561, 0xe562, 0xe563, 0xe564,
+    0xe565, 0xe566, 0xe567, 0xe568, 0xe569, 0xe56a, 0xe56b, 0xe56c,
+    0xe56d, 0xe56e, 0xe56f, 0xe570, 0xe571, 0xe572, 0xe5c3, 0xe5c4,
+    0xe5c5, 0xe5c6, 0xe5c7, 0xe5c8, 0xe5c9, 0xe5ca, 0xe5cb, 0xe5cc,
+    0xe5cd, 0xe5ce, 0xe5cf, 0xe5d0, 0xe5d1, 0xe5d2, 0xe5d3, 0xe5d4,
+    0xe5d5, 0xe5d6, 0xe5d7, 0xe5d8, 0xe5d9, 0xe5da, 0xe5db, 0xe5dc,
+    0xe5dd, 0xe60e, 0xe60f, 0xe610, 0xe611, 0xe612, 0xe613, 0xe614,
+    0xe615, 0xe616, 0xe617, 0xe618, 0xe619, 0xe61a, 0xe61b, 0xe61c,
+    0xe61d, 0xe61e, 0xe61f, 0xe620, 0xe623, 0xe624, 0xe625, 0xe626,
+    0xe627, 0xe628, 0xe629, 0xe62a, 0xe62b, 0xe62c, 0xe62d, 0xe62e,
+    0xe62f, 0xe630, 0xe631, 0xe632, 0xe633, 0xe634, 0xe635, 0xe636,
+    0xe637, 0xe638, 0xe639, 0xe63a, 0xe63b, 0xe63c, 0xe63d, 0xe63e,
+    0xe63f, 0xe640, 0xe641, 0xe642, 0xe643, 0xe644, 0xe645, 0xe6c4,
+    0xe6c5, 0xe6dd, 0xe6df, 0xe6e1, 0xe7e9, 0xe7ee, 0xe7ef, 0xe7f0,
+    0xe7f1, 0xe7f2, 0xe7f3, 0xe7f4, 0xe7f5, 0xe7f6, 0xe7f7, 0xe7f8,
+    0xe7f9, 0xe7fa, 0xe7fb, 0xe7fc, 0xe7fd, 0xe7fe, 0xe7ff, 0xe800,
+    0xe801, 0xe80b, 0xe80c, 0xe80d, 0xe80e, 0xe811, 0xe812, 0xe813,
+    0xe814, 0xe815, 0xe834, 0xe835, 0xe836, 0xe837, 0xe838, 0xe839,
+    0xe83a, 0xe84d, 0xe84e, 0xe84f, 0xe850, 0xe851, 0xe853, 0xe854,
+    0xe855, 0xe856, 0xe857, 0xe858, 0xe859, 0xe85a, 0xe85b, 0xe85c,
+    0xe85d, 0xe85e, 0xe85f, 0xe860, 0xe861, 0xe862, 0xe863, 0xe864,
+    0xe865, 0xe866, 0xe867, 0xe868, 0xe869, 0xe86a, 0xe86b, 0xe86c,
+    0xe86d, 0xe86e, 0xe86f, 0xe870, 0xe871, 0xe872, 0xe873, 0xe875,
+    0xe876, 0xe877, 0xe878, 0xe879, 0xe87a, 0xe87b, 0xe87c, 0xe87d,
+    0xe87e, 0xe87f, 0xe880, 0xe881, 0xe882, 0xe883, 0xe884, 0xe885,
+    0xe886, 0xe887, 0xe888, 0xe889, 0xe88a, 0xe88b, 0xe88c, 0xe88d,
+    0xe88e, 0xe88f, 0xe890, 0xe891, 0xe892, 0xe893, 0xe894, 0xe895,
+    0xe896, 0xe897, 0xe898, 0xe899, 0xe89a, 0xe89b, 0xe89c, 0xe89d,
+    0xe89e, 0xe89f, 0xe8a0, 0xe8a1, 0xe8a2, 0xe8a3, 0xe8a4, 0xe8a5,
+    0xe8a6, 0xe8a7, 0xe8a8, 0xe8a9, 0xe8aa, 0xe8ab, 0xe8ac, 0xe8ad,
+    0xe8ae, 0xe8af, 0xe8b0, 0xe8b1, 0xe8b2, 0xe8b3, 0xe8b4, 0xe8b5,
+    0xe8b6, 0xe8b8, 0xe8b9, 0xe8ba, 0xe8bb, 0xe8bc, 0xe8bd, 0xe8be,
+    0xe8bf, 0xe8c0, 0xe8c1, 0xe8c2, 0xe8c3, 0xe8c4, 0xe8c5, 0xe8c6,
+    0xe8c7, 0xe8c8, 0xe8c9, 0xe8ca, 0xe8cb, 0xe8cc, 0xe8cd, 0xe8ce,
+    0xe8d0, 0xe8d1, 0xe8d2, 0xe8d3, 0xe8d4, 0xe8d5, 0xe8d6, 0xe8d7,
+    0xe8d8, 0xe8d9, 0xe8da, 0xe8db, 0xe8dc, 0xe8dd, 0xe8de, 0xe8df,
+    0xe8e0, 0xe8e1, 0xe8e2, 0xe8e3, 0xe8e4, 0xe8e5, 0xe8e6, 0xe8e7,
+    0xe8e8, 0xe8e9, 0xe8ea, 0xe8eb, 0xe8ec, 0xe8ed, 0xe8ee, 0xe8ef,
+    0xe8f0, 0xe8f1, 0xe8f2, 0xe8f3, 0xe8f4, 0xe8f5, 0xe8f6, 0xe8f7,
+    0xe8f8, 0xe8f9, 0xe8fa, 0xe8fb, 0xe8fc, 0xe8fd, 0xe8fe, 0xe8ff,
+    0xe900, 0xe902, 0xe903, 0xe904, 0xe905, 0xe906, 0xe908, 0xe909,
+    0xe90a, 0xe90b, 0xe90c, 0xe90d, 0xe90e, 0xe90f, 0xe911, 0xe912,
+    0xe913, 0xe914, 0xe915, 0xe916, 0xe917, 0xe918, 0xe919, 0xe91a,
+    0xe91b, 0xe91c, 0xe91d, 0xe91e, 0xe91f, 0xe920, 0xe921, 0xe922,
+    0xe923, 0xe924, 0xe925, 0xe926, 0xe927, 0xe928, 0xe929, 0xe92a,
+    0xe92b, 0xeb3b, 0xeb3c, 0xeb3d, 0xeb3e, 0xeb3f, 0xeb40, 0xeb41,
+    0xeb42, 0xeb43, 0xeb44, 0xeb45, 0xeb46, 0xeb47, 0xeb48, 0xeb49,
+    0xeb4a, 0xeb4b, 0xeb4c,
+  };
+
+  /**
+   * Index into ICON_NAMES of each code point in ICON_CODE_POINTS.
+   */
+  static final short[] ICON_CODE_POINT_NAMES = {
+    259, 260, 908, 14, 39, 69, 167, 258,
+    271, 281, 282, 370, 396, 399, 512, 525,
+    526, 527, 542, 456, 457, 458, 559, 564,
+    588, 589, 590, 639, 640, 641, 643, 663,
+    664, 666, 671, 683, 684, 685, 754, 765,
+    766, 774, 793, 806, 809, 879, 880, 881,
+    901, 902, 903, 904, 917, 388, 776, 33,
+    361, 362, 363, 686, 687, 688, 21, 288,
+    290, 645, 53, 289, 292, 547, 805, 644,
+    665, 679, 768, 918, 291, 104, 134, 285,
+    286, 565, 877, 878, 122, 126, 127, 128,
+    129, 130, 132, 133, 151, 165, 180, 187,
+    225, 226, 256, 359, 413, 428, 466, 499,
+    500, 524, 152, 153, 563, 609, 650, 186,
+    185, 697, 783, 789, 790, 791, 792, 810,
+    831, 900, 905, 619, 620, 622, 623, 656,
+    412, 517, 717, 794, 131, 706, 11, 15,
+    16, 17, 45, 70, 79, 164, 188, 189,
+    190, 194, 249, 311, 320, 360, 372, 415,
+    463, 516, 519, 674, 676, 677, 678, 689,
+    690, 691, 709, 722, 723, 775, 830, 867,
+    335, 541, 866, 560, 919, 215, 514, 1,
+    2, 3, 13, 32, 31, 72, 73, 74,
+    75, 76, 80, 82, 83, 84, 112, 113,
+    114, 115, 210, 221, 223, 252, 376, 377,
+    378, 498, 501, 382, 555, 558, 561, 907,
+    921, 713, 714, 715, 716, 719, 745, 755,
+    756, 757, 758, 759, 760, 761, 762, 795,
+    871, 923, 924, 64, 65, 92, 93, 94,
+    95, 96, 97, 98, 99, 100, 101, 102,
+    103, 336, 337, 338, 339, 340, 341, 342,
+    343, 344, 345, 346, 347, 348, 349, 350,
+    351, 352, 354, 355, 356, 357, 358, 367,
+    420, 421, 422, 423, 424, 425, 426, 523,
+    529, 530, 660, 778, 800, 873, 874, 875,
+    926, 532, 250, 353, 400, 462, 752, 829,
+    531, 845, 66, 168, 169, 170, 171, 172,
+    173, 174, 293, 294, 331, 332, 333, 195,
+    146, 147, 183, 217, 218, 220, 243, 369,
+    393, 394, 430, 431, 432, 433, 434, 435,
+    436, 437, 438, 439, 440, 446, 447, 448,
+    449, 521, 540, 610, 614, 618, 621, 704,
+    710, 721, 763, 769, 779, 780, 823, 824,
+    825, 851, 865, 909, 222, 653, 224, 882,
+    20, 22, 62, 63, 67, 85, 86, 87,
+    88, 105, 106, 107, 108, 109, 110, 111,
+    116, 117, 135, 136, 138, 139, 140, 148,
+    149, 176, 178, 179, 181, 191, 192, 198,
+    199, 197, 200, 201, 202, 203, 204, 205,
+    206, 208, 212, 219, 253, 273, 274, 275,
+    276, 277, 278, 296, 297, 298, 295, 299,
+    300, 301, 302, 303, 304, 305, 306, 307,
+    308, 309, 310, 312, 313, 314, 321, 322,
+    323, 324, 328, 380, 381, 383, 384, 389,
+    390, 391, 392, 395, 410, 411, 429, 444,
+    454, 455, 506, 505, 507, 508, 509, 510,
+    511, 513, 533, 543, 546, 549, 550, 551,
+    552, 580, 582, 583, 584, 585, 586, 624,
+    625, 626, 628, 632, 651, 680, 700, 701,
+    702, 767, 798, 801, 814, 815, 826, 832,
+    839, 842, 843, 841, 844, 849, 857, 862,
+    887, 888, 911, 912, 913, 915, 177, 629,
+    630, 631, 896, 914, 207, 464, 12, 544,
+    627, 121, 78, 227, 228, 230, 231, 229,
+    234, 232, 235, 236, 325, 405, 452, 453,
+    469, 470, 468, 471, 472, 473, 474, 476,
+    477, 478, 479, 480, 481, 482, 483, 484,
+    485, 486, 487, 488, 489, 490, 491, 492,
+    493, 475, 494, 495, 496, 605, 518, 548,
+    553, 637, 638, 669, 694, 708, 797, 828,
+    853, 233, 18, 254, 554, 606, 930, 693,
+    262, 799, 807, 854, 855, 856, 44, 46,
+    48, 49, 50, 51, 141, 154, 158, 159,
+    166, 269, 270, 365, 366, 522, 537, 538,
+    675, 868, 869, 52, 802, 803, 47, 318,
+    450, 10, 81, 237, 240, 239, 251, 264,
+    265, 266, 334, 528, 536, 557, 611, 612,
+    613, 615, 616, 617, 718, 764, 772, 773,
+    816, 817, 818, 819, 827, 838, 876, 899,
+    906, 23, 24, 25, 26, 27, 28, 29,
+    30, 184, 467, 573, 607, 652, 916, 922,
+    257, 556, 562, 707, 241, 242, 658, 635,
+    636, 118, 545, 753, 125, 244, 385, 386,
+    497, 534, 535, 567, 569, 570, 568, 571,
+    578, 587, 592, 593, 602, 603, 604, 646,
+    647, 659, 712, 747, 920, 724, 725, 726,
+    727, 728, 155, 156, 668, 667, 785, 787,
+    786, 834, 4, 6, 7, 8, 9, 19,
+    35, 36, 37, 38, 42, 43, 54, 55,
+    56, 57, 58, 59, 60, 61, 68, 71,
+    89, 90, 91, 119, 120, 124, 150, 157,
+    162, 163, 175, 196, 209, 213, 216, 238,
+    245, 246, 263, 268, 272, 279, 280, 283,
+    284, 287, 315, 316, 329, 330, 373, 379,
+    387, 397, 401, 402, 403, 406, 407, 409,
+    417, 418, 419, 427, 442, 443, 445, 451,
+    465, 502, 503, 504, 515, 520, 566, 575,
+    576, 577, 579, 591, 594, 595, 596, 597,
+    598, 599, 600, 601, 633, 648, 654, 657,
+    661, 662, 670, 673, 692, 695, 698, 711,
+    720, 729, 730, 731, 732, 734, 733, 735,
+    736, 737, 738, 739, 740, 741, 742, 743,
+    744, 746, 748, 749, 750, 751, 781, 784,
+    788, 796, 804, 808, 811, 812, 813, 820,
+    821, 822, 833, 835, 836, 837, 846, 847,
+    848, 852, 858, 859, 860, 861, 863, 864,
+    872, 883, 884, 885, 886, 889, 890, 891,
+    892, 893, 894, 895, 897, 898, 142, 143,
+    144, 925, 927, 255, 137, 398, 682, 928,
+    929, 408, 267, 326, 327, 642, 374, 416,
+    572, 41, 193, 317, 371, 459, 634, 414,
+    850, 5, 182, 211, 247, 248, 460, 461,
+    539, 574, 608, 655, 672, 703, 705, 840,
+    870, 910, 581, 261, 368, 681, 696, 782,
+    214, 0, 34, 40, 77, 123, 145, 160,
+    161, 319, 364, 375, 404, 441, 649, 699,
+    770, 771, 777,
+  };
+}
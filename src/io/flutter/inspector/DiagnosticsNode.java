@@ -5,11 +5,12 @@
  */
 package io.flutter.inspector;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import io.flutter.utils.CustomIconMaker;
 import io.flutter.utils.JsonUtils;
 import org.dartlang.vm.service.element.InstanceRef;
@@ -20,6 +21,7 @@ import javax.swing.*;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
@@ -49,9 +51,76 @@ import static io.flutter.sdk.FlutterSettingsConfigurable.WIDGET_FILTERING_ENABLE
 public class DiagnosticsNode {
   private static final CustomIconMaker iconMaker = new CustomIconMaker();
 
+  // Bits of presentMembers for members whose presence is exposed separately from their value.
+  private static final int HAS_QUOTED = 1;
+  private static final int HAS_UNIT = 1 << 1;
+  private static final int HAS_NUMBER_TO_STRING = 1 << 2;
+  private static final int HAS_IF_TRUE = 1 << 3;
+  private static final int HAS_IF_FALSE = 1 << 4;
+  private static final int HAS_VALUES = 1 << 5;
+  private static final int HAS_IF_PRESENT = 1 << 6;
+  private static final int HAS_DEFAULT_VALUE = 1 << 7;
+  private static final int HAS_TOOLTIP = 1 << 8;
+  private static final int HAS_EXCEPTION = 1 << 9;
+
+  /**
+   * Creates a node from its JSON description.
+   * <p>
+   * All members are decoded once here as the getters are called by cell
+   * renderers on every repaint. The JSON is only retained if it contains
+   * members this class does not decode, so that they remain available via
+   * {@link #getStringMember(String)}.
+   */
   public DiagnosticsNode(JsonObject json, InspectorService inspectorService) {
+    this(json, inspectorService, null);
+  }
+
+  /**
+   * Creates a node whose Dart objects are kept alive by the object group groupName.
+   * <p>
+   * Children, properties and value properties of the node are requested in
+   * the same group. A null group means the default group of the service.
+   */
+  public DiagnosticsNode(JsonObject json, InspectorService inspectorService, String groupName) {
+    this(Members.fromJson(json), inspectorService, groupName);
+  }
+
+  /**
+   * Creates a node from members that were already decoded, such as by {@link DiagnosticsNodeDecoder}.
+   */
+  DiagnosticsNode(@NotNull Members members, InspectorService inspectorService, String groupName) {
     this.inspectorService = inspectorService;
-    this.json = json;
+    this.groupName = groupName;
+    this.name = members.name;
+    this.showSeparator = members.showSeparator;
+    this.description = members.description;
+    this.level = members.level;
+    this.showName = members.showName;
+    this.emptyBodyDescription = members.emptyBodyDescription;
+    this.style = members.style;
+    this.type = members.type;
+    this.isQuoted = members.isQuoted;
+    this.unit = members.unit;
+    this.numberToString = members.numberToString;
+    this.ifTrue = members.ifTrue;
+    this.ifFalse = members.ifFalse;
+    this.values = members.values;
+    this.ifPresent = members.ifPresent;
+    this.defaultValue = members.defaultValue;
+    this.ifEmpty = members.ifEmpty;
+    this.ifNull = members.ifNull;
+    this.tooltip = members.tooltip;
+    this.missingIfNull = members.missingIfNull;
+    this.exception = members.exception;
+    this.propertyType = members.propertyType;
+    this.defaultLevel = members.defaultLevel;
+    this.isDiagnosticableValue = members.isDiagnosticableValue;
+    this.valueRef = new InspectorInstanceRef(members.valueId);
+    this.hasChildren = members.hasChildren;
+    this.dartDiagnosticRef = members.objectId != null ? new InspectorInstanceRef(members.objectId) : null;
+    this.presentMembers = members.presentMembers;
+    this.rawJson = members.rawJson;
+    this.rawJsonText = members.rawJsonText;
   }
 
   @Override
@@ -87,7 +156,7 @@ public class DiagnosticsNode {
    * The name should be omitted if the [showName] property is false.
    */
   public String getName() {
-    return getStringMember("name");
+    return name;
   }
 
   /**
@@ -97,7 +166,7 @@ public class DiagnosticsNode {
    * `:` is typically used as a separator when displaying as text.
    */
   public boolean getShowSeparator() {
-    return getBooleanMember("showSeparator", true);
+    return showSeparator;
   }
 
   /**
@@ -109,7 +178,7 @@ public class DiagnosticsNode {
    * description of a property should also be a single line if possible.
    */
   public String getDescription() {
-    return getStringMember("description");
+    return description;
   }
 
   /**
@@ -124,7 +193,7 @@ public class DiagnosticsNode {
    * [DiagnosticLevel.error] is returned.
    */
   public DiagnosticLevel getLevel() {
-    return getLevelMember("level", DiagnosticLevel.info);
+    return level;
   }
 
   /**
@@ -135,21 +204,21 @@ public class DiagnosticsNode {
    * will make the name self-evident.
    */
   public boolean getShowName() {
-    return getBooleanMember("showName", true);
+    return showName;
   }
 
   /**
    * Description to show if the node has no displayed properties or children.
    */
   public String getEmptyBodyDescription() {
-    return getStringMember("emptyBodyDescription");
+    return emptyBodyDescription;
   }
 
   /**
    * Hint for how the node should be displayed.
    */
   public DiagnosticsTreeStyle getStyle() {
-    return getStyleMember("style", DiagnosticsTreeStyle.sparse);
+    return style;
   }
 
   /**
@@ -159,7 +228,7 @@ public class DiagnosticsNode {
    * of a specific Dart diagnostic class.
    */
   String getType() {
-    return getStringMember("type");
+    return type;
   }
 
   /**
@@ -168,11 +237,11 @@ public class DiagnosticsNode {
    * Only relevant for String properties.
    */
   public boolean getIsQuoted() {
-    return getBooleanMember("quoted", false);
+    return isQuoted;
   }
 
   public boolean hasIsQuoted() {
-    return json.has("quoted");
+    return (presentMembers & HAS_QUOTED) != 0;
   }
 
   /**
@@ -185,11 +254,11 @@ public class DiagnosticsNode {
    * Only specified for Number properties.
    */
   public String getUnit() {
-    return getStringMember("unit");
+    return unit;
   }
 
   public boolean hasUnit() {
-    return json.has("unit");
+    return (presentMembers & HAS_UNIT) != 0;
   }
 
   /**
@@ -198,11 +267,11 @@ public class DiagnosticsNode {
    * Only specified for Number properties.
    */
   public String getNumberToString() {
-    return getStringMember("numberToString");
+    return numberToString;
   }
 
   public boolean hasNumberToString() {
-    return json.has("numberToString");
+    return (presentMembers & HAS_NUMBER_TO_STRING) != 0;
   }
 
   /**
@@ -214,11 +283,11 @@ public class DiagnosticsNode {
    * Only applies to Flag properties.
    */
   public String getIfTrue() {
-    return getStringMember("ifTrue");
+    return ifTrue;
   }
 
   public boolean hasIfTrue() {
-    return json.has("ifTrue");
+    return (presentMembers & HAS_IF_TRUE) != 0;
   }
 
   /**
@@ -230,11 +299,11 @@ public class DiagnosticsNode {
    * Only applies to Flag properties.
    */
   public String getIfFalse() {
-    return getStringMember("ifFalse");
+    return ifFalse;
   }
 
   public boolean hasIfFalse() {
-    return json.has("ifFalse");
+    return (presentMembers & HAS_IF_FALSE) != 0;
   }
 
   /**
@@ -245,19 +314,11 @@ public class DiagnosticsNode {
    * Only applies to IterableProperty.
    */
   public ArrayList<String> getValues() {
-    if (!json.has("values")) {
-      return null;
-    }
-    final JsonArray rawValues = json.getAsJsonArray("values");
-    final ArrayList<String> values = new ArrayList<>(rawValues.size());
-    for (int i = 0; i < rawValues.size(); ++i) {
-      values.add(rawValues.get(i).getAsString());
-    }
-    return values;
+    return values != null ? new ArrayList<>(values) : null;
   }
 
   public boolean hasValues() {
-    return json.has("values");
+    return (presentMembers & HAS_VALUES) != 0;
   }
 
   /**
@@ -270,11 +331,11 @@ public class DiagnosticsNode {
    * Only specified for ObjectFlagProperty.
    */
   public String getIfPresent() {
-    return getStringMember("ifPresent");
+    return ifPresent;
   }
 
   public boolean hasIfPresent() {
-    return json.has("ifPresent");
+    return (presentMembers & HAS_IF_PRESENT) != 0;
   }
 
   /**
@@ -292,14 +353,14 @@ public class DiagnosticsNode {
    * default value.
    */
   public String getDefaultValue() {
-    return getStringMember("defaultValue");
+    return defaultValue;
   }
 
   /**
    * Whether a property has a default value.
    */
   public boolean hasDefaultValue() {
-    return json.has("defaultValue");
+    return (presentMembers & HAS_DEFAULT_VALUE) != 0;
   }
 
   /**
@@ -309,14 +370,14 @@ public class DiagnosticsNode {
    * ifEmpty.
    */
   public String getIfEmpty() {
-    return getStringMember("ifEmpty");
+    return ifEmpty;
   }
 
   /**
    * Description if the property [value] is null.
    */
   public String getIfNull() {
-    return getStringMember("ifNull");
+    return ifNull;
   }
 
   /**
@@ -328,11 +389,11 @@ public class DiagnosticsNode {
    * generating the string description.
    */
   public String getTooltip() {
-    return getStringMember("tooltip");
+    return tooltip;
   }
 
   public boolean hasTooltip() {
-    return json.has("tooltip");
+    return (presentMembers & HAS_TOOLTIP) != 0;
   }
 
   /**
@@ -340,7 +401,7 @@ public class DiagnosticsNode {
    * [DiagnosticLevel.warning] warning that the property is missing a [value].
    */
   public boolean getMissingIfNull() {
-    return getBooleanMember("missingIfNull", false);
+    return missingIfNull;
   }
 
   /**
@@ -348,14 +409,14 @@ public class DiagnosticsNode {
    * [value] threw an exception.
    */
   public String exception() {
-    return getStringMember("exception");
+    return exception;
   }
 
   /**
    * Whether accessing the property throws an exception.
    */
   boolean hasException() {
-    return json.has("exception");
+    return (presentMembers & HAS_EXCEPTION) != 0;
   }
 
   /**
@@ -372,7 +433,7 @@ public class DiagnosticsNode {
    * the word "null".
    */
   public String getPropertyType() {
-    return getStringMember("propertyType");
+    return propertyType;
   }
 
   /**
@@ -383,7 +444,7 @@ public class DiagnosticsNode {
    * [defaultValue] has type [T] or is [kNoDefaultValue].
    */
   public DiagnosticLevel getDefaultLevel() {
-    return getLevelMember("defaultLevel", DiagnosticLevel.info);
+    return defaultLevel;
   }
 
   /**
@@ -398,7 +459,7 @@ public class DiagnosticsNode {
    * could.
    */
   public boolean getIsDiagnosticableValue() {
-    return getBooleanMember("isDiagnosticableValue", false);
+    return isDiagnosticableValue;
   }
 
   /**
@@ -408,59 +469,127 @@ public class DiagnosticsNode {
   private final InspectorService inspectorService;
 
   /**
-   * JSON describing the diagnostic node.
+   * Object group keeping the Dart objects referenced by this node alive.
    */
-  private final JsonObject json;
+  @Nullable
+  private final String groupName;
+
+  private final String name;
+  private final boolean showSeparator;
+  private final String description;
+  private final DiagnosticLevel level;
+  private final boolean showName;
+  private final String emptyBodyDescription;
+  private final DiagnosticsTreeStyle style;
+  private final String type;
+  private final boolean isQuoted;
+  private final String unit;
+  private final String numberToString;
+  private final String ifTrue;
+  private final String ifFalse;
+  private final ArrayList<String> values;
+  private final String ifPresent;
+  private final String defaultValue;
+  private final String ifEmpty;
+  private final String ifNull;
+  private final String tooltip;
+  private final boolean missingIfNull;
+  private final String exception;
+  private final String propertyType;
+  private final DiagnosticLevel defaultLevel;
+  private final boolean isDiagnosticableValue;
+  private final InspectorInstanceRef valueRef;
+  private final boolean hasChildren;
+  private final InspectorInstanceRef dartDiagnosticRef;
+
+  /**
+   * Bit set of HAS_* flags for optional members that were present in the JSON.
+   */
+  private final int presentMembers;
+
+  /**
+   * JSON with the members that are not decoded above, or null if there are none or it is not parsed yet.
+   */
+  @Nullable
+  private JsonObject rawJson;
+
+  /**
+   * Unparsed text of {@link #rawJson}, parsed the first time a member that is not decoded above is requested.
+   */
+  @Nullable
+  private String rawJsonText;
 
   private CompletableFuture<ArrayList<DiagnosticsNode>> children;
 
+  /**
+   * Icon shown for this node, resolved on first paint.
+   */
+  private Icon icon;
+  private boolean iconResolved;
+
   private CompletableFuture<ArrayList<DiagnosticsNode>> properties;
 
   private CompletableFuture<Map<String, InstanceRef>> valueProperties;
 
   public String getStringMember(@NotNull String memberName) {
-    return JsonUtils.getStringMember(json, memberName);
-  }
-
-  private boolean getBooleanMember(String memberName, boolean defaultValue) {
-    if (!json.has(memberName)) {
-      return defaultValue;
-    }
-    final JsonElement value = json.get(memberName);
-    if (value instanceof JsonNull) {
-      return defaultValue;
-    }
-    return value.getAsBoolean();
-  }
-
-  private DiagnosticLevel getLevelMember(String memberName, DiagnosticLevel defaultValue) {
-    if (!json.has(memberName)) {
-      return defaultValue;
+    if (!Members.NAMES.contains(memberName)) {
+      final JsonObject json = getRawJson();
+      return json != null ? JsonUtils.getStringMember(json, memberName) : null;
     }
-    final JsonElement value = json.get(memberName);
-    if (value instanceof JsonNull) {
-      return defaultValue;
+    switch (memberName) {
+      case "name":
+        return name;
+      case "description":
+        return description;
+      case "emptyBodyDescription":
+        return emptyBodyDescription;
+      case "type":
+        return type;
+      case "unit":
+        return unit;
+      case "numberToString":
+        return numberToString;
+      case "ifTrue":
+        return ifTrue;
+      case "ifFalse":
+        return ifFalse;
+      case "ifPresent":
+        return ifPresent;
+      case "defaultValue":
+        return defaultValue;
+      case "ifEmpty":
+        return ifEmpty;
+      case "ifNull":
+        return ifNull;
+      case "tooltip":
+        return tooltip;
+      case "exception":
+        return exception;
+      case "propertyType":
+        return propertyType;
+      case "valueId":
+        return valueRef.getId();
+      case "objectId":
+        return dartDiagnosticRef != null ? dartDiagnosticRef.getId() : null;
+      default:
+        return null;
     }
-    return DiagnosticLevel.valueOf(value.getAsString());
   }
 
-  private DiagnosticsTreeStyle getStyleMember(String memberName, DiagnosticsTreeStyle defaultValue) {
-    if (!json.has(memberName)) {
-      return defaultValue;
-    }
-    final JsonElement value = json.get(memberName);
-    if (value instanceof JsonNull) {
-      return defaultValue;
+  @Nullable
+  private synchronized JsonObject getRawJson() {
+    if (rawJson == null && rawJsonText != null) {
+      rawJson = new JsonParser().parse(rawJsonText).getAsJsonObject();
+      rawJsonText = null;
     }
-    return DiagnosticsTreeStyle.valueOf(value.getAsString());
+    return rawJson;
   }
 
   /**
    * Returns a reference to the value the DiagnosticsNode object is describing.
    */
   public InspectorInstanceRef getValueRef() {
-    final JsonElement valueId = json.get("valueId");
-    return new InspectorInstanceRef(valueId.isJsonNull() ? null : valueId.getAsString());
+    return valueRef;
   }
 
   /**
@@ -476,33 +605,55 @@ public class DiagnosticsNode {
   public CompletableFuture<Map<String, InstanceRef>> getValueProperties() {
     final InspectorInstanceRef valueRef = getValueRef();
     if (valueProperties == null) {
-      if (getPropertyType() == null || valueRef == null || valueRef.getId() == null) {
+      final String[] propertyNames = getValuePropertyNames();
+      if (propertyNames == null || valueRef == null || valueRef.getId() == null) {
         valueProperties = new CompletableFuture<>();
         valueProperties.complete(null);
         return valueProperties;
       }
-      final String[] propertyNames;
-      // Add more cases here as visual displays for additional Dart objects
-      // are added.
-      switch (getPropertyType()) {
-        case "Color":
-          propertyNames = new String[]{"red", "green", "blue", "alpha"};
-          break;
-        case "IconData":
-          propertyNames = new String[]{"codePoint"};
-          break;
-        default:
-          valueProperties = new CompletableFuture<>();
-          valueProperties.complete(null);
-          return valueProperties;
-      }
-      valueProperties = inspectorService.getDartObjectProperties(getValueRef(), propertyNames);
+      valueProperties = inspectorService.getDartObjectProperties(getValueRef(), propertyNames, groupName);
     }
     return valueProperties;
   }
 
+  /**
+   * Returns the names of the Dart properties of the value used to display it,
+   * or null if the value has no custom display.
+   */
+  @Nullable
+  String[] getValuePropertyNames() {
+    final String propertyType = getPropertyType();
+    if (propertyType == null) {
+      return null;
+    }
+    // Add more cases here as visual displays for additional Dart objects
+    // are added.
+    switch (propertyType) {
+      case "Color":
+        return new String[]{"red", "green", "blue", "alpha"};
+      case "IconData":
+        return new String[]{"codePoint"};
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Check whether the value properties have already been requested.
+   */
+  boolean valuePropertiesRequested() {
+    return valueProperties != null;
+  }
+
+  /**
+   * Provides value properties that were loaded as part of a batch request.
+   */
+  void setValueProperties(@NotNull CompletableFuture<Map<String, InstanceRef>> valueProperties) {
+    this.valueProperties = valueProperties;
+  }
+
   public boolean hasChildren() {
-    return getBooleanMember("hasChildren", false);
+    return hasChildren;
   }
 
   /**
@@ -515,7 +666,7 @@ public class DiagnosticsNode {
   public CompletableFuture<ArrayList<DiagnosticsNode>> getChildren() {
     if (children == null) {
       if (hasChildren()) {
-        children = inspectorService.getChildren(getDartDiagnosticRef());
+        children = inspectorService.getChildren(getDartDiagnosticRef(), groupName);
 
         // Apply filters.
         if (WIDGET_FILTERING_ENABLED) {
@@ -561,12 +712,12 @@ public class DiagnosticsNode {
    * Reference the actual Dart DiagnosticsNode object this object is referencing.
    */
   public InspectorInstanceRef getDartDiagnosticRef() {
-    return new InspectorInstanceRef(json.get("objectId").getAsString());
+    return dartDiagnosticRef;
   }
 
   public CompletableFuture<ArrayList<DiagnosticsNode>> getProperties() {
     if (properties == null) {
-      properties = inspectorService.getProperties(getDartDiagnosticRef());
+      properties = inspectorService.getProperties(getDartDiagnosticRef(), groupName);
     }
     return properties;
   }
@@ -575,6 +726,14 @@ public class DiagnosticsNode {
     return inspectorService;
   }
 
+  /**
+   * Returns the object group this node was loaded in, or null for the default group.
+   */
+  @Nullable
+  public String getGroupName() {
+    return groupName;
+  }
+
   @Nullable
   public FlutterWidget getWidget() {
     return FlutterWidget.getCatalog().getWidget(getDescription());
@@ -582,13 +741,15 @@ public class DiagnosticsNode {
 
   @Nullable
   public Icon getIcon() {
-    Icon icon = null;
-    final FlutterWidget widget = getWidget();
-    if (widget != null) {
-      icon = widget.getIcon();
-    }
-    if (icon == null) {
-      icon = getCustomIcon(getDescription());
+    if (!iconResolved) {
+      final FlutterWidget widget = getWidget();
+      if (widget != null) {
+        icon = widget.getIcon();
+      }
+      if (icon == null) {
+        icon = getCustomIcon(getDescription());
+      }
+      iconResolved = true;
     }
     return icon;
   }
@@ -599,14 +760,252 @@ public class DiagnosticsNode {
     }
 
     final boolean isPrivate = text.startsWith("_");
-    while (!text.isEmpty() && !Character.isAlphabetic(text.charAt(0))) {
-      text = text.substring(1);
+    int start = 0;
+    while (start < text.length() && !Character.isAlphabetic(text.charAt(start))) {
+      start++;
     }
 
-    if (text.isEmpty()) {
+    if (start == text.length()) {
       return null;
     }
 
-    return iconMaker.getCustomIcon(text, isPrivate ? CustomIconMaker.IconKind.kMethod : CustomIconMaker.IconKind.kClass);
+    return iconMaker.getCustomIcon(text.charAt(start), isPrivate ? CustomIconMaker.IconKind.kMethod : CustomIconMaker.IconKind.kClass,
+                                   false);
+  }
+
+  /**
+   * The members of a node, decoded one at a time before the node is created.
+   */
+  static class Members {
+    /**
+     * Names of the members decoded; any other member is only available from the raw JSON.
+     */
+    static final Set<String> NAMES = ImmutableSet.of(
+      "name", "showSeparator", "description", "level", "showName", "emptyBodyDescription", "style", "type", "quoted", "unit",
+      "numberToString", "ifTrue", "ifFalse", "values", "ifPresent", "defaultValue", "ifEmpty", "ifNull", "tooltip",
+      "missingIfNull", "exception", "propertyType", "defaultLevel", "isDiagnosticableValue", "valueId", "hasChildren", "objectId");
+
+    private String name;
+    private boolean showSeparator = true;
+    private String description;
+    private DiagnosticLevel level = DiagnosticLevel.info;
+    private boolean showName = true;
+    private String emptyBodyDescription;
+    private DiagnosticsTreeStyle style = DiagnosticsTreeStyle.sparse;
+    private String type;
+    private boolean isQuoted;
+    private String unit;
+    private String numberToString;
+    private String ifTrue;
+    private String ifFalse;
+    private ArrayList<String> values;
+    private String ifPresent;
+    private String defaultValue;
+    private String ifEmpty;
+    private String ifNull;
+    private String tooltip;
+    private boolean missingIfNull;
+    private String exception;
+    private String propertyType;
+    private DiagnosticLevel defaultLevel = DiagnosticLevel.info;
+    private boolean isDiagnosticableValue;
+    private String valueId;
+    private boolean hasChildren;
+    private String objectId;
+    private int presentMembers;
+
+    /**
+     * JSON with members that are not in {@link #NAMES}, as a parsed object or as text to parse on first use.
+     */
+    @Nullable JsonObject rawJson;
+    @Nullable String rawJsonText;
+
+    @NotNull
+    static Members fromJson(@Nullable JsonObject json) {
+      final Members members = new Members();
+      if (json != null) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+          if (NAMES.contains(entry.getKey())) {
+            members.set(entry.getKey(), toValue(entry.getValue()));
+          }
+          else {
+            members.rawJson = json;
+          }
+        }
+      }
+      return members;
+    }
+
+    /**
+     * Sets one of the {@link #NAMES} members.
+     *
+     * @param value a String, Boolean, list of Strings for "values", or null.
+     */
+    void set(@NotNull String member, @Nullable Object value) {
+      switch (member) {
+        case "name":
+          name = asString(value);
+          break;
+        case "showSeparator":
+          showSeparator = asBoolean(value, true);
+          break;
+        case "description":
+          description = asString(value);
+          break;
+        case "level":
+          level = asLevel(value, DiagnosticLevel.info);
+          break;
+        case "showName":
+          showName = asBoolean(value, true);
+          break;
+        case "emptyBodyDescription":
+          emptyBodyDescription = asString(value);
+          break;
+        case "style":
+          style = asStyle(value, DiagnosticsTreeStyle.sparse);
+          break;
+        case "type":
+          type = asString(value);
+          break;
+        case "quoted":
+          isQuoted = asBoolean(value, false);
+          presentMembers |= HAS_QUOTED;
+          break;
+        case "unit":
+          unit = asString(value);
+          presentMembers |= HAS_UNIT;
+          break;
+        case "numberToString":
+          numberToString = asString(value);
+          presentMembers |= HAS_NUMBER_TO_STRING;
+          break;
+        case "ifTrue":
+          ifTrue = asString(value);
+          presentMembers |= HAS_IF_TRUE;
+          break;
+        case "ifFalse":
+          ifFalse = asString(value);
+          presentMembers |= HAS_IF_FALSE;
+          break;
+        case "values":
+          values = asStringList(value);
+          presentMembers |= HAS_VALUES;
+          break;
+        case "ifPresent":
+          ifPresent = asString(value);
+          presentMembers |= HAS_IF_PRESENT;
+          break;
+        case "defaultValue":
+          defaultValue = asString(value);
+          presentMembers |= HAS_DEFAULT_VALUE;
+          break;
+        case "ifEmpty":
+          ifEmpty = asString(value);
+          break;
+        case "ifNull":
+          ifNull = asString(value);
+          break;
+        case "tooltip":
+          tooltip = asString(value);
+          presentMembers |= HAS_TOOLTIP;
+          break;
+        case "missingIfNull":
+          missingIfNull = asBoolean(value, false);
+          break;
+        case "exception":
+          exception = asString(value);
+          presentMembers |= HAS_EXCEPTION;
+          break;
+        case "propertyType":
+          propertyType = asString(value);
+          break;
+        case "defaultLevel":
+          defaultLevel = asLevel(value, DiagnosticLevel.info);
+          break;
+        case "isDiagnosticableValue":
+          isDiagnosticableValue = asBoolean(value, false);
+          break;
+        case "valueId":
+          valueId = asString(value);
+          break;
+        case "hasChildren":
+          hasChildren = asBoolean(value, false);
+          break;
+        case "objectId":
+          objectId = asString(value);
+          break;
+        default:
+          throw new IllegalArgumentException("Not a decoded member: " + member);
+      }
+    }
+
+    @Nullable
+    private static Object toValue(@NotNull JsonElement value) {
+      if (value.isJsonNull()) {
+        return null;
+      }
+      if (value.isJsonArray()) {
+        final JsonArray rawValues = value.getAsJsonArray();
+        final ArrayList<String> values = new ArrayList<>(rawValues.size());
+        for (int i = 0; i < rawValues.size(); ++i) {
+          values.add(rawValues.get(i).getAsString());
+        }
+        return values;
+      }
+      if (value.isJsonPrimitive() && value.getAsJsonPrimitive().isBoolean()) {
+        return value.getAsBoolean();
+      }
+      return value.getAsString();
+    }
+
+    @Nullable
+    private static String asString(@Nullable Object value) {
+      return value == null ? null : value.toString();
+    }
+
+    private static boolean asBoolean(@Nullable Object value, boolean defaultValue) {
+      if (value == null) {
+        return defaultValue;
+      }
+      return value instanceof Boolean ? (Boolean)value : Boolean.parseBoolean(value.toString());
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static ArrayList<String> asStringList(@Nullable Object value) {
+      if (value == null) {
+        return null;
+      }
+      if (!(value instanceof ArrayList)) {
+        throw new IllegalArgumentException("Expected a list of strings: " + value);
+      }
+      return (ArrayList<String>)value;
+    }
+
+    private static DiagnosticLevel asLevel(@Nullable Object value, DiagnosticLevel defaultValue) {
+      if (value == null) {
+        return defaultValue;
+      }
+      try {
+        return DiagnosticLevel.valueOf(value.toString());
+      }
+      catch (IllegalArgumentException e) {
+        // Newer versions of Flutter may add levels.
+        return defaultValue;
+      }
+    }
+
+    private static DiagnosticsTreeStyle asStyle(@Nullable Object value, DiagnosticsTreeStyle defaultValue) {
+      if (value == null) {
+        return defaultValue;
+      }
+      try {
+        return DiagnosticsTreeStyle.valueOf(value.toString());
+      }
+      catch (IllegalArgumentException e) {
+        // Newer versions of Flutter may add styles.
+        return defaultValue;
+      }
+    }
   }
 }
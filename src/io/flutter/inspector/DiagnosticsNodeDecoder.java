@@ -0,0 +1,227 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Streaming decoder for the JSON payloads returned by the inspector on the device.
+ * <p>
+ * Payloads are decoded directly from the string into DiagnosticsNode members
+ * without building any JSON tree. Only the members DiagnosticsNode knows how to
+ * display are kept and repeated strings such as type names, styles and levels
+ * are interned so that large trees share them. Other members are skipped
+ * unless the decoder was created with keepRawJson set, in which case they are
+ * copied as JSON text that the node only parses if one of them is requested.
+ */
+public class DiagnosticsNodeDecoder {
+  /**
+   * Members whose values repeat across many nodes.
+   */
+  private static final Set<String> INTERNED_MEMBERS = ImmutableSet.of(
+    "name", "description", "level", "defaultLevel", "style", "type", "propertyType", "unit", "emptyBodyDescription");
+
+  private final Interner<String> interner = Interners.newWeakInterner();
+  private final boolean keepRawJson;
+
+  public DiagnosticsNodeDecoder(boolean keepRawJson) {
+    this.keepRawJson = keepRawJson;
+  }
+
+  /**
+   * @param groupName object group the decoded nodes were created in, or null for the default group.
+   */
+  public DiagnosticsNode decodeNode(@NotNull String json, InspectorService inspectorService, String groupName) {
+    try (JsonReader reader = createReader(json)) {
+      return readNode(reader, inspectorService, groupName);
+    }
+    catch (IOException | IllegalStateException | IllegalArgumentException e) {
+      throw new JsonParseException(e);
+    }
+  }
+
+  public ArrayList<DiagnosticsNode> decodeNodes(@NotNull String json, InspectorService inspectorService, String groupName) {
+    try (JsonReader reader = createReader(json)) {
+      return readNodes(reader, inspectorService, groupName);
+    }
+    catch (IOException | IllegalStateException | IllegalArgumentException e) {
+      throw new JsonParseException(e);
+    }
+  }
+
+  public ArrayList<DiagnosticsPathNode> decodePath(@NotNull String json, InspectorService inspectorService, String groupName) {
+    try (JsonReader reader = createReader(json)) {
+      final ArrayList<DiagnosticsPathNode> pathNodes = new ArrayList<>();
+      reader.beginArray();
+      while (reader.hasNext()) {
+        pathNodes.add(readPathNode(reader, inspectorService, groupName));
+      }
+      reader.endArray();
+      return pathNodes;
+    }
+    catch (IOException | IllegalStateException | IllegalArgumentException e) {
+      throw new JsonParseException(e);
+    }
+  }
+
+  private static JsonReader createReader(String json) {
+    final JsonReader reader = new JsonReader(new StringReader(json));
+    reader.setLenient(true);
+    return reader;
+  }
+
+  private DiagnosticsPathNode readPathNode(JsonReader reader, InspectorService inspectorService, String groupName)
+    throws IOException {
+    DiagnosticsNode node = null;
+    ArrayList<DiagnosticsNode> children = new ArrayList<>();
+    int childIndex = -1;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      final String name = reader.nextName();
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        continue;
+      }
+      switch (name) {
+        case "node":
+          node = readNode(reader, inspectorService, groupName);
+          break;
+        case "children":
+          children = readNodes(reader, inspectorService, groupName);
+          break;
+        case "childIndex":
+          childIndex = reader.nextInt();
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return new DiagnosticsPathNode(node, children, childIndex);
+  }
+
+  private ArrayList<DiagnosticsNode> readNodes(JsonReader reader, InspectorService inspectorService, String groupName)
+    throws IOException {
+    final ArrayList<DiagnosticsNode> nodes = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      nodes.add(readNode(reader, inspectorService, groupName));
+    }
+    reader.endArray();
+    return nodes;
+  }
+
+  private DiagnosticsNode readNode(JsonReader reader, InspectorService inspectorService, String groupName) throws IOException {
+    final DiagnosticsNode.Members members = new DiagnosticsNode.Members();
+    StringWriter rawJson = null;
+    JsonWriter rawJsonWriter = null;
+    reader.beginObject();
+    while (reader.hasNext()) {
+      final String name = reader.nextName();
+      if (DiagnosticsNode.Members.NAMES.contains(name)) {
+        members.set(name, readValue(reader, INTERNED_MEMBERS.contains(name)));
+      }
+      else if (keepRawJson) {
+        if (rawJsonWriter == null) {
+          rawJson = new StringWriter();
+          rawJsonWriter = new JsonWriter(rawJson);
+          rawJsonWriter.setLenient(true);
+          rawJsonWriter.beginObject();
+        }
+        rawJsonWriter.name(name);
+        copyValue(reader, rawJsonWriter);
+      }
+      else {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    if (rawJsonWriter != null) {
+      rawJsonWriter.endObject();
+      members.rawJsonText = rawJson.toString();
+    }
+    return new DiagnosticsNode(members, inspectorService, groupName);
+  }
+
+  /**
+   * Copies the next value from reader to writer without building a JSON tree.
+   */
+  private static void copyValue(JsonReader reader, JsonWriter writer) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_ARRAY:
+        reader.beginArray();
+        writer.beginArray();
+        while (reader.hasNext()) {
+          copyValue(reader, writer);
+        }
+        reader.endArray();
+        writer.endArray();
+        break;
+      case BEGIN_OBJECT:
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+          writer.name(reader.nextName());
+          copyValue(reader, writer);
+        }
+        reader.endObject();
+        writer.endObject();
+        break;
+      case BOOLEAN:
+        writer.value(reader.nextBoolean());
+        break;
+      case NULL:
+        reader.nextNull();
+        writer.nullValue();
+        break;
+      case NUMBER:
+        writer.jsonValue(reader.nextString());
+        break;
+      default:
+        writer.value(reader.nextString());
+    }
+  }
+
+  /**
+   * Reads a member value in the form {@link DiagnosticsNode.Members#set} expects.
+   */
+  private Object readValue(JsonReader reader, boolean intern) throws IOException {
+    switch (reader.peek()) {
+      case NULL:
+        reader.nextNull();
+        return null;
+      case BOOLEAN:
+        return reader.nextBoolean();
+      case BEGIN_ARRAY: {
+        final ArrayList<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+          values.add(interner.intern(reader.nextString()));
+        }
+        reader.endArray();
+        return values;
+      }
+      default: {
+        // Numbers are read as strings, as DiagnosticsNode stores them.
+        final String value = reader.nextString();
+        return intern ? interner.intern(value) : value;
+      }
+    }
+  }
+}
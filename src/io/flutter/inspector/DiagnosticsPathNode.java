@@ -17,39 +17,66 @@ import java.util.ArrayList;
  * on the device.
  */
 public class DiagnosticsPathNode {
-  private final InspectorService inspectorService;
-  private final JsonObject json;
+  private final DiagnosticsNode node;
+  private final ArrayList<DiagnosticsNode> children;
+  private final int childIndex;
 
   public DiagnosticsPathNode(JsonObject json, InspectorService inspectorService) {
-    this.inspectorService = inspectorService;
-    this.json = json;
+    this(json, inspectorService, null);
+  }
+
+  public DiagnosticsPathNode(JsonObject json, InspectorService inspectorService, String groupName) {
+    this(new DiagnosticsNode(json.getAsJsonObject("node"), inspectorService, groupName),
+         decodeChildren(json.get("children"), inspectorService, groupName),
+         decodeChildIndex(json.get("childIndex")));
+  }
+
+  /**
+   * Creates a path node from nodes that were already decoded, such as by {@link DiagnosticsNodeDecoder}.
+   *
+   * @param childIndex index of the child that continues the path, or -1 if none does.
+   */
+  DiagnosticsPathNode(DiagnosticsNode node, ArrayList<DiagnosticsNode> children, int childIndex) {
+    this.node = node;
+    this.children = children;
+    this.childIndex = childIndex;
   }
 
   public DiagnosticsNode getNode() {
-    // We are lazy about getting the diagnosticNode instanceRef so that no additional round trips using the observatory protocol
-    // are yet triggered for the typical case where properties of a node are not inspected.
-    return new DiagnosticsNode(json.getAsJsonObject("node"), inspectorService);
+    return node;
   }
 
+  /**
+   * Returns the children of the node, or null if they aren't known, such as
+   * for the last node of a path that {@link InspectorService} built from the
+   * path to a sibling.
+   */
   public ArrayList<DiagnosticsNode> getChildren() {
+    return children;
+  }
+
+  /**
+   * Returns the index of the child that continues the path if any.
+   */
+  public int getChildIndex() {
+    return childIndex;
+  }
+
+  private static ArrayList<DiagnosticsNode> decodeChildren(JsonElement childrenElement, InspectorService inspectorService,
+                                                           String groupName) {
     final ArrayList<DiagnosticsNode> children = new ArrayList<>();
-    final JsonElement childrenElement = json.get("children");
-    if (childrenElement.isJsonNull()) {
+    if (childrenElement == null || childrenElement.isJsonNull()) {
       return children;
     }
     final JsonArray childrenJson = childrenElement.getAsJsonArray();
     for (int i = 0; i < childrenJson.size(); ++i) {
-      children.add(new DiagnosticsNode(childrenJson.get(i).getAsJsonObject(), inspectorService));
+      children.add(new DiagnosticsNode(childrenJson.get(i).getAsJsonObject(), inspectorService, groupName));
     }
     return children;
   }
 
-  /**
-   * Returns the index of the child that continues the path if any.
-   */
-  public int getChildIndex() {
-    final JsonElement childIndex = json.get("childIndex");
-    if (childIndex.isJsonNull()) {
+  private static int decodeChildIndex(JsonElement childIndex) {
+    if (childIndex == null || childIndex.isJsonNull()) {
       return -1;
     }
     return childIndex.getAsInt();
@@ -24,6 +24,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -35,9 +36,20 @@ public class EvalOnDartLibrary implements Disposable {
   private final String libraryName;
   final CompletableFuture<LibraryRef> libraryRef;
   private final Alarm myRequestsScheduler;
+  private final VmRequestScheduler myRequests;
+
+  /**
+   * Maximum number of requests outstanding against the isolate at a time.
+   */
+  private static final int MAX_CONCURRENT_REQUESTS = 4;
 
   private static final Logger LOG = Logger.getInstance(EvalOnDartLibrary.class);
 
+  /**
+   * Cached handle to VmServiceBase.request, looked up on first use.
+   */
+  private static volatile Method vmServiceRequestMethod;
+
   public EvalOnDartLibrary(String libraryName, FlutterDebugProcess debugProcess, VmService vmService) {
     this.vmService = vmService;
     final Collection<IsolatesInfo.IsolateInfo> isolates = debugProcess.getIsolateInfos();
@@ -45,6 +57,7 @@ public class EvalOnDartLibrary implements Disposable {
     isolateInfo = Iterables.get(isolates, 0);
     this.libraryName = libraryName;
     this.myRequestsScheduler = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, this);
+    this.myRequests = new VmRequestScheduler((Runnable request) -> myRequestsScheduler.addRequest(request, 0), MAX_CONCURRENT_REQUESTS);
     libraryRef = new CompletableFuture<>();
     initialize();
   }
@@ -54,8 +67,18 @@ public class EvalOnDartLibrary implements Disposable {
   }
 
   public void dispose() {
+    myRequests.cancelAll();
     myRequestsScheduler.dispose();
-    // TODO(jacobr): complete all pending futures as cancelled?
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Requests for " + libraryName + ": " + myRequests.getStats());
+    }
+  }
+
+  /**
+   * Returns a snapshot of the queue depth and latency counters for requests made through this library.
+   */
+  public String getRequestStats() {
+    return myRequests.getStats().toString();
   }
 
   /**
@@ -64,61 +87,78 @@ public class EvalOnDartLibrary implements Disposable {
    */
   private void callVmServiceRequest(VmService vmService, String methodName, JsonObject params, EvaluateConsumer consumer) {
     try {
-      final Method method = ReflectionUtil
-        .getDeclaredMethod(Class.forName("org.dartlang.vm.service.VmServiceBase"), "request", String.class, JsonObject.class,
-                           Consumer.class);
+      getVmServiceRequestMethod().invoke(vmService, methodName, params, consumer);
+    }
+    catch (IllegalAccessException | InvocationTargetException e) {
+      throw new RuntimeException((e.toString()));
+    }
+  }
+
+  private static Method getVmServiceRequestMethod() {
+    Method method = vmServiceRequestMethod;
+    if (method == null) {
+      try {
+        method = ReflectionUtil
+          .getDeclaredMethod(Class.forName("org.dartlang.vm.service.VmServiceBase"), "request", String.class, JsonObject.class,
+                             Consumer.class);
+      }
+      catch (ClassNotFoundException e) {
+        throw new RuntimeException((e.toString()));
+      }
       if (method == null) {
         throw new RuntimeException("Cannot find method 'request'");
       }
       method.setAccessible(true);
-      method.invoke(vmService, methodName, params, consumer);
-    }
-    catch (IllegalAccessException | InvocationTargetException | ClassNotFoundException e) {
-      throw new RuntimeException((e.toString()));
+      vmServiceRequestMethod = method;
     }
+    return method;
   }
 
   public CompletableFuture<InstanceRef> eval(String expression, Map<String, String> scope) {
-    final CompletableFuture<InstanceRef> future = new CompletableFuture<>();
-    //noinspection CodeBlock2Expr
-    myRequestsScheduler.addRequest(() -> {
-      //noinspection CodeBlock2Expr
-      libraryRef.thenAcceptAsync((LibraryRef ref) -> {
-        evaluateHelper(
-          isolateInfo.getIsolateId(), ref.getId(), expression, scope,
-          new EvaluateConsumer() {
-            @Override
-            public void onError(RPCError error) {
-              LOG.error(error);
-              future.completeExceptionally(new RuntimeException(error.toString()));
-            }
-
-            @Override
-            public void received(ErrorRef response) {
-              LOG.error("Error evaluating expression:\n" + response.getMessage());
-              future.completeExceptionally(new RuntimeException(response.toString()));
-            }
-
-            @Override
-            public void received(InstanceRef response) {
-              future.complete(response);
-            }
-
-            @Override
-            public void received(Sentinel response) {
-              future.completeExceptionally(new RuntimeException(response.toString()));
+    final String key = "eval:" + expression + (scope != null ? new TreeMap<>(scope).toString() : "");
+    return myRequests.schedule(key, (CompletableFuture<InstanceRef> future) -> {
+      libraryRef.whenComplete((LibraryRef ref, Throwable throwable) -> {
+        if (throwable != null) {
+          future.completeExceptionally(throwable);
+          return;
+        }
+        try {
+          evaluateHelper(
+            isolateInfo.getIsolateId(), ref.getId(), expression, scope,
+            new EvaluateConsumer() {
+              @Override
+              public void onError(RPCError error) {
+                LOG.error(error);
+                future.completeExceptionally(new RuntimeException(error.toString()));
+              }
+
+              @Override
+              public void received(ErrorRef response) {
+                LOG.error("Error evaluating expression:\n" + response.getMessage());
+                future.completeExceptionally(new RuntimeException(response.toString()));
+              }
+
+              @Override
+              public void received(InstanceRef response) {
+                future.complete(response);
+              }
+
+              @Override
+              public void received(Sentinel response) {
+                future.completeExceptionally(new RuntimeException(response.toString()));
+              }
             }
-          }
-        );
+          );
+        }
+        catch (RuntimeException e) {
+          future.completeExceptionally(e);
+        }
       });
-    }, 0);
-    return future;
+    });
   }
 
   public CompletableFuture<Instance> getInstance(InstanceRef instance) {
-    final CompletableFuture<Instance> future = new CompletableFuture<>();
-    //noinspection CodeBlock2Expr
-    myRequestsScheduler.addRequest(() -> {
+    return myRequests.schedule("getObject:" + instance.getId(), (CompletableFuture<Instance> future) -> {
       vmService.getObject(
         isolateInfo.getIsolateId(), instance.getId(), new GetObjectConsumer() {
           @Override
@@ -137,12 +177,11 @@ public class EvalOnDartLibrary implements Disposable {
           }
         }
       );
-    }, 0);
-    return future;
+    });
   }
 
   public CompletableFuture<Instance> getInstance(CompletableFuture<InstanceRef> instanceFuture) {
-    return instanceFuture.thenComposeAsync(this::getInstance);
+    return instanceFuture.thenComposeAsync(this::getInstance, InspectorExecutor.getInstance());
   }
 
   private void evaluateHelper(String isolateId, String targetId, String expression, Map<String, String> scope, EvaluateConsumer consumer) {
@@ -7,13 +7,10 @@ package io.flutter.inspector;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.ByteStreams;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import icons.FlutterIcons;
-import io.flutter.utils.JsonUtils;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -91,29 +88,17 @@ public class FlutterWidget {
   }
 
   private static final Catalog catalog = new Catalog();
-  private final JsonObject json;
-  private final Icon icon;
-
-  private FlutterWidget(@NotNull JsonObject json) {
-    this.json = json;
-    this.icon = initIcon();
-  }
+  @NotNull
+  private final String name;
+  @NotNull
+  private final List<String> categories;
+  @NotNull
+  private final List<String> subCategories;
 
-  @Nullable
-  private Icon initIcon() {
-    // TODO(pq): re-enable category icons when we have a consistent icon set.
-    //final List<String> categories = getCategories();
-    //if (categories != null) {
-    //  // TODO(pq): consider priority over first match.
-    //  for (String label : categories) {
-    //    final Category category = Category.forLabel(label);
-    //    if (category != null) {
-    //      final Icon icon = category.getIcon();
-    //      if (icon != null) return icon;
-    //    }
-    //  }
-    //}
-    return null;
+  private FlutterWidget(@NotNull String name, @NotNull List<String> categories, @NotNull List<String> subCategories) {
+    this.name = name;
+    this.categories = categories;
+    this.subCategories = subCategories;
   }
 
   @Contract(pure = true)
@@ -122,62 +107,81 @@ public class FlutterWidget {
     return catalog;
   }
 
+  /**
+   * Loads the catalog on a pooled thread so that the first inspector render does not have to.
+   */
+  public static void preloadCatalog() {
+    ApplicationManager.getApplication().executeOnPooledThread(FlutterWidget::getCatalog);
+  }
+
+  /**
+   * Icons are resolved on demand so that loading the catalog does not load any icons.
+   */
   @Contract(pure = true)
   @Nullable
   public Icon getIcon() {
-    return icon;
+    // TODO(pq): re-enable category icons when we have a consistent icon set.
+    //for (String label : getCategories()) {
+    //  // TODO(pq): consider priority over first match.
+    //  final Category category = Category.forLabel(label);
+    //  if (category != null) {
+    //    final Icon icon = category.getIcon();
+    //    if (icon != null) return icon;
+    //  }
+    //}
+    return null;
   }
 
-  @Nullable
+  @NotNull
   public String getName() {
-    return JsonUtils.getStringMember(json, "name");
+    return name;
   }
 
-  @Nullable
+  @NotNull
   public List<String> getCategories() {
-    return JsonUtils.getValues(json, "categories");
+    return categories;
   }
 
-  @Nullable
+  @NotNull
   public List<String> getSubCategories() {
-    return JsonUtils.getValues(json, "subcategories");
+    return subCategories;
   }
 
   /**
    * Catalog of widgets derived from widgets.json.
+   * <p>
+   * The catalog is read from {@link WidgetCatalogIndex}, which is generated
+   * from widgets.json by tool/widgets/widgets_main.dart, so no JSON is parsed
+   * to build it. Category names are shared by all widgets.
    */
   public static final class Catalog {
     @NotNull
-    private final Map<String, FlutterWidget> widgets = new HashMap<>();
-
-    @Nullable
-    private JsonElement json;
+    private final Map<String, FlutterWidget> widgets;
 
     private Catalog() {
-      init();
+      final String[] names = WidgetCatalogIndex.NAMES;
+      widgets = new HashMap<>(names.length * 2);
+      for (int i = 0; i < names.length; ++i) {
+        final FlutterWidget widget = new FlutterWidget(
+          names[i],
+          lookup(WidgetCatalogIndex.CATEGORIES, WidgetCatalogIndex.WIDGET_CATEGORIES[i]),
+          lookup(WidgetCatalogIndex.SUBCATEGORIES, WidgetCatalogIndex.WIDGET_SUBCATEGORIES[i]));
+        // TODO(pq): add validation once json is repaired (https://github.com/flutter/flutter/issues/12930).
+        //if (widgets.containsKey(name)) throw new IllegalStateException("Unexpected contents: widget `" + name + "` is duplicated");
+        widgets.put(names[i], widget);
+      }
     }
 
-    private void init() {
-      try {
-        // Local copy of: https://github.com/flutter/website/tree/master/_data/catalog/widget.json
-        final URL resource = getClass().getResource("widgets.json");
-        final byte[] contentBytes = ByteStreams.toByteArray((InputStream)resource.getContent());
-        final String content = new String(contentBytes, Charsets.UTF_8);
-        final JsonParser parser = new JsonParser();
-        json = parser.parse(content);
-        if (!(json instanceof JsonArray)) throw new IllegalStateException("Unexpected Json format: expected array");
-        ((JsonArray)json).forEach(element -> {
-          if (!(element instanceof JsonObject)) throw new IllegalStateException("Unexpected Json format: expected object");
-          final FlutterWidget widget = new FlutterWidget((JsonObject)element);
-          final String name = widget.getName();
-          // TODO(pq): add validation once json is repaired (https://github.com/flutter/flutter/issues/12930).
-          //if (widgets.containsKey(name)) throw new IllegalStateException("Unexpected contents: widget `" + name + "` is duplicated");
-          widgets.put(name, widget);
-        });
+    @NotNull
+    private static List<String> lookup(@NotNull String[] values, @NotNull byte[] indexes) {
+      if (indexes.length == 0) {
+        return Collections.emptyList();
       }
-      catch (IOException e) {
-        LOG.error(e);
+      final String[] result = new String[indexes.length];
+      for (int i = 0; i < indexes.length; ++i) {
+        result[i] = values[indexes[i]];
       }
+      return Collections.unmodifiableList(Arrays.asList(result));
     }
 
     @Contract(pure = true)
@@ -192,10 +196,24 @@ public class FlutterWidget {
       return name != null ? widgets.get(name) : null;
     }
 
+    /**
+     * Returns the contents of widgets.json.
+     * <p>
+     * The JSON is read on each call rather than kept alive with the catalog.
+     */
     @Contract(pure = true)
     @NotNull
     public String dumpJson() {
-      return Objects.toString(json);
+      try {
+        // Local copy of: https://github.com/flutter/website/tree/master/_data/catalog/widget.json
+        final URL resource = getClass().getResource("widgets.json");
+        final byte[] contentBytes = ByteStreams.toByteArray((InputStream)resource.getContent());
+        return Objects.toString(new JsonParser().parse(new String(contentBytes, Charsets.UTF_8)));
+      }
+      catch (IOException e) {
+        LOG.error(e);
+        return "null";
+      }
     }
   }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Coalesces Flutter.Frame events so that clients are notified at most once
+ * every minSpacingMillis no matter how fast the app is rendering.
+ * <p>
+ * Frames that arrive while a notification is pending are folded into that
+ * notification.
+ */
+class FrameEventCoalescer {
+  interface Scheduler {
+    void schedule(@NotNull Runnable runnable, long delayMillis);
+  }
+
+  private final long minSpacingMillis;
+  private final Scheduler scheduler;
+  private final LongSupplier clock;
+  private final BooleanSupplier notifier;
+
+  private boolean pending;
+  private long lastNotificationMillis = Long.MIN_VALUE / 2;
+
+  private long framesSeen;
+  private long framesDelivered;
+  private long framesNotShown;
+
+  /**
+   * @param notifier notifies clients, returning false if no client was in a state to show the frame.
+   */
+  FrameEventCoalescer(long minSpacingMillis, @NotNull Scheduler scheduler, @NotNull LongSupplier clock, @NotNull BooleanSupplier notifier) {
+    this.minSpacingMillis = minSpacingMillis;
+    this.scheduler = scheduler;
+    this.clock = clock;
+    this.notifier = notifier;
+  }
+
+  void onFrame() {
+    final long delay;
+    synchronized (this) {
+      framesSeen++;
+      if (pending) {
+        return;
+      }
+      pending = true;
+      delay = Math.max(0, lastNotificationMillis + minSpacingMillis - clock.getAsLong());
+    }
+    scheduler.schedule(this::notifyClients, delay);
+  }
+
+  private void notifyClients() {
+    synchronized (this) {
+      pending = false;
+      lastNotificationMillis = clock.getAsLong();
+    }
+    final boolean delivered = notifier.getAsBoolean();
+    synchronized (this) {
+      if (delivered) {
+        framesDelivered++;
+      }
+      else {
+        framesNotShown++;
+      }
+    }
+  }
+
+  synchronized long getFramesSeen() {
+    return framesSeen;
+  }
+
+  synchronized long getFramesDelivered() {
+    return framesDelivered;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "frames seen: " + framesSeen + ", delivered: " + framesDelivered + ", not shown: " + framesNotShown;
+  }
+}
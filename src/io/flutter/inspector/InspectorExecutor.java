@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.flutter.settings.FlutterSettings;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor for inspector work such as parsing JSON payloads from the device and
+ * building DiagnosticsNode objects.
+ * <p>
+ * This keeps the work off the common ForkJoinPool, which is shared with the
+ * rest of the IDE. The number of threads is read from
+ * {@link FlutterSettings#getInspectorThreadCount()} when the executor is first used.
+ */
+public class InspectorExecutor {
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static ExecutorService executor;
+
+  private InspectorExecutor() {
+  }
+
+  public static synchronized ExecutorService getInstance() {
+    if (executor == null) {
+      final int threadCount = Math.max(1, FlutterSettings.getInstance().getInspectorThreadCount());
+      final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+        threadCount, threadCount, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("Flutter Inspector %d").setDaemon(true).build());
+      // Don't keep threads around while the inspector is idle.
+      threadPool.allowCoreThreadTimeOut(true);
+      executor = threadPool;
+    }
+    return executor;
+  }
+}
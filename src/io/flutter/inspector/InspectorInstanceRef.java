@@ -5,6 +5,8 @@
  */
 package io.flutter.inspector;
 
+import java.util.Objects;
+
 /**
  * Reference to a Dart object.
  *
@@ -28,6 +30,11 @@ public class InspectorInstanceRef {
     return false;
   }
 
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(id);
+  }
+
   @Override
   public String toString() {
     return "instance-" + id;
@@ -6,43 +6,99 @@
 package io.flutter.inspector;
 
 import com.google.common.base.Joiner;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.Alarm;
 import com.jetbrains.lang.dart.ide.runner.server.vmService.VmServiceConsumers;
 import com.jetbrains.lang.dart.ide.runner.server.vmService.frame.DartVmServiceValue;
 import io.flutter.run.FlutterDebugProcess;
+import io.flutter.settings.FlutterSettings;
 import io.flutter.utils.VmServiceListenerAdapter;
 import org.dartlang.vm.service.VmService;
 import org.dartlang.vm.service.element.*;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages all communication between inspector code running on the DartVM and
  * inspector code running in the IDE.
  */
 public class InspectorService implements Disposable {
+  private static final Logger LOG = Logger.getInstance(InspectorService.class);
+
   private static int nextGroupId = 0;
 
   /**
    * Group name to to manage keeping alive nodes in the tree referenced by the inspector.
+   * <p>
+   * Used for requests that are not made on behalf of an {@link ObjectGroupManager}.
    */
   private final String groupName;
+
+  /**
+   * Distinct object ids handed out to the IDE for each object group that has not been disposed.
+   */
+  private final Map<String, Set<String>> liveRefsByGroup = new ConcurrentHashMap<>();
+
+  /**
+   * Paths from the root to each node whose parent chain is known, per object group.
+   * <p>
+   * The group pins the objects a path refers to, so the paths stay valid
+   * across frames until the group is disposed or the app is hot reloaded.
+   */
+  private final Map<String, Map<InspectorInstanceRef, CompletableFuture<ArrayList<DiagnosticsPathNode>>>> parentChainsByGroup =
+    new ConcurrentHashMap<>();
+  private final AtomicLong parentChainHits = new AtomicLong();
+  private final AtomicLong parentChainMisses = new AtomicLong();
   private final FlutterDebugProcess debugProcess;
   private final VmService vmService;
   private final Set<InspectorServiceClient> clients;
   private EvalOnDartLibrary inspectorLibrary;
 
+  /**
+   * Executor used for parsing and node construction instead of the common ForkJoinPool.
+   */
+  private final Executor executor;
+
+  /**
+   * Time spent in each stage of fetching data from the device.
+   */
+  private final StageTimings timings = new StageTimings();
+
+  /**
+   * Decoder shared by all payloads from this service so that repeated strings are shared across trees.
+   */
+  private final DiagnosticsNodeDecoder decoder = new DiagnosticsNodeDecoder(false);
+
+  /**
+   * Limits how often clients are told about Flutter.Frame events.
+   */
+  private final FrameEventCoalescer frameEvents;
+
+  /**
+   * Clients that were not showing when frames were last delivered.
+   */
+  private final Set<InspectorServiceClient> clientsMissingFrames = new HashSet<>();
+
   public InspectorService(FlutterDebugProcess debugProcess, VmService vmService) {
     clients = new HashSet<>();
-    groupName = "intellij_inspector_" + nextGroupId;
-    nextGroupId++;
+    groupName = newGroupName("default");
     this.vmService = vmService;
     this.debugProcess = debugProcess;
+    this.executor = InspectorExecutor.getInstance();
+    final Alarm frameAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+    this.frameEvents = new FrameEventCoalescer(
+      FlutterSettings.getInstance().getInspectorFrameSpacingMillis(),
+      (Runnable runnable, long delayMillis) -> frameAlarm.addRequest(runnable, delayMillis),
+      System::currentTimeMillis,
+      this::notifyFlutterFrame);
 
     vmService.addVmServiceListener(new VmServiceListenerAdapter() {
       @Override
@@ -59,16 +115,80 @@ public class InspectorService implements Disposable {
     vmService.streamListen("Extension", VmServiceConsumers.EMPTY_SUCCESS_CONSUMER);
   }
 
+  private static synchronized String newGroupName(String debugName) {
+    final String name = "intellij_inspector_" + debugName + "_" + nextGroupId;
+    nextGroupId++;
+    return name;
+  }
+
   public CompletableFuture<DiagnosticsNode> getRoot(FlutterTreeType type) {
+    return getRoot(type, groupName);
+  }
+
+  /**
+   * Gets the root of the tree, keeping the nodes it references alive in the given object group.
+   */
+  public CompletableFuture<DiagnosticsNode> getRoot(FlutterTreeType type, String groupName) {
     switch (type) {
       case widget:
-        return getRootWidget();
+        return parseDiagnosticsNode(invokeServiceMethod("getRootWidget", groupName), groupName);
       case renderObject:
-        return getRootRenderObject();
+        return parseDiagnosticsNode(invokeServiceMethod("getRootRenderObject", groupName), groupName);
     }
     throw new RuntimeException("Unexpected FlutterTreeType");
   }
 
+  /**
+   * Creates a manager for a double-buffered pair of object groups.
+   * <p>
+   * Everything the device hands out to the IDE is kept alive until the object
+   * group it was requested in is disposed. Clients that periodically replace
+   * what they display should request the new data in
+   * {@link ObjectGroupManager#getNext()} and call
+   * {@link ObjectGroupManager#promoteNext()} once the UI has switched over,
+   * which releases everything held for the previous data.
+   */
+  public ObjectGroupManager createObjectGroupManager(String debugName) {
+    return new ObjectGroupManager(debugName);
+  }
+
+  /**
+   * Releases all objects the device is keeping alive for the group.
+   */
+  private void disposeGroup(String groupName) {
+    liveRefsByGroup.remove(groupName);
+    parentChainsByGroup.remove(groupName);
+    if (inspectorLibrary == null) {
+      // The isolate the group was created in is gone.
+      return;
+    }
+    eval("WidgetInspectorService.instance.disposeGroup(\"" + groupName + "\")", null);
+  }
+
+  private void addLiveRefs(String groupName, InspectorInstanceRef... refs) {
+    final Set<String> ids = liveRefsByGroup.computeIfAbsent(groupName, (String name) -> ConcurrentHashMap.newKeySet());
+    for (InspectorInstanceRef ref : refs) {
+      if (ref != null && ref.getId() != null) {
+        ids.add(ref.getId());
+      }
+    }
+  }
+
+  private void addLiveRefs(String groupName, DiagnosticsNode node) {
+    addLiveRefs(groupName, node.getDartDiagnosticRef(), node.getValueRef());
+  }
+
+  /**
+   * Returns the number of distinct objects the IDE holds references to in each object group that is still alive.
+   */
+  public Map<String, Integer> getLiveRefCounts() {
+    final Map<String, Integer> counts = new TreeMap<>();
+    for (Map.Entry<String, Set<String>> entry : liveRefsByGroup.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().size());
+    }
+    return counts;
+  }
+
   private EvalOnDartLibrary getInspectorLibrary() {
     if (inspectorLibrary == null) {
       inspectorLibrary = new EvalOnDartLibrary(
@@ -91,28 +211,54 @@ public class InspectorService implements Disposable {
    * Intent is we could refactor how the API is invoked by only changing this call.
    */
   CompletableFuture<InstanceRef> invokeServiceMethod(String methodName) {
-    return getInspectorLibrary().eval("WidgetInspectorService.instance." + methodName + "(\"" + groupName + "\")", null);
+    return invokeServiceMethod(methodName, groupName);
+  }
+
+  CompletableFuture<InstanceRef> invokeServiceMethod(String methodName, String groupName) {
+    return eval("WidgetInspectorService.instance." + methodName + "(\"" + groupName + "\")", null);
   }
 
   CompletableFuture<InstanceRef> invokeServiceMethod(String methodName, InspectorInstanceRef arg) {
+    return invokeServiceMethod(methodName, arg, groupName);
+  }
+
+  CompletableFuture<InstanceRef> invokeServiceMethod(String methodName, InspectorInstanceRef arg, String groupName) {
     if (arg == null || arg.getId() == null) {
-      return getInspectorLibrary().eval("WidgetInspectorService.instance." + methodName + "(null, \"" + groupName + "\")", null);
+      return eval("WidgetInspectorService.instance." + methodName + "(null, \"" + groupName + "\")", null);
     }
-    return getInspectorLibrary()
-      .eval("WidgetInspectorService.instance." + methodName + "(\"" + arg.getId() + "\", \"" + groupName + "\")", null);
+    return eval("WidgetInspectorService.instance." + methodName + "(\"" + arg.getId() + "\", \"" + groupName + "\")", null);
   }
 
   CompletableFuture<InstanceRef> invokeServiceMethodOnRef(String methodName, InstanceRef arg) {
     final HashMap<String, String> scope = new HashMap<>();
     if (arg == null) {
-      return getInspectorLibrary().eval("WidgetInspectorService.instance." + methodName + "(null, \"" + groupName + "\")", scope);
+      return eval("WidgetInspectorService.instance." + methodName + "(null, \"" + groupName + "\")", scope);
     }
     scope.put("arg1", arg.getId());
-    return getInspectorLibrary().eval("WidgetInspectorService.instance." + methodName + "(arg1, \"" + groupName + "\")", scope);
+    return eval("WidgetInspectorService.instance." + methodName + "(arg1, \"" + groupName + "\")", scope);
+  }
+
+  private CompletableFuture<InstanceRef> eval(String expression, Map<String, String> scope) {
+    return timings.timeUntilDone("eval", getInspectorLibrary().eval(expression, scope));
+  }
+
+  /**
+   * Returns the time spent evaluating expressions, fetching results and
+   * decoding nodes for this service.
+   */
+  public StageTimings getStageTimings() {
+    return timings;
+  }
+
+  /**
+   * Returns the group to use for a request made on behalf of a node that may not belong to an object group.
+   */
+  private String groupOrDefault(String groupName) {
+    return groupName != null ? groupName : this.groupName;
   }
 
-  CompletableFuture<DiagnosticsNode> parseDiagnosticsNode(CompletableFuture<InstanceRef> instanceRefFuture) {
-    return instanceRefFuture.thenComposeAsync(this::parseDiagnosticsNode);
+  CompletableFuture<DiagnosticsNode> parseDiagnosticsNode(CompletableFuture<InstanceRef> instanceRefFuture, String groupName) {
+    return instanceRefFuture.thenComposeAsync((InstanceRef instanceRef) -> parseDiagnosticsNode(instanceRef, groupName), executor);
   }
 
   /**
@@ -132,7 +278,12 @@ public class InspectorService implements Disposable {
    */
   public CompletableFuture<Map<String, InstanceRef>> getDartObjectProperties(
       InspectorInstanceRef inspectorInstanceRef, final String[] propertyNames) {
-    return toObservatoryInstanceRef(inspectorInstanceRef).thenComposeAsync((InstanceRef instanceRef) -> {
+    return getDartObjectProperties(inspectorInstanceRef, propertyNames, groupName);
+  }
+
+  CompletableFuture<Map<String, InstanceRef>> getDartObjectProperties(
+      InspectorInstanceRef inspectorInstanceRef, final String[] propertyNames, String groupName) {
+    return invokeServiceMethod("toObject", inspectorInstanceRef, groupOrDefault(groupName)).thenComposeAsync((InstanceRef instanceRef) -> {
       final StringBuilder sb = new StringBuilder();
       final List<String> propertyAccessors = new ArrayList<>();
       final String objectName = "that";
@@ -144,7 +295,7 @@ public class InspectorService implements Disposable {
       sb.append("]");
       final Map<String, String> scope = new HashMap<>();
       scope.put(objectName, instanceRef.getId());
-      return getInstance(inspectorLibrary.eval(sb.toString(), scope)).thenApplyAsync(
+      return getInstance(eval(sb.toString(), scope)).thenApplyAsync(
         (Instance instance) -> {
         // We now have an instance object that is a Dart array of all the
         // property values. Convert it back to a map from property name to
@@ -157,8 +308,106 @@ public class InspectorService implements Disposable {
           properties.put(propertyNames[i], values.get(i));
         }
         return properties;
+      }, executor);
+    }, executor);
+  }
+
+  /**
+   * Batch version of {@link #getDartObjectProperties} that looks up the
+   * properties of many objects with a single expression evaluation.
+   * <p>
+   * Returns a CompletableFuture with a Map from each requested object to a Map
+   * of its property names to Observatory InstanceRef objects. Two round trips
+   * are needed regardless of the number of objects: one to evaluate the
+   * expression and one to fetch the resulting list.
+   */
+  public CompletableFuture<Map<InspectorInstanceRef, Map<String, InstanceRef>>> getDartObjectPropertiesBatch(
+    final Map<InspectorInstanceRef, String[]> propertyNamesByObject) {
+    return getDartObjectPropertiesBatch(propertyNamesByObject, groupName);
+  }
+
+  CompletableFuture<Map<InspectorInstanceRef, Map<String, InstanceRef>>> getDartObjectPropertiesBatch(
+    final Map<InspectorInstanceRef, String[]> propertyNamesByObject, String groupName) {
+    if (propertyNamesByObject.isEmpty()) {
+      return CompletableFuture.completedFuture(new HashMap<>());
+    }
+    // Iteration order must match when building the expression and reading back the results.
+    final List<InspectorInstanceRef> objects = new ArrayList<>(propertyNamesByObject.keySet());
+    final List<String> propertyAccessors = new ArrayList<>();
+    for (InspectorInstanceRef object : objects) {
+      final String objectExpression =
+        "(WidgetInspectorService.instance.toObject(\"" + object.getId() + "\", \"" + groupName + "\") as dynamic)";
+      for (String propertyName : propertyNamesByObject.get(object)) {
+        propertyAccessors.add(objectExpression + "." + propertyName);
+      }
+    }
+    final String expression = "<Object>[" + Joiner.on(',').join(propertyAccessors) + "]";
+    return getInstance(eval(expression, null)).thenApplyAsync((Instance instance) -> {
+      final ElementList<InstanceRef> values = instance.getElements();
+      assert (values.size() == propertyAccessors.size());
+      final Map<InspectorInstanceRef, Map<String, InstanceRef>> table = new HashMap<>();
+      int i = 0;
+      for (InspectorInstanceRef object : objects) {
+        final Map<String, InstanceRef> properties = new HashMap<>();
+        for (String propertyName : propertyNamesByObject.get(object)) {
+          properties.put(propertyName, values.get(i));
+          ++i;
+        }
+        table.put(object, properties);
+      }
+      return table;
+    }, executor);
+  }
+
+  /**
+   * Loads the value properties of all the nodes with a single batch request.
+   * <p>
+   * Once the returned future completes, {@link DiagnosticsNode#getValueProperties()}
+   * is complete for every node. The returned future doesn't fail if some
+   * properties can't be loaded; only the futures of those nodes fail.
+   */
+  public CompletableFuture<Void> loadValueProperties(List<DiagnosticsNode> nodes) {
+    final Map<InspectorInstanceRef, String[]> request = new LinkedHashMap<>();
+    final List<DiagnosticsNode> batched = new ArrayList<>();
+    for (DiagnosticsNode node : nodes) {
+      if (node.valuePropertiesRequested()) {
+        continue;
+      }
+      final String[] propertyNames = node.getValuePropertyNames();
+      final InspectorInstanceRef valueRef = node.getValueRef();
+      if (propertyNames == null || valueRef == null || valueRef.getId() == null) {
+        continue;
+      }
+      request.put(valueRef, propertyNames);
+      batched.add(node);
+    }
+
+    // Properties listed together come from the same object group.
+    final String groupName = batched.isEmpty() ? null : batched.get(0).getGroupName();
+    final CompletableFuture<Map<InspectorInstanceRef, Map<String, InstanceRef>>> table =
+      getDartObjectPropertiesBatch(request, groupOrDefault(groupName));
+    for (DiagnosticsNode node : batched) {
+      final InspectorInstanceRef valueRef = node.getValueRef();
+      node.setValueProperties(
+        table.thenApply((Map<InspectorInstanceRef, Map<String, InstanceRef>> properties) ->
+                          CompletableFuture.completedFuture(properties.get(valueRef))
+        ).exceptionally((Throwable error) -> {
+          // A getter that throws fails the whole batch, so look up each object on its own;
+          // then only the nodes whose getters throw fail.
+          return getDartObjectProperties(valueRef, request.get(valueRef), groupOrDefault(groupName));
+        }).thenCompose((CompletableFuture<Map<String, InstanceRef>> properties) -> properties));
+    }
+
+    // Nodes that were not part of the batch either have no value properties or already requested them.
+    final CompletableFuture[] futures = new CompletableFuture[nodes.size()];
+    for (int i = 0; i < nodes.size(); ++i) {
+      // A node whose properties can't be loaded is displayed without them.
+      futures[i] = nodes.get(i).getValueProperties().exceptionally((Throwable error) -> {
+        LOG.warn("Unable to load value properties", error);
+        return null;
       });
-    });
+    }
+    return CompletableFuture.allOf(futures);
   }
 
   public CompletableFuture<InstanceRef> toObservatoryInstanceRef(InspectorInstanceRef inspectorInstanceRef) {
@@ -170,35 +419,46 @@ public class InspectorService implements Disposable {
   }
 
   CompletableFuture<Instance> getInstance(CompletableFuture<InstanceRef> instanceRefFuture) {
-    return instanceRefFuture.thenComposeAsync(this::getInstance);
+    return instanceRefFuture.thenComposeAsync(this::getInstance, executor);
   }
 
-  CompletableFuture<DiagnosticsNode> parseDiagnosticsNode(InstanceRef instanceRef) {
-    return instanceRefToJson(instanceRef).thenApplyAsync((JsonElement jsonElement) -> {
-      //noinspection CodeBlock2Expr
-      return new DiagnosticsNode(jsonElement.getAsJsonObject(), this);
-    });
+  CompletableFuture<DiagnosticsNode> parseDiagnosticsNode(InstanceRef instanceRef, String groupName) {
+    return instanceRefToString(instanceRef).thenApplyAsync(timings.timed("decode", (String json) -> {
+      final DiagnosticsNode node = decoder.decodeNode(json, this, groupName);
+      addLiveRefs(groupName, node);
+      return node;
+    }), executor);
   }
 
   /**
+   * Requires that the InstanceRef is really referring to a String.
+   */
+  CompletableFuture<String> instanceRefToString(InstanceRef instanceRef) {
+    return timings.timeUntilDone("fetch", getInspectorLibrary().getInstance(instanceRef)).thenApply(Instance::getValueAsString);
+  }
+
+  /**
+   * Returns the full JSON tree for a payload.
+   * <p>
    * Requires that the InstanceRef is really referring to a String that is valid JSON.
+   * Prefer the streaming decoder used by {@link #parseDiagnosticsNode(InstanceRef, String)}
+   * unless members DiagnosticsNode does not know about are needed.
    */
   CompletableFuture<JsonElement> instanceRefToJson(InstanceRef instanceRef) {
-    return getInspectorLibrary().getInstance(instanceRef).thenApplyAsync((Instance instance) -> {
-      final String json = instance.getValueAsString();
+    return instanceRefToString(instanceRef).thenApplyAsync(timings.timed("parse", (String json) -> {
+      //noinspection CodeBlock2Expr
       return new JsonParser().parse(json);
-    });
+    }), executor);
   }
 
-  CompletableFuture<ArrayList<DiagnosticsNode>> parseDiagnosticsNodes(InstanceRef instanceRef) {
-    return instanceRefToJson(instanceRef).thenApplyAsync((JsonElement jsonElement) -> {
-      final JsonArray jsonArray = jsonElement.getAsJsonArray();
-      final ArrayList<DiagnosticsNode> nodes = new ArrayList<>();
-      for (JsonElement element : jsonArray) {
-        nodes.add(new DiagnosticsNode(element.getAsJsonObject(), this));
+  CompletableFuture<ArrayList<DiagnosticsNode>> parseDiagnosticsNodes(InstanceRef instanceRef, String groupName) {
+    return instanceRefToString(instanceRef).thenApplyAsync(timings.timed("decode", (String json) -> {
+      final ArrayList<DiagnosticsNode> nodes = decoder.decodeNodes(json, this, groupName);
+      for (DiagnosticsNode node : nodes) {
+        addLiveRefs(groupName, node);
       }
       return nodes;
-    });
+    }), executor);
   }
 
   /**
@@ -214,79 +474,223 @@ public class InspectorService implements Disposable {
       (InstanceRef instanceRef) -> {
         //noinspection CodeBlock2Expr
         return new DartVmServiceValue(debugProcess, inspectorLibrary.getIsolateId(), "inspectedObject", instanceRef, null, null, false);
-      });
+      }, executor);
   }
 
-  CompletableFuture<ArrayList<DiagnosticsNode>> parseDiagnosticsNodes(CompletableFuture<InstanceRef> instanceRefFuture) {
-    return instanceRefFuture.thenComposeAsync(this::parseDiagnosticsNodes);
+  CompletableFuture<ArrayList<DiagnosticsNode>> parseDiagnosticsNodes(CompletableFuture<InstanceRef> instanceRefFuture, String groupName) {
+    return instanceRefFuture.thenComposeAsync((InstanceRef instanceRef) -> parseDiagnosticsNodes(instanceRef, groupName), executor);
   }
 
-  CompletableFuture<ArrayList<DiagnosticsNode>> getChildren(InspectorInstanceRef instanceRef) {
-    return getListHelper(instanceRef, "getChildren");
+  CompletableFuture<ArrayList<DiagnosticsNode>> getChildren(InspectorInstanceRef instanceRef, String groupName) {
+    return getListHelper(instanceRef, "getChildren", groupName);
   }
 
-  CompletableFuture<ArrayList<DiagnosticsNode>> getProperties(InspectorInstanceRef instanceRef) {
-    return getListHelper(instanceRef, "getProperties");
+  public CompletableFuture<ArrayList<DiagnosticsNode>> getProperties(InspectorInstanceRef instanceRef, String groupName) {
+    return getListHelper(instanceRef, "getProperties", groupName);
   }
 
   private CompletableFuture<ArrayList<DiagnosticsNode>> getListHelper(
-    InspectorInstanceRef instanceRef, String methodName) {
-    return parseDiagnosticsNodes(invokeServiceMethod(methodName, instanceRef));
+    InspectorInstanceRef instanceRef, String methodName, String groupName) {
+    final String group = groupOrDefault(groupName);
+    return parseDiagnosticsNodes(invokeServiceMethod(methodName, instanceRef, group), group);
   }
 
   public CompletableFuture<DiagnosticsNode> getRootWidget() {
-    return parseDiagnosticsNode(invokeServiceMethod("getRootWidget"));
+    return getRoot(FlutterTreeType.widget, groupName);
   }
 
   public CompletableFuture<DiagnosticsNode> getRootRenderObject() {
-    return parseDiagnosticsNode(invokeServiceMethod("getRootRenderObject"));
+    return getRoot(FlutterTreeType.renderObject, groupName);
   }
 
   public CompletableFuture<ArrayList<DiagnosticsPathNode>> getParentChain(DiagnosticsNode target) {
-    return parseDiagnosticsPath(invokeServiceMethod("getParentChain", target.getValueRef()));
+    return getParentChain(target, groupName);
+  }
+
+  /**
+   * Gets the path from the root to target.
+   * <p>
+   * Paths are cached per object group, including the paths to every ancestor
+   * on a fetched path, so selecting a node again, one of its ancestors, or a
+   * sibling of any node on a cached path does not need another round trip.
+   * The last node of a path built for a sibling has null children, as they
+   * weren't fetched.
+   */
+  public CompletableFuture<ArrayList<DiagnosticsPathNode>> getParentChain(DiagnosticsNode target, String groupName) {
+    final InspectorInstanceRef targetRef = target.getValueRef();
+    if (targetRef == null || targetRef.getId() == null) {
+      return parseDiagnosticsPath(invokeServiceMethod("getParentChain", targetRef, groupName), groupName);
+    }
+    final Map<InspectorInstanceRef, CompletableFuture<ArrayList<DiagnosticsPathNode>>> cache =
+      parentChainsByGroup.computeIfAbsent(groupName, (String name) -> new ConcurrentHashMap<>());
+    final CompletableFuture<ArrayList<DiagnosticsPathNode>> cached = cache.get(targetRef);
+    if (cached != null && !cached.isCompletedExceptionally()) {
+      parentChainHits.incrementAndGet();
+      return cached.thenApply(ArrayList::new);
+    }
+    final ArrayList<DiagnosticsPathNode> siblingPath = findSiblingPath(cache, targetRef);
+    if (siblingPath != null) {
+      parentChainHits.incrementAndGet();
+      cache.put(targetRef, CompletableFuture.completedFuture(siblingPath));
+      return CompletableFuture.completedFuture(new ArrayList<>(siblingPath));
+    }
+    parentChainMisses.incrementAndGet();
+    final CompletableFuture<ArrayList<DiagnosticsPathNode>> path =
+      parseDiagnosticsPath(invokeServiceMethod("getParentChain", targetRef, groupName), groupName);
+    cache.put(targetRef, path);
+    path.whenComplete((ArrayList<DiagnosticsPathNode> nodes, Throwable throwable) -> {
+      if (throwable != null) {
+        cache.remove(targetRef, path);
+        return;
+      }
+      cacheAncestorPaths(cache, nodes);
+    });
+    return path.thenApply(ArrayList::new);
+  }
+
+  /**
+   * Gets the path from the root to the node selected on the device, or an empty path if nothing is selected.
+   * <p>
+   * The selection and its parent chain are fetched with a single request
+   * rather than one for each, and the path is added to the parent chain cache.
+   */
+  public CompletableFuture<ArrayList<DiagnosticsPathNode>> getSelectionParentChain(FlutterTreeType treeType, String groupName) {
+    final String selection =
+      "WidgetInspectorService.instance.selection." + (treeType == FlutterTreeType.widget ? "currentElement" : "current");
+    final String expression = selection + " == null ? \"[]\" : WidgetInspectorService.instance.getParentChain(" +
+                              "WidgetInspectorService.instance.toId(" + selection + ", \"" + groupName + "\"), \"" + groupName + "\")";
+    final CompletableFuture<ArrayList<DiagnosticsPathNode>> path = parseDiagnosticsPath(eval(expression, null), groupName);
+    return path.thenApply((ArrayList<DiagnosticsPathNode> nodes) -> {
+      if (!nodes.isEmpty()) {
+        final InspectorInstanceRef selectedRef = nodes.get(nodes.size() - 1).getNode().getValueRef();
+        if (selectedRef != null && selectedRef.getId() != null) {
+          final Map<InspectorInstanceRef, CompletableFuture<ArrayList<DiagnosticsPathNode>>> cache =
+            parentChainsByGroup.computeIfAbsent(groupName, (String name) -> new ConcurrentHashMap<>());
+          cache.put(selectedRef, CompletableFuture.completedFuture(nodes));
+          cacheAncestorPaths(cache, nodes);
+        }
+      }
+      return new ArrayList<>(nodes);
+    });
+  }
+
+  /**
+   * Builds the path to target from a cached path that includes its parent, or returns null if there is none.
+   */
+  private static ArrayList<DiagnosticsPathNode> findSiblingPath(
+    Map<InspectorInstanceRef, CompletableFuture<ArrayList<DiagnosticsPathNode>>> cache, InspectorInstanceRef targetRef) {
+    for (CompletableFuture<ArrayList<DiagnosticsPathNode>> future : cache.values()) {
+      if (!future.isDone() || future.isCompletedExceptionally()) {
+        continue;
+      }
+      final ArrayList<DiagnosticsPathNode> path = future.getNow(null);
+      for (int i = 0; i < path.size(); ++i) {
+        final ArrayList<DiagnosticsNode> children = path.get(i).getChildren();
+        if (children == null) {
+          continue;
+        }
+        for (int j = 0; j < children.size(); ++j) {
+          if (targetRef.equals(children.get(j).getValueRef())) {
+            final ArrayList<DiagnosticsPathNode> siblingPath = new ArrayList<>(path.subList(0, i));
+            siblingPath.add(new DiagnosticsPathNode(path.get(i).getNode(), children, j));
+            siblingPath.add(new DiagnosticsPathNode(children.get(j), null, -1));
+            return siblingPath;
+          }
+        }
+      }
+    }
+    return null;
   }
 
-  CompletableFuture<ArrayList<DiagnosticsPathNode>> parseDiagnosticsPath(CompletableFuture<InstanceRef> instanceRefFuture) {
-    return instanceRefFuture.thenComposeAsync(this::parseDiagnosticsPath);
+  /**
+   * Caches the path to each ancestor on path as its prefix of path.
+   */
+  private static void cacheAncestorPaths(Map<InspectorInstanceRef, CompletableFuture<ArrayList<DiagnosticsPathNode>>> cache,
+                                         ArrayList<DiagnosticsPathNode> path) {
+    for (int i = 0; i < path.size() - 1; ++i) {
+      final InspectorInstanceRef ancestorRef = path.get(i).getNode().getValueRef();
+      if (ancestorRef != null && ancestorRef.getId() != null) {
+        cache.putIfAbsent(ancestorRef, CompletableFuture.completedFuture(new ArrayList<>(path.subList(0, i + 1))));
+      }
+    }
   }
 
-  private CompletableFuture<ArrayList<DiagnosticsPathNode>> parseDiagnosticsPath(InstanceRef pathRef) {
-    return instanceRefToJson(pathRef).thenApplyAsync((JsonElement jsonElement) -> {
-      final JsonArray jsonArray = jsonElement.getAsJsonArray();
-      final ArrayList<DiagnosticsPathNode> pathNodes = new ArrayList<>();
-      for (JsonElement element : jsonArray) {
-        pathNodes.add(new DiagnosticsPathNode(element.getAsJsonObject(), this));
+  /**
+   * Called after a hot reload, which may have rebuilt any part of the tree.
+   */
+  public void onHotReload() {
+    parentChainsByGroup.clear();
+    ApplicationManager.getApplication().invokeLater(() -> {
+      for (InspectorServiceClient client : clients) {
+        client.onHotReload();
       }
-      return pathNodes;
     });
   }
 
+  /**
+   * Describes how many parent chains were served from the cache rather than fetched from the device.
+   */
+  public String getParentChainCacheStats() {
+    return "parent chains: " + parentChainHits.get() + " cached, " + parentChainMisses.get() + " fetched";
+  }
+
+  CompletableFuture<ArrayList<DiagnosticsPathNode>> parseDiagnosticsPath(CompletableFuture<InstanceRef> instanceRefFuture,
+                                                                          String groupName) {
+    return instanceRefFuture.thenComposeAsync((InstanceRef pathRef) -> parseDiagnosticsPath(pathRef, groupName), executor);
+  }
+
+  private CompletableFuture<ArrayList<DiagnosticsPathNode>> parseDiagnosticsPath(InstanceRef pathRef, String groupName) {
+    return instanceRefToString(pathRef).thenApplyAsync(timings.timed("decode", (String json) -> {
+      final ArrayList<DiagnosticsPathNode> path = decoder.decodePath(json, this, groupName);
+      for (DiagnosticsPathNode pathNode : path) {
+        addLiveRefs(groupName, pathNode.getNode());
+        for (DiagnosticsNode child : pathNode.getChildren()) {
+          addLiveRefs(groupName, child);
+        }
+      }
+      return path;
+    }), executor);
+  }
+
   public CompletableFuture<DiagnosticsNode> getSelection(DiagnosticsNode previousSelection, FlutterTreeType treeType) {
+    return getSelection(previousSelection, treeType, groupName);
+  }
+
+  public CompletableFuture<DiagnosticsNode> getSelection(DiagnosticsNode previousSelection, FlutterTreeType treeType, String groupName) {
     CompletableFuture<InstanceRef> result = null;
     final InspectorInstanceRef previousSelectionRef = previousSelection != null ? previousSelection.getDartDiagnosticRef() : null;
 
     switch (treeType) {
       case widget:
-        result = invokeServiceMethod("getSelectedWidget", previousSelectionRef);
+        result = invokeServiceMethod("getSelectedWidget", previousSelectionRef, groupName);
         break;
       case renderObject:
-        result = invokeServiceMethod("getSelectedRenderObject", previousSelectionRef);
+        result = invokeServiceMethod("getSelectedRenderObject", previousSelectionRef, groupName);
         break;
     }
     assert (result != null);
-    return parseDiagnosticsNode(result).thenApplyAsync((DiagnosticsNode newSelection) -> {
+    return parseDiagnosticsNode(result, groupName).thenApplyAsync((DiagnosticsNode newSelection) -> {
       if (newSelection.getDartDiagnosticRef().equals(previousSelectionRef)) {
         return previousSelection;
       }
       else {
         return newSelection;
       }
-    });
+    }, executor);
   }
 
   @Override
   public void dispose() {
     vmService.streamCancel("Extension", VmServiceConsumers.EMPTY_SUCCESS_CONSUMER);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Inspector stage timings for " + groupName + ": " + timings);
+      LOG.debug("Inspector " + groupName + " " + frameEvents);
+      LOG.debug("Inspector live references: " + getLiveRefCounts());
+      LOG.debug("Inspector " + getParentChainCacheStats());
+    }
+    for (String group : new ArrayList<>(liveRefsByGroup.keySet())) {
+      disposeGroup(group);
+    }
     // TODO(jacobr): dispose everything that needs to be disposed of.
   }
 
@@ -295,6 +699,9 @@ public class InspectorService implements Disposable {
       inspectorLibrary.dispose();
       inspectorLibrary = null;
     }
+    // Object groups do not outlive the isolate they were created in.
+    liveRefsByGroup.clear();
+    parentChainsByGroup.clear();
   }
 
   private void onVmServiceReceived(String streamId, Event event) {
@@ -325,11 +732,7 @@ public class InspectorService implements Disposable {
       }
       case VmService.EXTENSION_STREAM_ID: {
         if ("Flutter.Frame".equals(event.getExtensionKind())) {
-          ApplicationManager.getApplication().invokeLater(() -> {
-            for (InspectorServiceClient client : clients) {
-              client.onFlutterFrame();
-            }
-          });
+          frameEvents.onFrame();
         }
         break;
       }
@@ -357,7 +760,43 @@ public class InspectorService implements Disposable {
           notifySelectionChanged();
         }
       }
-    });
+    }, executor);
+  }
+
+  /**
+   * Notifies clients that are showing that a frame was rendered.
+   * <p>
+   * Returns whether any client was notified.
+   */
+  private boolean notifyFlutterFrame() {
+    boolean notified = false;
+    for (InspectorServiceClient client : clients) {
+      if (client.isShowing()) {
+        client.onFlutterFrame();
+        notified = true;
+      }
+      else {
+        clientsMissingFrames.add(client);
+      }
+    }
+    return notified;
+  }
+
+  /**
+   * Called on the UI thread when a client becomes visible, so that it catches
+   * up with any frames rendered while it was hidden with a single notification.
+   */
+  public void onClientShown(InspectorServiceClient client) {
+    if (clientsMissingFrames.remove(client)) {
+      client.onFlutterFrame();
+    }
+  }
+
+  /**
+   * Returns how many Flutter.Frame events were received versus delivered to clients.
+   */
+  public String getFrameStats() {
+    return frameEvents.toString();
   }
 
   private void notifySelectionChanged() {
@@ -368,6 +807,92 @@ public class InspectorService implements Disposable {
     });
   }
 
+  /**
+   * Double-buffered pair of object groups.
+   * <p>
+   * Data for what is currently displayed lives in the current group while
+   * replacement data is requested in the next group. Promoting the next group
+   * disposes the current one so the device stops keeping its objects alive.
+   */
+  public class ObjectGroupManager {
+    private final String debugName;
+    private String current;
+    private String next;
+
+    private ObjectGroupManager(String debugName) {
+      this.debugName = debugName;
+    }
+
+    /**
+     * Returns the group holding the data that is currently displayed.
+     */
+    public synchronized String getCurrent() {
+      if (current == null) {
+        current = newGroupName(debugName);
+      }
+      return current;
+    }
+
+    /**
+     * Returns the group to request replacement data in, creating it if needed.
+     */
+    public synchronized String getNext() {
+      if (next == null) {
+        next = newGroupName(debugName);
+      }
+      return next;
+    }
+
+    /**
+     * Makes the next group current and disposes the previously current group.
+     * <p>
+     * Call once the UI no longer displays any data from the current group.
+     */
+    public void promoteNext() {
+      final String previous;
+      synchronized (this) {
+        if (next == null) {
+          return;
+        }
+        previous = current;
+        current = next;
+        next = null;
+      }
+      if (previous != null) {
+        disposeGroup(previous);
+      }
+    }
+
+    /**
+     * Disposes the next group without promoting it, for example when loading the replacement data failed.
+     */
+    public void cancelNext() {
+      final String cancelled;
+      synchronized (this) {
+        cancelled = next;
+        next = null;
+      }
+      if (cancelled != null) {
+        disposeGroup(cancelled);
+      }
+    }
+
+    /**
+     * Disposes both groups.
+     */
+    public void clear() {
+      cancelNext();
+      final String previous;
+      synchronized (this) {
+        previous = current;
+        current = null;
+      }
+      if (previous != null) {
+        disposeGroup(previous);
+      }
+    }
+  }
+
   public enum FlutterTreeType {
     widget,
     renderObject,
@@ -379,6 +904,18 @@ public class InspectorService implements Disposable {
 
     void onFlutterFrame();
 
+    /**
+     * Called on the UI thread after a hot reload, which may have changed any part of the tree.
+     */
+    void onHotReload();
+
+    /**
+     * Whether the client is currently visible to the user. Frame notifications
+     * are not sent to clients that are not showing; a client should call
+     * {@link InspectorService#onClientShown} once it is shown again.
+     */
+    boolean isShowing();
+
     void onIsolateStopped();
   }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Accumulates how long each stage of a pipeline takes, for example evaluating
+ * an expression on the device, fetching the result and decoding it into nodes.
+ */
+public class StageTimings {
+  private final Map<String, Stage> stages = new TreeMap<>();
+
+  /**
+   * Records a single measurement for a stage.
+   */
+  public synchronized void record(@NotNull String stage, long nanos) {
+    stages.computeIfAbsent(stage, (String name) -> new Stage()).add(nanos);
+  }
+
+  /**
+   * Wraps a function so that each call is recorded under the given stage.
+   */
+  public <T, R> Function<T, R> timed(@NotNull String stage, @NotNull Function<T, R> function) {
+    return (T value) -> {
+      final long start = System.nanoTime();
+      try {
+        return function.apply(value);
+      }
+      finally {
+        record(stage, System.nanoTime() - start);
+      }
+    };
+  }
+
+  /**
+   * Records the time from now until the future completes under the given stage.
+   */
+  public <T> CompletableFuture<T> timeUntilDone(@NotNull String stage, @NotNull CompletableFuture<T> future) {
+    final long start = System.nanoTime();
+    future.whenComplete((T value, Throwable error) -> record(stage, System.nanoTime() - start));
+    return future;
+  }
+
+  public synchronized long getCount(@NotNull String stage) {
+    final Stage data = stages.get(stage);
+    return data == null ? 0 : data.count;
+  }
+
+  public synchronized long getTotalNanos(@NotNull String stage) {
+    final Stage data = stages.get(stage);
+    return data == null ? 0 : data.totalNanos;
+  }
+
+  @Override
+  public synchronized String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Stage> entry : stages.entrySet()) {
+      if (sb.length() > 0) {
+        sb.append(", ");
+      }
+      final Stage stage = entry.getValue();
+      sb.append(entry.getKey()).append(": ").append(stage.count).append(" calls, ")
+        .append(stage.totalNanos / stage.count / 1000).append("us avg, ")
+        .append(stage.maxNanos / 1000).append("us max");
+    }
+    return sb.toString();
+  }
+
+  private static class Stage {
+    long count;
+    long totalNanos;
+    long maxNanos;
+
+    void add(long nanos) {
+      count++;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Schedules observatory protocol requests made on behalf of an {@link EvalOnDartLibrary}.
+ * <p>
+ * Identical requests that are queued or in flight are collapsed into a single
+ * request, requests whose callers have all cancelled their futures are dropped
+ * before they are sent, and at most maxConcurrentRequests requests are
+ * outstanding at any time.
+ */
+class VmRequestScheduler {
+  private enum State {
+    queued,
+    sent,
+    skipped,
+  }
+
+  private final Executor executor;
+  private final int maxConcurrentRequests;
+
+  private final Map<String, PendingRequest<?>> pendingByKey = new HashMap<>();
+  private final ArrayDeque<PendingRequest<?>> queue = new ArrayDeque<>();
+  private int inFlight;
+
+  private long requestCount;
+  private long dedupedCount;
+  private long skippedCount;
+  private long completedCount;
+  private int maxQueueDepth;
+  private long totalLatencyNanos;
+  private long maxLatencyNanos;
+
+  /**
+   * @param executor used to send requests; the sender is never invoked while holding the scheduler lock.
+   */
+  VmRequestScheduler(@NotNull Executor executor, int maxConcurrentRequests) {
+    assert (maxConcurrentRequests > 0);
+    this.executor = executor;
+    this.maxConcurrentRequests = maxConcurrentRequests;
+  }
+
+  /**
+   * Schedules a request identified by key.
+   * <p>
+   * The sender is called at most once per distinct in-flight key and must
+   * eventually complete the future it is passed. Cancelling the returned
+   * future only affects this caller; the request itself is skipped if every
+   * caller waiting on it has cancelled before it was sent.
+   */
+  <T> CompletableFuture<T> schedule(@NotNull String key, @NotNull Consumer<CompletableFuture<T>> sender) {
+    final CompletableFuture<T> caller = new CompletableFuture<>();
+    final PendingRequest<T> request;
+    synchronized (this) {
+      requestCount++;
+      @SuppressWarnings("unchecked") final PendingRequest<T> existing = (PendingRequest<T>)pendingByKey.get(key);
+      if (existing != null) {
+        dedupedCount++;
+        request = existing;
+      }
+      else {
+        request = new PendingRequest<>(key, sender);
+        pendingByKey.put(key, request);
+        queue.add(request);
+        maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+      }
+      request.waiters++;
+    }
+
+    request.result.whenComplete((T value, Throwable error) -> {
+      if (error != null) {
+        caller.completeExceptionally(error);
+      }
+      else {
+        caller.complete(value);
+      }
+    });
+    caller.whenComplete((T value, Throwable error) -> {
+      if (error instanceof CancellationException) {
+        onCallerCancelled(request);
+      }
+    });
+
+    pump();
+    return caller;
+  }
+
+  /**
+   * Cancels every request that has not been sent yet.
+   */
+  void cancelAll() {
+    final List<PendingRequest<?>> cancelled;
+    synchronized (this) {
+      cancelled = new ArrayList<>(queue);
+      queue.clear();
+      for (PendingRequest<?> request : cancelled) {
+        request.state = State.skipped;
+        pendingByKey.remove(request.key, request);
+        skippedCount++;
+      }
+    }
+    for (PendingRequest<?> request : cancelled) {
+      request.result.cancel(false);
+    }
+  }
+
+  synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  synchronized int getInFlightCount() {
+    return inFlight;
+  }
+
+  synchronized Stats getStats() {
+    return new Stats(requestCount, dedupedCount, skippedCount, completedCount, queue.size(), maxQueueDepth, inFlight,
+                     completedCount == 0 ? 0 : totalLatencyNanos / completedCount, maxLatencyNanos);
+  }
+
+  private void onCallerCancelled(PendingRequest<?> request) {
+    synchronized (this) {
+      if (request.state != State.queued) {
+        return;
+      }
+      request.waiters--;
+      if (request.waiters > 0) {
+        return;
+      }
+      request.state = State.skipped;
+      queue.remove(request);
+      pendingByKey.remove(request.key, request);
+      skippedCount++;
+    }
+    request.result.cancel(false);
+  }
+
+  private void onRequestDone(PendingRequest<?> request) {
+    synchronized (this) {
+      if (request.state != State.sent) {
+        return;
+      }
+      inFlight--;
+      pendingByKey.remove(request.key, request);
+      final long latency = System.nanoTime() - request.enqueuedNanos;
+      completedCount++;
+      totalLatencyNanos += latency;
+      maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+    }
+    pump();
+  }
+
+  private void pump() {
+    final List<PendingRequest<?>> toSend = new ArrayList<>();
+    synchronized (this) {
+      while (inFlight < maxConcurrentRequests && !queue.isEmpty()) {
+        final PendingRequest<?> request = queue.poll();
+        request.state = State.sent;
+        inFlight++;
+        toSend.add(request);
+      }
+    }
+    for (PendingRequest<?> request : toSend) {
+      executor.execute(request::send);
+    }
+  }
+
+  private class PendingRequest<T> {
+    final String key;
+    final Consumer<CompletableFuture<T>> sender;
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final long enqueuedNanos = System.nanoTime();
+    State state = State.queued;
+    int waiters;
+
+    PendingRequest(String key, Consumer<CompletableFuture<T>> sender) {
+      this.key = key;
+      this.sender = sender;
+      result.whenComplete((T value, Throwable error) -> onRequestDone(this));
+    }
+
+    void send() {
+      try {
+        sender.accept(result);
+      }
+      catch (RuntimeException e) {
+        result.completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Snapshot of the queue depth and latency counters of a scheduler.
+   */
+  static class Stats {
+    final long requests;
+    final long deduped;
+    final long skipped;
+    final long completed;
+    final int queueDepth;
+    final int maxQueueDepth;
+    final int inFlight;
+    final long averageLatencyNanos;
+    final long maxLatencyNanos;
+
+    Stats(long requests,
+          long deduped,
+          long skipped,
+          long completed,
+          int queueDepth,
+          int maxQueueDepth,
+          int inFlight,
+          long averageLatencyNanos,
+          long maxLatencyNanos) {
+      this.requests = requests;
+      this.deduped = deduped;
+      this.skipped = skipped;
+      this.completed = completed;
+      this.queueDepth = queueDepth;
+      this.maxQueueDepth = maxQueueDepth;
+      this.inFlight = inFlight;
+      this.averageLatencyNanos = averageLatencyNanos;
+      this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+      return "requests: " + requests +
+             ", deduped: " + deduped +
+             ", skipped: " + skipped +
+             ", completed: " + completed +
+             ", queued: " + queueDepth + " (max " + maxQueueDepth + ")" +
+             ", in flight: " + inFlight +
+             ", latency: " + averageLatencyNanos / 1000000 + "ms avg, " + maxLatencyNanos / 1000000 + "ms max";
+    }
+  }
+}
@@ -0,0 +1,478 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+// Generated file - do not edit.
+// Compiled from widgets.json by tool/widgets/widgets_main.dart.
+
+/**
+ * Precompiled index of the widgets in widgets.json.
+ */
+final class WidgetCatalogIndex {
+  private WidgetCatalogIndex() {
+  }
+
+  static final String[] CATEGORIES = {
+    "Accessibility",
+    "Animation and Motion",
+    "Assets, Images, and Icons",
+    "Async",
+    "Basics",
+    "Cupertino (iOS-style widgets)",
+    "Input",
+    "Painting and effects",
+    "Scrolling",
+    "Stack",
+    "Styling",
+    "Text",
+  };
+
+  static final String[] SUBCATEGORIES = {
+    "App structure and navigation",
+    "Buttons",
+    "Dialogs, alerts, and panels",
+    "Information displays",
+    "Input and selections",
+    "Layout",
+    "Layout helpers",
+    "Multi-child layout widgets",
+    "Routing",
+    "Single-child layout widgets",
+    "Touch interactions",
+  };
+
+  static final String[] NAMES = {
+    "Container",
+    "Row",
+    "Column",
+    "Image",
+    "Text",
+    "Icon",
+    "RaisedButton",
+    "Scaffold",
+    "Appbar",
+    "FlutterLogo",
+    "Stack",
+    "Placeholder",
+    "BottomNavigationBar",
+    "TabBar",
+    "TabBarView",
+    "MaterialApp",
+    "WidgetsApp",
+    "Drawer",
+    "FloatingActionButton",
+    "FlatButton",
+    "IconButton",
+    "PopupMenuButton",
+    "ButtonBar",
+    "TextField",
+    "Checkbox",
+    "Radio",
+    "Switch",
+    "Slider",
+    "Date & Time Pickers",
+    "SimpleDialog",
+    "AlertDialog",
+    "BottomSheet",
+    "ExpansionPanel",
+    "SnackBar",
+    "Chip",
+    "Tooltip",
+    "DataTable",
+    "Card",
+    "LinearProgressIndicator",
+    "GridView",
+    "ListTile",
+    "Stepper",
+    "Divider",
+    "CupertinoActivityIndicator",
+    "CupertinoAlertDialog",
+    "CupertinoButton",
+    "CupertinoDialog",
+    "CupertinoDialogAction",
+    "CupertinoSlider",
+    "CupertinoSwitch",
+    "CupertinoPageTransition",
+    "CupertinoFullscreenDialogTransition",
+    "Padding",
+    "Center",
+    "Align",
+    "FittedBox",
+    "AspectRatio",
+    "ConstrainedBox",
+    "Baseline",
+    "FractionallySizedBox",
+    "IntrinsicHeight",
+    "IntrinsicWidth",
+    "LimitedBox",
+    "Offstage",
+    "OverflowBox",
+    "SizedBox",
+    "SizedOverflowBox",
+    "Transform",
+    "CustomSingleChildLayout",
+    "IndexedStack",
+    "GridView",
+    "Flow",
+    "Table",
+    "Wrap",
+    "ListBody",
+    "ListView",
+    "CustomMultiChildLayout",
+    "LayoutBuilder",
+    "RichText",
+    "DefaultTextStyle",
+    "RawImage",
+    "AssetBundle",
+    "Form",
+    "FormField",
+    "RawKeyboardListener",
+    "AnimatedContainer",
+    "AnimatedCrossFade",
+    "Hero",
+    "AnimatedBuilder",
+    "Draggable",
+    "LongPressDraggable",
+    "GestureDetector",
+    "DragTarget",
+    "Dismissible",
+    "IgnorePointer",
+    "AbsorbPointer",
+    "Navigator",
+    "Theme",
+    "MediaQuery",
+    "ListView",
+    "NestedScrollView",
+    "GridView",
+    "SingleChildScrollView",
+    "Scrollable",
+    "Scrollbar",
+    "CustomScrollView",
+    "NotificationListener",
+    "ScrollConfiguration",
+    "Opacity",
+    "Transform",
+    "DecoratedBox",
+    "FractionalTranslation",
+    "RotatedBox",
+    "ClipOval",
+    "ClipPath",
+    "ClipRect",
+    "CustomPaint",
+    "BackdropFilter",
+    "Semantics",
+    "MergeSemantics",
+    "ExcludeSemantics",
+    "FutureBuilder",
+    "StreamBuilder",
+    "DecoratedBoxTransition",
+    "FadeTransition",
+    "PositionedTransition",
+    "RotationTransition",
+    "ScaleTransition",
+    "SizeTransition",
+    "SlideTransition",
+    "AnimatedDefaultTextStyle",
+    "AnimatedListState",
+    "AnimatedModalBarrier",
+    "AnimatedOpacity",
+    "AnimatedPhysicalModel",
+    "AnimatedPositioned",
+    "AnimatedSize",
+    "AnimatedWidget",
+    "AnimatedWidgetBaseState",
+  };
+
+  /**
+   * Indexes into CATEGORIES for each widget in NAMES.
+   */
+  static final byte[][] WIDGET_CATEGORIES = {
+    {4},
+    {4},
+    {4},
+    {4, 2},
+    {4, 11},
+    {4, 2},
+    {4},
+    {4},
+    {4},
+    {4},
+    {9},
+    {4},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {5},
+    {5},
+    {5},
+    {5},
+    {5},
+    {5},
+    {5},
+    {5},
+    {5},
+    {10},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {11},
+    {11},
+    {2},
+    {2},
+    {6},
+    {6},
+    {6},
+    {1},
+    {1},
+    {1},
+    {1},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {10},
+    {10},
+    {8},
+    {8},
+    {8},
+    {8},
+    {8},
+    {8},
+    {8},
+    {8},
+    {8},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {0},
+    {0},
+    {0},
+    {3},
+    {3},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+  };
+
+  /**
+   * Indexes into SUBCATEGORIES for each widget in NAMES.
+   */
+  static final byte[][] WIDGET_SUBCATEGORIES = {
+    {9},
+    {7},
+    {7},
+    {3},
+    {},
+    {3},
+    {1},
+    {0},
+    {0},
+    {},
+    {7},
+    {},
+    {0},
+    {0},
+    {0},
+    {0},
+    {0},
+    {0},
+    {1},
+    {1},
+    {1},
+    {1},
+    {1},
+    {4},
+    {4},
+    {4},
+    {4},
+    {4},
+    {4},
+    {2},
+    {2},
+    {2},
+    {2},
+    {2},
+    {3},
+    {3},
+    {3},
+    {3},
+    {3},
+    {3},
+    {5},
+    {5},
+    {5},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {9},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {7},
+    {6},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {8},
+    {},
+    {10},
+    {10},
+    {10},
+    {10},
+    {10},
+    {10},
+    {10},
+    {8},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {10},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+    {},
+  };
+}
@@ -30,6 +30,8 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.wm.ToolWindowId;
@@ -39,10 +41,8 @@ import com.intellij.psi.PsiErrorElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.ProjectAndLibrariesScope;
-import com.intellij.psi.search.SearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.ui.LightweightHint;
-import com.intellij.util.ReflectionUtil;
 import com.jetbrains.lang.dart.DartPluginCapabilities;
 import com.jetbrains.lang.dart.analyzer.DartAnalysisServerService;
 import com.jetbrains.lang.dart.analyzer.DartServerData;
@@ -68,9 +68,8 @@ import javax.swing.event.HyperlinkEvent;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -103,6 +102,7 @@ public class FlutterReloadManager {
 
   private final @NotNull Project myProject;
   private final FlutterSettings mySettings;
+  private final ReloadErrorIndex myErrorIndex;
 
   /**
    * Initialize the reload manager for the given project.
@@ -119,6 +119,7 @@ public class FlutterReloadManager {
   private FlutterReloadManager(@NotNull Project project) {
     this.myProject = project;
     this.mySettings = FlutterSettings.getInstance();
+    this.myErrorIndex = new ReloadErrorIndex(project);
 
     ActionManagerEx.getInstanceEx().addAnActionListener(new AnActionListener.Adapter() {
       private Project eventProject;
@@ -183,24 +184,26 @@ public class FlutterReloadManager {
     });
   }
 
-  private final AtomicBoolean handlingSave = new AtomicBoolean(false);
+  /**
+   * Reloads after saves, one at a time; a save during a reload causes one more reload when it completes.
+   */
+  private final ReloadScheduler<SaveRequest> reloadScheduler = new ReloadScheduler<>(this::reloadAfterSave);
 
   private void handleSaveAllNotification(@Nullable Editor editor) {
     if (!mySettings.isReloadOnSave() || editor == null) {
       return;
     }
 
-    if (handlingSave.get()) {
-      return;
+    final List<FlutterApp> apps;
+    if (mySettings.isReloadAllDevices()) {
+      apps = FlutterApp.allFromProjectProcess(myProject).stream().filter(FlutterApp::isStarted).collect(Collectors.toList());
     }
-
-    final AnAction reloadAction = ProjectActions.getAction(myProject, ReloadFlutterApp.ID);
-    final FlutterApp app = getApp(reloadAction);
-    if (app == null) {
-      return;
+    else {
+      final AnAction reloadAction = ProjectActions.getAction(myProject, ReloadFlutterApp.ID);
+      final FlutterApp app = getApp(reloadAction);
+      apps = app == null || !app.isStarted() ? Collections.emptyList() : Collections.singletonList(app);
     }
-
-    if (!app.isStarted() || app.isReloading()) {
+    if (apps.isEmpty()) {
       return;
     }
 
@@ -208,37 +211,146 @@ public class FlutterReloadManager {
       return;
     }
 
-    final EditorEx editorEx = (EditorEx)editor;
-    final VirtualFile file = editorEx.getVirtualFile();
+    reloadScheduler.request(new SaveRequest(apps, (EditorEx)editor));
+  }
 
-    // Add an arbitrary 125ms delay to allow analysis to catch up. This delay gives the analysis server a
-    // small pause to return error results in the (relatively infrequent) case where the user makes a bad
-    // edit and immediately hits save.
-    final int reloadDelayMs = 125;
+  /**
+   * Reloads the apps unless there are analysis errors, returning a future that completes when done.
+   */
+  @NotNull
+  private CompletableFuture<?> reloadAfterSave(@NotNull SaveRequest request) {
+    final EditorEx editor = request.editor;
+    final VirtualFile file = editor.getVirtualFile();
+    final CompletableFuture<Void> done = new CompletableFuture<>();
 
-    handlingSave.set(true);
+    final Runnable reload = () -> {
+      try {
+        final List<FlutterApp> apps = new ArrayList<>();
+        boolean blocked = false;
+        for (FlutterApp app : request.apps) {
+          if (!app.isStarted()) {
+            // The app stopped while this save was waiting.
+            continue;
+          }
+          if (hasErrors(app.getProject(), app.getModule(), editor.getDocument())) {
+            blocked = true;
+          }
+          else {
+            apps.add(app);
+          }
+        }
 
-    JobScheduler.getScheduler().schedule(() -> {
-      if (hasErrors(app.getProject(), app.getModule(), editor.getDocument())) {
-        handlingSave.set(false);
+        if (blocked) {
+          showAnalysisNotification("Reload not performed", "Analysis issues found", true);
+        }
+        if (apps.isEmpty()) {
+          done.complete(null);
+          return;
+        }
 
-        showAnalysisNotification("Reload not performed", "Analysis issues found", true);
+        for (FlutterApp app : apps) {
+          app.getReloadTimings().saved(request.savedAt);
+          app.getReloadTimings().analyzed();
+        }
+        final CompletableFuture<?> reloaded = apps.size() == 1 ? reload(apps.get(0)) : reloadAll(apps);
+        reloaded.whenComplete((aVoid, throwable) -> done.complete(null));
+      }
+      catch (RuntimeException e) {
+        done.completeExceptionally(e);
+        LOG.error(e);
+      }
+    };
+
+    // Wait for reloads that didn't come from a save, such as the reload action, before starting.
+    final CompletableFuture<?>[] idle =
+      request.apps.stream().map(FlutterReloadManager::whenNotReloading).toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(idle).thenRun(() -> {
+      if (myErrorIndex.isAvailable() && file != null) {
+        // Start as soon as the analysis server has caught up with the saved file.
+        myErrorIndex.whenAnalyzed(file, reload);
       }
       else {
-        final Notification notification = showRunNotification(app, null, "Reloading…", false);
+        // Add an arbitrary 125ms delay to allow analysis to catch up. This delay gives the analysis server a
+        // small pause to return error results in the (relatively infrequent) case where the user makes a bad
+        // edit and immediately hits save.
+        final int reloadDelayMs = 125;
+        JobScheduler.getScheduler().schedule(reload, reloadDelayMs, TimeUnit.MILLISECONDS);
+      }
+    });
+    return done;
+  }
 
-        app.performHotReload(supportsPauseAfterReload()).thenAccept(result -> {
-          notification.expire();
+  @NotNull
+  private CompletableFuture<?> reload(@NotNull FlutterApp app) {
+    final Notification notification = showRunNotification(app, null, "Reloading…", false);
 
-          if (!result.ok()) {
-            showRunNotification(app, "Hot Reload Error", result.getMessage(), true);
-          }
-          else if (result.isRestartRecommended()) {
-            showRunNotification(app, "Reloading…", RESTART_SUGGESTED_TEXT, false);
-          }
-        }).whenComplete((aVoid, throwable) -> handlingSave.set(false));
+    return app.performHotReload(supportsPauseAfterReload()).thenAccept(result -> {
+      notification.expire();
+
+      if (!result.ok()) {
+        showRunNotification(app, "Hot Reload Error", result.getMessage(), true);
+      }
+      else if (result.isRestartRecommended()) {
+        showRunNotification(app, "Reloading…", RESTART_SUGGESTED_TEXT, false);
       }
-    }, reloadDelayMs, TimeUnit.MILLISECONDS);
+    });
+  }
+
+  /**
+   * Reloads several apps at once, then shows one notification with how long each device took.
+   */
+  @NotNull
+  private CompletableFuture<?> reloadAll(@NotNull List<FlutterApp> apps) {
+    final FlutterApp first = apps.get(0);
+    final Notification notification = showRunNotification(first, null, "Reloading " + apps.size() + " apps…", false);
+
+    final AtomicBoolean failed = new AtomicBoolean();
+    final AtomicBoolean restartRecommended = new AtomicBoolean();
+    final List<CompletableFuture<String>> lines = new ArrayList<>();
+    for (FlutterApp app : apps) {
+      final String device = StringUtil.escapeXml(app.device().deviceName());
+      final long start = System.currentTimeMillis();
+      lines.add(app.performHotReload(supportsPauseAfterReload()).handle((result, error) -> {
+        final long elapsed = System.currentTimeMillis() - start;
+        if (error != null || !result.ok()) {
+          failed.set(true);
+          final String message = error != null ? error.getMessage() : result.getMessage();
+          return device + ": " + StringUtil.escapeXml(StringUtil.notNullize(message, "failed"));
+        }
+        if (result.isRestartRecommended()) {
+          restartRecommended.set(true);
+        }
+        return device + ": " + elapsed + " ms";
+      }));
+    }
+
+    return CompletableFuture.allOf(lines.toArray(new CompletableFuture[0])).thenRun(() -> {
+      notification.expire();
+
+      final String summary = lines.stream().map(CompletableFuture::join).collect(Collectors.joining("<br>"));
+      if (failed.get()) {
+        showRunNotification(first, "Hot Reload Error", summary, true);
+      }
+      else if (restartRecommended.get()) {
+        showRunNotification(first, "Reloaded " + apps.size() + " apps", summary + "<br>" + RESTART_SUGGESTED_TEXT, false);
+      }
+      else {
+        showRunNotification(first, "Reloaded " + apps.size() + " apps", summary, false);
+      }
+    });
+  }
+
+  @NotNull
+  private static CompletableFuture<Void> whenNotReloading(@NotNull FlutterApp app) {
+    final CompletableFuture<Void> idle = new CompletableFuture<>();
+    final FlutterApp.StateListener listener = state -> {
+      if (state != FlutterApp.State.RELOADING) {
+        idle.complete(null);
+      }
+    };
+    // The listener is called with the current state right away.
+    app.addStateListener(listener);
+    return idle.whenComplete((aVoid, throwable) -> app.removeStateListener(listener));
   }
 
   public void saveAllAndReload(@NotNull FlutterApp app) {
@@ -329,10 +441,17 @@ public class FlutterReloadManager {
     // For 2017.1, we use the IntelliJ parser and look for syntax errors in the current document.
     // For 2017.2 and later, we instead rely on the analysis server's results for files in the app's module.
 
+    final GlobalSearchScope scope = module == null ? new ProjectAndLibrariesScope(project) : module.getModuleContentScope();
+    if (myErrorIndex.isAvailable()) {
+      return myErrorIndex.hasErrors(path -> {
+        final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+        return file != null && scope.contains(file) && !isTestFile(file, project, module);
+      });
+    }
+
     final DartAnalysisServerService analysisServerService = DartAnalysisServerService.getInstance(project);
 
-    // TODO(devoncarew): Remove the use of reflection when our minimum revs to 2017.2.
-    final Method getErrorsMethod = ReflectionUtil.getMethod(analysisServerService.getClass(), "getErrors", SearchScope.class);
+    final Method getErrorsMethod = ReloadErrorIndex.GET_ERRORS_METHOD;
     if (getErrorsMethod == null) {
       final PsiErrorElement firstError = ApplicationManager.getApplication().runReadAction((Computable<PsiErrorElement>)() -> {
         final PsiFile psiFile = PsiDocumentManager.getInstance(myProject).getPsiFile(document);
@@ -341,7 +460,6 @@ public class FlutterReloadManager {
       return firstError != null;
     }
     else {
-      final GlobalSearchScope scope = module == null ? new ProjectAndLibrariesScope(project) : module.getModuleContentScope();
       try {
         //List<DartServerData.DartError> errors = analysisServerService.getErrors(scope);
         //noinspection unchecked
@@ -361,16 +479,31 @@ public class FlutterReloadManager {
 
     final File file = new File(error.getAnalysisErrorFileSD());
     final VirtualFile virtualFile = VfsUtil.findFileByIoFile(file, false);
-    if (virtualFile != null) {
-      final List<PubRoot> roots = module == null ? PubRoots.forProject(project) : PubRoots.forModule(module);
-      for (PubRoot root : roots) {
-        // Skip errors in test files.
-        final String relativePath = root.getRelativePath(virtualFile);
-        if (relativePath != null && relativePath.startsWith("test/")) return false;
-      }
+    // Skip errors in test files.
+    return virtualFile == null || !isTestFile(virtualFile, project, module);
+  }
+
+  private static boolean isTestFile(@NotNull VirtualFile file, @NotNull Project project, @Nullable Module module) {
+    final List<PubRoot> roots = module == null ? PubRoots.forProject(project) : PubRoots.forModule(module);
+    for (PubRoot root : roots) {
+      final String relativePath = root.getRelativePath(file);
+      if (relativePath != null && relativePath.startsWith("test/")) return true;
     }
+    return false;
+  }
 
-    return true;
+  /**
+   * A save to reload the apps after.
+   */
+  private static class SaveRequest {
+    @NotNull final List<FlutterApp> apps;
+    @NotNull final EditorEx editor;
+    final long savedAt = System.currentTimeMillis();
+
+    SaveRequest(@NotNull List<FlutterApp> apps, @NotNull EditorEx editor) {
+      this.apps = apps;
+      this.editor = editor;
+    }
   }
 
   private LightweightHint showEditorHint(@NotNull Editor editor, String message, boolean isError) {
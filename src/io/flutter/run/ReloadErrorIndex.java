@@ -0,0 +1,262 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import com.google.dart.server.AnalysisServerListener;
+import com.google.dart.server.AnalysisServerListenerAdapter;
+import com.intellij.concurrency.JobScheduler;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentAdapter;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.ProjectAndLibrariesScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.util.ReflectionUtil;
+import com.jetbrains.lang.dart.analyzer.DartAnalysisServerService;
+import com.jetbrains.lang.dart.analyzer.DartServerData;
+import org.dartlang.analysis.server.protocol.AnalysisError;
+import org.dartlang.analysis.server.protocol.AnalysisErrorSeverity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Tracks the files with analysis errors in a project, as the analysis server reports them.
+ * <p>
+ * This lets reload on save check for errors without asking the analysis server for every error in the module,
+ * and start as soon as the saved file has been analyzed rather than after a fixed delay.
+ * <p>
+ * The index needs {@link DartAnalysisServerService#addAnalysisServerListener}, which older versions of the
+ * Dart plugin don't have; see {@link #isAvailable()}.
+ */
+class ReloadErrorIndex {
+  private static final Logger LOG = Logger.getInstance(ReloadErrorIndex.class);
+
+  /**
+   * The longest time to wait for the analysis server to report on a saved file.
+   */
+  private static final int MAX_ANALYSIS_WAIT_MS = 1000;
+
+  /**
+   * How long an edit may go without analysis results before it's assumed that none are coming.
+   */
+  private static final long PENDING_EXPIRY_MS = 10000;
+
+  // TODO(devoncarew): Remove the use of reflection when our minimum revs to 2017.2.
+  @Nullable static final Method GET_ERRORS_METHOD =
+    ReflectionUtil.getMethod(DartAnalysisServerService.class, "getErrors", SearchScope.class);
+  @Nullable private static final Method ADD_LISTENER_METHOD =
+    ReflectionUtil.getMethod(DartAnalysisServerService.class, "addAnalysisServerListener", AnalysisServerListener.class);
+  @Nullable private static final Method REMOVE_LISTENER_METHOD =
+    ReflectionUtil.getMethod(DartAnalysisServerService.class, "removeAnalysisServerListener", AnalysisServerListener.class);
+
+  @NotNull private final Project project;
+
+  /**
+   * The number of errors in each file that has any, keyed by system-independent path.
+   */
+  private final Map<String, Integer> errorCounts = new HashMap<>();
+
+  /**
+   * The files whose errors were reported before the index was seeded, or null once it has been.
+   */
+  @Nullable private Set<String> reported = new HashSet<>();
+
+  /**
+   * When each file was first edited after its latest analysis results, keyed by path.
+   */
+  private final Map<String, Long> pending = new HashMap<>();
+
+  /**
+   * Callbacks waiting for the analysis server to report on a file, keyed by path.
+   */
+  private final Map<String, List<Runnable>> waiters = new HashMap<>();
+
+  private final boolean available;
+
+  ReloadErrorIndex(@NotNull Project project) {
+    this.project = project;
+    this.available = ADD_LISTENER_METHOD != null && start();
+  }
+
+  /**
+   * Returns true if the index is kept up to date; if not, callers must query the analysis server.
+   */
+  boolean isAvailable() {
+    return available;
+  }
+
+  /**
+   * Returns true if there are errors in a file accepted by the filter.
+   */
+  synchronized boolean hasErrors(@NotNull Predicate<String> filter) {
+    for (String path : errorCounts.keySet()) {
+      if (filter.test(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Runs a callback on a pooled thread once the analysis server has reported on the latest edits to the given file,
+   * or after {@link #MAX_ANALYSIS_WAIT_MS}, whichever comes first.
+   */
+  void whenAnalyzed(@NotNull VirtualFile file, @NotNull Runnable callback) {
+    final AtomicBoolean done = new AtomicBoolean();
+    final Runnable once = () -> {
+      if (done.compareAndSet(false, true)) {
+        ApplicationManager.getApplication().executeOnPooledThread(callback);
+      }
+    };
+
+    final String path = file.getPath();
+    synchronized (this) {
+      expirePending();
+      if (!pending.containsKey(path)) {
+        once.run();
+        return;
+      }
+      waiters.computeIfAbsent(path, (String key) -> new ArrayList<>()).add(once);
+    }
+    JobScheduler.getScheduler().schedule(() -> {
+      synchronized (this) {
+        final List<Runnable> forPath = waiters.get(path);
+        if (forPath != null && forPath.remove(once) && forPath.isEmpty()) {
+          waiters.remove(path);
+        }
+      }
+      once.run();
+    }, MAX_ANALYSIS_WAIT_MS, TimeUnit.MILLISECONDS);
+  }
+
+  private boolean start() {
+    final DartAnalysisServerService server = DartAnalysisServerService.getInstance(project);
+    final AnalysisServerListener listener = new AnalysisServerListenerAdapter() {
+      @Override
+      public void computedErrors(String file, List<AnalysisError> errors) {
+        int count = 0;
+        for (AnalysisError error : errors) {
+          if (AnalysisErrorSeverity.ERROR.equals(error.getSeverity())) {
+            count++;
+          }
+        }
+        onErrors(FileUtil.toSystemIndependentName(file), count);
+      }
+    };
+
+    try {
+      assert (ADD_LISTENER_METHOD != null);
+      ADD_LISTENER_METHOD.invoke(server, listener);
+    }
+    catch (IllegalAccessException | InvocationTargetException e) {
+      LOG.warn("Can't listen for analysis errors", e);
+      return false;
+    }
+    Disposer.register(project, () -> {
+      if (REMOVE_LISTENER_METHOD != null) {
+        try {
+          REMOVE_LISTENER_METHOD.invoke(server, listener);
+        }
+        catch (IllegalAccessException | InvocationTargetException e) {
+          LOG.warn(e);
+        }
+      }
+    });
+
+    // Edits are sent to the analysis server as they are typed; new results will follow.
+    EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentAdapter() {
+      @Override
+      public void documentChanged(DocumentEvent e) {
+        final VirtualFile file = FileDocumentManager.getInstance().getFile(e.getDocument());
+        if (file != null && "dart".equals(file.getExtension()) && ProjectFileIndex.getInstance(project).isInContent(file)) {
+          synchronized (ReloadErrorIndex.this) {
+            pending.putIfAbsent(file.getPath(), System.currentTimeMillis());
+          }
+        }
+      }
+    }, project);
+
+    seed(server);
+    return true;
+  }
+
+  /**
+   * Adds the errors the analysis server reported before the index started listening.
+   */
+  private void seed(@NotNull DartAnalysisServerService server) {
+    if (GET_ERRORS_METHOD == null) return;
+
+    final List<DartServerData.DartError> errors;
+    try {
+      //noinspection unchecked
+      errors = (List<DartServerData.DartError>)GET_ERRORS_METHOD.invoke(server, new ProjectAndLibrariesScope(project));
+    }
+    catch (IllegalAccessException | InvocationTargetException e) {
+      LOG.warn("Can't read analysis errors", e);
+      return;
+    }
+
+    final Map<String, Integer> counts = new HashMap<>();
+    for (DartServerData.DartError error : errors) {
+      if (AnalysisErrorSeverity.ERROR.equals(error.getSeverity())) {
+        counts.merge(FileUtil.toSystemIndependentName(error.getAnalysisErrorFileSD()), 1, Integer::sum);
+      }
+    }
+    synchronized (this) {
+      assert reported != null;
+      for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+        // Newer results from the listener win.
+        if (!reported.contains(entry.getKey())) {
+          errorCounts.put(entry.getKey(), entry.getValue());
+        }
+      }
+      // From now on the listener's results are the only ones.
+      reported = null;
+    }
+  }
+
+  private void onErrors(@NotNull String path, int count) {
+    final List<Runnable> ready;
+    synchronized (this) {
+      if (reported != null) {
+        reported.add(path);
+      }
+      if (count > 0) {
+        errorCounts.put(path, count);
+      }
+      else {
+        errorCounts.remove(path);
+      }
+      pending.remove(path);
+      ready = waiters.remove(path);
+    }
+    if (ready != null) {
+      ready.forEach(Runnable::run);
+    }
+  }
+
+  /**
+   * Forgets edits that the analysis server never reported on, such as edits it wasn't sent.
+   */
+  private void expirePending() {
+    final long cutoff = System.currentTimeMillis() - PENDING_EXPIRY_MS;
+    pending.values().removeIf((Long editedAt) -> editedAt < cutoff);
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Runs reloads one at a time, keeping at most one more request waiting.
+ * <p>
+ * A request made while a reload is running replaces any request already waiting, and runs once the current
+ * reload completes. A burst of saves therefore causes at most two reloads, and the last one sees every edit.
+ */
+class ReloadScheduler<T> {
+  @NotNull private final Function<T, CompletableFuture<?>> reload;
+
+  private boolean running;
+
+  /**
+   * The latest request made while a reload was running, or null if none is waiting.
+   */
+  @Nullable private T pending;
+
+  /**
+   * @param reload starts a reload for a request, returning a future that completes when the reload is done
+   */
+  ReloadScheduler(@NotNull Function<T, CompletableFuture<?>> reload) {
+    this.reload = reload;
+  }
+
+  /**
+   * Starts a reload now if none is running; otherwise, runs one after the current reload completes.
+   */
+  void request(@NotNull T request) {
+    synchronized (this) {
+      if (running) {
+        pending = request;
+        return;
+      }
+      running = true;
+    }
+    start(request);
+  }
+
+  private void start(@NotNull T request) {
+    final CompletableFuture<?> future;
+    try {
+      future = reload.apply(request);
+    }
+    catch (RuntimeException e) {
+      finished();
+      throw e;
+    }
+    future.whenComplete((result, error) -> finished());
+  }
+
+  private void finished() {
+    final T next;
+    synchronized (this) {
+      next = pending;
+      pending = null;
+      if (next == null) {
+        running = false;
+        return;
+      }
+    }
+    start(next);
+  }
+}
@@ -28,7 +28,9 @@ import io.flutter.FlutterInitializer;
 import io.flutter.inspector.InspectorService;
 import io.flutter.run.FlutterDebugProcess;
 import io.flutter.run.FlutterLaunchMode;
+import io.flutter.utils.VmServiceListenerAdapter;
 import org.dartlang.vm.service.VmService;
+import org.dartlang.vm.service.element.Event;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,6 +61,8 @@ public class FlutterApp {
   private int reloadCount;
   private int restartCount;
 
+  private final ReloadTimings myReloadTimings = new ReloadTimings();
+
   /**
    * Non-null when the debugger is paused.
    */
@@ -149,6 +153,26 @@ public class FlutterApp {
     return null;
   }
 
+  /**
+   * Returns every Flutter app running in the project, such as the same app on several devices.
+   */
+  @NotNull
+  public static List<FlutterApp> allFromProjectProcess(@NotNull Project project) {
+    final List<FlutterApp> apps = new ArrayList<>();
+    final List<RunContentDescriptor> runningProcesses =
+      ExecutionManager.getInstance(project).getContentManager().getAllDescriptors();
+    for (RunContentDescriptor descriptor : runningProcesses) {
+      final ProcessHandler process = descriptor.getProcessHandler();
+      if (process != null && !process.isProcessTerminated()) {
+        final FlutterApp app = FlutterApp.fromProcess(process);
+        if (app != null) {
+          apps.add(app);
+        }
+      }
+    }
+    return apps;
+  }
+
   /**
    * Creates a process that will launch the flutter app.
    * <p>
@@ -254,7 +278,7 @@ public class FlutterApp {
 
     restartCount++;
 
-    final long reloadTimestamp = System.currentTimeMillis();
+    myReloadTimings.requested(ReloadTimings.Kind.RESTART);
     changeState(State.RELOADING);
 
     final CompletableFuture<DaemonApi.RestartResult> future =
@@ -281,12 +305,17 @@ public class FlutterApp {
 
     reloadCount++;
 
-    final long reloadTimestamp = System.currentTimeMillis();
+    myReloadTimings.requested(ReloadTimings.Kind.RELOAD);
     changeState(State.RELOADING);
 
     final CompletableFuture<DaemonApi.RestartResult> future =
       myDaemonApi.restartApp(myAppId, false, pauseAfterRestart);
-    future.thenAccept(result -> changeState(State.STARTED));
+    future.thenAccept(result -> {
+      if (myInspectorService != null) {
+        myInspectorService.onHotReload();
+      }
+      changeState(State.STARTED);
+    });
     return future;
   }
 
@@ -448,12 +477,30 @@ public class FlutterApp {
 
   public void setVmService(VmService vmService) {
     myVmService = vmService;
+
+    // The inspector subscribes to the Extension stream.
+    vmService.addVmServiceListener(new VmServiceListenerAdapter() {
+      @Override
+      public void received(String streamId, Event event) {
+        if (VmService.EXTENSION_STREAM_ID.equals(streamId) && "Flutter.Frame".equals(event.getExtensionKind())) {
+          myReloadTimings.frameRendered();
+        }
+      }
+    });
   }
 
   public VmService getVmService() {
     return myVmService;
   }
 
+  /**
+   * Returns how long the reloads and restarts of this app have taken.
+   */
+  @NotNull
+  public ReloadTimings getReloadTimings() {
+    return myReloadTimings;
+  }
+
   public InspectorService getInspectorService() {
     return myInspectorService;
   }
@@ -116,6 +116,7 @@ class FlutterAppListener implements DaemonEvent.Listener {
       }
 
       stopwatch.set(Stopwatch.createStarted());
+      app.getReloadTimings().progressStarted();
     }
 
     if (app.getConsole() != null) {
@@ -129,6 +130,7 @@ class FlutterAppListener implements DaemonEvent.Listener {
     final Stopwatch watch = stopwatch.getAndSet(null);
     if (watch != null) {
       watch.stop();
+      app.getReloadTimings().progressFinished();
       switch (event.getType()) {
         case "hot.reload":
           reportElapsed(watch, "Reloaded", "reload");
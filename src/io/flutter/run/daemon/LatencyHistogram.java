@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.daemon;
+
+/**
+ * Counts durations in buckets whose width grows with the value, in the style of an HDR histogram.
+ * <p>
+ * Values under {@link #LINEAR_LIMIT} milliseconds are counted exactly. Above that, each power of two is split into
+ * {@link #SUB_BUCKETS} buckets, so percentiles are within about 6% of the true value while memory stays constant.
+ */
+class LatencyHistogram {
+  private static final int LINEAR_LIMIT = 32;
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * The position of the highest bit of {@link #LINEAR_LIMIT}.
+   */
+  private static final int FIRST_EXPONENT = 5;
+
+  /**
+   * Larger values are counted as this one (a little under 25 days).
+   */
+  private static final long MAX_VALUE = Integer.MAX_VALUE;
+
+  private final int[] counts = new int[bucketOf(MAX_VALUE) + 1];
+  private int count;
+  private long max;
+
+  void record(long millis) {
+    final long value = Math.max(0, Math.min(millis, MAX_VALUE));
+    counts[bucketOf(value)]++;
+    count++;
+    max = Math.max(max, value);
+  }
+
+  int getCount() {
+    return count;
+  }
+
+  long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the duration that the given percent of values are at most, using the nearest rank.
+   * <p>
+   * The result is the top of the bucket that holds that value, but never more than the largest value recorded.
+   */
+  long getPercentile(double percent) {
+    if (count == 0) return 0;
+    final long rank = Math.max(1, (long)Math.ceil(percent / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(topOf(i), max);
+      }
+    }
+    return max;
+  }
+
+  private static int bucketOf(long value) {
+    if (value < LINEAR_LIMIT) {
+      return (int)value;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int sub = (int)(value >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR_LIMIT + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * Returns the largest value that falls in a bucket.
+   */
+  private static long topOf(int bucket) {
+    if (bucket < LINEAR_LIMIT) {
+      return bucket;
+    }
+    final int exponent = FIRST_EXPONENT + (bucket - LINEAR_LIMIT) / SUB_BUCKETS;
+    final int sub = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+    return ((long)(SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.daemon;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Records how long each stage of the hot reloads and restarts of one app session takes.
+ * <p>
+ * A reload passes through the {@link Stage}s in order, though it may skip some; a reload from the toolbar has no
+ * save or analysis stage. The time between each stage and the stage before it is added to a histogram for that
+ * pair of stages, along with the total time until the progress finished.
+ */
+public class ReloadTimings {
+  public enum Kind {
+    RELOAD("Reload"), RESTART("Restart");
+
+    @NotNull final String label;
+
+    Kind(@NotNull String label) {
+      this.label = label;
+    }
+  }
+
+  enum Stage {
+    SAVED("save"),
+    ANALYZED("analysis"),
+    REQUESTED("request sent"),
+    PROGRESS_STARTED("progress started"),
+    PROGRESS_FINISHED("progress finished"),
+    FIRST_FRAME("first frame");
+
+    @NotNull final String label;
+
+    Stage(@NotNull String label) {
+      this.label = label;
+    }
+  }
+
+  @NotNull private final LongSupplier clock;
+
+  /**
+   * Histograms keyed by step name, in the order the steps were first seen.
+   */
+  private final Map<Kind, Map<String, LatencyHistogram>> histograms = new EnumMap<>(Kind.class);
+
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * When each stage of the current reload happened, or -1 if it hasn't.
+   */
+  private final long[] marks = new long[Stage.values().length];
+
+  /**
+   * The kind of the current reload, or null if it hasn't been requested yet.
+   */
+  @Nullable private Kind kind;
+
+  /**
+   * The stages of the current reload whose steps are in the histograms.
+   */
+  private final EnumSet<Stage> recorded = EnumSet.noneOf(Stage.class);
+
+  ReloadTimings() {
+    this(System::currentTimeMillis);
+  }
+
+  ReloadTimings(@NotNull LongSupplier clock) {
+    this.clock = clock;
+    Arrays.fill(marks, -1);
+  }
+
+  /**
+   * Starts timing a reload that was triggered by a save at the given time.
+   */
+  public void saved(long savedAtMillis) {
+    synchronized (this) {
+      reset();
+      marks[Stage.SAVED.ordinal()] = savedAtMillis;
+    }
+  }
+
+  /**
+   * Notes that the analysis server has checked a save, so the reload can be sent.
+   */
+  public void analyzed() {
+    mark(Stage.ANALYZED);
+  }
+
+  /**
+   * Notes that a reload or restart was sent to the app, starting a new timing unless a save started one.
+   */
+  void requested(@NotNull Kind requestedKind) {
+    synchronized (this) {
+      // A save that was blocked by analysis errors doesn't lead to this request.
+      if (kind != null || marks[Stage.ANALYZED.ordinal()] < 0) {
+        reset();
+      }
+      kind = requestedKind;
+    }
+    mark(Stage.REQUESTED);
+  }
+
+  void progressStarted() {
+    mark(Stage.PROGRESS_STARTED);
+  }
+
+  void progressFinished() {
+    mark(Stage.PROGRESS_FINISHED);
+  }
+
+  /**
+   * Notes that the app rendered a frame; only the first frame after the progress finished counts.
+   */
+  void frameRendered() {
+    mark(Stage.FIRST_FRAME);
+  }
+
+  /**
+   * Returns the percentiles of each step, restarts after reloads.
+   */
+  @NotNull
+  public synchronized List<Row> getRows() {
+    final List<Row> rows = new ArrayList<>();
+    for (Map.Entry<Kind, Map<String, LatencyHistogram>> byKind : histograms.entrySet()) {
+      for (Map.Entry<String, LatencyHistogram> entry : byKind.getValue().entrySet()) {
+        final LatencyHistogram histogram = entry.getValue();
+        rows.add(new Row(byKind.getKey(), entry.getKey(), histogram.getCount(), histogram.getPercentile(50),
+                         histogram.getPercentile(95), histogram.getMax()));
+      }
+    }
+    return rows;
+  }
+
+  public void addListener(@NotNull Listener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(@NotNull Listener listener) {
+    listeners.remove(listener);
+  }
+
+  private void mark(@NotNull Stage stage) {
+    synchronized (this) {
+      if (marks[stage.ordinal()] >= 0) return;
+      if (stage.compareTo(Stage.REQUESTED) > 0 && marks[Stage.REQUESTED.ordinal()] < 0) {
+        // Not part of a reload, such as a frame from an animation.
+        return;
+      }
+      if (stage == Stage.FIRST_FRAME && marks[Stage.PROGRESS_FINISHED.ordinal()] < 0) {
+        // The app hasn't finished reloading yet.
+        return;
+      }
+      marks[stage.ordinal()] = clock.getAsLong();
+      if (kind == null || !recordSteps()) return;
+    }
+
+    for (Listener listener : listeners) {
+      listener.timingsChanged();
+    }
+  }
+
+  /**
+   * Adds the steps that ended at stages marked since the last call; returns true if there were any.
+   */
+  private boolean recordSteps() {
+    assert kind != null;
+    final Map<String, LatencyHistogram> steps = histograms.computeIfAbsent(kind, (Kind key) -> new LinkedHashMap<>());
+    boolean changed = false;
+    Stage previous = null;
+    for (Stage stage : Stage.values()) {
+      if (marks[stage.ordinal()] < 0) continue;
+      if (previous != null && !recorded.contains(stage)) {
+        final long elapsed = marks[stage.ordinal()] - marks[previous.ordinal()];
+        steps.computeIfAbsent(previous.label + " → " + stage.label, (String key) -> new LatencyHistogram()).record(elapsed);
+        if (stage == Stage.PROGRESS_FINISHED) {
+          final long total = marks[stage.ordinal()] - firstMark();
+          steps.computeIfAbsent("total", (String key) -> new LatencyHistogram()).record(total);
+        }
+        changed = true;
+      }
+      recorded.add(stage);
+      previous = stage;
+    }
+    return changed;
+  }
+
+  private long firstMark() {
+    for (long mark : marks) {
+      if (mark >= 0) return mark;
+    }
+    return -1;
+  }
+
+  private void reset() {
+    Arrays.fill(marks, -1);
+    recorded.clear();
+    kind = null;
+  }
+
+  /**
+   * The percentiles of one step of one kind of reload, in milliseconds.
+   */
+  public static class Row {
+    @NotNull public final Kind kind;
+    @NotNull public final String step;
+    public final int count;
+    public final long p50;
+    public final long p95;
+    public final long max;
+
+    Row(@NotNull Kind kind, @NotNull String step, int count, long p50, long p95, long max) {
+      this.kind = kind;
+      this.step = step;
+      this.count = count;
+      this.p50 = p50;
+      this.p95 = p95;
+      this.max = max;
+    }
+
+    @NotNull
+    public String getKindLabel() {
+      return kind.label;
+    }
+  }
+
+  /**
+   * Notified on the thread that marked a stage when new timings are recorded.
+   */
+  public interface Listener {
+    void timingsChanged();
+  }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.*;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import io.flutter.pub.PubRoot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Finds the test files that may be affected by the Dart files changed since a directory's tests last passed.
+ * <p>
+ * For each pub root, an {@link ImportGraph} of its Dart files is built on a pooled thread, since it reads every
+ * Dart file in the root, and kept up to date as files change. Until it's built, all tests run. A change to
+ * pubspec.yaml, pubspec.lock or .packages may affect anything, so it causes all tests to run. So does a change to a
+ * Dart file outside the root that the root depends on, such as in a path dependency, since the graph doesn't
+ * follow imports outside the root. Changes to other files, such as assets, are not tracked.
+ * <p>
+ * Changes are only recorded while the project is open, so the first run of a directory always runs all its tests.
+ */
+public class AffectedTestIndex {
+  private static final Logger LOG = Logger.getInstance(AffectedTestIndex.class);
+
+  private static final Set<String> PUB_FILES = new HashSet<>(Arrays.asList("pubspec.yaml", "pubspec.lock", ".packages"));
+
+  /**
+   * The state of each pub root, keyed by root path.
+   */
+  private final Map<String, RootState> roots = new HashMap<>();
+
+  /**
+   * Counts recorded changes; each change and each passing run is stamped with it.
+   */
+  private long modificationCount;
+
+  private AffectedTestIndex(@NotNull Project project) {
+    project.getMessageBus().connect().subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+      @Override
+      public void before(@NotNull List<? extends VFileEvent> events) {
+      }
+
+      @Override
+      public void after(@NotNull List<? extends VFileEvent> events) {
+        for (VFileEvent event : events) {
+          onFileChanged(event.getPath());
+          // A moved or renamed file also changes its old path, which other files may still import.
+          if (event instanceof VFileMoveEvent) {
+            final VFileMoveEvent move = (VFileMoveEvent)event;
+            onFileChanged(move.getOldParent().getPath() + "/" + move.getFile().getName());
+          }
+          else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent)event).isRename()) {
+            onFileChanged(((VFilePropertyChangeEvent)event).getOldPath());
+          }
+        }
+      }
+    });
+  }
+
+  @NotNull
+  public static AffectedTestIndex getInstance(@NotNull final Project project) {
+    return ServiceManager.getService(project, AffectedTestIndex.class);
+  }
+
+  /**
+   * Returns a stamp to pass to {@link #markPassed} once the tests started now have passed.
+   */
+  public synchronized long getModificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * Records that all the tests in a directory passed, as of the given modification count.
+   */
+  public synchronized void markPassed(@NotNull PubRoot root, @NotNull VirtualFile dir, long stamp) {
+    final RootState state = getState(root);
+    final Long previous = state.passedStamps.get(dir.getPath());
+    if (previous == null || previous < stamp) {
+      state.passedStamps.put(dir.getPath(), stamp);
+    }
+    // Have the graph ready for the next run.
+    startBuild(state);
+  }
+
+  /**
+   * Returns the test files in a directory that depend on a file changed since its tests last passed,
+   * sorted by path.
+   * <p>
+   * Returns null if all the tests should run, because they have never passed, the packages or a dependency outside
+   * the root have changed, or the import graph isn't built yet.
+   */
+  @Nullable
+  public synchronized List<VirtualFile> findAffectedTests(@NotNull PubRoot root, @NotNull VirtualFile dir) {
+    final RootState state = getState(root);
+    final Long passed = state.passedStamps.get(dir.getPath());
+    if (passed == null || state.packagesStamp > passed || state.externalStamp > passed) return null;
+
+    final List<String> changed = new ArrayList<>();
+    for (Map.Entry<String, Long> entry : state.changeStamps.entrySet()) {
+      if (entry.getValue() > passed) {
+        changed.add(entry.getKey());
+      }
+    }
+
+    final List<VirtualFile> affected = new ArrayList<>();
+    if (changed.isEmpty()) return affected;
+
+    if (state.graph == null) {
+      startBuild(state);
+      return null;
+    }
+    final String prefix = dir.getPath() + "/";
+    for (String path : state.graph.findDependents(changed)) {
+      if (path.startsWith(prefix) && path.endsWith(TestShards.TEST_FILE_SUFFIX)) {
+        final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+        if (file != null) {
+          affected.add(file);
+        }
+      }
+    }
+    affected.sort(Comparator.comparing(VirtualFile::getPath));
+    return affected;
+  }
+
+  private synchronized void onFileChanged(@NotNull String path) {
+    final boolean isDart = path.endsWith(".dart");
+    final String name = path.substring(path.lastIndexOf('/') + 1);
+    if (!isDart && !PUB_FILES.contains(name)) return;
+
+    for (Map.Entry<String, RootState> entry : roots.entrySet()) {
+      final RootState state = entry.getValue();
+      if (!path.startsWith(entry.getKey() + "/")) {
+        if (isDart && state.dependsOnExternalFile(path)) {
+          modificationCount++;
+          state.externalStamp = modificationCount;
+        }
+        else if (isDart && state.graph == null) {
+          // Check the relative imports once the graph is built.
+          modificationCount++;
+          state.uncheckedExternalChanges.put(path, modificationCount);
+        }
+        continue;
+      }
+
+      modificationCount++;
+      if (isDart) {
+        state.changeStamps.put(path, modificationCount);
+        if (state.graph != null) {
+          state.update(path);
+        }
+      }
+      else {
+        state.packagesStamp = modificationCount;
+        // The package directories may have moved, so rebuild the graph when next needed.
+        state.graph = null;
+        state.packageDirs = null;
+      }
+    }
+  }
+
+  @NotNull
+  private RootState getState(@NotNull PubRoot root) {
+    return roots.computeIfAbsent(root.getPath(), (String path) -> new RootState(root.getRoot()));
+  }
+
+  /**
+   * Builds the import graph of a root on a pooled thread, unless it's built or being built.
+   */
+  private void startBuild(@NotNull RootState state) {
+    if (state.graph != null || state.building) return;
+    state.building = true;
+    final long startStamp = modificationCount;
+    ApplicationManager.getApplication().executeOnPooledThread(() -> {
+      ImportGraph graph = null;
+      Map<String, String> packageDirs = null;
+      try {
+        packageDirs = RootState.loadPackageDirs(state.root);
+        graph = RootState.build(state.root, packageDirs);
+      }
+      finally {
+        synchronized (this) {
+          state.building = false;
+          if (graph != null && state.packagesStamp <= startStamp) {
+            state.install(graph, packageDirs, startStamp);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * What is known about the Dart files in one pub root.
+   */
+  private static class RootState {
+    @NotNull private final VirtualFile root;
+
+    /**
+     * The modification count of the latest change to each Dart file, keyed by path.
+     */
+    private final Map<String, Long> changeStamps = new HashMap<>();
+
+    /**
+     * The modification count when the tests of each directory last passed, keyed by path.
+     */
+    private final Map<String, Long> passedStamps = new HashMap<>();
+
+    /**
+     * The modification count of the latest change to the package configuration.
+     */
+    private long packagesStamp;
+
+    /**
+     * The modification count of the latest change to a Dart file outside the root that the root depends on.
+     */
+    private long externalStamp;
+
+    /**
+     * Changes to Dart files outside the root made while the graph wasn't built, keyed by path.
+     */
+    private final Map<String, Long> uncheckedExternalChanges = new HashMap<>();
+
+    /**
+     * The imports of the files in the root, or null if not built yet.
+     */
+    @Nullable private ImportGraph graph;
+    private boolean building;
+
+    /**
+     * The lib directory of each package, or null if not read since the package configuration changed.
+     */
+    @Nullable private Map<String, String> packageDirs;
+
+    RootState(@NotNull VirtualFile root) {
+      this.root = root;
+    }
+
+    /**
+     * Uses a graph built from the files as they were at the given modification count, catching up with later changes.
+     */
+    void install(@NotNull ImportGraph builtGraph, @NotNull Map<String, String> builtPackageDirs, long builtStamp) {
+      graph = builtGraph;
+      packageDirs = builtPackageDirs;
+      for (Map.Entry<String, Long> entry : changeStamps.entrySet()) {
+        if (entry.getValue() > builtStamp) {
+          update(entry.getKey());
+        }
+      }
+      for (Map.Entry<String, Long> entry : uncheckedExternalChanges.entrySet()) {
+        if (graph.isImported(entry.getKey())) {
+          externalStamp = Math.max(externalStamp, entry.getValue());
+        }
+      }
+      uncheckedExternalChanges.clear();
+    }
+
+    /**
+     * Returns true if path is outside the root and may be imported by a file in the root.
+     * <p>
+     * That is, it's in the lib directory of a package outside the root, such as a path dependency,
+     * or a file in the root imports it with a relative URI.
+     */
+    boolean dependsOnExternalFile(@NotNull String path) {
+      if (packageDirs == null) {
+        packageDirs = loadPackageDirs(root);
+      }
+      final String rootPrefix = root.getPath() + "/";
+      for (String dir : packageDirs.values()) {
+        if (!dir.startsWith(rootPrefix) && path.startsWith(dir + "/")) {
+          return true;
+        }
+      }
+      return graph != null && graph.isImported(path);
+    }
+
+    void update(@NotNull String path) {
+      assert (graph != null && packageDirs != null);
+      final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+      if (file == null || !file.isValid()) {
+        graph.remove(path);
+      }
+      else {
+        addFile(graph, file, packageDirs);
+      }
+    }
+
+    @NotNull
+    static Map<String, String> loadPackageDirs(@NotNull VirtualFile root) {
+      final VirtualFile packages = root.findChild(".packages");
+      if (packages == null || packages.isDirectory()) return Collections.emptyMap();
+      return ImportGraph.parsePackages(root.getPath(), load(packages));
+    }
+
+    @NotNull
+    static ImportGraph build(@NotNull VirtualFile root, @NotNull Map<String, String> packageDirs) {
+      final ImportGraph graph = new ImportGraph();
+      VfsUtilCore.visitChildrenRecursively(root, new VirtualFileVisitor() {
+        @Override
+        public boolean visitFile(@NotNull VirtualFile file) {
+          if (file.isDirectory()) {
+            return file.equals(root) || !file.getName().startsWith(".") && !file.getName().equals("build");
+          }
+          if (file.getName().endsWith(".dart")) {
+            addFile(graph, file, packageDirs);
+          }
+          return true;
+        }
+      });
+      return graph;
+    }
+
+    private static void addFile(@NotNull ImportGraph graph, @NotNull VirtualFile file, @NotNull Map<String, String> packageDirs) {
+      final List<String> targets = new ArrayList<>();
+      for (String uri : ImportGraph.parseUris(load(file))) {
+        final String target = ImportGraph.resolve(file.getPath(), uri, packageDirs);
+        if (target != null) {
+          targets.add(target);
+        }
+      }
+      graph.setImports(file.getPath(), targets);
+    }
+
+    @NotNull
+    private static CharSequence load(@NotNull VirtualFile file) {
+      try {
+        return VfsUtilCore.loadText(file);
+      }
+      catch (IOException e) {
+        LOG.warn("Can't read " + file.getPath(), e);
+        return "";
+      }
+    }
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.execution.ExecutionException;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import io.flutter.pub.PubRoot;
+import io.flutter.run.daemon.RunMode;
+import io.flutter.sdk.FlutterSdk;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The failed tests of a test run, grouped by file so that they can be run again.
+ * <p>
+ * Tests are found from their {@link TestLocation} hints. Rerunning them starts the fewest
+ * <code>flutter test --plain-name</code> processes that cover every failure, all in parallel.
+ */
+class FailedTests {
+  /**
+   * The most processes to start for tests selected by name.
+   * <p>
+   * Beyond this, the files with the most failures are run in full instead.
+   */
+  static final int MAX_NAMED_RUNS = 8;
+
+  /**
+   * Full names of the failed tests, keyed by file path. An empty set means the whole file must run again.
+   */
+  @NotNull private final Map<String, Set<String>> namesByPath = new TreeMap<>();
+
+  /**
+   * Adds a failed test from its location hint, returning false if the hint isn't a Dart test location.
+   */
+  boolean add(@NotNull String locationUrl) {
+    final TestLocation location = TestLocation.parse(locationUrl);
+    if (location == null) return false;
+
+    final List<String> names = location.names;
+    final Set<String> failed = namesByPath.computeIfAbsent(location.path, (String path) -> new TreeSet<>());
+    if (names.isEmpty() || names.size() == 1 && isLoading(names.get(0))) {
+      // Not a single test, e.g. a file that failed to load.
+      failed.add("");
+    }
+    else {
+      failed.add(location.getFullName());
+    }
+    return true;
+  }
+
+  boolean isEmpty() {
+    return namesByPath.isEmpty();
+  }
+
+  /**
+   * Returns the processes to start; each is a list of file paths and an optional test name.
+   * <p>
+   * Since --plain-name matches any test whose name contains it, a name is dropped if it contains another
+   * failed name from the same file. Files that must run in full are run together in a single process.
+   */
+  @NotNull
+  List<Run> plan() {
+    final List<String> wholeFiles = new ArrayList<>();
+    final Map<String, List<String>> named = new TreeMap<>();
+    for (Map.Entry<String, Set<String>> entry : namesByPath.entrySet()) {
+      final Set<String> names = entry.getValue();
+      if (names.contains("")) {
+        wholeFiles.add(entry.getKey());
+      }
+      else {
+        named.put(entry.getKey(), minimize(names));
+      }
+    }
+
+    // Run the files with the most failures in full until there are few enough processes.
+    int namedRuns = named.values().stream().mapToInt(List::size).sum();
+    while (namedRuns > MAX_NAMED_RUNS) {
+      final String path = Collections.max(named.keySet(), Comparator.comparingInt((String p) -> named.get(p).size()));
+      namedRuns -= named.remove(path).size();
+      wholeFiles.add(path);
+    }
+
+    final List<Run> runs = new ArrayList<>();
+    if (!wholeFiles.isEmpty()) {
+      Collections.sort(wholeFiles);
+      runs.add(new Run(wholeFiles, null));
+    }
+    for (Map.Entry<String, List<String>> entry : named.entrySet()) {
+      for (String name : entry.getValue()) {
+        runs.add(new Run(Collections.singletonList(entry.getKey()), name));
+      }
+    }
+    return runs;
+  }
+
+  /**
+   * Returns true if the failed tests can be run again in the given mode.
+   * <p>
+   * flutter test only starts paused for the debugger when it runs a single file, so the failures
+   * of several files can't be debugged together.
+   */
+  boolean canRun(@NotNull RunMode mode) {
+    return mode == RunMode.RUN || namesByPath.size() == 1;
+  }
+
+  /**
+   * Returns the processes to start in the given mode.
+   * <p>
+   * The debugger attaches to a single process, so when debugging, the failed file is run in full
+   * unless a single test failed.
+   */
+  @NotNull
+  List<Run> plan(@NotNull RunMode mode) {
+    if (!canRun(mode)) {
+      throw new IllegalStateException("can't " + mode + " the failed tests of " + namesByPath.size() + " files");
+    }
+    final List<Run> runs = plan();
+    if (mode == RunMode.RUN || runs.size() <= 1) {
+      return runs;
+    }
+    return Collections.singletonList(new Run(new ArrayList<>(namesByPath.keySet()), null));
+  }
+
+  /**
+   * Starts the processes that run the failed tests again in the mode of the original run,
+   * reporting their merged output.
+   */
+  @NotNull
+  ProcessHandler run(@NotNull Project project, @NotNull PubRoot root, @NotNull RunMode mode) throws ExecutionException {
+    final FlutterSdk sdk = FlutterSdk.getFlutterSdk(project);
+    if (sdk == null) {
+      throw new ExecutionException("The Flutter SDK is not configured");
+    }
+    if (!canRun(mode)) {
+      throw new ExecutionException("Only the failed tests of one file can be debugged at a time");
+    }
+
+    final List<ProcessHandler> handlers = new ArrayList<>();
+    try {
+      for (Run run : plan(mode)) {
+        final List<VirtualFile> files = new ArrayList<>();
+        for (String path : run.paths) {
+          final VirtualFile file = LocalFileSystem.getInstance().findFileByPath(path);
+          if (file == null) {
+            throw new ExecutionException("Test file not found: " + path);
+          }
+          files.add(file);
+        }
+        handlers.add(sdk.flutterTest(root, files, run.testName, mode).createProcessHandler(project));
+      }
+    }
+    catch (ExecutionException e) {
+      for (ProcessHandler handler : handlers) {
+        handler.destroyProcess();
+      }
+      throw e;
+    }
+    if (handlers.isEmpty()) {
+      throw new ExecutionException("No failed tests to run");
+    }
+    if (handlers.size() == 1) {
+      return handlers.get(0);
+    }
+    return new ShardedTestProcessHandler(handlers);
+  }
+
+  /**
+   * Returns true for the virtual test that package:test reports while loading a file.
+   */
+  private static boolean isLoading(@NotNull String name) {
+    return name.startsWith("loading ") || name.startsWith("compiling ");
+  }
+
+  /**
+   * Returns the names that aren't covered by a shorter name, shortest first.
+   */
+  @NotNull
+  private static List<String> minimize(@NotNull Set<String> names) {
+    final List<String> sorted = new ArrayList<>(names);
+    sorted.sort(Comparator.comparingInt(String::length));
+
+    final List<String> result = new ArrayList<>();
+    for (String name : sorted) {
+      if (result.stream().noneMatch(name::contains)) {
+        result.add(name);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * A flutter test process to start.
+   */
+  static class Run {
+    @NotNull final List<String> paths;
+    @Nullable final String testName;
+
+    Run(@NotNull List<String> paths, @Nullable String testName) {
+      this.paths = paths;
+      this.testName = testName;
+    }
+
+    @Override
+    public String toString() {
+      return paths + (testName == null ? "" : " --plain-name " + testName);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The import, export and part directives between the Dart files of a pub root.
+ * <p>
+ * Files are identified by absolute path. Edges are kept in both directions so that the files depending on
+ * a changed file can be found without scanning the whole graph.
+ */
+class ImportGraph {
+  private static final Pattern DIRECTIVE =
+    Pattern.compile("^\\s*(?:import|export|part)\\s+((?:'[^']*'|\"[^\"]*\"|[^;'\"])*);", Pattern.MULTILINE);
+  private static final Pattern STRING = Pattern.compile("'([^']*)'|\"([^\"]*)\"");
+
+  /**
+   * The files that each file refers to, keyed by path.
+   */
+  private final Map<String, Set<String>> imports = new HashMap<>();
+
+  /**
+   * The files that refer to each file, keyed by path.
+   */
+  private final Map<String, Set<String>> importers = new HashMap<>();
+
+  /**
+   * Replaces the files that a file refers to.
+   */
+  void setImports(@NotNull String path, @NotNull Collection<String> targets) {
+    remove(path);
+    final Set<String> set = new HashSet<>(targets);
+    imports.put(path, set);
+    for (String target : set) {
+      importers.computeIfAbsent(target, (String key) -> new HashSet<>()).add(path);
+    }
+  }
+
+  /**
+   * Forgets what a file refers to. Files that refer to it still do.
+   */
+  void remove(@NotNull String path) {
+    final Set<String> old = imports.remove(path);
+    if (old == null) return;
+    for (String target : old) {
+      final Set<String> sources = importers.get(target);
+      if (sources != null) {
+        sources.remove(path);
+        if (sources.isEmpty()) {
+          importers.remove(target);
+        }
+      }
+    }
+  }
+
+  boolean contains(@NotNull String path) {
+    return imports.containsKey(path);
+  }
+
+  /**
+   * Returns true if some file refers to path.
+   */
+  boolean isImported(@NotNull String path) {
+    return importers.containsKey(path);
+  }
+
+  /**
+   * Returns the given files and every file that depends on them, directly or transitively.
+   */
+  @NotNull
+  Set<String> findDependents(@NotNull Collection<String> changed) {
+    final Set<String> seen = new HashSet<>(changed);
+    final Deque<String> todo = new ArrayDeque<>(changed);
+    while (!todo.isEmpty()) {
+      final Set<String> sources = importers.get(todo.remove());
+      if (sources == null) continue;
+      for (String source : sources) {
+        if (seen.add(source)) {
+          todo.add(source);
+        }
+      }
+    }
+    return seen;
+  }
+
+  /**
+   * Returns the URIs in the import, export and part directives of Dart source, including conditional imports.
+   * <p>
+   * Only directives at the start of a line are found, which is where dartfmt puts them.
+   */
+  @NotNull
+  static List<String> parseUris(@NotNull CharSequence source) {
+    final List<String> uris = new ArrayList<>();
+    final Matcher directive = DIRECTIVE.matcher(source);
+    while (directive.find()) {
+      final Matcher string = STRING.matcher(directive.group(1));
+      while (string.find()) {
+        final String uri = string.group(1) != null ? string.group(1) : string.group(2);
+        if (!uri.isEmpty()) {
+          uris.add(uri);
+        }
+      }
+    }
+    return uris;
+  }
+
+  /**
+   * Returns the path of the file that a URI in a Dart file refers to, or null if it's not a file.
+   *
+   * @param packageDirs the lib directory of each package, keyed by package name, as listed in .packages
+   */
+  @Nullable
+  static String resolve(@NotNull String fromPath, @NotNull String uri, @NotNull Map<String, String> packageDirs) {
+    if (uri.startsWith("dart:")) return null;
+
+    if (uri.startsWith("package:")) {
+      final String rest = uri.substring("package:".length());
+      final int slash = rest.indexOf('/');
+      if (slash <= 0) return null;
+      final String dir = packageDirs.get(rest.substring(0, slash));
+      return dir == null ? null : normalize(dir + "/" + rest.substring(slash + 1));
+    }
+
+    if (uri.contains(":")) return null;
+
+    final int lastSlash = fromPath.lastIndexOf('/');
+    return normalize(fromPath.substring(0, lastSlash + 1) + uri);
+  }
+
+  /**
+   * Parses a .packages file into the lib directory of each package, keyed by package name.
+   */
+  @NotNull
+  static Map<String, String> parsePackages(@NotNull String rootPath, @NotNull CharSequence text) {
+    final Map<String, String> dirs = new HashMap<>();
+    for (String line : text.toString().split("\n")) {
+      line = line.trim();
+      final int colon = line.indexOf(':');
+      if (line.startsWith("#") || colon <= 0) continue;
+
+      final String location = line.substring(colon + 1);
+      String dir;
+      if (location.startsWith("file:")) {
+        dir = fileUriToPath(location);
+      }
+      else if (location.contains(":")) {
+        continue;
+      }
+      else {
+        dir = rootPath + "/" + location;
+      }
+      if (dir == null) continue;
+      while (dir.endsWith("/")) {
+        dir = dir.substring(0, dir.length() - 1);
+      }
+      dirs.put(line.substring(0, colon), normalize(dir));
+    }
+    return dirs;
+  }
+
+  /**
+   * Converts a file URI to a path in the form used by VirtualFile.getPath, or returns null if it is malformed.
+   * <p>
+   * Percent escapes are decoded, and the slash before a Windows drive letter is dropped, so that
+   * <code>file:///C:/src/lib/</code> becomes <code>C:/src/lib/</code>.
+   */
+  @Nullable
+  static String fileUriToPath(@NotNull String uri) {
+    final String path;
+    try {
+      path = new URI(uri).getPath();
+    }
+    catch (URISyntaxException e) {
+      return null;
+    }
+    if (path != null && path.length() >= 3 && path.charAt(0) == '/' && Character.isLetter(path.charAt(1)) && path.charAt(2) == ':') {
+      return path.substring(1);
+    }
+    return path;
+  }
+
+  /**
+   * Removes "." and ".." segments from a path.
+   */
+  @NotNull
+  private static String normalize(@NotNull String path) {
+    final Deque<String> segments = new ArrayDeque<>();
+    for (String segment : path.split("/", -1)) {
+      if (segment.equals(".") || segment.isEmpty() && !segments.isEmpty()) continue;
+      if (segment.equals("..") && segments.size() > 1) {
+        segments.removeLast();
+      }
+      else {
+        segments.add(segment);
+      }
+    }
+    return String.join("/", segments);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
+import com.intellij.execution.process.ProcessHandler;
+import com.intellij.execution.process.ProcessOutputTypes;
+import com.intellij.openapi.util.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs several <code>flutter test --machine</code> processes in parallel and reports their output as a single process.
+ * <p>
+ * Standard output is split into lines and merged with a {@link TestShardMerger}, so that the test console sees
+ * one run. Other output is passed through as is. The handler terminates when the last shard does, with the
+ * first non-zero exit code of the shards.
+ */
+class ShardedTestProcessHandler extends ProcessHandler {
+  @NotNull private final List<ProcessHandler> shards;
+  @NotNull private final TestShardMerger merger;
+
+  /**
+   * Partial lines of standard output, indexed by shard.
+   */
+  @NotNull private final List<StringBuilder> partialLines = new ArrayList<>();
+
+  private int running;
+  private int exitCode;
+
+  ShardedTestProcessHandler(@NotNull List<? extends ProcessHandler> shards) {
+    assert (!shards.isEmpty());
+    this.shards = new ArrayList<>(shards);
+    this.merger = new TestShardMerger(shards.size());
+    this.running = shards.size();
+
+    for (int i = 0; i < shards.size(); i++) {
+      final int shard = i;
+      partialLines.add(new StringBuilder());
+      shards.get(i).addProcessListener(new ProcessAdapter() {
+        @Override
+        public void onTextAvailable(ProcessEvent event, Key outputType) {
+          if (outputType.equals(ProcessOutputTypes.STDOUT)) {
+            onStdout(shard, event.getText());
+          }
+          else {
+            notifyTextAvailable(event.getText(), outputType);
+          }
+        }
+
+        @Override
+        public void processTerminated(ProcessEvent event) {
+          onShardTerminated(shard, event.getExitCode());
+        }
+      });
+    }
+  }
+
+  @Override
+  public void startNotify() {
+    super.startNotify();
+    for (ProcessHandler shard : shards) {
+      shard.startNotify();
+    }
+  }
+
+  private synchronized void onStdout(int shard, @NotNull String text) {
+    final StringBuilder partial = partialLines.get(shard);
+    partial.append(text);
+
+    int start = 0;
+    for (int end = partial.indexOf("\n"); end >= 0; end = partial.indexOf("\n", start)) {
+      report(shard, partial.substring(start, end));
+      start = end + 1;
+    }
+    partial.delete(0, start);
+  }
+
+  private void onShardTerminated(int shard, int shardExitCode) {
+    final boolean done;
+    synchronized (this) {
+      final StringBuilder partial = partialLines.get(shard);
+      if (partial.length() > 0) {
+        report(shard, partial.toString());
+        partial.setLength(0);
+      }
+      if (exitCode == 0) {
+        exitCode = shardExitCode;
+      }
+      running--;
+      done = running == 0;
+      if (done) {
+        notifyTextAvailable(merger.finish() + "\n", ProcessOutputTypes.STDOUT);
+      }
+    }
+    if (done) {
+      notifyProcessTerminated(exitCode);
+    }
+  }
+
+  private void report(int shard, @NotNull String line) {
+    final String merged = merger.rewrite(shard, line);
+    if (merged != null) {
+      notifyTextAvailable(merged + "\n", ProcessOutputTypes.STDOUT);
+    }
+  }
+
+  @Override
+  protected void destroyProcessImpl() {
+    for (ProcessHandler shard : shards) {
+      shard.destroyProcess();
+    }
+  }
+
+  @Override
+  protected void detachProcessImpl() {
+    for (ProcessHandler shard : shards) {
+      shard.detachProcess();
+    }
+    notifyProcessDetached();
+  }
+
+  @Override
+  public boolean detachIsDefault() {
+    return false;
+  }
+
+  @Nullable
+  @Override
+  public OutputStream getProcessInput() {
+    return null;
+  }
+}
@@ -8,18 +8,26 @@ package io.flutter.run.test;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.roots.ProjectRootModificationTracker;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.search.PsiElementProcessor;
-import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.jetbrains.lang.dart.psi.DartCallExpression;
 import com.jetbrains.lang.dart.psi.DartFile;
+import com.jetbrains.lang.dart.psi.DartFunctionDeclarationWithBodyOrNative;
 import com.jetbrains.lang.dart.psi.DartStringLiteralExpression;
+import gnu.trove.TIntObjectHashMap;
 import io.flutter.FlutterUtils;
 import io.flutter.dart.DartSyntax;
+import io.flutter.pub.PubRoot;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,36 +40,110 @@ public class TestConfigUtils {
 
   @Nullable
   public static TestType asTestCall(@NotNull PsiElement element) {
+    // Only calls and main declarations are test calls, so skip the file lookup for everything else.
+    if (!(element instanceof DartCallExpression) && !(element instanceof DartFunctionDeclarationWithBodyOrNative)) return null;
+
     final DartFile file = FlutterUtils.getDartFile(element);
-    if (file != null && FlutterUtils.isInTestDir(file) && FlutterUtils.isInFlutterProject(element)) {
-      // Named tests.
-      final TestType namedTestCall = findNamedTestCall(element);
-      if (namedTestCall != null) return namedTestCall;
+    if (file == null) return null;
 
-      // Main.
-      if (isMainFunctionDeclarationWithTests(element)) return TestType.MAIN;
-    }
+    final TestCalls calls = getTestCalls(file);
+    if (!calls.inFlutterTestDir) return null;
 
-    return null;
+    final TestCall call = calls.get(element);
+    return call == null ? null : call.type;
   }
 
   @VisibleForTesting
   public static boolean isMainFunctionDeclarationWithTests(@NotNull PsiElement element) {
-    if (DartSyntax.isMainFunctionDeclaration(element)) {
-      final PsiElementProcessor.FindElement<PsiElement> processor =
-        new PsiElementProcessor.FindElement<PsiElement>() {
-          @Override
-          public boolean execute(@NotNull PsiElement element) {
-            final TestType type = findNamedTestCall(element);
-            return type == null || setFound(element);
-          }
-        };
+    if (!DartSyntax.isMainFunctionDeclaration(element)) return false;
 
-      PsiTreeUtil.processElements(element, processor);
-      return processor.isFound();
+    final DartFile file = FlutterUtils.getDartFile(element);
+    if (file == null) return false;
+
+    final TestCall call = getTestCalls(file).get(element);
+    return call != null && call.type == TestType.MAIN;
+  }
+
+  /**
+   * Returns the name of the test containing this element, or null if it can't be calculated.
+   */
+  @Nullable
+  public static String findTestName(@Nullable PsiElement elt) {
+    final DartFile file = FlutterUtils.getDartFile(elt);
+    if (file == null) return null;
+
+    // Prefer the innermost single test over the innermost group.
+    final TestCalls calls = getTestCalls(file);
+    TestCall group = null;
+    for (PsiElement parent = elt; parent != null && parent != file; parent = parent.getParent()) {
+      if (!(parent instanceof DartCallExpression)) continue;
+
+      final TestCall call = calls.get(parent);
+      if (call == null) continue;
+      if (call.type == TestType.SINGLE) return call.name;
+      if (group == null) group = call;
     }
 
-    return false;
+    return group == null ? null : group.name;
+  }
+
+  /**
+   * Returns the test calls in a file, found in a single pass that is cached until the file, its pubspec.yaml
+   * or the project roots change.
+   */
+  @NotNull
+  private static TestCalls getTestCalls(@NotNull DartFile file) {
+    return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result
+      .create(computeTestCalls(file), getTestCallsDependencies(file)));
+  }
+
+  /**
+   * Returns what the cached test calls of a file depend on.
+   * <p>
+   * Whether a file is in a Flutter test directory depends on its pubspec.yaml, so the cache also
+   * depends on the pubspec's contents and on files being added, moved or deleted.
+   */
+  @NotNull
+  private static Object[] getTestCallsDependencies(@NotNull DartFile file) {
+    final List<Object> dependencies = new ArrayList<>();
+    dependencies.add(file);
+    dependencies.add(ProjectRootModificationTracker.getInstance(file.getProject()));
+    dependencies.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+    final PubRoot root = PubRoot.forFile(file.getVirtualFile());
+    if (root != null) {
+      dependencies.add(root.getPubspec());
+    }
+    return dependencies.toArray();
+  }
+
+  @NotNull
+  private static TestCalls computeTestCalls(@NotNull DartFile file) {
+    final TestCalls calls = new TestCalls(FlutterUtils.isInTestDir(file) && FlutterUtils.isInFlutterProject(file));
+    final List<PsiElement> mains = new ArrayList<>();
+    file.accept(new PsiRecursiveElementWalkingVisitor() {
+      @Override
+      public void visitElement(PsiElement element) {
+        super.visitElement(element);
+        if (element instanceof DartCallExpression) {
+          final TestType type = findNamedTestCall(element);
+          if (type != null) {
+            calls.put(element, new TestCall(type, getTestName((DartCallExpression)element), element.getTextLength()));
+          }
+        }
+        else if (DartSyntax.isMainFunctionDeclaration(element)) {
+          mains.add(element);
+        }
+      }
+    });
+
+    // A main declaration is a test call if it contains any named test calls.
+    for (PsiElement main : mains) {
+      final TextRange range = main.getTextRange();
+      if (calls.hasCallWithin(range)) {
+        calls.put(main, new TestCall(TestType.MAIN, null, range.getLength()));
+      }
+    }
+    return calls;
   }
 
   @Nullable
@@ -75,22 +157,61 @@ public class TestConfigUtils {
     return null;
   }
 
-  /**
-   * Returns the name of the test containing this element, or null if it can't be calculated.
-   */
   @Nullable
-  public static String findTestName(@Nullable PsiElement elt) {
-    if (elt == null) return null;
-
-    final DartCallExpression call = TestType.findTestCall(elt);
-    if (call == null) return null;
-
+  private static String getTestName(@NotNull DartCallExpression call) {
     final DartStringLiteralExpression lit = DartSyntax.getArgument(call, 0, DartStringLiteralExpression.class);
     if (lit == null) return null;
 
     return DartSyntax.unquote(lit);
   }
 
+  /**
+   * A named test call, group call or main declaration with tests.
+   */
+  private static class TestCall {
+    @NotNull final TestType type;
+    @Nullable final String name;
+    final int length;
+
+    TestCall(@NotNull TestType type, @Nullable String name, int length) {
+      this.type = type;
+      this.name = name;
+      this.length = length;
+    }
+  }
+
+  /**
+   * The test calls in a file, keyed by the start offset of the call.
+   */
+  private static class TestCalls {
+    final boolean inFlutterTestDir;
+    private final TIntObjectHashMap<TestCall> callsByOffset = new TIntObjectHashMap<>();
+
+    TestCalls(boolean inFlutterTestDir) {
+      this.inFlutterTestDir = inFlutterTestDir;
+    }
+
+    void put(@NotNull PsiElement element, @NotNull TestCall call) {
+      callsByOffset.put(element.getTextRange().getStartOffset(), call);
+    }
+
+    @Nullable
+    TestCall get(@NotNull PsiElement element) {
+      final TextRange range = element.getTextRange();
+      final TestCall call = callsByOffset.get(range.getStartOffset());
+      // Nested expressions can start at the same offset, so also check the length.
+      return call != null && call.length == range.getLength() ? call : null;
+    }
+
+    boolean hasCallWithin(@NotNull TextRange range) {
+      final int[] offsets = callsByOffset.keys();
+      for (int offset : offsets) {
+        if (range.containsOffset(offset) && callsByOffset.get(offset).type != TestType.MAIN) return true;
+      }
+      return false;
+    }
+  }
+
   enum TestType {
     // Note that mapping elements to their most specific enclosing function call depends on the ordering from most to least specific.
     SINGLE(AllIcons.RunConfigurations.TestState.Run, "test", WIDGET_TEST_FUNCTION),
@@ -111,15 +232,6 @@ public class TestConfigUtils {
       myTestFunctionNames = Arrays.asList(testFunctionNames);
     }
 
-    @Nullable
-    public static DartCallExpression findTestCall(@NotNull PsiElement element) {
-      for (TestType type : TestType.values()) {
-        final DartCallExpression call = type.findCorrespondingCall(element);
-        if (call != null) return call;
-      }
-      return null;
-    }
-
     @NotNull
     Icon getIcon() {
       return myIcon;
@@ -138,16 +250,5 @@ public class TestConfigUtils {
 
       return "Run Test";
     }
-
-    @Nullable
-    public DartCallExpression findCorrespondingCall(@NotNull PsiElement element) {
-      for (String name : myTestFunctionNames) {
-        final DartCallExpression call = DartSyntax.findEnclosingFunctionCall(element, name);
-        if (call != null) {
-          return call;
-        }
-      }
-      return null;
-    }
   }
 }
@@ -7,6 +7,8 @@ package io.flutter.run.test;
 
 import com.intellij.execution.ExecutionException;
 import com.intellij.execution.configurations.RuntimeConfigurationError;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.InvalidDataException;
@@ -20,8 +22,8 @@ import org.jdom.Element;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.ToLongFunction;
 
 /**
  * Settings for running a Flutter test.
@@ -36,7 +38,16 @@ public class TestFields {
   @Nullable
   private final String testDir;
 
+  private final int shards;
+
+  private final boolean affectedOnly;
+
   private TestFields(@Nullable String testName, @Nullable String testFile, @Nullable String testDir) {
+    this(testName, testFile, testDir, 1, false);
+  }
+
+  private TestFields(@Nullable String testName, @Nullable String testFile, @Nullable String testDir, int shards,
+                     boolean affectedOnly) {
     if (testFile == null && testDir == null) {
       throw new IllegalArgumentException("either testFile or testDir must be non-null");
     }
@@ -46,9 +57,20 @@ public class TestFields {
     else if (testName != null && testFile == null) {
       throw new IllegalArgumentException("testName can only be specified along with a testFile");
     }
+    else if (shards < 1) {
+      throw new IllegalArgumentException("shards must be at least 1");
+    }
+    else if (shards > 1 && testDir == null) {
+      throw new IllegalArgumentException("shards can only be specified along with a testDir");
+    }
+    else if (affectedOnly && testDir == null) {
+      throw new IllegalArgumentException("affectedOnly can only be specified along with a testDir");
+    }
     this.testName = testName;
     this.testFile = testFile;
     this.testDir = testDir;
+    this.shards = shards;
+    this.affectedOnly = affectedOnly;
   }
 
   /**
@@ -72,6 +94,20 @@ public class TestFields {
     return new TestFields(null, null, path);
   }
 
+  /**
+   * Returns settings that run the tests in a directory split across the given number of processes.
+   */
+  public TestFields withShards(int shards) {
+    return new TestFields(testName, testFile, testDir, shards, affectedOnly);
+  }
+
+  /**
+   * Returns settings that only run the tests in a directory that depend on files changed since they last passed.
+   */
+  public TestFields withAffectedOnly(boolean affectedOnly) {
+    return new TestFields(testName, testFile, testDir, shards, affectedOnly);
+  }
+
   /**
    * Returns a value indicating whether we're running tests in a file or in a directory.
    */
@@ -112,6 +148,20 @@ public class TestFields {
     return testDir;
   }
 
+  /**
+   * The number of flutter test processes that the tests in a directory are split across.
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  /**
+   * If true, only the tests in the directory affected by changes since they last passed will run.
+   */
+  public boolean isAffectedOnly() {
+    return affectedOnly;
+  }
+
   /**
    * Returns the file or directory containing the tests to run, or null if it doesn't exist.
    */
@@ -178,6 +228,12 @@ public class TestFields {
     addOption(elt, "testName", testName);
     addOption(elt, "testFile", testFile);
     addOption(elt, "testDir", testDir);
+    if (shards > 1) {
+      addOption(elt, "shards", Integer.toString(shards));
+    }
+    if (affectedOnly) {
+      addOption(elt, "affectedOnly", "true");
+    }
   }
 
   /**
@@ -190,8 +246,10 @@ public class TestFields {
     final String testName = options.get("testName");
     final String testFile = options.get("testFile");
     final String testDir = options.get("testDir");
+    final String shards = options.get("shards");
     try {
-      return new TestFields(testName, testFile, testDir);
+      return new TestFields(testName, testFile, testDir, shards == null ? 1 : Integer.parseInt(shards),
+                            Boolean.parseBoolean(options.get("affectedOnly")));
     }
     catch (IllegalArgumentException e) {
       throw new InvalidDataException(e.getMessage());
@@ -229,7 +287,77 @@ public class TestFields {
       throw new ExecutionException("Test file isn't within a Flutter pub root");
     }
 
-    return sdk.flutterTest(root, fileOrDir, testName, mode).startProcess(project);
+    if (getScope() != Scope.DIRECTORY) {
+      return sdk.flutterTest(root, fileOrDir, testName, mode).startProcess(project);
+    }
+
+    // Any changes made while the tests run are still unchecked when they pass.
+    final AffectedTestIndex index = AffectedTestIndex.getInstance(project);
+    final long stamp = index.getModificationCount();
+
+    List<VirtualFile> files = null;
+    // flutter test only starts paused for the debugger with a single file, so debugging runs the whole directory.
+    if (affectedOnly && mode == RunMode.RUN) {
+      files = index.findAffectedTests(root, fileOrDir);
+      if (files != null && files.isEmpty()) {
+        throw new ExecutionException("No tests are affected by changes since the tests last passed");
+      }
+    }
+
+    List<List<VirtualFile>> split = null;
+    if (shards > 1 && mode == RunMode.RUN && sdk.getVersion().flutterTestSupportsMachineMode()) {
+      final List<VirtualFile> testFiles = files != null ? files : TestShards.findTestFiles(fileOrDir);
+      split = TestShards.split(testFiles, shards, TestTimingHistory.getInstance(project).estimateDurations(testFiles));
+    }
+
+    final ProcessHandler handler;
+    if (split != null && split.size() > 1) {
+      handler = runShards(project, sdk, root, split, mode);
+    }
+    else if (files != null) {
+      // Start the slowest files first.
+      final ToLongFunction<VirtualFile> durations = TestTimingHistory.getInstance(project).estimateDurations(files);
+      files.sort(Comparator.comparingLong(durations).reversed());
+      handler = sdk.flutterTest(root, files, null, mode).startProcess(project);
+    }
+    else {
+      handler = sdk.flutterTest(root, fileOrDir, null, mode).startProcess(project);
+    }
+
+    if (handler != null) {
+      handler.addProcessListener(new ProcessAdapter() {
+        @Override
+        public void processTerminated(ProcessEvent event) {
+          if (event.getExitCode() == 0) {
+            index.markPassed(root, fileOrDir, stamp);
+          }
+        }
+      });
+    }
+    return handler;
+  }
+
+  /**
+   * Starts a flutter test process for each shard of test files, reporting their merged output.
+   */
+  private ProcessHandler runShards(@NotNull Project project,
+                                   @NotNull FlutterSdk sdk,
+                                   @NotNull PubRoot root,
+                                   @NotNull List<List<VirtualFile>> split,
+                                   @NotNull RunMode mode) throws ExecutionException {
+    final List<ProcessHandler> handlers = new ArrayList<>();
+    try {
+      for (List<VirtualFile> files : split) {
+        handlers.add(sdk.flutterTest(root, files, null, mode).createProcessHandler(project));
+      }
+    }
+    catch (ExecutionException e) {
+      for (ProcessHandler handler : handlers) {
+        handler.destroyProcess();
+      }
+      throw e;
+    }
+    return new ShardedTestProcessHandler(handlers);
   }
 
   private void checkSdk(@NotNull Project project) throws RuntimeConfigurationError {
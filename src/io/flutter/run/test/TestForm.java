@@ -28,6 +28,8 @@ import static io.flutter.run.test.TestFields.Scope.NAME;
  * Settings editor for running Flutter tests.
  */
 public class TestForm extends SettingsEditor<TestConfig> {
+  private static final int MAX_SHARDS = 32;
+
   private JPanel form;
 
   private JComboBox<Scope> scope;
@@ -41,6 +43,11 @@ public class TestForm extends SettingsEditor<TestConfig> {
   private JLabel testNameLabel;
   private JTextField testName;
 
+  private JLabel testShardsLabel;
+  private JSpinner testShards;
+
+  private JCheckBox affectedOnly;
+
   private Scope displayedScope;
 
   TestForm(@NotNull Project project) {
@@ -61,6 +68,8 @@ public class TestForm extends SettingsEditor<TestConfig> {
       }
     });
 
+    testShards.setModel(new SpinnerNumberModel(1, 1, MAX_SHARDS, 1));
+
     initDartFileTextWithBrowse(project, testFile);
     testDir.addBrowseFolderListener("Test Directory", null, project,
                                     FileChooserDescriptorFactory.createSingleFolderDescriptor());
@@ -88,6 +97,8 @@ public class TestForm extends SettingsEditor<TestConfig> {
         testDir.setText(fields.getTestDir());
         break;
     }
+    testShards.setValue(fields.getShards());
+    affectedOnly.setSelected(fields.isAffectedOnly());
     render(next);
   }
 
@@ -102,7 +113,9 @@ public class TestForm extends SettingsEditor<TestConfig> {
         fields = TestFields.forFile(testFile.getText());
         break;
       case DIRECTORY:
-        fields = TestFields.forDir(testDir.getText());
+        fields = TestFields.forDir(testDir.getText())
+          .withShards((Integer)testShards.getValue())
+          .withAffectedOnly(affectedOnly.isSelected());
         break;
       default:
         throw new ConfigurationException("unexpected scope: " + scope.getSelectedItem());
@@ -156,6 +169,11 @@ public class TestForm extends SettingsEditor<TestConfig> {
     testNameLabel.setVisible(next == Scope.NAME);
     testName.setVisible(next == Scope.NAME);
 
+    testShardsLabel.setVisible(next == Scope.DIRECTORY);
+    testShards.setVisible(next == Scope.DIRECTORY);
+
+    affectedOnly.setVisible(next == Scope.DIRECTORY);
+
     displayedScope = next;
   }
 }
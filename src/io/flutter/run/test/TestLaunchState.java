@@ -8,10 +8,12 @@ package io.flutter.run.test;
 import com.intellij.execution.ExecutionException;
 import com.intellij.execution.Executor;
 import com.intellij.execution.configurations.CommandLineState;
+import com.intellij.execution.configurations.RunProfileState;
 import com.intellij.execution.configurations.RuntimeConfigurationError;
 import com.intellij.execution.filters.UrlFilter;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.runners.ExecutionEnvironment;
+import com.intellij.execution.testframework.AbstractTestProxy;
 import com.intellij.execution.testframework.TestConsoleProperties;
 import com.intellij.execution.testframework.actions.AbstractRerunFailedTestsAction;
 import com.intellij.execution.testframework.sm.SMCustomMessagesParsing;
@@ -53,17 +55,32 @@ class TestLaunchState extends CommandLineState {
 
   private final boolean testConsoleEnabled;
 
+  /**
+   * If not null, only these tests are run instead of the tests selected by the configuration.
+   */
+  @Nullable
+  private final FailedTests rerun;
+
   private TestLaunchState(@NotNull ExecutionEnvironment env, @NotNull TestConfig config, @NotNull VirtualFile testFileOrDir,
-                          @NotNull PubRoot pubRoot, boolean testConsoleEnabled) {
+                          @NotNull PubRoot pubRoot, boolean testConsoleEnabled, @Nullable FailedTests rerun) {
     super(env);
     this.config = config;
     this.fields = config.getFields();
     this.testFileOrDir = testFileOrDir;
     this.pubRoot = pubRoot;
     this.testConsoleEnabled = testConsoleEnabled;
+    this.rerun = rerun;
   }
 
   static TestLaunchState create(@NotNull ExecutionEnvironment env, @NotNull TestConfig config) throws ExecutionException {
+    return create(env, config, null);
+  }
+
+  /**
+   * Creates a launcher that runs the given failed tests of a configuration again.
+   */
+  static TestLaunchState create(@NotNull ExecutionEnvironment env, @NotNull TestConfig config, @Nullable FailedTests rerun)
+    throws ExecutionException {
     final TestFields fields = config.getFields();
     try {
       fields.checkRunnable(env.getProject());
@@ -82,7 +99,7 @@ class TestLaunchState extends CommandLineState {
     assert (sdk != null);
     final boolean testConsoleEnabled = sdk.getVersion().flutterTestSupportsMachineMode();
 
-    final TestLaunchState launcher = new TestLaunchState(env, config, fileOrDir, pubRoot, testConsoleEnabled);
+    final TestLaunchState launcher = new TestLaunchState(env, config, fileOrDir, pubRoot, testConsoleEnabled, rerun);
     DaemonConsoleView.install(launcher, env, pubRoot.getRoot());
     return launcher;
   }
@@ -91,6 +108,10 @@ class TestLaunchState extends CommandLineState {
   @Override
   protected ProcessHandler startProcess() throws ExecutionException {
     final RunMode mode = RunMode.fromEnv(getEnvironment());
+    if (rerun != null && rerun.canRun(mode)) {
+      return rerun.run(getEnvironment().getProject(), pubRoot, mode);
+    }
+    // Failures in several files can't be debugged in one process, so debug the whole configuration instead.
     return fields.run(getEnvironment().getProject(), mode);
   }
 
@@ -169,7 +190,51 @@ class TestLaunchState extends CommandLineState {
     @Nullable
     @Override
     public AbstractRerunFailedTestsAction createRerunFailedTestsAction(ConsoleView consoleView) {
-      return null; // TODO(skybrian) implement
+      final RerunFailedTestsAction action = new RerunFailedTestsAction(consoleView);
+      action.init(this);
+      return action;
+    }
+  }
+
+  /**
+   * Runs the tests that failed in the console's last run, rather than everything in the configuration.
+   */
+  private static class RerunFailedTestsAction extends AbstractRerunFailedTestsAction {
+    RerunFailedTestsAction(@NotNull ConsoleView consoleView) {
+      super(consoleView);
+    }
+
+    @Nullable
+    @Override
+    protected MyRunProfile getRunProfile(@NotNull ExecutionEnvironment environment) {
+      final TestConfig config = (TestConfig)myConsoleProperties.getConfiguration();
+
+      final FailedTests failed = new FailedTests();
+      for (AbstractTestProxy test : getFailedTests(config.getProject())) {
+        // Suites and groups, including the root, fail along with their tests.
+        if (!test.isLeaf()) continue;
+
+        final String url = test.getLocationUrl();
+        if (url != null && !failed.add(url)) {
+          // Not a Dart test location, so there's no way to select the test.
+          return null;
+        }
+      }
+      if (failed.isEmpty()) return null;
+
+      return new MyRunProfile(config) {
+        @NotNull
+        @Override
+        public Module[] getModules() {
+          return Module.EMPTY_ARRAY;
+        }
+
+        @Nullable
+        @Override
+        public RunProfileState getState(@NotNull Executor executor, @NotNull ExecutionEnvironment env) throws ExecutionException {
+          return TestLaunchState.create(env, config, failed);
+        }
+      };
     }
   }
 }
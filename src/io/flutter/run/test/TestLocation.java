@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.intellij.openapi.util.text.StringUtil;
+import com.jetbrains.lang.dart.ide.runner.util.DartTestLocationProviderZ;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The file and name of a test, from the location hint that {@link FlutterTestEventsConverter} reports, e.g.
+ * <code>dart_location:///path/to/test/unit_test.dart,3,2,["my group","my first unit test"]</code>.
+ */
+class TestLocation {
+  private static final String PREFIX = "dart_location://";
+  private static final Gson GSON = new Gson();
+
+  /**
+   * The line and column that come between the path and the names; the path itself may contain commas.
+   */
+  private static final Pattern LINE_AND_COLUMN = Pattern.compile(",(-?\\d+),(-?\\d+),(?=\\[)");
+
+  @NotNull final String path;
+
+  /**
+   * The zero-based line and column of the test, or -1 if it has none, such as for a file that failed to load.
+   */
+  final int line;
+  final int column;
+
+  /**
+   * The names of the enclosing groups and the test itself, outermost first.
+   */
+  @NotNull final List<String> names;
+
+  private TestLocation(@NotNull String path, int line, int column, @NotNull List<String> names) {
+    this.path = path;
+    this.line = line;
+    this.column = column;
+    this.names = names;
+  }
+
+  /**
+   * Returns the name that package:test gives the test: its group names and its own name, separated by spaces.
+   */
+  @NotNull
+  String getFullName() {
+    return String.join(" ", names);
+  }
+
+  /**
+   * Returns the location in a hint, or null if it's not a Dart test location.
+   */
+  @Nullable
+  static TestLocation parse(@NotNull String url) {
+    if (!url.startsWith(PREFIX)) return null;
+
+    final String location = url.substring(PREFIX.length());
+    final Matcher matcher = LINE_AND_COLUMN.matcher(location);
+    while (matcher.find()) {
+      if (matcher.start() == 0) continue;
+
+      final List<String> escaped;
+      try {
+        escaped = GSON.fromJson(location.substring(matcher.end()), DartTestLocationProviderZ.STRING_LIST_TYPE);
+      }
+      catch (JsonSyntaxException e) {
+        // The match was inside the path; try the next one.
+        continue;
+      }
+
+      final int line;
+      final int column;
+      try {
+        line = Integer.parseInt(matcher.group(1));
+        column = Integer.parseInt(matcher.group(2));
+      }
+      catch (NumberFormatException e) {
+        return null;
+      }
+
+      final List<String> names = new ArrayList<>();
+      if (escaped != null) {
+        for (String name : escaped) {
+          names.add(StringUtil.unescapeStringCharacters(name));
+        }
+      }
+      return new TestLocation(location.substring(0, matcher.start()), line, column, names);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+/**
+ * Merges the output of several <code>flutter test --machine</code> processes into one event stream.
+ * <p>
+ * Each process numbers its suites, groups and tests from zero, so ids are remapped to
+ * <code>id * shardCount + shard</code> to keep them unique in the merged stream. Only the first
+ * <code>start</code> event is kept, and a single <code>done</code> event is reported once every shard
+ * has finished, since the test events converter resets its state on both. Suite counts are summed.
+ * <p>
+ * Lines that are not JSON objects are passed through unchanged.
+ */
+class TestShardMerger {
+  private final int shardCount;
+  private boolean started;
+  private boolean success = true;
+  private long time;
+  private int suiteCount;
+
+  TestShardMerger(int shardCount) {
+    assert (shardCount > 0);
+    this.shardCount = shardCount;
+  }
+
+  /**
+   * Returns the line to report for a line of output from a shard, or null to drop it.
+   */
+  @Nullable
+  String rewrite(int shard, @NotNull String line) {
+    if (!line.trim().startsWith("{")) return line;
+
+    final StringWriter out = new StringWriter();
+    final String type;
+    int count = 0;
+    try {
+      final JsonReader reader = new JsonReader(new StringReader(line));
+      final JsonWriter writer = new JsonWriter(out);
+      reader.beginObject();
+      writer.beginObject();
+      String eventType = null;
+      Boolean eventSuccess = null;
+      while (reader.hasNext()) {
+        final String name = reader.nextName();
+        writer.name(name);
+        if (name.equals("type") && reader.peek() == JsonToken.STRING) {
+          eventType = reader.nextString();
+          writer.value(eventType);
+        }
+        else if (name.equals("success") && reader.peek() == JsonToken.BOOLEAN) {
+          eventSuccess = reader.nextBoolean();
+          writer.value(eventSuccess);
+        }
+        else if (name.equals("count") && reader.peek() == JsonToken.NUMBER) {
+          count = reader.nextInt();
+          writer.value(count);
+        }
+        else if (name.equals("time") && reader.peek() == JsonToken.NUMBER) {
+          final String value = reader.nextString();
+          time = Math.max(time, new BigDecimal(value).longValue());
+          writer.value(new BigDecimal(value));
+        }
+        else {
+          copy(shard, name, reader, writer);
+        }
+      }
+      reader.endObject();
+      writer.endObject();
+      if (reader.peek() != JsonToken.END_DOCUMENT) return line;
+      type = eventType;
+      if ("done".equals(type) && eventSuccess != null) {
+        success &= eventSuccess;
+      }
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      return line;
+    }
+
+    if ("start".equals(type)) {
+      if (started) return null;
+      started = true;
+    }
+    else if ("done".equals(type)) {
+      return null;
+    }
+    else if ("allSuites".equals(type)) {
+      suiteCount += count;
+      return "{\"count\":" + suiteCount + ",\"type\":\"allSuites\",\"time\":" + time + "}";
+    }
+    return out.toString();
+  }
+
+  /**
+   * Returns the done event to report once all shards have finished.
+   */
+  @NotNull
+  String finish() {
+    return "{\"success\":" + success + ",\"type\":\"done\",\"time\":" + time + "}";
+  }
+
+  int remap(int shard, long id) {
+    return (int)(id * shardCount + shard);
+  }
+
+  /**
+   * Copies the value of a member, remapping it if it holds ids.
+   */
+  private void copy(int shard, @Nullable String name, @NotNull JsonReader reader, @NotNull JsonWriter writer) throws IOException {
+    switch (reader.peek()) {
+      case BEGIN_OBJECT:
+        reader.beginObject();
+        writer.beginObject();
+        while (reader.hasNext()) {
+          final String member = reader.nextName();
+          writer.name(member);
+          copy(shard, member, reader, writer);
+        }
+        reader.endObject();
+        writer.endObject();
+        break;
+      case BEGIN_ARRAY:
+        // groupIDs is the only array of ids; its elements are copied as if they were named like it.
+        reader.beginArray();
+        writer.beginArray();
+        while (reader.hasNext()) {
+          copy(shard, "groupIDs".equals(name) ? name : null, reader, writer);
+        }
+        reader.endArray();
+        writer.endArray();
+        break;
+      case NUMBER:
+        final BigDecimal number = new BigDecimal(reader.nextString());
+        if (isIdMember(name)) {
+          writer.value(remap(shard, number.longValueExact()));
+        }
+        else {
+          writer.value(number);
+        }
+        break;
+      case STRING:
+        writer.value(reader.nextString());
+        break;
+      case BOOLEAN:
+        writer.value(reader.nextBoolean());
+        break;
+      case NULL:
+        reader.nextNull();
+        writer.nullValue();
+        break;
+      default:
+        throw new IllegalStateException("unexpected token: " + reader.peek());
+    }
+  }
+
+  private static boolean isIdMember(@Nullable String name) {
+    if (name == null) return false;
+    switch (name) {
+      case "id":
+      case "testID":
+      case "suiteID":
+      case "parentID":
+      case "groupIDs":
+        return true;
+      default:
+        return false;
+    }
+  }
+}
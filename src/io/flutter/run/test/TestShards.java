@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits the tests in a directory into shards that run as separate flutter test processes.
+ */
+class TestShards {
+  /**
+   * The suffix flutter test uses to find test files in a directory.
+   */
+  static final String TEST_FILE_SUFFIX = "_test.dart";
+
+  private TestShards() {
+  }
+
+  /**
+   * Returns the test files in a directory and its subdirectories, sorted by path.
+   */
+  @NotNull
+  static List<VirtualFile> findTestFiles(@NotNull VirtualFile dir) {
+    final List<VirtualFile> files = new ArrayList<>();
+    VfsUtilCore.visitChildrenRecursively(dir, new VirtualFileVisitor() {
+      @Override
+      public boolean visitFile(@NotNull VirtualFile file) {
+        if (file.isDirectory()) {
+          return file.equals(dir) || !file.getName().startsWith(".");
+        }
+        if (file.getName().endsWith(TEST_FILE_SUFFIX)) {
+          files.add(file);
+        }
+        return true;
+      }
+    });
+    files.sort(Comparator.comparing(VirtualFile::getPath));
+    return files;
+  }
+
+  /**
+   * Splits items into at most shardCount shards with similar total weights.
+   * <p>
+   * Items are assigned heaviest first, each to the shard with the least weight so far.
+   * Empty shards are left out.
+   */
+  @NotNull
+  static <T> List<List<T>> split(@NotNull List<T> items, int shardCount, @NotNull ToLongFunction<T> weight) {
+    final List<T> sorted = new ArrayList<>(items);
+    sorted.sort(Comparator.comparingLong(weight).reversed());
+
+    final int count = Math.max(1, Math.min(shardCount, sorted.size()));
+    final List<List<T>> shards = new ArrayList<>();
+    final long[] totals = new long[count];
+    for (int i = 0; i < count; i++) {
+      shards.add(new ArrayList<>());
+    }
+    for (T item : sorted) {
+      int lightest = 0;
+      for (int i = 1; i < count; i++) {
+        if (totals[i] < totals[lightest]) lightest = i;
+      }
+      shards.get(lightest).add(item);
+      totals[lightest] += Math.max(1, weight.applyAsLong(item));
+    }
+    shards.removeIf(List::isEmpty);
+    return shards;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.execution.TestStateStorage;
+import com.intellij.execution.testframework.TestIconMapper;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsAdapter;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsListener;
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import com.intellij.execution.testframework.sm.runner.states.TestStateInfo;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentAdapter;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.Time;
+import gnu.trove.TIntObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Holds the latest test state for each line of each test file in a Project.
+ * <p>
+ * <p>States are keyed by the location hints that {@link FlutterTestEventsConverter} reports,
+ * e.g. <code>dart_location:///path/to/test/unit_test.dart,3,2,["my first unit test"]</code>.
+ * The index starts from the recent results in {@link TestStateStorage}, is updated when a test run
+ * finishes, and drops a file's states when the file is edited since its line numbers may have moved.
+ */
+public class TestStateIndex {
+  private static final int LOADED_TEST_RESULT_LIMIT = 1024;
+
+  @NotNull private final Project project;
+
+  /**
+   * Latest test states by line, keyed by file path.
+   */
+  private final Map<String, TIntObjectHashMap<TestStateInfo.Magnitude>> statesByPath = new HashMap<>();
+  private boolean loaded;
+
+  /**
+   * Paths of files edited before the index was loaded, whose stored states are stale.
+   */
+  private final Set<String> invalidatedBeforeLoad = new HashSet<>();
+
+  private TestStateIndex(@NotNull final Project project) {
+    this.project = project;
+
+    project.getMessageBus().connect().subscribe(SMTRunnerEventsListener.TEST_STATUS, new SMTRunnerEventsAdapter() {
+      @Override
+      public void onTestingFinished(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+        if (update(testsRoot) && !project.isDisposed()) {
+          DaemonCodeAnalyzer.getInstance(project).restart();
+        }
+      }
+    });
+
+    EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentAdapter() {
+      @Override
+      public void documentChanged(DocumentEvent e) {
+        final VirtualFile file = FileDocumentManager.getInstance().getFile(e.getDocument());
+        if (file != null) {
+          invalidate(file.getPath());
+        }
+      }
+    }, project);
+  }
+
+  @NotNull
+  public static TestStateIndex getInstance(@NotNull final Project project) {
+    return ServiceManager.getService(project, TestStateIndex.class);
+  }
+
+  /**
+   * Returns the state of the most recent test at a line (zero-based) of a file, or null if there is none.
+   */
+  @Nullable
+  public synchronized TestStateInfo.Magnitude getMagnitude(@NotNull String path, int line) {
+    if (!loaded) {
+      load();
+    }
+    final TIntObjectHashMap<TestStateInfo.Magnitude> states = statesByPath.get(path);
+    return states == null ? null : states.get(line);
+  }
+
+  private void load() {
+    loaded = true;
+    final TestStateStorage storage = TestStateStorage.getInstance(project);
+    if (storage == null) return;
+
+    final Map<String, TestStateStorage.Record> tests =
+      storage.getRecentTests(LOADED_TEST_RESULT_LIMIT, new Date(System.currentTimeMillis() - Time.DAY));
+    if (tests == null) return;
+
+    // Add the records oldest first so that the latest state for a line wins.
+    final List<Map.Entry<String, TestStateStorage.Record>> entries = new ArrayList<>(tests.entrySet());
+    entries.sort(Comparator.comparing(entry -> entry.getValue().date));
+    for (Map.Entry<String, TestStateStorage.Record> entry : entries) {
+      put(entry.getKey(), TestIconMapper.getMagnitude(entry.getValue().magnitude));
+    }
+    for (String path : invalidatedBeforeLoad) {
+      statesByPath.remove(path);
+    }
+    invalidatedBeforeLoad.clear();
+  }
+
+  /**
+   * Records the results of a finished test run, returning true if any Flutter tests were found.
+   */
+  private synchronized boolean update(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+    if (!loaded) {
+      load();
+    }
+    boolean changed = false;
+    for (SMTestProxy test : testsRoot.getAllTests()) {
+      final String url = test.getLocationUrl();
+      if (url != null) {
+        changed |= put(url, test.getMagnitudeInfo());
+      }
+    }
+    return changed;
+  }
+
+  private synchronized void invalidate(@NotNull String path) {
+    if (!loaded) {
+      // Loading reads the storage, so defer it until a lookup instead of doing it on every edit.
+      invalidatedBeforeLoad.add(path);
+      return;
+    }
+    statesByPath.remove(path);
+  }
+
+  private boolean put(@NotNull String url, @Nullable TestStateInfo.Magnitude magnitude) {
+    final TestLocation location = TestLocation.parse(url);
+    if (location == null || magnitude == null) return false;
+
+    statesByPath.computeIfAbsent(location.path, (String path) -> new TIntObjectHashMap<>()).put(location.line, magnitude);
+    return true;
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsAdapter;
+import com.intellij.execution.testframework.sm.runner.SMTRunnerEventsListener;
+import com.intellij.execution.testframework.sm.runner.SMTestProxy;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.EventDispatcher;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * Keeps the recent durations and outcomes of the Flutter tests in a Project, across restarts.
+ * <p>
+ * Test runs are recorded when they finish, from the durations that {@link FlutterTestEventsConverter} reports
+ * for each test. The history is saved in the IDE's system directory rather than in the project.
+ */
+public class TestTimingHistory {
+  private static final Logger LOG = Logger.getInstance(TestTimingHistory.class);
+
+  @NotNull private final File file;
+  private final TestTimings timings = new TestTimings();
+  private final EventDispatcher<Listener> dispatcher = EventDispatcher.create(Listener.class);
+  private boolean loaded;
+
+  private TestTimingHistory(@NotNull Project project) {
+    file = new File(PathManager.getSystemPath(), "flutter/test-timings/" + project.getLocationHash() + ".dat");
+
+    project.getMessageBus().connect().subscribe(SMTRunnerEventsListener.TEST_STATUS, new SMTRunnerEventsAdapter() {
+      @Override
+      public void onTestingFinished(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+        if (record(testsRoot)) {
+          ApplicationManager.getApplication().executeOnPooledThread(() -> save());
+          dispatcher.getMulticaster().historyChanged();
+        }
+      }
+    });
+  }
+
+  /**
+   * Starts recording test runs in the project.
+   */
+  public static void init(@NotNull Project project) {
+    // Calling getInstance() subscribes to test runs.
+    getInstance(project);
+  }
+
+  @NotNull
+  public static TestTimingHistory getInstance(@NotNull final Project project) {
+    return ServiceManager.getService(project, TestTimingHistory.class);
+  }
+
+  /**
+   * Adds a listener that is removed when the parent is disposed.
+   */
+  public void addListener(@NotNull Listener listener, @NotNull Disposable parent) {
+    dispatcher.addListener(listener, parent);
+  }
+
+  /**
+   * Returns a copy of every test's history.
+   */
+  @NotNull
+  synchronized List<TestTimings.Test> getTests() {
+    load();
+    return timings.getTests();
+  }
+
+  /**
+   * Returns a function that estimates how long each test file takes to run.
+   * <p>
+   * Files with history use the median durations of their tests. Other files are assumed to take as long per byte
+   * as the files with history; if there are none, the file size is the estimate.
+   */
+  @NotNull
+  synchronized ToLongFunction<VirtualFile> estimateDurations(@NotNull List<VirtualFile> files) {
+    load();
+    final Map<VirtualFile, Long> known = new HashMap<>();
+    long knownMillis = 0;
+    long knownBytes = 0;
+    for (VirtualFile file : files) {
+      final long millis = timings.getFileDuration(file.getPath());
+      if (millis >= 0) {
+        known.put(file, millis);
+        knownMillis += millis;
+        knownBytes += file.getLength();
+      }
+    }
+    final double millisPerByte = knownBytes > 0 ? (double)knownMillis / knownBytes : 1.0;
+
+    return (VirtualFile file) -> {
+      final Long millis = known.get(file);
+      return millis != null ? millis : Math.round(file.getLength() * millisPerByte);
+    };
+  }
+
+  /**
+   * Records the durations of a finished run's Flutter tests, returning true if any were found.
+   */
+  private synchronized boolean record(@NotNull SMTestProxy.SMRootTestProxy testsRoot) {
+    load();
+    final List<String> regressions = new ArrayList<>();
+    boolean changed = false;
+    for (SMTestProxy test : testsRoot.getAllTests()) {
+      if (!test.isLeaf() || test.isIgnored()) continue;
+
+      final String url = test.getLocationUrl();
+      final Long duration = test.getDuration();
+      final TestLocation location = url == null ? null : TestLocation.parse(url);
+      if (location == null || location.names.isEmpty() || duration == null) continue;
+
+      final String name = location.getFullName();
+      if (timings.record(location.path, name, (int)Math.min(duration, Integer.MAX_VALUE), test.isDefect())) {
+        regressions.add(name + " (" + duration + " ms)");
+      }
+      changed = true;
+    }
+    if (!regressions.isEmpty()) {
+      LOG.info("Tests slower than usual: " + String.join(", ", regressions));
+    }
+    return changed;
+  }
+
+  private void load() {
+    if (loaded) return;
+    loaded = true;
+    if (!file.isFile()) return;
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      timings.read(in);
+    }
+    catch (IOException e) {
+      LOG.warn("Can't read test timings; starting over", e);
+      timings.clear();
+    }
+  }
+
+  private synchronized void save() {
+    try {
+      FileUtil.createParentDirs(file);
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+        timings.write(out);
+      }
+    }
+    catch (IOException e) {
+      LOG.warn("Can't save test timings", e);
+    }
+  }
+
+  /**
+   * Notified on the thread that reported the results when test runs are recorded.
+   */
+  public interface Listener extends EventListener {
+    void historyChanged();
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * The recent durations and outcomes of tests, keyed by file path and full test name.
+ * <p>
+ * Only the latest {@link #MAX_SAMPLES} runs of each test are kept, as milliseconds and a bit per outcome,
+ * so the store stays small enough to load and save in full.
+ */
+class TestTimings {
+  static final int MAX_SAMPLES = 20;
+
+  /**
+   * The fewest samples needed before a test can be flagged as slower than usual.
+   */
+  static final int MIN_SAMPLES_FOR_REGRESSION = 5;
+
+  /**
+   * How much slower than its usual time a test must be to count as a regression, in milliseconds.
+   */
+  static final int REGRESSION_MARGIN_MILLIS = 50;
+
+  private static final int FORMAT_VERSION = 1;
+
+  /**
+   * Tests keyed by name, keyed by file path.
+   */
+  private final Map<String, Map<String, Test>> byPath = new TreeMap<>();
+
+  /**
+   * Records a run of a test, returning true if it was much slower than usual.
+   */
+  boolean record(@NotNull String path, @NotNull String name, int millis, boolean failed) {
+    final Test test = byPath.computeIfAbsent(path, (String key) -> new TreeMap<>()).computeIfAbsent(name, Test::new);
+    test.regressed = test.count >= MIN_SAMPLES_FOR_REGRESSION &&
+                     millis > Math.max(2 * test.getPercentile(50), test.getPercentile(95)) + REGRESSION_MARGIN_MILLIS;
+    test.add(millis, failed);
+    return test.regressed;
+  }
+
+  /**
+   * Returns the expected time to run all the known tests in a file, or -1 if none are known.
+   */
+  long getFileDuration(@NotNull String path) {
+    final Map<String, Test> tests = byPath.get(path);
+    if (tests == null || tests.isEmpty()) return -1;
+
+    long total = 0;
+    for (Test test : tests.values()) {
+      total += test.getPercentile(50);
+    }
+    return total;
+  }
+
+  /**
+   * Returns every test, grouped by file.
+   */
+  @NotNull
+  List<Test> getTests() {
+    final List<Test> tests = new ArrayList<>();
+    for (Map.Entry<String, Map<String, Test>> entry : byPath.entrySet()) {
+      for (Test test : entry.getValue().values()) {
+        tests.add(test.copy(entry.getKey()));
+      }
+    }
+    return tests;
+  }
+
+  @Nullable
+  Test getTest(@NotNull String path, @NotNull String name) {
+    final Map<String, Test> tests = byPath.get(path);
+    final Test test = tests == null ? null : tests.get(name);
+    return test == null ? null : test.copy(path);
+  }
+
+  void clear() {
+    byPath.clear();
+  }
+
+  void write(@NotNull DataOutputStream out) throws IOException {
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(byPath.size());
+    for (Map.Entry<String, Map<String, Test>> entry : byPath.entrySet()) {
+      out.writeUTF(entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (Test test : entry.getValue().values()) {
+        out.writeUTF(test.name);
+        out.writeByte(test.count);
+        for (int i = 0; i < test.count; i++) {
+          out.writeInt(test.durations[i]);
+        }
+        out.writeInt(test.failures);
+      }
+    }
+  }
+
+  /**
+   * Replaces the contents with those written by {@link #write}.
+   *
+   * @throws IOException if the data is truncated or in an unknown format
+   */
+  void read(@NotNull DataInputStream in) throws IOException {
+    byPath.clear();
+    if (in.readInt() != FORMAT_VERSION) {
+      throw new IOException("unknown test timings format");
+    }
+    final int fileCount = in.readInt();
+    for (int i = 0; i < fileCount; i++) {
+      final String path = in.readUTF();
+      final Map<String, Test> tests = new TreeMap<>();
+      final int testCount = in.readInt();
+      for (int j = 0; j < testCount; j++) {
+        final Test test = new Test(in.readUTF());
+        test.count = Math.min(in.readUnsignedByte(), MAX_SAMPLES);
+        for (int k = 0; k < test.count; k++) {
+          test.durations[k] = in.readInt();
+        }
+        test.failures = in.readInt();
+        tests.put(test.name, test);
+      }
+      byPath.put(path, tests);
+    }
+  }
+
+  /**
+   * The recent runs of one test.
+   */
+  static class Test {
+    @Nullable String path;
+    @NotNull final String name;
+
+    /**
+     * Durations in milliseconds, oldest first.
+     */
+    private final int[] durations = new int[MAX_SAMPLES];
+    private int count;
+
+    /**
+     * Bit i is set if the run with duration i failed.
+     */
+    private int failures;
+
+    /**
+     * Whether the latest run was much slower than the ones before it.
+     */
+    private boolean regressed;
+
+    Test(@NotNull String name) {
+      this.name = name;
+    }
+
+    private void add(int millis, boolean failed) {
+      if (count == MAX_SAMPLES) {
+        System.arraycopy(durations, 1, durations, 0, MAX_SAMPLES - 1);
+        failures >>>= 1;
+        count--;
+      }
+      durations[count] = millis;
+      if (failed) {
+        failures |= 1 << count;
+      }
+      count++;
+    }
+
+    int getRunCount() {
+      return count;
+    }
+
+    int getFailureCount() {
+      return Integer.bitCount(failures);
+    }
+
+    int getLastDuration() {
+      return count == 0 ? 0 : durations[count - 1];
+    }
+
+    boolean isRegressed() {
+      return regressed;
+    }
+
+    /**
+     * Returns the duration that the given percent of recent runs took at most, using the nearest rank.
+     */
+    int getPercentile(int percent) {
+      if (count == 0) return 0;
+      final int[] sorted = Arrays.copyOf(durations, count);
+      Arrays.sort(sorted);
+      final int rank = (int)Math.ceil(percent / 100.0 * count);
+      return sorted[Math.max(0, rank - 1)];
+    }
+
+    @NotNull
+    private Test copy(@NotNull String path) {
+      final Test copy = new Test(name);
+      copy.path = path;
+      System.arraycopy(durations, 0, copy.durations, 0, count);
+      copy.count = count;
+      copy.failures = failures;
+      copy.regressed = regressed;
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * A tool window that shows the recent durations of each Flutter test in the {@link TestTimingHistory}.
+ */
+public class TestTimingsViewFactory implements ToolWindowFactory, DumbAware {
+  @Override
+  public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+    final VirtualFile baseDir = project.getBaseDir();
+    final String basePath = baseDir == null ? null : baseDir.getPath();
+
+    final ListTableModel<TestTimings.Test> model = new ListTableModel<>(
+      new Column<>("File", (TestTimings.Test test) -> getDisplayPath(test.path, basePath)),
+      new Column<>("Test", (TestTimings.Test test) -> test.name),
+      new Column<>("Runs", TestTimings.Test::getRunCount),
+      new Column<>("Failures", TestTimings.Test::getFailureCount),
+      new Column<>("p50 (ms)", (TestTimings.Test test) -> test.getPercentile(50)),
+      new Column<>("p95 (ms)", (TestTimings.Test test) -> test.getPercentile(95)),
+      new Column<>("Last (ms)", TestTimings.Test::getLastDuration),
+      new Column<>("Trend", (TestTimings.Test test) -> test.isRegressed() ? "slower" : ""));
+    model.setSortable(true);
+    final TableView<TestTimings.Test> table = new TableView<>(model);
+
+    final SimpleToolWindowPanel panel = new SimpleToolWindowPanel(true, true);
+    panel.setContent(ScrollPaneFactory.createScrollPane(table));
+    final Content content = ContentFactory.SERVICE.getInstance().createContent(panel, null, false);
+    toolWindow.getContentManager().addContent(content);
+
+    final TestTimingHistory history = TestTimingHistory.getInstance(project);
+    model.setItems(history.getTests());
+    history.addListener(() -> ApplicationManager.getApplication().invokeLater(() -> {
+      if (!project.isDisposed()) {
+        model.setItems(history.getTests());
+      }
+    }), content);
+  }
+
+  @NotNull
+  private static String getDisplayPath(@Nullable String path, @Nullable String basePath) {
+    if (path == null) return "";
+    if (basePath == null) return path;
+    final String relative = FileUtil.getRelativePath(basePath, path, '/');
+    return relative == null ? path : relative;
+  }
+
+  /**
+   * A sortable column showing one property of a test.
+   */
+  private static class Column<T extends Comparable<T>> extends ColumnInfo<TestTimings.Test, T> {
+    @NotNull private final Function<TestTimings.Test, T> getter;
+    @NotNull private final Comparator<TestTimings.Test> comparator;
+
+    Column(@NotNull String name, @NotNull Function<TestTimings.Test, T> getter) {
+      super(name);
+      this.getter = getter;
+      this.comparator = Comparator.comparing(getter);
+    }
+
+    @Nullable
+    @Override
+    public T valueOf(TestTimings.Test test) {
+      return getter.apply(test);
+    }
+
+    @Nullable
+    @Override
+    public Comparator<TestTimings.Test> getComparator() {
+      return comparator;
+    }
+  }
+}
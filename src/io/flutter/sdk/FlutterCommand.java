@@ -236,6 +236,21 @@ public class FlutterCommand {
     }
   }
 
+  /**
+   * Creates a process handler that runs this command, even if other commands are running.
+   * <p>
+   * Unlike {@link #startProcess(Project)} this doesn't take the global command lock, so it should only be used for
+   * commands that can safely run in parallel, such as running tests.
+   * <p>
+   * If a project is supplied, it will be used to determine the ANDROID_HOME variable for the subprocess.
+   */
+  @NotNull
+  public OSProcessHandler createProcessHandler(@Nullable Project project) throws ExecutionException {
+    final GeneralCommandLine commandLine = createGeneralCommandLine(project);
+    LOG.info(commandLine.toString());
+    return new OSProcessHandler(commandLine);
+  }
+
   /**
    * Creates the command line to run.
    * <p>
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.SystemProperties;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.flutter.utils.FileWatch;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Caches the output of 'flutter config --machine' for each Flutter SDK, across IDE restarts.
+ * <p>
+ * Entries are keyed by SDK path and version. They are dropped when the flutter settings file in the user's home
+ * directory changes, either while the IDE is running (through a {@link FileWatch}) or since the entry was saved.
+ */
+class FlutterConfigCache {
+  private static final Logger LOG = Logger.getInstance(FlutterConfigCache.class);
+
+  private static final String SETTINGS_FILE_NAME = ".flutter_settings";
+  private static final Gson GSON = new Gson();
+  private static final Type ENTRIES_TYPE = new TypeToken<Map<String, Entry>>() {}.getType();
+
+  private static FlutterConfigCache instance;
+
+  @NotNull private final File file;
+  @NotNull private final File settingsFile;
+  @NotNull private final Executor executor;
+
+  private final Map<String, Entry> entries = new HashMap<>();
+  private boolean loaded;
+
+  /**
+   * Queries that are running, by key, so that concurrent callers share one process.
+   */
+  private final Map<String, CompletableFuture<Map<String, String>>> running = new HashMap<>();
+
+  FlutterConfigCache(@NotNull File file, @NotNull File settingsFile, @NotNull Executor executor) {
+    this.file = file;
+    this.settingsFile = settingsFile;
+    this.executor = executor;
+  }
+
+  @NotNull
+  static synchronized FlutterConfigCache getInstance() {
+    if (instance == null) {
+      final File home = new File(SystemProperties.getUserHome());
+      instance = new FlutterConfigCache(new File(PathManager.getSystemPath(), "flutter/config-cache.json"),
+                                        new File(home, SETTINGS_FILE_NAME), AppExecutorUtil.getAppExecutorService());
+
+      final VirtualFile homeDir = LocalFileSystem.getInstance().findFileByIoFile(home);
+      if (homeDir != null) {
+        FileWatch.subscribe(homeDir, Collections.singleton(SETTINGS_FILE_NAME), instance::invalidate);
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the cached config for a key, or null if there is none or it may be out of date.
+   */
+  @Nullable
+  synchronized Map<String, String> getIfCached(@NotNull String key) {
+    load();
+    final Entry entry = entries.get(key);
+    if (entry == null || entry.values == null) return null;
+    if (entry.settingsModified != settingsFile.lastModified()) {
+      entries.remove(key);
+      return null;
+    }
+    return entry.values;
+  }
+
+  /**
+   * Returns the config for a key, running the query on a pooled thread unless it's cached.
+   * <p>
+   * The query returns null if the tool failed; failures aren't cached.
+   */
+  @NotNull
+  CompletableFuture<Map<String, String>> get(@NotNull String key, @NotNull Supplier<Map<String, String>> query) {
+    final CompletableFuture<Map<String, String>> future;
+    synchronized (this) {
+      final Map<String, String> cached = getIfCached(key);
+      if (cached != null) {
+        return CompletableFuture.completedFuture(cached);
+      }
+      final CompletableFuture<Map<String, String>> existing = running.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      future = new CompletableFuture<>();
+      running.put(key, future);
+    }
+
+    executor.execute(() -> {
+      final long settingsModified = settingsFile.lastModified();
+      Map<String, String> values = null;
+      try {
+        values = query.get();
+      }
+      finally {
+        synchronized (this) {
+          running.remove(key);
+          if (values != null) {
+            entries.put(key, new Entry(settingsModified, values));
+            save();
+          }
+        }
+        future.complete(values);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Forgets every cached config, such as after the flutter settings file changed.
+   */
+  synchronized void invalidate() {
+    load();
+    if (entries.isEmpty()) return;
+    entries.clear();
+    save();
+  }
+
+  private void load() {
+    if (loaded) return;
+    loaded = true;
+    if (!file.isFile()) return;
+
+    try (Reader in = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+      final Map<String, Entry> saved = GSON.fromJson(in, ENTRIES_TYPE);
+      if (saved != null) {
+        entries.putAll(saved);
+      }
+    }
+    catch (IOException | JsonParseException e) {
+      LOG.warn("Can't read cached flutter config; starting over", e);
+    }
+  }
+
+  private void save() {
+    try {
+      FileUtil.createParentDirs(file);
+      try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+        GSON.toJson(entries, ENTRIES_TYPE, out);
+      }
+    }
+    catch (IOException e) {
+      LOG.warn("Can't save cached flutter config", e);
+    }
+  }
+
+  /**
+   * The config of one SDK, and when the settings file was modified at the time it was read.
+   */
+  private static class Entry {
+    long settingsModified;
+    Map<String, String> values;
+
+    @SuppressWarnings("unused") // Used by Gson.
+    Entry() {
+    }
+
+    Entry(long settingsModified, @NotNull Map<String, String> values) {
+      this.settingsModified = settingsModified;
+      this.values = values;
+    }
+  }
+}
@@ -30,9 +30,14 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Arrays.asList;
 
@@ -45,11 +50,15 @@ public class FlutterSdk {
 
   private static final Logger LOG = Logger.getInstance(FlutterSdk.class);
 
+  /**
+   * The longest time to wait for 'flutter config' off the UI thread when nothing is cached.
+   */
+  private static final long CONFIG_WAIT_MILLIS = 5000;
+
   private static final Map<String, FlutterSdk> projectSdkCache = new HashMap<>();
 
   private final @NotNull VirtualFile myHome;
   private final @NotNull FlutterSdkVersion myVersion;
-  private final Map<String, String> cachedConfigValues = new HashMap<>();
 
   private FlutterSdk(@NotNull final VirtualFile home, @NotNull final FlutterSdkVersion version) {
     myHome = home;
@@ -200,6 +209,14 @@ public class FlutterSdk {
 
   public FlutterCommand flutterTest(@NotNull PubRoot root, @NotNull VirtualFile fileOrDir, @Nullable String testNameSubstring,
                                     @NotNull RunMode mode) {
+    return flutterTest(root, Collections.singletonList(fileOrDir), testNameSubstring, mode);
+  }
+
+  /**
+   * Returns a command that runs the tests in several files or directories in one flutter test process.
+   */
+  public FlutterCommand flutterTest(@NotNull PubRoot root, @NotNull List<VirtualFile> filesOrDirs, @Nullable String testNameSubstring,
+                                    @NotNull RunMode mode) {
 
     final List<String> args = new ArrayList<>();
     if (myVersion.flutterTestSupportsMachineMode()) {
@@ -223,13 +240,15 @@ public class FlutterSdk {
       args.add(testNameSubstring);
     }
 
-    if (!root.getRoot().equals(fileOrDir)) {
-      // Make the path to main relative (to make the command line prettier).
-      final String mainPath = root.getRelativePath(fileOrDir);
-      if (mainPath == null) {
-        throw new IllegalArgumentException("main isn't within the pub root: " + fileOrDir.getPath());
+    for (VirtualFile fileOrDir : filesOrDirs) {
+      if (!root.getRoot().equals(fileOrDir)) {
+        // Make the path to main relative (to make the command line prettier).
+        final String mainPath = root.getRelativePath(fileOrDir);
+        if (mainPath == null) {
+          throw new IllegalArgumentException("main isn't within the pub root: " + fileOrDir.getPath());
+        }
+        args.add(FileUtil.toSystemDependentName(mainPath));
       }
-      args.add(FileUtil.toSystemDependentName(mainPath));
     }
 
     return new FlutterCommand(this, root.getRoot(), FlutterCommand.Type.TEST, args.toArray(new String[]{}));
@@ -364,21 +383,53 @@ public class FlutterSdk {
   }
 
   /**
-   * Query 'flutter config' for the given key, and optionally use any existing cached value.
+   * Queries 'flutter config' for the given key.
+   * <p>
+   * Runs 'flutter config --machine' on a pooled thread unless a current result is cached; the future completes
+   * with null if the key isn't set or the tool failed.
+   */
+  @NotNull
+  public CompletableFuture<String> queryFlutterConfig(@NotNull String key) {
+    return FlutterConfigCache.getInstance().get(getConfigCacheKey(), this::runFlutterConfig)
+      .thenApply((Map<String, String> values) -> values == null ? null : values.get(key));
+  }
+
+  /**
+   * Returns the 'flutter config' value for the given key.
+   * <p>
+   * If nothing is cached, waits up to {@link #CONFIG_WAIT_MILLIS} for the tool, unless this is the UI thread,
+   * where it only starts a query in the background and returns null.
    */
   @Nullable
-  public String queryFlutterConfig(String key, boolean useCachedValue) {
-    if (useCachedValue && cachedConfigValues.containsKey(key)) {
-      return cachedConfigValues.get(key);
+  public String getFlutterConfig(@NotNull String key) {
+    final CompletableFuture<String> value = queryFlutterConfig(key);
+    if (EdtInvocationManager.getInstance().isEventDispatchThread()) {
+      return value.getNow(null);
+    }
+    try {
+      return value.get(CONFIG_WAIT_MILLIS, TimeUnit.MILLISECONDS);
     }
+    catch (InterruptedException | ExecutionException | TimeoutException e) {
+      LOG.info("No result from flutter config for " + key, e);
+      return null;
+    }
+  }
 
-    cachedConfigValues.put(key, queryFlutterConfigImpl(key));
-    return cachedConfigValues.get(key);
+  @NotNull
+  private String getConfigCacheKey() {
+    return getHomePath() + "@" + myVersion;
   }
 
-  private String queryFlutterConfigImpl(String key) {
+  /**
+   * Runs 'flutter config --machine', returning the settings or null if it failed.
+   */
+  @Nullable
+  private Map<String, String> runFlutterConfig() {
     final FlutterCommand command = flutterConfig("--machine");
     final OSProcessHandler process = command.startProcess(false);
+    if (process == null) {
+      return null;
+    }
     final StringBuilder stdout = new StringBuilder();
     process.addProcessListener(new ProcessAdapter() {
       boolean hasSeenStartingBrace = false;
@@ -403,7 +454,8 @@ public class FlutterSdk {
 
     process.startNotify();
 
-    if (process.waitFor(5000)) {
+    // This runs in the background, so allow time for the tool to be rebuilt after an upgrade.
+    if (process.waitFor(30000)) {
       final long duration = System.currentTimeMillis() - start;
       LOG.info("flutter config --machine: " + duration + "ms");
 
@@ -412,13 +464,15 @@ public class FlutterSdk {
         try {
           final JsonParser jp = new JsonParser();
           final JsonElement elem = jp.parse(stdout.toString());
-          final JsonObject obj = elem.getAsJsonObject();
-          final JsonPrimitive primitive = obj.getAsJsonPrimitive(key);
-          if (primitive != null) {
-            return primitive.getAsString();
+          final Map<String, String> values = new HashMap<>();
+          for (Map.Entry<String, JsonElement> entry : elem.getAsJsonObject().entrySet()) {
+            if (entry.getValue().isJsonPrimitive()) {
+              values.put(entry.getKey(), entry.getValue().getAsString());
+            }
           }
+          return values;
         }
-        catch (JsonSyntaxException ignored) {
+        catch (JsonSyntaxException | IllegalStateException ignored) {
         }
       }
       else {
@@ -427,6 +481,7 @@ public class FlutterSdk {
     }
     else {
       LOG.info("Timeout when calling flutter config --machine");
+      process.destroyProcess();
     }
 
     return null;
@@ -14,8 +14,16 @@ import java.util.List;
 
 public class FlutterSettings {
   private static final String reloadOnSaveKey = "io.flutter.reloadOnSave";
+  private static final String reloadAllDevicesKey = "io.flutter.reloadAllDevices";
   private static final String verboseLoggingKey = "io.flutter.verboseLogging";
 
+  // System properties for settings that have no UI.
+  private static final String inspectorThreadCountProperty = "io.flutter.inspectorThreadCount";
+  private static final String inspectorFrameSpacingProperty = "io.flutter.inspectorFrameSpacingMillis";
+
+  private static final int defaultInspectorThreadCount = 2;
+  private static final int defaultInspectorFrameSpacingMillis = 100;
+
   public static FlutterSettings getInstance() {
     return ServiceManager.getService(FlutterSettings.class);
   }
@@ -38,6 +46,9 @@ public class FlutterSettings {
     if (isReloadOnSave()) {
       analytics.sendEvent("settings", afterLastPeriod(reloadOnSaveKey));
     }
+    if (isReloadAllDevices()) {
+      analytics.sendEvent("settings", afterLastPeriod(reloadAllDevicesKey));
+    }
   }
 
   public void addListener(Listener listener) {
@@ -58,6 +69,19 @@ public class FlutterSettings {
     fireEvent();
   }
 
+  /**
+   * Whether reload on save reloads every running app in the project, rather than only the current one.
+   */
+  public boolean isReloadAllDevices() {
+    return getPropertiesComponent().getBoolean(reloadAllDevicesKey, false);
+  }
+
+  public void setReloadAllDevices(boolean value) {
+    getPropertiesComponent().setValue(reloadAllDevicesKey, value, false);
+
+    fireEvent();
+  }
+
   public boolean isVerboseLogging() {
     return getPropertiesComponent().getBoolean(verboseLoggingKey, false);
   }
@@ -68,6 +92,26 @@ public class FlutterSettings {
     fireEvent();
   }
 
+  /**
+   * Number of threads used by the inspector to parse data from the device.
+   * <p>
+   * There is no UI for this setting; it can be set with the -Dio.flutter.inspectorThreadCount JVM option,
+   * such as in the IDE's custom VM options, and is read once when the inspector is first used.
+   */
+  public int getInspectorThreadCount() {
+    return Integer.getInteger(inspectorThreadCountProperty, defaultInspectorThreadCount);
+  }
+
+  /**
+   * Minimum time between Flutter.Frame notifications sent to the inspector.
+   * <p>
+   * There is no UI for this setting; it can be set with the -Dio.flutter.inspectorFrameSpacingMillis JVM option,
+   * and is read when an app's inspector is created.
+   */
+  public int getInspectorFrameSpacingMillis() {
+    return Integer.getInteger(inspectorFrameSpacingProperty, defaultInspectorFrameSpacingMillis);
+  }
+
   protected void fireEvent() {
     for (Listener listener : listeners) {
       listener.settingsChanged();
@@ -9,50 +9,57 @@ import com.intellij.util.ui.GraphicsUtil;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Map;
 
 public class ColorIconMaker {
-  private final Map<Color, Icon> iconCache = new HashMap<>();
+  private static final int MAX_CACHED_ICONS = 256;
+
+  /**
+   * Icons keyed by ARGB value, shared by all instances.
+   */
+  private static final IconCache<Integer> iconCache = new IconCache<>(MAX_CACHED_ICONS);
   private static final int iconMargin = 2;
 
   public Icon getCustomIcon(Color color) {
-    if (!iconCache.containsKey(color)) {
-      final Icon icon = new Icon() {
-        public void paintIcon(Component c, Graphics g, int x, int y) {
-          final Graphics2D g2 = (Graphics2D)g.create();
-
-          try {
-            GraphicsUtil.setupAAPainting(g2);
-            // draw a black and gray grid to use as the background to disambiguate
-            // opaque colors from translucent colors.
-            g2.setColor(Color.white);
-            g2.fillRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
-            g2.setColor(Color.gray);
-            g2.fillRect(iconMargin, iconMargin, getIconWidth() / 2 - iconMargin, getIconHeight() / 2 - iconMargin);
-            g2.fillRect(getIconWidth() / 2, getIconHeight() / 2, getIconWidth() / 2 - iconMargin, getIconHeight() / 2 - iconMargin);
-            g2.setColor(color);
-            g2.fillRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
-            g2.setColor(Color.black);
-            g2.drawRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
-          }
-          finally {
-            g2.dispose();
-          }
-        }
+    return getCustomIcon(color.getRGB());
+  }
 
-        public int getIconWidth() {
-          return 22;
-        }
+  public Icon getCustomIcon(int argb) {
+    return iconCache.get(argb, ColorIconMaker::createIcon);
+  }
+
+  private static Icon createIcon(int argb) {
+    //noinspection UseJBColor
+    final Color color = new Color(argb, true);
+    return new Icon() {
+      public void paintIcon(Component c, Graphics g, int x, int y) {
+        final Graphics2D g2 = (Graphics2D)g.create();
 
-        public int getIconHeight() {
-          return 22;
+        try {
+          GraphicsUtil.setupAAPainting(g2);
+          // draw a black and gray grid to use as the background to disambiguate
+          // opaque colors from translucent colors.
+          g2.setColor(Color.white);
+          g2.fillRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
+          g2.setColor(Color.gray);
+          g2.fillRect(iconMargin, iconMargin, getIconWidth() / 2 - iconMargin, getIconHeight() / 2 - iconMargin);
+          g2.fillRect(getIconWidth() / 2, getIconHeight() / 2, getIconWidth() / 2 - iconMargin, getIconHeight() / 2 - iconMargin);
+          g2.setColor(color);
+          g2.fillRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
+          g2.setColor(Color.black);
+          g2.drawRect(iconMargin, iconMargin, getIconWidth() - iconMargin * 2, getIconHeight() - iconMargin * 2);
+        }
+        finally {
+          g2.dispose();
         }
-      };
+      }
 
-      iconCache.put(color, icon);
-    }
+      public int getIconWidth() {
+        return 22;
+      }
 
-    return iconCache.get(color);
+      public int getIconHeight() {
+        return 22;
+      }
+    };
   }
 }
@@ -15,13 +15,17 @@ import icons.FlutterIcons;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
-import java.util.Map;
 
 public class CustomIconMaker {
   private static final Color normalColor = ColorUtil.fromHex("231F20");
 
-  private final Map<String, Icon> iconCache = new HashMap<>();
+  private static final int MAX_CACHED_ICONS = 256;
+
+  /**
+   * Icons shared by all instances, keyed by initial, kind and whether the icon is abstract.
+   * See {@link #getIconKey}.
+   */
+  private static final IconCache<Integer> iconCache = new IconCache<>(MAX_CACHED_ICONS);
 
   public CustomIconMaker() {
 
@@ -40,13 +44,19 @@ public class CustomIconMaker {
       return null;
     }
 
-    final String text = fromText.toUpperCase().substring(0, 1);
-    final String mapKey = text + "_" + kind.name + "_" + isAbstract;
+    return getCustomIcon(fromText.charAt(0), kind, isAbstract);
+  }
 
-    if (!iconCache.containsKey(mapKey)) {
+  /**
+   * Returns the icon for text starting with initial.
+   */
+  public Icon getCustomIcon(char initial, IconKind kind, boolean isAbstract) {
+    final char upper = Character.toUpperCase(initial);
+    return iconCache.get(getIconKey(upper, kind, isAbstract), (Integer key) -> {
+      final String text = String.valueOf(upper);
       final Icon baseIcon = isAbstract ? kind.abstractIcon : kind.icon;
 
-      final Icon icon = new LayeredIcon(baseIcon, new Icon() {
+      return new LayeredIcon(baseIcon, new Icon() {
         public void paintIcon(Component c, Graphics g, int x, int y) {
           final Graphics2D g2 = (Graphics2D)g.create();
 
@@ -78,11 +88,11 @@ public class CustomIconMaker {
           return baseIcon != null ? baseIcon.getIconHeight() : 13;
         }
       });
+    });
+  }
 
-      iconCache.put(mapKey, icon);
-    }
-
-    return iconCache.get(mapKey);
+  private static int getIconKey(char initial, IconKind kind, boolean isAbstract) {
+    return (initial << 8) | (kind.ordinal() << 1) | (isAbstract ? 1 : 0);
   }
 
   public enum IconKind {
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Least recently used cache of rendered icons.
+ * <p>
+ * Used by the icon makers and the material icon lookups so that painting
+ * gutters, trees and tables reuses icon instances instead of allocating new
+ * ones. At most maxSize icons are kept, and those are only softly referenced
+ * so the cache never keeps icons alive under memory pressure.
+ */
+public class IconCache<K> {
+  private final int maxSize;
+  private final LinkedHashMap<K, SoftReference<Icon>> icons;
+  private long hits;
+  private long misses;
+
+  public IconCache(int maxSize) {
+    assert (maxSize > 0);
+    this.maxSize = maxSize;
+    this.icons = new LinkedHashMap<K, SoftReference<Icon>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, SoftReference<Icon>> eldest) {
+        return size() > IconCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the icon cached for key, creating it if needed.
+   * <p>
+   * Null results from create are not cached.
+   */
+  @Nullable
+  public synchronized Icon get(@NotNull K key, @NotNull Function<K, Icon> create) {
+    final SoftReference<Icon> ref = icons.get(key);
+    Icon icon = ref != null ? ref.get() : null;
+    if (icon != null) {
+      hits++;
+      return icon;
+    }
+    misses++;
+    icon = create.apply(key);
+    if (icon != null) {
+      icons.put(key, new SoftReference<>(icon));
+    }
+    else if (ref != null) {
+      icons.remove(key);
+    }
+    return icon;
+  }
+
+  public synchronized int size() {
+    return icons.size();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Returns the number of lookups answered from the cache.
+   */
+  public synchronized long getHitCount() {
+    return hits;
+  }
+
+  /**
+   * Returns the number of lookups that had to create an icon.
+   */
+  public synchronized long getMissCount() {
+    return misses;
+  }
+}
@@ -62,6 +62,8 @@ public class FlutterView implements PersistentStateComponent<FlutterView.State>,
 
   private final ArrayList<InspectorPanel> inspectorPanels = new ArrayList<>();
 
+  private final ReloadTimingsPanel reloadTimingsPanel = new ReloadTimingsPanel();
+
   public FlutterView(@NotNull Project project) {
     myProject = project;
   }
@@ -95,6 +97,9 @@ public class FlutterView implements PersistentStateComponent<FlutterView.State>,
 
     addInspectorPanel("Widgets", InspectorService.FlutterTreeType.widget, toolWindow, toolbarGroup, true);
     addInspectorPanel("Render Tree", InspectorService.FlutterTreeType.renderObject, toolWindow, toolbarGroup, false);
+
+    final Content timingsContent = contentFactory.createContent(reloadTimingsPanel, "Reload Timings", false);
+    toolWindow.getContentManager().addContent(timingsContent);
   }
 
   private void addInspectorPanel(String displayName,
@@ -177,6 +182,7 @@ public class FlutterView implements PersistentStateComponent<FlutterView.State>,
         inspectorPanel.onAppChanged();
         inspectorPanel.setEnabled(app != null);
       }
+      reloadTimingsPanel.onAppChanged(app);
     });
   }
 
@@ -5,6 +5,7 @@
  */
 package io.flutter.view;
 
+import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.application.ApplicationManager;
@@ -38,11 +39,12 @@ import javax.swing.plaf.basic.BasicTreeUI;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.tree.DefaultMutableTreeNode;
-import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreeNode;
 import javax.swing.tree.TreePath;
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
@@ -60,8 +62,27 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
   private final Computable<Boolean> isApplicable;
   private final InspectorService.FlutterTreeType treeType;
   private final FlutterView flutterView;
+  /**
+   * The root being loaded, until it and the loaded parts of the tree below it are displayed.
+   */
   private CompletableFuture<DiagnosticsNode> rootFuture;
 
+  /**
+   * Whether the displayed tree may be out of date, such as after a hot reload.
+   * <p>
+   * Frames alone don't refresh the tree, as an animating app renders many of
+   * them and each refresh would fetch the whole tree again.
+   */
+  private boolean treeDirty;
+
+  /**
+   * Object groups for the nodes displayed in the tree.
+   * <p>
+   * The current group holds the displayed tree while a new root is loaded in
+   * the next group, so the old tree is only released once it is replaced.
+   */
+  private InspectorService.ObjectGroupManager treeGroups;
+
   private static final DataKey<Tree> INSPECTOR_TREE_KEY = DataKey.create("Flutter.InspectorTree");
 
   // We have to define this because SimpleTextAttributes does not define a
@@ -75,7 +96,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
 
   private DefaultMutableTreeNode selectedNode;
 
-  private CompletableFuture<DiagnosticsNode> pendingSelectionFuture;
+  private CompletableFuture<ArrayList<DiagnosticsPathNode>> pendingSelectionFuture;
   private boolean myIsListening = false;
   private boolean isActive = false;
 
@@ -89,7 +110,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     this.flutterView = flutterView;
     this.isApplicable = isApplicable;
 
-    myRootsTree = new MyTree(new DefaultMutableTreeNode(null));
+    myRootsTree = new MyTree(new InspectorTreeModel());
     myRootsTree.addTreeExpansionListener(new MyTreeExpansionListener());
     myPropertiesPanel = new PropertiesPanel();
 
@@ -103,6 +124,16 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     treeSplitter.setFirstComponent(ScrollPaneFactory.createScrollPane(myRootsTree));
     treeSplitter.setSecondComponent(ScrollPaneFactory.createScrollPane(myPropertiesPanel));
     add(treeSplitter);
+
+    addHierarchyListener((HierarchyEvent e) -> {
+      if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing() && isActive) {
+        // Refresh the tree if frames were rendered while it was hidden.
+        final InspectorService service = getInspectorService();
+        if (service != null) {
+          service.onClientShown(this);
+        }
+      }
+    });
   }
 
   static DiagnosticsNode getDiagnosticNode(TreeNode treeNode) {
@@ -113,8 +144,8 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     return userData instanceof DiagnosticsNode ? (DiagnosticsNode)userData : null;
   }
 
-  private DefaultTreeModel getTreeModel() {
-    return (DefaultTreeModel)myRootsTree.getModel();
+  private InspectorTreeModel getTreeModel() {
+    return (InspectorTreeModel)myRootsTree.getModel();
   }
 
   public void onIsolateStopped() {
@@ -124,6 +155,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
       rootFuture.cancel(true);
     }
     rootFuture = null;
+    treeDirty = false;
 
     if (pendingSelectionFuture != null && !pendingSelectionFuture.isDone()) {
       pendingSelectionFuture.cancel(true);
@@ -132,7 +164,11 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
 
     selectedNode = null;
 
-    getTreeModel().setRoot(new DefaultMutableTreeNode());
+    // The groups died with the isolate so there is nothing to dispose.
+    treeGroups = null;
+    myPropertiesPanel.setObjectGroups(null);
+
+    getTreeModel().clear();
     myPropertiesPanel.showProperties(null);
   }
 
@@ -148,6 +184,10 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
 
   void setActivate(boolean enabled) {
     if (!enabled) {
+      if (treeGroups != null) {
+        treeGroups.clear();
+      }
+      myPropertiesPanel.clearObjectGroups();
       onIsolateStopped();
       isActive = false;
       return;
@@ -156,82 +196,187 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     isActive = true;
     assert (getInspectorService() != null);
     getInspectorService().addClient(this);
+    treeGroups = getInspectorService().createObjectGroupManager("tree");
+    myPropertiesPanel.setObjectGroups(getInspectorService().createObjectGroupManager("properties"));
   }
 
-  private DefaultMutableTreeNode getRootNode() {
-    return (DefaultMutableTreeNode)getTreeModel().getRoot();
+  /**
+   * Loads the tree again, keeping the expanded and selected nodes that still exist.
+   */
+  public void refreshTree() {
+    treeDirty = true;
+    recomputeTreeRoot();
   }
 
   void recomputeTreeRoot() {
-    if (getRootNode().getUserObject() instanceof DiagnosticsNode) {
-      // May be stale but at least we have something.
-      // TODO(jacobr): actually recompute the tree root in this case.
+    if (rootFuture != null) {
+      // The tree is checked again once the loading root is displayed.
       return;
     }
-    if (rootFuture != null && !rootFuture.isDone()) {
+    final InspectorService.ObjectGroupManager groups = treeGroups;
+    if (groups == null) {
       return;
     }
-    rootFuture = getInspectorService().getRoot(treeType);
+    final CompletableFuture<DiagnosticsNode> future = getInspectorService().getRoot(treeType, groups.getNext());
+    rootFuture = future;
+    treeDirty = false;
 
-    whenCompleteUiThread(rootFuture, (final DiagnosticsNode n, Throwable error) -> {
+    whenCompleteUiThread(future, (final DiagnosticsNode n, Throwable error) -> {
+      if (groups != treeGroups || rootFuture != future) {
+        // The isolate stopped while the root was loading.
+        return;
+      }
       if (error != null) {
+        rootFuture = null;
+        groups.cancelNext();
         return;
       }
-      final DefaultMutableTreeNode rootNode = new DefaultMutableTreeNode(n);
-      // TODO(jacobr): be more judicious about nuking the whole tree.
-      setupTreeNode(rootNode, n);
-      maybeLoadChildren(rootNode);
-      getTreeModel().setRoot(rootNode);
+      final InspectorTreeModel model = getTreeModel();
+      final InspectorTreeModel.Node oldRoot = model.getRoot();
+      final ArrayList<InspectorTreeModel.Node> expanded = new ArrayList<>();
+      if (oldRoot != null) {
+        final Enumeration<TreePath> paths = myRootsTree.getExpandedDescendants(new TreePath(oldRoot));
+        while (paths != null && paths.hasMoreElements()) {
+          expanded.add((InspectorTreeModel.Node)paths.nextElement().getLastPathComponent());
+        }
+      }
+      final InspectorTreeModel.Node selected = selectedNode instanceof InspectorTreeModel.Node ? (InspectorTreeModel.Node)selectedNode : null;
+
+      // The tree keeps the nodes that refer to the same Dart objects as before.
+      model.setRoot(n);
+      final InspectorTreeModel.Node rootNode = model.getRoot();
+      assert (rootNode != null);
+      refreshChildren(rootNode, n).thenRun(() -> {
+        if (groups != treeGroups || rootFuture != future) {
+          return;
+        }
+        rootFuture = null;
+        // Nothing displays nodes from the previous tree any more.
+        groups.promoteNext();
+        restoreTreeState(expanded, selected);
+        maybeLoadChildren(rootNode);
+        if (treeDirty) {
+          recomputeTreeRoot();
+        }
+      });
     });
   }
 
-  void setupTreeNode(DefaultMutableTreeNode node, DiagnosticsNode diagnosticsNode) {
-    node.setUserObject(diagnosticsNode);
-    node.setAllowsChildren(diagnosticsNode.hasChildren());
-    if (diagnosticsNode.hasChildren()) {
-      if (diagnosticsNode.childrenReady()) {
-        final CompletableFuture<ArrayList<DiagnosticsNode>> childrenFuture = diagnosticsNode.getChildren();
-        assert (childrenFuture.isDone());
-        setupChildren(node, childrenFuture.getNow(null));
+  /**
+   * Updates the children of node, and of each descendant whose children were loaded, from diagnosticsNode.
+   * <p>
+   * The returned future completes on the UI thread once every loaded subtree
+   * refers to the new tree; until then the previous object group must stay
+   * alive, as the rest of the tree still refers to it.
+   */
+  private CompletableFuture<Void> refreshChildren(InspectorTreeModel.Node node, DiagnosticsNode diagnosticsNode) {
+    final InspectorTreeModel model = getTreeModel();
+    if (!diagnosticsNode.hasChildren()) {
+      if (model.childrenLoaded(node)) {
+        model.setChildren(node, new ArrayList<>());
       }
-      else {
-        node.removeAllChildren();
-        node.add(new DefaultMutableTreeNode("Loading..."));
+      return CompletableFuture.completedFuture(null);
+    }
+    if (diagnosticsNode.childrenReady()) {
+      return refreshChildren(node, diagnosticsNode.getChildren().getNow(null));
+    }
+    if (!model.childrenLoaded(node)) {
+      // Loaded when the node is expanded.
+      return CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+    diagnosticsNode.getChildren().whenComplete((ArrayList<DiagnosticsNode> children, Throwable error) -> {
+      ApplicationManager.getApplication().invokeLater(() -> {
+        if (error != null || getTreeModel() != model || model.getDiagnostic(node) != diagnosticsNode) {
+          done.complete(null);
+          return;
+        }
+        refreshChildren(node, children).whenComplete((Void ignored, Throwable t) -> done.complete(null));
+      });
+    });
+    return done;
+  }
+
+  private CompletableFuture<Void> refreshChildren(InspectorTreeModel.Node node, ArrayList<DiagnosticsNode> children) {
+    final InspectorTreeModel model = getTreeModel();
+    model.setChildren(node, children);
+    final ArrayList<CompletableFuture<Void>> pending = new ArrayList<>();
+    for (int i = 0; i < children.size(); ++i) {
+      final InspectorTreeModel.Node child = model.getChild(node, i);
+      if (model.childrenLoaded(child) || children.get(i).childrenReady()) {
+        pending.add(refreshChildren(child, children.get(i)));
+      }
+    }
+    return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]));
+  }
+
+  /**
+   * Expands and selects the nodes that were expanded and selected before the tree was refreshed, if they still exist.
+   */
+  private void restoreTreeState(ArrayList<InspectorTreeModel.Node> expanded, @Nullable InspectorTreeModel.Node selected) {
+    final InspectorTreeModel model = getTreeModel();
+    for (InspectorTreeModel.Node node : expanded) {
+      if (model.getDiagnostic(node) != null && !myRootsTree.isExpanded(model.getPath(node))) {
+        myRootsTree.expandPath(model.getPath(node));
       }
     }
+    if (selected == null) {
+      return;
+    }
+    final DiagnosticsNode diagnostic = model.getDiagnostic(selected);
+    if (diagnostic == null) {
+      myRootsTree.clearSelection();
+      selectedNode = null;
+      myPropertiesPanel.showProperties(null);
+      return;
+    }
+    final TreePath selectionPath = model.getPath(selected);
+    if (!selectionPath.equals(myRootsTree.getSelectionPath())) {
+      // Shows the properties through the selection listener.
+      myRootsTree.setSelectionPath(selectionPath);
+    }
+    else {
+      // The node now displays a DiagnosticsNode from the new tree.
+      myPropertiesPanel.showProperties(diagnostic);
+    }
   }
 
-  void setupChildren(DefaultMutableTreeNode treeNode, ArrayList<DiagnosticsNode> children) {
-    treeNode.removeAllChildren();
-    treeNode.setAllowsChildren(!children.isEmpty());
-    for (DiagnosticsNode child : children) {
-      final DefaultMutableTreeNode childTreeNode = new DefaultMutableTreeNode();
-      setupTreeNode(childTreeNode, child);
-      treeNode.add(childTreeNode);
+  /**
+   * Adds the children of diagnosticsNode to the tree if they are already available.
+   */
+  void setupChildren(InspectorTreeModel.Node node, DiagnosticsNode diagnosticsNode) {
+    if (diagnosticsNode.hasChildren() && diagnosticsNode.childrenReady()) {
+      final CompletableFuture<ArrayList<DiagnosticsNode>> childrenFuture = diagnosticsNode.getChildren();
+      assert (childrenFuture.isDone());
+      setChildren(node, childrenFuture.getNow(null));
+    }
+  }
+
+  void setChildren(InspectorTreeModel.Node node, ArrayList<DiagnosticsNode> children) {
+    final InspectorTreeModel model = getTreeModel();
+    model.setChildren(node, children);
+    for (int i = 0; i < children.size(); ++i) {
+      setupChildren(model.getChild(node, i), children.get(i));
     }
   }
 
-  void maybeLoadChildren(DefaultMutableTreeNode node) {
-    if (!(node.getUserObject() instanceof DiagnosticsNode)) {
+  void maybeLoadChildren(InspectorTreeModel.Node node) {
+    final InspectorTreeModel model = getTreeModel();
+    final DiagnosticsNode diagonsticsNode = model.getDiagnostic(node);
+    if (diagonsticsNode == null || !diagonsticsNode.hasChildren() || model.childrenLoaded(node)) {
       return;
     }
-    final DiagnosticsNode diagonsticsNode = (DiagnosticsNode)node.getUserObject();
-    if (diagonsticsNode.hasChildren()) {
-      if (placeholderChildren(node)) {
-        whenCompleteUiThread(diagonsticsNode.getChildren(), (ArrayList<DiagnosticsNode> children, Throwable throwable) -> {
-          if (throwable != null) {
-            // Display that children failed to load.
-            return;
-          }
-          if (node.getUserObject() != diagonsticsNode) {
-            // Node changed, this data is stale.
-            return;
-          }
-          setupChildren(node, children);
-          getTreeModel().nodeStructureChanged(node);
-        });
+    whenCompleteUiThread(diagonsticsNode.getChildren(), (ArrayList<DiagnosticsNode> children, Throwable throwable) -> {
+      if (throwable != null) {
+        // Display that children failed to load.
+        return;
       }
-    }
+      if (getTreeModel() != model || model.getDiagnostic(node) != diagonsticsNode || model.childrenLoaded(node)) {
+        // Node changed, this data is stale.
+        return;
+      }
+      setChildren(node, children);
+    });
   }
 
   /**
@@ -240,7 +385,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
    * The action will never be called if the future is cancelled.
    */
   public static <T> void whenCompleteUiThread(CompletableFuture<T> future, BiConsumer<? super T, ? super Throwable> action) {
-    future.whenCompleteAsync(
+    future.whenComplete(
       (T value, Throwable throwable) -> {
         // Exceptions due to the Future being cancelled need to be treated
         // differently as they indicate that no work should be done rather
@@ -258,7 +403,14 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
   }
 
   public void onFlutterFrame() {
-    recomputeTreeRoot();
+    if (getTreeModel().getRoot() == null || treeDirty) {
+      recomputeTreeRoot();
+    }
+  }
+
+  @Override
+  public void onHotReload() {
+    refreshTree();
   }
 
   private boolean identicalDiagnosticsNodes(DiagnosticsNode a, DiagnosticsNode b) {
@@ -273,80 +425,59 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
         pendingSelectionFuture = null;
       }
     }
-    pendingSelectionFuture = getInspectorService().getSelection(getSelectedDiagnostic(), treeType);
-    whenCompleteUiThread(pendingSelectionFuture, (DiagnosticsNode newSelection, Throwable error) -> {
+    if (treeGroups == null) {
+      return;
+    }
+    // The selection is merged into the displayed tree so it lives in the same group.
+    final String groupName = treeGroups.getCurrent();
+    pendingSelectionFuture = getInspectorService().getSelectionParentChain(treeType, groupName);
+    whenCompleteUiThread(pendingSelectionFuture, (ArrayList<DiagnosticsPathNode> path, Throwable error) -> {
       pendingSelectionFuture = null;
       if (error != null) {
         LOG.error(error);
         return;
       }
-      if (newSelection != getSelectedDiagnostic()) {
-        if (newSelection == null) {
-          myRootsTree.clearSelection();
-          return;
+      if (path.isEmpty()) {
+        myRootsTree.clearSelection();
+        return;
+      }
+      final DiagnosticsNode newSelection = path.get(path.size() - 1).getNode();
+      final DiagnosticsNode oldSelection = getSelectedDiagnostic();
+      if (oldSelection != null && identicalDiagnosticsNodes(newSelection, oldSelection)) {
+        return;
+      }
+      final InspectorTreeModel model = getTreeModel();
+      InspectorTreeModel.Node treeNode = model.getRoot();
+      if (treeNode == null) {
+        return;
+      }
+      for (int i = 0; i < path.size(); ++i) {
+        final DiagnosticsPathNode pathNode = path.get(i);
+        final DiagnosticsNode pathDiagnosticNode = pathNode.getNode();
+        final DiagnosticsNode existingNode = model.getDiagnostic(treeNode);
+        if (existingNode == null || !identicalDiagnosticsNodes(pathDiagnosticNode, existingNode)) {
+          model.setDiagnostic(treeNode, pathDiagnosticNode);
         }
-        whenCompleteUiThread(getInspectorService().getParentChain(newSelection), (ArrayList<DiagnosticsPathNode> path, Throwable ex) -> {
-          if (ex != null) {
-            LOG.error(ex);
-            return;
-          }
-          DefaultMutableTreeNode treeNode = getRootNode();
-          final DefaultTreeModel model = getTreeModel();
-          final DefaultMutableTreeNode[] treePath = new DefaultMutableTreeNode[path.size()];
-          for (int i = 0; i < path.size(); ++i) {
-            treePath[i] = treeNode;
-            final DiagnosticsPathNode pathNode = path.get(i);
-            final DiagnosticsNode pathDiagnosticNode = pathNode.getNode();
-            final ArrayList<DiagnosticsNode> newChildren = pathNode.getChildren();
-            final DiagnosticsNode existingNode = getDiagnosticNode(treeNode);
-            boolean nodeChanged = false;
-            if (!identicalDiagnosticsNodes(pathDiagnosticNode, existingNode)) {
-              treeNode.setUserObject(pathDiagnosticNode);
-              // Clear children to force an update on this subtree. Not neccessarily required.
-              nodeChanged = true;
-            }
-            treeNode.setAllowsChildren(!newChildren.isEmpty());
-            for (int j = 0; j < newChildren.size(); ++j) {
-              final DiagnosticsNode newChild = newChildren.get(j);
-              if (j >= treeNode.getChildCount() || !identicalDiagnosticsNodes(newChild, getDiagnosticNode(treeNode.getChildAt(j)))) {
-                final DefaultMutableTreeNode child;
-                if (j >= treeNode.getChildCount()) {
-                  child = new DefaultMutableTreeNode();
-                  treeNode.add(child);
-                  nodeChanged = true;
-                }
-                else {
-                  child = (DefaultMutableTreeNode)treeNode.getChildAt(j);
-                }
-                if (j != pathNode.getChildIndex()) {
-                  setupTreeNode(child, newChild);
-                  model.reload(child);
-                }
-                else {
-                  child.setUserObject(newChild);
-                  child.setAllowsChildren(newChild.hasChildren());
-                  child.removeAllChildren();
-                }
-
-                // TODO(jacobr): this is wrong. We shouldn't always be setting the node as changed.
-                nodeChanged = true;
-                // TODO(jacobr): we are likely calling the wrong node structure changed APIs.
-                // For example, we should be getting these change notifications for free if we
-                // switched to call methods on the model object directly to manipulate the tree.
-                model.nodeChanged(child);
-                model.nodeStructureChanged(child);
+        // Children matching the existing children keep their subtrees.
+        final ArrayList<DiagnosticsNode> newChildren = pathNode.getChildren();
+        if (newChildren != null) {
+          model.setChildren(treeNode, newChildren);
+          for (int j = 0; j < newChildren.size(); ++j) {
+            if (j != pathNode.getChildIndex()) {
+              final InspectorTreeModel.Node child = model.getChild(treeNode, j);
+              if (!model.childrenLoaded(child)) {
+                setupChildren(child, newChildren.get(j));
               }
-              model.reload(treeNode);
-            }
-            if (i != path.size() - 1) {
-              treeNode = (DefaultMutableTreeNode)treeNode.getChildAt(pathNode.getChildIndex());
             }
           }
-          final TreePath selectionPath = new TreePath(treePath);
-          myRootsTree.setSelectionPath(selectionPath);
-          myRootsTree.scrollPathToVisible(selectionPath);
-        });
+        }
+        if (i != path.size() - 1) {
+          treeNode = model.getChild(treeNode, pathNode.getChildIndex());
+        }
       }
+      final TreePath selectionPath = model.getPath(treeNode);
+      myRootsTree.setSelectionPath(selectionPath);
+      myRootsTree.scrollPathToVisible(selectionPath);
     });
   }
 
@@ -358,31 +489,10 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     return (userObject instanceof DiagnosticsNode) ? (DiagnosticsNode)userObject : null;
   }
 
-  private void maybePopulateChildren(DefaultMutableTreeNode treeNode) {
-    final Object userObject = treeNode.getUserObject();
-    if (userObject instanceof DiagnosticsNode) {
-      final DiagnosticsNode diagnostic = (DiagnosticsNode)userObject;
-      if (diagnostic.hasChildren() && treeNode.getChildCount() == 0) {
-        final CompletableFuture<ArrayList<DiagnosticsNode>> childrenFuture = diagnostic.getChildren();
-        whenCompleteUiThread(childrenFuture, (ArrayList<DiagnosticsNode> children, Throwable throwable) -> {
-          if (throwable != null) {
-            // TODO(jacobr): show an error in the UI that we could not load children.
-            return;
-          }
-          if (treeNode.getChildCount() == 0) {
-            setupChildren(treeNode, children);
-          }
-          getTreeModel().nodeStructureChanged(treeNode);
-          // TODO(jacobr): do we need to do anything else to mark the tree as dirty?
-        });
-      }
-    }
-  }
-
   private void selectionChanged() {
-    final DefaultMutableTreeNode[] selectedNodes = myRootsTree.getSelectedNodes(DefaultMutableTreeNode.class, null);
-    for (DefaultMutableTreeNode node : selectedNodes) {
-      maybePopulateChildren(node);
+    final InspectorTreeModel.Node[] selectedNodes = myRootsTree.getSelectedNodes(InspectorTreeModel.Node.class, null);
+    for (InspectorTreeModel.Node node : selectedNodes) {
+      maybeLoadChildren(node);
     }
 
     if (selectedNodes.length > 0) {
@@ -416,6 +526,12 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     // as well as type source locations. This will require at minimum adding
     // a Dart kernel code transformer to track creation locations for widgets.
     /// group.add(actionManager.getAction(InspectorActions.JUMP_TO_SOURCE));
+    group.add(new AnAction(FlutterBundle.message("app.inspector.refresh_tree"), null, AllIcons.Actions.Refresh) {
+      @Override
+      public void actionPerformed(AnActionEvent event) {
+        refreshTree();
+      }
+    });
     return group;
   }
 
@@ -425,8 +541,8 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
   }
 
   private static class MyTree extends Tree implements DataProvider, Disposable {
-    private MyTree(final DefaultMutableTreeNode treemodel) {
-      super(treemodel);
+    private MyTree(final InspectorTreeModel model) {
+      super(model);
 
       setRootVisible(false);
       registerShortcuts();
@@ -508,6 +624,9 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
   }
 
   private static class PropertiesPanel extends TreeTableView {
+    private InspectorService.ObjectGroupManager groups;
+    private DiagnosticsNode displayedDiagnostic;
+
     PropertiesPanel() {
       super(new ListTreeTableModelOnColumns(
         new DefaultMutableTreeNode(),
@@ -532,17 +651,53 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
       return (ListTreeTableModelOnColumns)getTableModel();
     }
 
+    /**
+     * Sets the object groups used for the displayed properties.
+     * <p>
+     * Properties for a new selection are loaded in the next group which
+     * replaces the current group once they are displayed.
+     */
+    void setObjectGroups(InspectorService.ObjectGroupManager groups) {
+      this.groups = groups;
+      displayedDiagnostic = null;
+    }
+
+    void clearObjectGroups() {
+      if (groups != null) {
+        groups.clear();
+      }
+      setObjectGroups(null);
+    }
+
     public void showProperties(DiagnosticsNode diagnostic) {
       // Temporarily clear.
       getTreeModel().setRoot(new DefaultMutableTreeNode());
+      displayedDiagnostic = diagnostic;
 
       if (diagnostic == null) {
         getTree().setToolTipText(null); // Nothing to show here.
         return;
       }
+      final InspectorService.ObjectGroupManager groups = this.groups;
+      final CompletableFuture<ArrayList<DiagnosticsNode>> propertiesFuture;
+      if (groups != null) {
+        // Drop properties still loading for a previous selection.
+        groups.cancelNext();
+        propertiesFuture = diagnostic.getInspectorService().getProperties(diagnostic.getDartDiagnosticRef(), groups.getNext());
+      }
+      else {
+        propertiesFuture = diagnostic.getProperties();
+      }
       getEmptyText().setText(FlutterBundle.message("app.inspector.loading_properties"));
-      whenCompleteUiThread(diagnostic.getProperties(), (ArrayList<DiagnosticsNode> properties, Throwable throwable) -> {
+      whenCompleteUiThread(propertiesFuture, (ArrayList<DiagnosticsNode> properties, Throwable throwable) -> {
+        if (displayedDiagnostic != diagnostic || groups != this.groups) {
+          // The selection changed while the properties were loading.
+          return;
+        }
         if (throwable != null) {
+          if (groups != null) {
+            groups.cancelNext();
+          }
           getEmptyText().setText(FlutterBundle.message("app.inspector.error_loading_properties"));
           LOG.error(throwable);
           return;
@@ -550,21 +705,25 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
 
         if (properties.size() == 0) {
           getEmptyText().setText(FlutterBundle.message("app.inspector.no_properties"));
+          if (groups != null) {
+            groups.promoteNext();
+          }
           return;
         }
 
         // Preload all information we need about each property before instantiating
         // the UI so that the property display UI does not have to deal with values
-        // that are not yet available. As the number of properties is small this is
-        // a reasonable tradeoff.
-        final CompletableFuture[] futures = new CompletableFuture[properties.size()];
-        int i = 0;
-        for (DiagnosticsNode property : properties) {
-          futures[i] = property.getValueProperties();
-          ++i;
-        }
-        whenCompleteUiThread(CompletableFuture.allOf(futures), (Void ignored, Throwable errorGettingInstances) -> {
+        // that are not yet available. All property values are fetched with a single
+        // batch request.
+        final CompletableFuture<Void> valuePropertiesFuture = diagnostic.getInspectorService().loadValueProperties(properties);
+        whenCompleteUiThread(valuePropertiesFuture, (Void ignored, Throwable errorGettingInstances) -> {
+          if (displayedDiagnostic != diagnostic || groups != this.groups) {
+            return;
+          }
           if (errorGettingInstances != null) {
+            if (groups != null) {
+              groups.cancelNext();
+            }
             // TODO(jacobr): show error message explaining properties could not
             // be loaded.
             LOG.error(errorGettingInstances);
@@ -581,6 +740,10 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
           }
           getEmptyText().setText(FlutterBundle.message("app.inspector.all_properties_hidden"));
           model.setRoot(root);
+          if (groups != null) {
+            // Properties of the previous selection are no longer displayed.
+            groups.promoteNext();
+          }
         });
       });
     }
@@ -660,9 +823,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
             final int green = getIntProperty(properties, "green");
             final int blue = getIntProperty(properties, "blue");
 
-            //noinspection UseJBColor
-            final Color color = new Color(red, green, blue, alpha);
-            this.setIcon(colorIconMaker.getCustomIcon(color));
+            this.setIcon(colorIconMaker.getCustomIcon((alpha << 24) | (red << 16) | (green << 8) | blue));
             if (alpha == 255) {
               append(String.format("#%02x%02x%02x", red, green, blue), textAttributes);
             }
@@ -679,7 +840,7 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
             // IconData(U+0E88F)
             final int codePoint = getIntProperty(properties, "codePoint");
             if (codePoint > 0) {
-              final Icon icon = FlutterMaterialIcons.getMaterialIconForHex(String.format("%1$04x", codePoint));
+              final Icon icon = FlutterMaterialIcons.getMaterialIconForCodePoint(codePoint);
               if (icon != null) {
                 this.setIcon(icon);
                 this.setIconOpaque(false);
@@ -761,15 +922,13 @@ public class InspectorPanel extends JPanel implements Disposable, InspectorServi
     }
   }
 
-  boolean placeholderChildren(DefaultMutableTreeNode node) {
-    return node.getChildCount() == 0 ||
-           (node.getChildCount() == 1 && ((DefaultMutableTreeNode)node.getFirstChild()).getUserObject() instanceof String);
-  }
-
   private class MyTreeExpansionListener implements TreeExpansionListener {
     @Override
     public void treeExpanded(TreeExpansionEvent event) {
-      maybeLoadChildren((DefaultMutableTreeNode)event.getPath().getLastPathComponent());
+      final Object node = event.getPath().getLastPathComponent();
+      if (node instanceof InspectorTreeModel.Node) {
+        maybeLoadChildren((InspectorTreeModel.Node)node);
+      }
     }
 
     @Override
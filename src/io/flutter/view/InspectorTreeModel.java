@@ -0,0 +1,582 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.view;
+
+import io.flutter.inspector.DiagnosticsNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+import java.util.*;
+
+/**
+ * Tree model for the inspector tree backed by a compact array based node store.
+ * <p>
+ * The structure of the tree lives in parallel arrays indexed by node id. Swing
+ * tree nodes are lightweight views of an id that are only created when the
+ * tree asks for them, which JTree only does for rows of expanded nodes, so
+ * loading a large subtree costs a few arrays rather than a DefaultMutableTreeNode
+ * per DiagnosticsNode. Each id has at most one Swing node at a time, so painting
+ * the tree does not allocate.
+ * <p>
+ * Nodes whose children have not been loaded yet report a single "Loading..."
+ * placeholder child if the DiagnosticsNode has children.
+ * <p>
+ * Must only be used on the UI thread.
+ */
+class InspectorTreeModel implements TreeModel {
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int NO_NODE = -1;
+  private static final int[] NO_CHILDREN = new int[0];
+
+  static final String LOADING_TEXT = "Loading...";
+
+  private final EventListenerList listeners = new EventListenerList();
+
+  private DiagnosticsNode[] values = new DiagnosticsNode[INITIAL_CAPACITY];
+  private int[] parents = new int[INITIAL_CAPACITY];
+  /**
+   * Child ids of each node or null if the children have not been loaded.
+   */
+  private int[][] children = new int[INITIAL_CAPACITY][];
+  /**
+   * Incremented each time an id is reused so that stale Swing nodes do not match new ones.
+   */
+  private int[] generations = new int[INITIAL_CAPACITY];
+  /**
+   * The Swing node and placeholder node handed out for each id, if any.
+   */
+  private Node[] nodes = new Node[INITIAL_CAPACITY];
+  private Node[] placeholders = new Node[INITIAL_CAPACITY];
+
+  private int size;
+  private int[] freeIds = new int[INITIAL_CAPACITY];
+  private int freeCount;
+  private int liveCount;
+  private int rootId = NO_NODE;
+
+  private long materializedCount;
+
+  /**
+   * Replaces the whole tree with a single root node.
+   * <p>
+   * If root refers to the same Dart object as the current root, only the
+   * root's DiagnosticsNode is replaced and the rest of the tree is kept, so
+   * that expanded and selected nodes stay valid; callers then update the
+   * children with {@link #setChildren}.
+   */
+  void setRoot(@Nullable DiagnosticsNode root) {
+    if (root != null && rootId != NO_NODE && isSameObject(values[rootId], root)) {
+      values[rootId] = root;
+      fireTreeNodeChanged(createNode(rootId, false));
+      return;
+    }
+    values = new DiagnosticsNode[INITIAL_CAPACITY];
+    parents = new int[INITIAL_CAPACITY];
+    children = new int[INITIAL_CAPACITY][];
+    nodes = new Node[INITIAL_CAPACITY];
+    placeholders = new Node[INITIAL_CAPACITY];
+    // The generations are kept so that Swing nodes from the previous tree stay stale.
+    size = 0;
+    freeCount = 0;
+    liveCount = 0;
+    rootId = root != null ? allocate(root, NO_NODE) : NO_NODE;
+
+    final Node rootNode = getRoot();
+    fireTreeStructureChanged(rootNode != null ? new TreePath(rootNode) : null);
+  }
+
+  void clear() {
+    setRoot(null);
+  }
+
+  @Override
+  @Nullable
+  public Node getRoot() {
+    return rootId == NO_NODE ? null : createNode(rootId, false);
+  }
+
+  @Nullable
+  DiagnosticsNode getRootDiagnostic() {
+    return rootId == NO_NODE ? null : values[rootId];
+  }
+
+  @Override
+  public Node getChild(Object parent, int index) {
+    final Node node = (Node)parent;
+    if (!isLive(node) || node.placeholder) {
+      return null;
+    }
+    final int[] childIds = children[node.id];
+    if (childIds == null) {
+      return index == 0 ? createNode(node.id, true) : null;
+    }
+    return createNode(childIds[index], false);
+  }
+
+  @Override
+  public int getChildCount(Object parent) {
+    final Node node = (Node)parent;
+    if (!isLive(node) || node.placeholder) {
+      return 0;
+    }
+    final int[] childIds = children[node.id];
+    if (childIds == null) {
+      return values[node.id].hasChildren() ? 1 : 0;
+    }
+    return childIds.length;
+  }
+
+  @Override
+  public boolean isLeaf(Object object) {
+    return getChildCount(object) == 0;
+  }
+
+  @Override
+  public int getIndexOfChild(Object parent, Object child) {
+    if (!(parent instanceof Node) || !(child instanceof Node)) {
+      return -1;
+    }
+    final Node parentNode = (Node)parent;
+    final Node childNode = (Node)child;
+    if (!isLive(parentNode) || !isLive(childNode) || parentNode.placeholder) {
+      return -1;
+    }
+    if (childNode.placeholder) {
+      return childNode.id == parentNode.id && children[parentNode.id] == null ? 0 : -1;
+    }
+    final int[] childIds = children[parentNode.id];
+    if (childIds == null) {
+      return -1;
+    }
+    for (int i = 0; i < childIds.length; ++i) {
+      if (childIds[i] == childNode.id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void valueForPathChanged(TreePath path, Object newValue) {
+    // The inspector tree is not editable.
+  }
+
+  @Override
+  public void addTreeModelListener(TreeModelListener listener) {
+    listeners.add(TreeModelListener.class, listener);
+  }
+
+  @Override
+  public void removeTreeModelListener(TreeModelListener listener) {
+    listeners.remove(TreeModelListener.class, listener);
+  }
+
+  /**
+   * Returns the DiagnosticsNode displayed by node, or null for placeholders and stale nodes.
+   */
+  @Nullable
+  DiagnosticsNode getDiagnostic(@Nullable Node node) {
+    if (node == null || node.placeholder || !isLive(node)) {
+      return null;
+    }
+    return values[node.id];
+  }
+
+  /**
+   * Replaces the DiagnosticsNode displayed by node keeping its children.
+   */
+  void setDiagnostic(@NotNull Node node, @NotNull DiagnosticsNode value) {
+    if (node.placeholder || !isLive(node)) {
+      return;
+    }
+    values[node.id] = value;
+    fireTreeNodeChanged(node);
+  }
+
+  boolean childrenLoaded(@NotNull Node node) {
+    return isLive(node) && !node.placeholder && children[node.id] != null;
+  }
+
+  /**
+   * Sets the children of node.
+   * <p>
+   * Existing children that refer to the same Dart object as the child at the
+   * same index in newChildren are kept along with their subtrees; all other
+   * existing subtrees are released. If every child is kept, listeners are
+   * told the children changed rather than the structure, so JTree keeps
+   * them expanded.
+   */
+  void setChildren(@NotNull Node node, @NotNull List<DiagnosticsNode> newChildren) {
+    if (node.placeholder || !isLive(node)) {
+      return;
+    }
+    final int parentId = node.id;
+    final int[] oldChildIds = children[parentId] != null ? children[parentId] : NO_CHILDREN;
+    final int[] newChildIds = newChildren.isEmpty() ? NO_CHILDREN : new int[newChildren.size()];
+    for (int i = 0; i < newChildIds.length; ++i) {
+      final DiagnosticsNode child = newChildren.get(i);
+      if (i < oldChildIds.length && isSameObject(values[oldChildIds[i]], child)) {
+        newChildIds[i] = oldChildIds[i];
+        values[newChildIds[i]] = child;
+      }
+      else {
+        newChildIds[i] = NO_NODE;
+      }
+    }
+    for (int i = 0; i < oldChildIds.length; ++i) {
+      if (i >= newChildIds.length || newChildIds[i] != oldChildIds[i]) {
+        release(oldChildIds[i]);
+      }
+    }
+    for (int i = 0; i < newChildIds.length; ++i) {
+      if (newChildIds[i] == NO_NODE) {
+        newChildIds[i] = allocate(newChildren.get(i), parentId);
+      }
+    }
+    final boolean sameChildren = children[parentId] != null && Arrays.equals(oldChildIds, newChildIds);
+    children[parentId] = newChildIds;
+    placeholders[parentId] = null;
+    if (sameChildren) {
+      fireTreeNodesChanged(node, newChildIds);
+    }
+    else {
+      fireTreeStructureChanged(getPath(node));
+    }
+  }
+
+  /**
+   * Inserts a child displaying value at index among the loaded children of node.
+   * <p>
+   * A node whose children were not loaded yet is treated as having none.
+   */
+  void insertChild(@NotNull Node node, @NotNull DiagnosticsNode value, int index) {
+    if (node.placeholder || !isLive(node)) {
+      return;
+    }
+    final int parentId = node.id;
+    final int[] oldChildIds = children[parentId] != null ? children[parentId] : NO_CHILDREN;
+    if (index < 0 || index > oldChildIds.length) {
+      throw new ArrayIndexOutOfBoundsException("node has " + oldChildIds.length + " children, can't insert at " + index);
+    }
+    final int[] newChildIds = new int[oldChildIds.length + 1];
+    System.arraycopy(oldChildIds, 0, newChildIds, 0, index);
+    newChildIds[index] = allocate(value, parentId);
+    System.arraycopy(oldChildIds, index, newChildIds, index + 1, oldChildIds.length - index);
+    children[parentId] = newChildIds;
+    placeholders[parentId] = null;
+    fireTreeStructureChanged(getPath(node));
+  }
+
+  /**
+   * Removes the child at index from the loaded children of node, releasing its subtree.
+   */
+  void removeChild(@NotNull Node node, int index) {
+    if (node.placeholder || !isLive(node)) {
+      return;
+    }
+    final int parentId = node.id;
+    final int[] oldChildIds = children[parentId] != null ? children[parentId] : NO_CHILDREN;
+    if (index < 0 || index >= oldChildIds.length) {
+      throw new ArrayIndexOutOfBoundsException("node has " + oldChildIds.length + " children, can't remove " + index);
+    }
+    release(oldChildIds[index]);
+    final int[] newChildIds = oldChildIds.length == 1 ? NO_CHILDREN : new int[oldChildIds.length - 1];
+    System.arraycopy(oldChildIds, 0, newChildIds, 0, index);
+    System.arraycopy(oldChildIds, index + 1, newChildIds, index, oldChildIds.length - index - 1);
+    children[parentId] = newChildIds;
+    fireTreeStructureChanged(getPath(node));
+  }
+
+  /**
+   * Returns the path from the root to node.
+   */
+  @NotNull
+  TreePath getPath(@NotNull Node node) {
+    int depth = 0;
+    for (int id = node.id; id != NO_NODE; id = parents[id]) {
+      depth++;
+    }
+    if (node.placeholder) {
+      depth++;
+    }
+    final Object[] path = new Object[depth];
+    int i = depth - 1;
+    if (node.placeholder) {
+      path[i--] = node;
+    }
+    for (int id = node.id; id != NO_NODE; id = parents[id]) {
+      path[i--] = createNode(id, false);
+    }
+    return new TreePath(path);
+  }
+
+  /**
+   * Returns the number of DiagnosticsNodes in the tree.
+   */
+  int getNodeCount() {
+    return liveCount;
+  }
+
+  /**
+   * Returns how many Swing tree nodes have been created since the model was created.
+   */
+  long getMaterializedCount() {
+    return materializedCount;
+  }
+
+  private static boolean isSameObject(DiagnosticsNode a, DiagnosticsNode b) {
+    return a != null && b != null && a.getDartDiagnosticRef() != null && a.getDartDiagnosticRef().equals(b.getDartDiagnosticRef());
+  }
+
+  private boolean isLive(Node node) {
+    return node.model == this && node.id < size && generations[node.id] == node.generation && values[node.id] != null;
+  }
+
+  private Node createNode(int id, boolean placeholder) {
+    final Node[] cache = placeholder ? placeholders : nodes;
+    Node node = cache[id];
+    if (node == null || node.generation != generations[id]) {
+      materializedCount++;
+      node = new Node(this, id, generations[id], placeholder);
+      cache[id] = node;
+    }
+    return node;
+  }
+
+  private int allocate(DiagnosticsNode value, int parentId) {
+    final int id;
+    if (freeCount > 0) {
+      id = freeIds[--freeCount];
+    }
+    else {
+      if (size == values.length) {
+        final int capacity = size * 2;
+        values = Arrays.copyOf(values, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        children = Arrays.copyOf(children, capacity);
+        nodes = Arrays.copyOf(nodes, capacity);
+        placeholders = Arrays.copyOf(placeholders, capacity);
+      }
+      if (size == generations.length) {
+        generations = Arrays.copyOf(generations, size * 2);
+      }
+      id = size++;
+    }
+    generations[id]++;
+    values[id] = value;
+    parents[id] = parentId;
+    children[id] = null;
+    liveCount++;
+    return id;
+  }
+
+  private void release(int id) {
+    final int[] childIds = children[id];
+    if (childIds != null) {
+      for (int childId : childIds) {
+        release(childId);
+      }
+    }
+    values[id] = null;
+    children[id] = null;
+    parents[id] = NO_NODE;
+    nodes[id] = null;
+    placeholders[id] = null;
+    if (freeCount == freeIds.length) {
+      freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+    }
+    freeIds[freeCount++] = id;
+    liveCount--;
+  }
+
+  private void fireTreeStructureChanged(@Nullable TreePath path) {
+    final TreeModelEvent event = new TreeModelEvent(this, path);
+    for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+      listener.treeStructureChanged(event);
+    }
+  }
+
+  /**
+   * Notifies listeners that the children of parent changed, skipping children that were never handed out.
+   */
+  private void fireTreeNodesChanged(Node parent, int[] childIds) {
+    int count = 0;
+    for (int childId : childIds) {
+      if (nodes[childId] != null) {
+        count++;
+      }
+    }
+    if (count == 0) {
+      return;
+    }
+    final int[] indices = new int[count];
+    final Object[] changed = new Object[count];
+    int j = 0;
+    for (int i = 0; i < childIds.length; ++i) {
+      if (nodes[childIds[i]] != null) {
+        indices[j] = i;
+        changed[j++] = nodes[childIds[i]];
+      }
+    }
+    final TreeModelEvent event = new TreeModelEvent(this, getPath(parent), indices, changed);
+    for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+      listener.treeNodesChanged(event);
+    }
+  }
+
+  private void fireTreeNodeChanged(Node node) {
+    final TreeModelEvent event;
+    if (parents[node.id] == NO_NODE) {
+      event = new TreeModelEvent(this, new TreePath(node), null, null);
+    }
+    else {
+      final Node parent = createNode(parents[node.id], false);
+      event = new TreeModelEvent(this, getPath(parent), new int[]{getIndexOfChild(parent, node)}, new Object[]{node});
+    }
+    for (TreeModelListener listener : listeners.getListeners(TreeModelListener.class)) {
+      listener.treeNodesChanged(event);
+    }
+  }
+
+  /**
+   * Swing view of a node in the store.
+   * <p>
+   * Nodes are created on demand and reused until their id is released.
+   * Children inserted or removed through the
+   * MutableTreeNode methods are inserted into or removed from the model.
+   */
+  static class Node extends DefaultMutableTreeNode {
+    private final InspectorTreeModel model;
+    private final int id;
+    private final int generation;
+    private final boolean placeholder;
+
+    private Node(InspectorTreeModel model, int id, int generation, boolean placeholder) {
+      this.model = model;
+      this.id = id;
+      this.generation = generation;
+      this.placeholder = placeholder;
+    }
+
+    @Override
+    public Object getUserObject() {
+      return placeholder ? LOADING_TEXT : model.getDiagnostic(this);
+    }
+
+    @Override
+    public void setUserObject(Object userObject) {
+      if (userObject instanceof DiagnosticsNode) {
+        model.setDiagnostic(this, (DiagnosticsNode)userObject);
+      }
+    }
+
+    @Override
+    public TreeNode getParent() {
+      if (placeholder) {
+        return model.isLive(this) ? model.createNode(id, false) : null;
+      }
+      if (!model.isLive(this) || model.parents[id] == NO_NODE) {
+        return null;
+      }
+      return model.createNode(model.parents[id], false);
+    }
+
+    @Override
+    public TreeNode getChildAt(int index) {
+      final Node child = model.getChild(this, index);
+      if (child == null) {
+        throw new ArrayIndexOutOfBoundsException("node has no child at " + index);
+      }
+      return child;
+    }
+
+    @Override
+    public int getChildCount() {
+      return model.getChildCount(this);
+    }
+
+    @Override
+    public int getIndex(TreeNode child) {
+      return model.getIndexOfChild(this, child);
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return !placeholder && model.isLive(this) && model.values[id].hasChildren();
+    }
+
+    @Override
+    public boolean isLeaf() {
+      return model.isLeaf(this);
+    }
+
+    @Override
+    public Enumeration children() {
+      final int count = getChildCount();
+      final List<TreeNode> result = new ArrayList<>(count);
+      for (int i = 0; i < count; ++i) {
+        result.add(getChildAt(i));
+      }
+      return Collections.enumeration(result);
+    }
+
+    /**
+     * Inserts a node displaying the DiagnosticsNode of child; the subtree of child is not copied.
+     */
+    @Override
+    public void insert(MutableTreeNode child, int index) {
+      final Object value = child instanceof DefaultMutableTreeNode ? ((DefaultMutableTreeNode)child).getUserObject() : null;
+      if (!(value instanceof DiagnosticsNode)) {
+        throw new IllegalArgumentException("inserted nodes must display a DiagnosticsNode");
+      }
+      model.insertChild(this, (DiagnosticsNode)value, index);
+    }
+
+    @Override
+    public void add(MutableTreeNode child) {
+      // The "Loading..." placeholder is replaced rather than counted.
+      insert(child, model.childrenLoaded(this) ? getChildCount() : 0);
+    }
+
+    @Override
+    public void remove(int index) {
+      model.removeChild(this, index);
+    }
+
+    @Override
+    public void setParent(MutableTreeNode parent) {
+      // The parent is owned by the model.
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Node)) {
+        return false;
+      }
+      final Node otherNode = (Node)other;
+      return model == otherNode.model && id == otherNode.id && generation == otherNode.generation && placeholder == otherNode.placeholder;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * id + generation) + (placeholder ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+      final Object userObject = getUserObject();
+      return userObject != null ? userObject.toString() : "";
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.view;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.TableView;
+import com.intellij.util.ui.ColumnInfo;
+import com.intellij.util.ui.ListTableModel;
+import io.flutter.run.daemon.FlutterApp;
+import io.flutter.run.daemon.ReloadTimings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * Shows the p50, p95 and max time of each stage of the current app's hot reloads and restarts.
+ */
+class ReloadTimingsPanel extends JPanel {
+  private final ListTableModel<ReloadTimings.Row> model = new ListTableModel<>(
+    new Column("Kind", ReloadTimings.Row::getKindLabel),
+    new Column("Step", (ReloadTimings.Row row) -> row.step),
+    new Column("Count", (ReloadTimings.Row row) -> row.count),
+    new Column("p50 (ms)", (ReloadTimings.Row row) -> row.p50),
+    new Column("p95 (ms)", (ReloadTimings.Row row) -> row.p95),
+    new Column("Max (ms)", (ReloadTimings.Row row) -> row.max));
+
+  private final ReloadTimings.Listener listener = this::refreshLater;
+
+  @Nullable private ReloadTimings timings;
+
+  ReloadTimingsPanel() {
+    super(new BorderLayout());
+    add(ScrollPaneFactory.createScrollPane(new TableView<>(model)), BorderLayout.CENTER);
+  }
+
+  /**
+   * Shows the timings of a new app, or clears the table if there is none.
+   */
+  void onAppChanged(@Nullable FlutterApp app) {
+    final ReloadTimings newTimings = app == null ? null : app.getReloadTimings();
+    if (newTimings == timings) return;
+
+    if (timings != null) {
+      timings.removeListener(listener);
+    }
+    timings = newTimings;
+    if (timings != null) {
+      timings.addListener(listener);
+    }
+    refreshLater();
+  }
+
+  private void refreshLater() {
+    ApplicationManager.getApplication().invokeLater(() -> {
+      model.setItems(timings == null ? Collections.emptyList() : timings.getRows());
+    });
+  }
+
+  private static class Column extends ColumnInfo<ReloadTimings.Row, Object> {
+    @NotNull private final Function<ReloadTimings.Row, Object> getter;
+
+    Column(@NotNull String name, @NotNull Function<ReloadTimings.Row, Object> getter) {
+      super(name);
+      this.getter = getter;
+    }
+
+    @Nullable
+    @Override
+    public Object valueOf(ReloadTimings.Row row) {
+      return getter.apply(row);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class DiagnosticsNodeDecoderTest {
+  private static final String NODE =
+    "{\"description\":\"Container\",\"type\":\"_ElementDiagnosticableTreeNode\",\"style\":\"dense\",\"hasChildren\":true," +
+    "\"objectId\":\"inspector-1\",\"valueId\":\"inspector-2\",\"locationId\":17,\"creationLocation\":{\"line\":3}}";
+
+  @Test
+  public void decodesKnownMembers() {
+    final DiagnosticsNode node = new DiagnosticsNodeDecoder(false).decodeNode(NODE, null, null);
+    assertEquals("Container", node.getDescription());
+    assertEquals(DiagnosticsTreeStyle.dense, node.getStyle());
+    assertEquals(DiagnosticLevel.info, node.getLevel());
+    assertTrue(node.hasChildren());
+    assertEquals(new InspectorInstanceRef("inspector-1"), node.getDartDiagnosticRef());
+    assertEquals(new InspectorInstanceRef("inspector-2"), node.getValueRef());
+  }
+
+  @Test
+  public void skipsUnknownMembersUnlessRawJsonIsKept() {
+    assertNull(new DiagnosticsNodeDecoder(false).decodeNode(NODE, null, null).getStringMember("creationLocation"));
+    assertNotNull(new DiagnosticsNodeDecoder(true).decodeNode(NODE, null, null).getStringMember("locationId"));
+  }
+
+  @Test
+  public void keepsUnknownMembersAlongsideDecodedOnes() {
+    final DiagnosticsNode node = new DiagnosticsNodeDecoder(true).decodeNode(
+      "{\"description\":\"Text\",\"creationLocation\":{\"file\":\"main.dart\",\"line\":3,\"parameters\":[true,null,1e3]}," +
+      "\"locationId\":17,\"renderedText\":\"hi\"}", null, null);
+    assertEquals("Text", node.getDescription());
+    assertEquals("Text", node.getStringMember("description"));
+    assertEquals("17", node.getStringMember("locationId"));
+    assertEquals("hi", node.getStringMember("renderedText"));
+    assertNull(node.getStringMember("missing"));
+  }
+
+  @Test
+  public void decodesListsAndNumbers() {
+    final DiagnosticsNode node = new DiagnosticsNodeDecoder(false).decodeNode(
+      "{\"values\":[\"a\",\"b\"],\"numberToString\":1.5,\"quoted\":null,\"showName\":false}", null, null);
+    assertEquals(Arrays.asList("a", "b"), node.getValues());
+    assertEquals("1.5", node.getStringMember("numberToString"));
+    assertTrue(node.hasIsQuoted());
+    assertFalse(node.getIsQuoted());
+    assertFalse(node.getShowName());
+  }
+
+  @Test
+  public void internsRepeatedStrings() {
+    final ArrayList<DiagnosticsNode> nodes = new DiagnosticsNodeDecoder(false).decodeNodes("[" + NODE + "," + NODE + "]", null, null);
+    assertEquals(2, nodes.size());
+    assertSame(nodes.get(0).getType(), nodes.get(1).getType());
+    assertSame(nodes.get(0).getDescription(), nodes.get(1).getDescription());
+  }
+
+  @Test
+  public void decodesPaths() {
+    final String path = "[{\"node\":" + NODE + ",\"children\":[" + NODE + "," + NODE + "],\"childIndex\":1}," +
+                        "{\"node\":" + NODE + ",\"children\":null,\"childIndex\":null}]";
+    final ArrayList<DiagnosticsPathNode> pathNodes = new DiagnosticsNodeDecoder(false).decodePath(path, null, null);
+    assertEquals(2, pathNodes.size());
+    assertEquals("Container", pathNodes.get(0).getNode().getDescription());
+    assertEquals(2, pathNodes.get(0).getChildren().size());
+    assertEquals(1, pathNodes.get(0).getChildIndex());
+    assertEquals(0, pathNodes.get(1).getChildren().size());
+    assertEquals(-1, pathNodes.get(1).getChildIndex());
+  }
+}
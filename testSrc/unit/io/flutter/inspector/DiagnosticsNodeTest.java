@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class DiagnosticsNodeTest {
+  private static DiagnosticsNode node(String json) {
+    return new DiagnosticsNode((JsonObject)new JsonParser().parse(json), null);
+  }
+
+  @Test
+  public void defaults() {
+    final DiagnosticsNode node = node("{\"objectId\":\"a\",\"valueId\":null}");
+    assertNull(node.getName());
+    assertTrue(node.getShowName());
+    assertTrue(node.getShowSeparator());
+    assertEquals(DiagnosticLevel.info, node.getLevel());
+    assertEquals(DiagnosticsTreeStyle.sparse, node.getStyle());
+    assertFalse(node.hasChildren());
+    assertFalse(node.hasTooltip());
+    assertNull(node.getValues());
+    assertNull(node.getValueRef().getId());
+  }
+
+  @Test
+  public void decodesTypedMembers() {
+    final DiagnosticsNode node = node(
+      "{\"name\":\"color\",\"description\":\"Color(0xff000000)\",\"level\":\"fine\",\"defaultLevel\":\"warning\"," +
+      "\"style\":\"singleLine\",\"showName\":false,\"tooltip\":null,\"values\":[\"a\",\"b\"],\"objectId\":\"a\"}");
+    assertEquals("color", node.getName());
+    assertEquals("Color(0xff000000)", node.getDescription());
+    assertEquals(DiagnosticLevel.fine, node.getLevel());
+    assertEquals(DiagnosticLevel.warning, node.getDefaultLevel());
+    assertEquals(DiagnosticsTreeStyle.singleLine, node.getStyle());
+    assertFalse(node.getShowName());
+    // Present but null is still reported as present.
+    assertTrue(node.hasTooltip());
+    assertNull(node.getTooltip());
+    assertEquals(Arrays.asList("a", "b"), node.getValues());
+    assertEquals("color", node.getStringMember("name"));
+  }
+
+  @Test
+  public void unknownEnumValuesUseDefaults() {
+    final DiagnosticsNode node = node("{\"level\":\"summary\",\"style\":\"flat\",\"objectId\":\"a\"}");
+    assertEquals(DiagnosticLevel.info, node.getLevel());
+    assertEquals(DiagnosticsTreeStyle.sparse, node.getStyle());
+  }
+}
@@ -5,6 +5,10 @@
  */
 package io.flutter.inspector;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.CustomMatcher;
 import org.hamcrest.Description;
@@ -14,15 +18,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.core.IsNot.not;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 
@@ -133,6 +135,31 @@ public class FlutterWidgetTest {
     assertThat(widget("Theme"), hasSubCategories());
   }
 
+  @Test
+  public void indexMatchesWidgetsJson() {
+    // WidgetCatalogIndex must be regenerated whenever widgets.json changes.
+    final JsonArray json = new JsonParser().parse(FlutterWidget.getCatalog().dumpJson()).getAsJsonArray();
+    final Map<String, JsonObject> widgets = new HashMap<>();
+    for (JsonElement element : json) {
+      // As in the catalog, later entries for a duplicated widget win.
+      widgets.put(element.getAsJsonObject().get("name").getAsString(), element.getAsJsonObject());
+    }
+    assertEquals(widgets.size(), FlutterWidget.getCatalog().getWidgets().size());
+    for (JsonObject object : widgets.values()) {
+      final FlutterWidget widget = widget(object.get("name").getAsString());
+      assertEquals(strings(object.getAsJsonArray("categories")), widget.getCategories());
+      assertEquals(strings(object.getAsJsonArray("subcategories")), widget.getSubCategories());
+    }
+  }
+
+  private static List<String> strings(JsonArray array) {
+    final List<String> result = new ArrayList<>();
+    for (JsonElement element : array) {
+      result.add(element.getAsString());
+    }
+    return result;
+  }
+
   @Test
   public void patternFilters() {
     assertThat(pattern("Theme"), matches(node("Theme")));
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameEventCoalescerTest {
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private final List<Long> delays = new ArrayList<>();
+  private long now = 1000;
+  private boolean visible = true;
+  private int notifications;
+
+  private final FrameEventCoalescer coalescer = new FrameEventCoalescer(100, (Runnable runnable, long delayMillis) -> {
+    scheduled.add(runnable);
+    delays.add(delayMillis);
+  }, () -> now, () -> {
+    if (!visible) {
+      return false;
+    }
+    notifications++;
+    return true;
+  });
+
+  private void runScheduled() {
+    final List<Runnable> toRun = new ArrayList<>(scheduled);
+    scheduled.clear();
+    toRun.forEach(Runnable::run);
+  }
+
+  @Test
+  public void coalescesBurstsOfFrames() {
+    for (int i = 0; i < 10; ++i) {
+      coalescer.onFrame();
+    }
+    assertEquals(1, scheduled.size());
+    assertEquals(0L, (long)delays.get(0));
+    runScheduled();
+    assertEquals(1, notifications);
+    assertEquals(10, coalescer.getFramesSeen());
+    assertEquals(1, coalescer.getFramesDelivered());
+  }
+
+  @Test
+  public void spacesNotifications() {
+    coalescer.onFrame();
+    runScheduled();
+
+    now += 30;
+    coalescer.onFrame();
+    assertEquals(70L, (long)delays.get(1));
+
+    now += 70;
+    runScheduled();
+    now += 500;
+    coalescer.onFrame();
+    assertEquals(0L, (long)delays.get(2));
+  }
+
+  @Test
+  public void hiddenClientsAreNotCounted() {
+    visible = false;
+    coalescer.onFrame();
+    runScheduled();
+    assertEquals(0, notifications);
+    assertEquals(1, coalescer.getFramesSeen());
+    assertEquals(0, coalescer.getFramesDelivered());
+  }
+}
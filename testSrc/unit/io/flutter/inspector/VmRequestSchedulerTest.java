@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.inspector;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class VmRequestSchedulerTest {
+  private final List<CompletableFuture<String>> sent = new ArrayList<>();
+
+  private CompletableFuture<String> schedule(VmRequestScheduler scheduler, String key) {
+    return scheduler.schedule(key, sent::add);
+  }
+
+  @Test
+  public void collapsesIdenticalRequests() {
+    final VmRequestScheduler scheduler = new VmRequestScheduler(Runnable::run, 4);
+    final CompletableFuture<String> first = schedule(scheduler, "a");
+    final CompletableFuture<String> second = schedule(scheduler, "a");
+    assertEquals(1, sent.size());
+
+    sent.get(0).complete("result");
+    assertEquals("result", first.getNow(null));
+    assertEquals("result", second.getNow(null));
+
+    // Once the request completes, the same key is sent again.
+    schedule(scheduler, "a");
+    assertEquals(2, sent.size());
+  }
+
+  @Test
+  public void limitsConcurrentRequests() {
+    final VmRequestScheduler scheduler = new VmRequestScheduler(Runnable::run, 2);
+    schedule(scheduler, "a");
+    schedule(scheduler, "b");
+    final CompletableFuture<String> c = schedule(scheduler, "c");
+    assertEquals(2, sent.size());
+    assertEquals(1, scheduler.getQueueDepth());
+
+    sent.get(0).complete("a");
+    assertEquals(3, sent.size());
+    assertEquals(0, scheduler.getQueueDepth());
+
+    sent.get(2).complete("c");
+    assertEquals("c", c.getNow(null));
+    assertEquals(1, scheduler.getInFlightCount());
+  }
+
+  @Test
+  public void skipsCancelledRequests() {
+    final VmRequestScheduler scheduler = new VmRequestScheduler(Runnable::run, 1);
+    schedule(scheduler, "a");
+    final CompletableFuture<String> b1 = schedule(scheduler, "b");
+    final CompletableFuture<String> b2 = schedule(scheduler, "b");
+    final CompletableFuture<String> c = schedule(scheduler, "c");
+
+    // The request is still needed while one caller is waiting on it.
+    b1.cancel(true);
+    assertEquals(2, scheduler.getQueueDepth());
+    b2.cancel(true);
+    assertEquals(1, scheduler.getQueueDepth());
+
+    sent.get(0).complete("a");
+    assertEquals(2, sent.size());
+    sent.get(1).complete("c");
+    assertEquals("c", c.getNow(null));
+    assertEquals(1, scheduler.getStats().skipped);
+  }
+
+  @Test
+  public void cancelAllDropsQueuedRequests() {
+    final VmRequestScheduler scheduler = new VmRequestScheduler(Runnable::run, 1);
+    schedule(scheduler, "a");
+    final CompletableFuture<String> b = schedule(scheduler, "b");
+    scheduler.cancelAll();
+    assertTrue(b.isCancelled());
+    assertEquals(0, scheduler.getQueueDepth());
+
+    sent.get(0).complete("a");
+    assertEquals(1, sent.size());
+  }
+}
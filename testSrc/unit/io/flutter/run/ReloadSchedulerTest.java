@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+
+public class ReloadSchedulerTest {
+  private final List<String> started = new ArrayList<>();
+  private final List<CompletableFuture<Void>> running = new ArrayList<>();
+  private ReloadScheduler<String> scheduler;
+
+  @Before
+  public void setUp() {
+    scheduler = new ReloadScheduler<>((String request) -> {
+      started.add(request);
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      running.add(future);
+      return future;
+    });
+  }
+
+  @Test
+  public void startsRightAwayWhenIdle() {
+    scheduler.request("a");
+    assertEquals(1, started.size());
+    running.get(0).complete(null);
+
+    scheduler.request("b");
+    assertEquals(2, started.size());
+    assertEquals("b", started.get(1));
+  }
+
+  @Test
+  public void burstDuringReloadCausesOneMoreReloadWithLatestRequest() {
+    scheduler.request("a");
+    scheduler.request("b");
+    scheduler.request("c");
+    scheduler.request("d");
+    assertEquals(1, started.size());
+
+    running.get(0).complete(null);
+    assertEquals(2, started.size());
+    assertEquals("d", started.get(1));
+
+    running.get(1).complete(null);
+    assertEquals(2, started.size());
+  }
+
+  @Test
+  public void failedReloadStillStartsPendingRequest() {
+    scheduler.request("a");
+    scheduler.request("b");
+    running.get(0).completeExceptionally(new RuntimeException("reload failed"));
+    assertEquals(2, started.size());
+    assertEquals("b", started.get(1));
+  }
+
+  @Test
+  public void throwingReloadDoesNotBlockLaterRequests() {
+    final boolean[] fail = {true};
+    final ReloadScheduler<String> throwing = new ReloadScheduler<>((String request) -> {
+      started.add(request);
+      if (fail[0]) {
+        fail[0] = false;
+        throw new IllegalStateException("can't reload");
+      }
+      return CompletableFuture.completedFuture(null);
+    });
+
+    try {
+      throwing.request("a");
+    }
+    catch (IllegalStateException expected) {
+      // expected
+    }
+    throwing.request("b");
+    assertEquals(2, started.size());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.daemon;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReloadTimingsTest {
+  private long now = 1000;
+  private final ReloadTimings timings = new ReloadTimings(() -> now);
+
+  @Test
+  public void recordsEachStepOfASavedReload() {
+    timings.saved(now);
+    now += 40;
+    timings.analyzed();
+    now += 5;
+    timings.requested(ReloadTimings.Kind.RELOAD);
+    now += 10;
+    timings.progressStarted();
+    now += 300;
+    timings.progressFinished();
+    now += 16;
+    timings.frameRendered();
+
+    final List<ReloadTimings.Row> rows = timings.getRows();
+    assertEquals(6, rows.size());
+    checkRow(rows.get(0), "save → analysis", 40);
+    checkRow(rows.get(1), "analysis → request sent", 5);
+    checkRow(rows.get(2), "request sent → progress started", 10);
+    checkRow(rows.get(3), "progress started → progress finished", 300);
+    checkRow(rows.get(4), "total", 355);
+    checkRow(rows.get(5), "progress finished → first frame", 16);
+  }
+
+  @Test
+  public void toolbarReloadStartsAtRequest() {
+    timings.requested(ReloadTimings.Kind.RESTART);
+    now += 10;
+    timings.progressStarted();
+    now += 90;
+    timings.progressFinished();
+
+    final List<ReloadTimings.Row> rows = timings.getRows();
+    assertEquals(3, rows.size());
+    assertEquals(ReloadTimings.Kind.RESTART, rows.get(0).kind);
+    checkRow(rows.get(2), "total", 100);
+  }
+
+  @Test
+  public void blockedSaveDoesNotCountTowardsNextReload() {
+    timings.saved(now);
+    now += 5000;
+    timings.requested(ReloadTimings.Kind.RELOAD);
+    now += 10;
+    timings.progressStarted();
+    timings.progressFinished();
+
+    for (ReloadTimings.Row row : timings.getRows()) {
+      assertTrue(row.step, !row.step.startsWith("save"));
+    }
+    checkRow(timings.getRows().get(2), "total", 10);
+  }
+
+  @Test
+  public void ignoresFramesOutsideReloads() {
+    timings.frameRendered();
+    timings.requested(ReloadTimings.Kind.RELOAD);
+    now += 20;
+    timings.frameRendered();
+    assertEquals(0, timings.getRows().size());
+  }
+
+  @Test
+  public void ignoresFramesBeforeProgressFinished() {
+    timings.requested(ReloadTimings.Kind.RELOAD);
+    now += 10;
+    timings.progressStarted();
+    now += 50;
+    timings.frameRendered();
+    now += 100;
+    timings.progressFinished();
+    now += 16;
+    timings.frameRendered();
+
+    final List<ReloadTimings.Row> rows = timings.getRows();
+    assertEquals(4, rows.size());
+    checkRow(rows.get(3), "progress finished → first frame", 16);
+  }
+
+  @Test
+  public void histogramPercentilesAreCloseToTheValues() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 10);
+    }
+    assertEquals(100, histogram.getCount());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(500, histogram.getPercentile(50), 500 * 0.07);
+    assertEquals(950, histogram.getPercentile(95), 950 * 0.07);
+    assertEquals(1000, histogram.getPercentile(100));
+    assertEquals(0, new LatencyHistogram().getPercentile(50));
+  }
+
+  private static void checkRow(ReloadTimings.Row row, String step, long millis) {
+    assertEquals(step, row.step);
+    assertEquals(1, row.count);
+    assertEquals(millis, row.p50, millis * 0.07);
+    assertEquals(millis, row.max);
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import io.flutter.run.daemon.RunMode;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FailedTestsTest {
+
+  @Test
+  public void shouldRunEachFailedTestByName() {
+    final FailedTests failed = new FailedTests();
+    assertTrue(failed.add("dart_location:///app/test/b_test.dart,3,2,[\"adds\"]"));
+    assertTrue(failed.add("dart_location:///app/test/a_test.dart,12,4,[\"counter\",\"increments\"]"));
+    assertTrue(failed.add("dart_location:///app/test/a_test.dart,20,4,[\"counter\",\"says \\\"hi\\\"\"]"));
+
+    final List<FailedTests.Run> runs = failed.plan();
+    assertEquals("[[/app/test/a_test.dart] --plain-name counter says \"hi\", " +
+                 "[/app/test/a_test.dart] --plain-name counter increments, " +
+                 "[/app/test/b_test.dart] --plain-name adds]", runs.toString());
+  }
+
+  @Test
+  public void shouldDropNamesCoveredByOtherNames() {
+    final FailedTests failed = new FailedTests();
+    failed.add("dart_location:///app/test/a_test.dart,12,4,[\"counter\",\"increments\"]");
+    failed.add("dart_location:///app/test/a_test.dart,14,4,[\"counter\",\"increments twice\"]");
+    failed.add("dart_location:///app/test/b_test.dart,14,4,[\"counter\",\"increments twice\"]");
+
+    assertEquals("[[/app/test/a_test.dart] --plain-name counter increments, " +
+                 "[/app/test/b_test.dart] --plain-name counter increments twice]", failed.plan().toString());
+  }
+
+  @Test
+  public void shouldRunFilesThatFailedToLoadTogether() {
+    final FailedTests failed = new FailedTests();
+    failed.add("dart_location:///app/test/b_test.dart,-1,-1,[\"loading /app/test/b_test.dart\"]");
+    failed.add("dart_location:///app/test/a_test.dart,-1,-1,[]");
+    failed.add("dart_location:///app/test/a_test.dart,12,4,[\"counter\",\"increments\"]");
+
+    assertEquals("[[/app/test/a_test.dart, /app/test/b_test.dart]]", failed.plan().toString());
+  }
+
+  @Test
+  public void shouldRunFilesWithManyFailuresInFull() {
+    final FailedTests failed = new FailedTests();
+    for (int i = 0; i < FailedTests.MAX_NAMED_RUNS; i++) {
+      failed.add("dart_location:///app/test/a_test.dart," + i + ",2,[\"test " + (char)('a' + i) + "\"]");
+    }
+    failed.add("dart_location:///app/test/b_test.dart,3,2,[\"adds\"]");
+
+    assertEquals("[[/app/test/a_test.dart], [/app/test/b_test.dart] --plain-name adds]", failed.plan().toString());
+  }
+
+  @Test
+  public void shouldDebugOneFileInOneProcess() {
+    final FailedTests failed = new FailedTests();
+    failed.add("dart_location:///app/test/b_test.dart,3,2,[\"adds\"]");
+    assertEquals("[[/app/test/b_test.dart] --plain-name adds]", failed.plan(RunMode.DEBUG).toString());
+
+    failed.add("dart_location:///app/test/b_test.dart,9,2,[\"subtracts\"]");
+    assertEquals(2, failed.plan(RunMode.RUN).size());
+    assertEquals("[[/app/test/b_test.dart]]", failed.plan(RunMode.DEBUG).toString());
+    assertTrue(failed.canRun(RunMode.DEBUG));
+
+    // flutter test --start-paused needs a single file.
+    failed.add("dart_location:///app/test/a_test.dart,12,4,[\"counter\",\"increments\"]");
+    assertTrue(failed.canRun(RunMode.RUN));
+    assertFalse(failed.canRun(RunMode.DEBUG));
+  }
+
+  @Test
+  public void shouldRejectOtherLocations() {
+    final FailedTests failed = new FailedTests();
+    assertFalse(failed.add("unknown"));
+    assertFalse(failed.add("dart_location:///app/test/a_test.dart,3,2,[oops"));
+    assertTrue(failed.isEmpty());
+  }
+}
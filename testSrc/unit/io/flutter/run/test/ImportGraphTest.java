@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ImportGraphTest {
+
+  @Test
+  public void shouldParseDirectiveUris() {
+    final String source = "library app;\n" +
+                          "import 'dart:async';\n" +
+                          "import \"package:app/model.dart\" show Model;\n" +
+                          "import 'src/io.dart'\n" +
+                          "    if (dart.library.html) 'src/html.dart';\n" +
+                          "export 'widgets.dart';\n" +
+                          "part 'app.g.dart';\n" +
+                          "// import 'commented.dart';\n" +
+                          "void main() { print(\"import 'nope.dart';\"); }\n";
+    assertEquals(Arrays.asList("dart:async", "package:app/model.dart", "src/io.dart", "src/html.dart", "widgets.dart", "app.g.dart"),
+                 ImportGraph.parseUris(source));
+  }
+
+  @Test
+  public void shouldResolveUris() {
+    final Map<String, String> packages = ImmutableMap.of("app", "/work/app/lib");
+    assertEquals("/work/app/lib/model.dart", ImportGraph.resolve("/work/app/test/a_test.dart", "package:app/model.dart", packages));
+    assertEquals("/work/app/lib/util.dart", ImportGraph.resolve("/work/app/test/a_test.dart", "../lib/./util.dart", packages));
+    assertNull(ImportGraph.resolve("/work/app/test/a_test.dart", "package:other/x.dart", packages));
+    assertNull(ImportGraph.resolve("/work/app/test/a_test.dart", "dart:io", packages));
+  }
+
+  @Test
+  public void shouldParsePackages() {
+    final String text = "# Generated by pub\n" +
+                        "app:lib/\n" +
+                        "meta:file:///home/me/.pub-cache/hosted/pub.dartlang.org/meta-1.1.2/lib/\n";
+    assertEquals(ImmutableMap.of("app", "/work/app/lib", "meta", "/home/me/.pub-cache/hosted/pub.dartlang.org/meta-1.1.2/lib"),
+                 ImportGraph.parsePackages("/work/app", text));
+  }
+
+  @Test
+  public void shouldParseWindowsPackages() {
+    final String text = "app:lib/\n" +
+                        "meta:file:///C:/Users/me/AppData/Roaming/Pub/Cache/hosted/pub.dartlang.org/meta-1.1.2/lib/\n" +
+                        "util:file:///C:/My%20Packages/util/lib/\n";
+    assertEquals(ImmutableMap.of("app", "C:/work/app/lib",
+                                 "meta", "C:/Users/me/AppData/Roaming/Pub/Cache/hosted/pub.dartlang.org/meta-1.1.2/lib",
+                                 "util", "C:/My Packages/util/lib"),
+                 ImportGraph.parsePackages("C:/work/app", text));
+  }
+
+  @Test
+  public void shouldFindTransitiveDependents() {
+    final ImportGraph graph = new ImportGraph();
+    graph.setImports("/a_test.dart", Collections.singletonList("/widget.dart"));
+    graph.setImports("/b_test.dart", Collections.singletonList("/other.dart"));
+    graph.setImports("/widget.dart", Collections.singletonList("/model.dart"));
+
+    assertEquals(ImmutableSet.of("/model.dart", "/widget.dart", "/a_test.dart"),
+                 graph.findDependents(Collections.singletonList("/model.dart")));
+    assertTrue(graph.isImported("/model.dart"));
+
+    graph.setImports("/widget.dart", Collections.emptyList());
+    assertEquals(ImmutableSet.of("/model.dart"), graph.findDependents(Collections.singletonList("/model.dart")));
+    assertFalse(graph.isImported("/model.dart"));
+  }
+}
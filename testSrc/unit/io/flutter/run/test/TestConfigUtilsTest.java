@@ -12,7 +12,9 @@ import com.jetbrains.lang.dart.psi.DartFunctionDeclarationWithBodyOrNative;
 import io.flutter.AbstractDartElementTest;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class TestConfigUtilsTest extends AbstractDartElementTest {
@@ -39,4 +41,18 @@ public class TestConfigUtilsTest extends AbstractDartElementTest {
     });
   }
 
+  @Test
+  public void findTestName() throws Exception {
+    run(() -> {
+      final String fileText = "main() { group('my group', () { test('my test', () { expect(1, 1); }); print('in group'); }); }";
+      final PsiElement inTest = setUpDartElement(fileText, "expect", LeafPsiElement.class);
+      assertEquals("my test", TestConfigUtils.findTestName(inTest));
+
+      final PsiElement inGroup = setUpDartElement(fileText, "print", LeafPsiElement.class);
+      assertEquals("my group", TestConfigUtils.findTestName(inGroup));
+
+      final PsiElement outside = setUpDartElement(fileText, "main", LeafPsiElement.class);
+      assertNull(TestConfigUtils.findTestName(outside));
+    });
+  }
 }
@@ -85,6 +85,36 @@ public class TestFieldsTest {
     assertEquals("test/dir", after.getTestDir());
   }
 
+  @Test
+  public void roundTripShouldPreserveShards() {
+    final Element elt = new Element("test");
+    TestFields.forDir("test/dir").withShards(4).writeTo(elt);
+
+    final TestFields after = TestFields.readFrom(elt);
+    assertEquals(Scope.DIRECTORY, after.getScope());
+    assertEquals("test/dir", after.getTestDir());
+    assertEquals(4, after.getShards());
+  }
+
+  @Test
+  public void roundTripShouldPreserveAffectedOnly() {
+    final Element elt = new Element("test");
+    TestFields.forDir("test/dir").withAffectedOnly(true).writeTo(elt);
+
+    final TestFields after = TestFields.readFrom(elt);
+    assertEquals("test/dir", after.getTestDir());
+    assertEquals(true, after.isAffectedOnly());
+    assertEquals(1, after.getShards());
+  }
+
+  @Test
+  public void shouldDefaultToOneShard() {
+    final Element elt = new Element("test");
+    addOption(elt, "testDir", "test/dir");
+
+    assertEquals(1, TestFields.readFrom(elt).getShards());
+  }
+
   private void addOption(Element elt, String name, String value) {
     final Element child = new Element("option");
     child.setAttribute("name", name);
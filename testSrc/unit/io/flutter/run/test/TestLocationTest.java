@@ -0,0 +1,50 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Verifies that test location hints are parsed into a file, position and test names.
+ */
+public class TestLocationTest {
+
+  @Test
+  public void shouldParseLocationHint() {
+    final TestLocation location =
+      TestLocation.parse("dart_location:///Users/pq/untitled/test/unit_test.dart,3,2,[\"my first unit test\"]");
+    assertEquals("/Users/pq/untitled/test/unit_test.dart", location.path);
+    assertEquals(3, location.line);
+  }
+
+  @Test
+  public void shouldNotConfuseLinesWithSharedPrefix() {
+    final String url = "dart_location:///test/widget_test.dart,12,4,[\"group\",\"test, with comma\"]";
+    assertEquals(12, TestLocation.parse(url).line);
+    assertEquals(-1, TestLocation.parse("dart_location:///test/widget_test.dart,-1,-1,[]").line);
+  }
+
+  @Test
+  public void shouldParsePathsWithCommas() {
+    final TestLocation location =
+      TestLocation.parse("dart_location:///Users/pq/a,1,2,[b/test/unit_test.dart,7,3,[\"adds\",\"x,1,2,[y\"]");
+    assertNotNull(location);
+    assertEquals("/Users/pq/a,1,2,[b/test/unit_test.dart", location.path);
+    assertEquals(7, location.line);
+    assertEquals(3, location.column);
+    assertEquals("adds x,1,2,[y", location.getFullName());
+  }
+
+  @Test
+  public void shouldIgnoreOtherLocations() {
+    assertNull(TestLocation.parse("java:test://MyTest/testSomething"));
+    assertNull(TestLocation.parse("dart_location:///test/widget_test.dart"));
+  }
+}
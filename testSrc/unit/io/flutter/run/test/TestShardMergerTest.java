@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TestShardMergerTest {
+
+  @Test
+  public void shouldRemapIdsByShard() {
+    final TestShardMerger merger = new TestShardMerger(3);
+    assertEquals("{\"test\":{\"id\":14,\"name\":\"adds\",\"suiteID\":2,\"groupIDs\":[5,11],\"line\":3},\"type\":\"testStart\",\"time\":10}",
+                 merger.rewrite(2, "{\"test\":{\"id\":4,\"name\":\"adds\",\"suiteID\":0,\"groupIDs\":[1,3],\"line\":3}," +
+                                   "\"type\":\"testStart\",\"time\":10}"));
+    assertEquals("{\"testID\":13,\"result\":\"success\",\"type\":\"testDone\",\"time\":12}",
+                 merger.rewrite(1, "{\"testID\":4,\"result\":\"success\",\"type\":\"testDone\",\"time\":12}"));
+    assertEquals("{\"group\":{\"id\":3,\"parentID\":null},\"type\":\"group\"}",
+                 merger.rewrite(0, "{\"group\":{\"id\":1,\"parentID\":null},\"type\":\"group\"}"));
+  }
+
+  @Test
+  public void shouldReportOneStartAndDone() {
+    final TestShardMerger merger = new TestShardMerger(2);
+    final String start = "{\"protocolVersion\":\"0.1.0\",\"type\":\"start\",\"time\":0}";
+    assertEquals(start, merger.rewrite(0, start));
+    assertNull(merger.rewrite(1, start));
+
+    assertNull(merger.rewrite(1, "{\"success\":true,\"type\":\"done\",\"time\":40}"));
+    assertNull(merger.rewrite(0, "{\"success\":false,\"type\":\"done\",\"time\":55}"));
+    assertEquals("{\"success\":false,\"type\":\"done\",\"time\":55}", merger.finish());
+  }
+
+  @Test
+  public void shouldSumSuiteCounts() {
+    final TestShardMerger merger = new TestShardMerger(2);
+    assertEquals("{\"count\":3,\"type\":\"allSuites\",\"time\":1}", merger.rewrite(0, "{\"count\":3,\"type\":\"allSuites\",\"time\":1}"));
+    assertEquals("{\"count\":5,\"type\":\"allSuites\",\"time\":2}", merger.rewrite(1, "{\"count\":2,\"type\":\"allSuites\",\"time\":2}"));
+  }
+
+  @Test
+  public void shouldPassThroughOtherOutput() {
+    final TestShardMerger merger = new TestShardMerger(2);
+    assertEquals("00:01 +1: All tests passed!", merger.rewrite(1, "00:01 +1: All tests passed!"));
+    assertEquals("{\"type\":\"done\"} trailing", merger.rewrite(1, "{\"type\":\"done\"} trailing"));
+    assertEquals("{\"id\":", merger.rewrite(1, "{\"id\":"));
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestShardsTest {
+
+  @Test
+  public void shouldBalanceShardsByWeight() {
+    final List<List<Integer>> shards = TestShards.split(Arrays.asList(1, 8, 3, 5, 2, 4), 2, Integer::longValue);
+    assertEquals(Arrays.asList(Arrays.asList(8, 3, 1), Arrays.asList(5, 4, 2)), shards);
+  }
+
+  @Test
+  public void shouldLeaveOutEmptyShards() {
+    final List<List<Integer>> shards = TestShards.split(Arrays.asList(3, 7), 4, Integer::longValue);
+    assertEquals(Arrays.asList(Collections.singletonList(7), Collections.singletonList(3)), shards);
+  }
+}
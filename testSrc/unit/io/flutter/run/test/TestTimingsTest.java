@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.run.test;
+
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.junit.Assert.*;
+
+public class TestTimingsTest {
+
+  @Test
+  public void shouldComputePercentilesOfRecentRuns() {
+    final TestTimings timings = new TestTimings();
+    for (int millis = 1; millis <= 30; millis++) {
+      timings.record("/app/test/a_test.dart", "adds", millis * 10, millis % 10 == 0);
+    }
+
+    final TestTimings.Test test = timings.getTest("/app/test/a_test.dart", "adds");
+    assertNotNull(test);
+    // Only the last 20 runs (110 to 300 ms) are kept.
+    assertEquals(TestTimings.MAX_SAMPLES, test.getRunCount());
+    assertEquals(200, test.getPercentile(50));
+    assertEquals(290, test.getPercentile(95));
+    assertEquals(300, test.getLastDuration());
+    assertEquals(2, test.getFailureCount());
+  }
+
+  @Test
+  public void shouldFlagMuchSlowerRuns() {
+    final TestTimings timings = new TestTimings();
+    for (int i = 0; i < TestTimings.MIN_SAMPLES_FOR_REGRESSION; i++) {
+      assertFalse(timings.record("/app/test/a_test.dart", "adds", 100, false));
+    }
+    assertFalse(timings.record("/app/test/a_test.dart", "adds", 180, false));
+    assertTrue(timings.record("/app/test/a_test.dart", "adds", 400, false));
+    assertTrue(timings.getTest("/app/test/a_test.dart", "adds").isRegressed());
+  }
+
+  @Test
+  public void shouldSumMediansPerFile() {
+    final TestTimings timings = new TestTimings();
+    timings.record("/app/test/a_test.dart", "adds", 100, false);
+    timings.record("/app/test/a_test.dart", "subtracts", 50, false);
+    assertEquals(150, timings.getFileDuration("/app/test/a_test.dart"));
+    assertEquals(-1, timings.getFileDuration("/app/test/b_test.dart"));
+  }
+
+  @Test
+  public void shouldRoundTripThroughStreams() throws IOException {
+    final TestTimings timings = new TestTimings();
+    timings.record("/app/test/a_test.dart", "counter increments", 120, false);
+    timings.record("/app/test/a_test.dart", "counter increments", 80, true);
+    timings.record("/app/test/b_test.dart", "adds", 5, false);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    timings.write(new DataOutputStream(bytes));
+
+    final TestTimings after = new TestTimings();
+    after.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    final TestTimings.Test test = after.getTest("/app/test/a_test.dart", "counter increments");
+    assertNotNull(test);
+    assertEquals(2, test.getRunCount());
+    assertEquals(1, test.getFailureCount());
+    assertEquals(80, test.getLastDuration());
+    assertEquals(2, after.getTests().size());
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldRejectUnknownFormat() throws IOException {
+    new TestTimings().read(new DataInputStream(new ByteArrayInputStream(new byte[]{0, 0, 0, 99})));
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.sdk;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class FlutterConfigCacheTest {
+  @Rule
+  public final TemporaryFolder tmp = new TemporaryFolder();
+
+  private File cacheFile;
+  private File settingsFile;
+  private int queries;
+
+  @Before
+  public void setUp() throws IOException {
+    cacheFile = new File(tmp.getRoot(), "cache/config-cache.json");
+    settingsFile = tmp.newFile(".flutter_settings");
+  }
+
+  @Test
+  public void runsQueryOnceThenUsesCache() throws Exception {
+    final FlutterConfigCache cache = newCache(Runnable::run);
+    assertEquals("/sdk/android", cache.get("sdk@1.0", this::query).get().get("android-sdk"));
+    assertEquals("/sdk/android", cache.get("sdk@1.0", this::query).get().get("android-sdk"));
+    assertEquals(1, queries);
+
+    cache.get("sdk@1.1", this::query).get();
+    assertEquals(2, queries);
+  }
+
+  @Test
+  public void concurrentCallersShareOneQuery() {
+    final List<Runnable> tasks = new ArrayList<>();
+    final FlutterConfigCache cache = newCache(tasks::add);
+    final CompletableFuture<Map<String, String>> first = cache.get("sdk@1.0", this::query);
+    final CompletableFuture<Map<String, String>> second = cache.get("sdk@1.0", this::query);
+    assertSame(first, second);
+    assertFalse(first.isDone());
+
+    tasks.forEach(Runnable::run);
+    assertEquals(1, queries);
+    assertTrue(second.isDone());
+  }
+
+  @Test
+  public void persistsAcrossInstances() throws Exception {
+    newCache(Runnable::run).get("sdk@1.0", this::query).get();
+
+    final FlutterConfigCache reloaded = newCache(Runnable::run);
+    final Map<String, String> values = reloaded.getIfCached("sdk@1.0");
+    assertNotNull(values);
+    assertEquals("/sdk/android", values.get("android-sdk"));
+    assertEquals(1, queries);
+  }
+
+  @Test
+  public void settingsChangeInvalidatesCache() throws Exception {
+    final FlutterConfigCache cache = newCache(Runnable::run);
+    cache.get("sdk@1.0", this::query).get();
+
+    assertTrue(settingsFile.setLastModified(settingsFile.lastModified() - 10000));
+    assertNull(newCache(Runnable::run).getIfCached("sdk@1.0"));
+
+    cache.invalidate();
+    assertNull(cache.getIfCached("sdk@1.0"));
+  }
+
+  @Test
+  public void failuresAreNotCached() throws Exception {
+    final FlutterConfigCache cache = newCache(Runnable::run);
+    assertNull(cache.get("sdk@1.0", () -> null).get());
+    assertNull(cache.getIfCached("sdk@1.0"));
+  }
+
+  private FlutterConfigCache newCache(Executor executor) {
+    return new FlutterConfigCache(cacheFile, settingsFile, executor);
+  }
+
+  private Map<String, String> query() {
+    queries++;
+    return Collections.singletonMap("android-sdk", "/sdk/android");
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.utils;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.Color;
+
+import static org.junit.Assert.*;
+
+public class IconCacheTest {
+  private static Icon icon() {
+    return new ImageIcon();
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedIcon() {
+    final IconCache<Integer> cache = new IconCache<>(2);
+    final Icon first = cache.get(1, (Integer key) -> icon());
+    final Icon second = cache.get(2, (Integer key) -> icon());
+    assertSame(first, cache.get(1, (Integer key) -> icon()));
+    cache.get(3, (Integer key) -> icon());
+    assertEquals(2, cache.size());
+    assertSame(first, cache.get(1, (Integer key) -> icon()));
+    assertNotSame(second, cache.get(2, (Integer key) -> icon()));
+  }
+
+  @Test
+  public void doesNotCacheNullIcons() {
+    final IconCache<String> cache = new IconCache<>(4);
+    assertNull(cache.get("missing", (String key) -> null));
+    assertEquals(0, cache.size());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void colorIconsAreSharedByArgbValue() {
+    final Icon icon = new ColorIconMaker().getCustomIcon(0xff2196f3);
+    assertSame(icon, new ColorIconMaker().getCustomIcon(new Color(0x21, 0x96, 0xf3)));
+    assertNotSame(icon, new ColorIconMaker().getCustomIcon(0x802196f3));
+  }
+
+  /**
+   * Repaints every row of a large tree whose rows show one of a few hundred colors, checking that
+   * no repaint allocates a new icon for a row.
+   */
+  @Test
+  public void repaintsLargeTreeWithCachedIcons() {
+    final int rows = 50000;
+    final int repaints = 20;
+    final int[] rowColors = new int[rows];
+    for (int row = 0; row < rows; ++row) {
+      rowColors[row] = 0xff000000 | ((row % 200) * 0x010305);
+    }
+
+    final ColorIconMaker maker = new ColorIconMaker();
+    final Icon[] firstPaint = new Icon[rows];
+    for (int pass = 0; pass < repaints; ++pass) {
+      for (int row = 0; row < rows; ++row) {
+        final Icon icon = maker.getCustomIcon(rowColors[row]);
+        if (pass == 0) {
+          firstPaint[row] = icon;
+        }
+        else if (icon != firstPaint[row]) {
+          fail("row " + row + " got a new icon on repaint " + pass);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void repeatedLookupsReturnTheCachedInstance() {
+    final int keys = 200;
+    final IconCache<Integer> cache = new IconCache<>(keys);
+    final int[] created = new int[1];
+    final Icon[] firstLookup = new Icon[keys];
+    for (int pass = 0; pass < 20; ++pass) {
+      for (int key = 0; key < keys; ++key) {
+        final Icon icon = cache.get(key, (Integer k) -> {
+          created[0]++;
+          return icon();
+        });
+        if (pass == 0) {
+          firstLookup[key] = icon;
+        }
+        assertSame(firstLookup[key], icon);
+      }
+    }
+    assertEquals(keys, created[0]);
+    assertEquals(keys, cache.getMissCount());
+    assertEquals(19 * keys, cache.getHitCount());
+  }
+}
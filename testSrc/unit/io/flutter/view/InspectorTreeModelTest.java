@@ -0,0 +1,199 @@
+/*
+ * Copyright 2018 The Chromium Authors. All rights reserved.
+ * Use of this source code is governed by a BSD-style license that can be
+ * found in the LICENSE file.
+ */
+package io.flutter.view;
+
+import com.google.gson.JsonObject;
+import io.flutter.inspector.DiagnosticsNode;
+import org.junit.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InspectorTreeModelTest {
+  private int nextId;
+
+  private DiagnosticsNode node(String description, boolean hasChildren) {
+    return node(description, hasChildren, "inspector-" + nextId++);
+  }
+
+  private static DiagnosticsNode node(String description, boolean hasChildren, String objectId) {
+    final JsonObject json = new JsonObject();
+    json.addProperty("description", description);
+    json.addProperty("hasChildren", hasChildren);
+    json.addProperty("objectId", objectId);
+    return new DiagnosticsNode(json, null);
+  }
+
+  @Test
+  public void showsPlaceholderUntilChildrenAreLoaded() {
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", true));
+    final InspectorTreeModel.Node root = model.getRoot();
+    assertNotNull(root);
+    assertFalse(model.childrenLoaded(root));
+    assertEquals(1, model.getChildCount(root));
+    assertEquals(InspectorTreeModel.LOADING_TEXT, model.getChild(root, 0).getUserObject());
+
+    model.setChildren(root, Arrays.asList(node("a", false), node("b", true)));
+    assertTrue(model.childrenLoaded(root));
+    assertEquals(2, model.getChildCount(root));
+    final InspectorTreeModel.Node b = model.getChild(root, 1);
+    assertEquals("b", model.getDiagnostic(b).getDescription());
+    assertEquals(1, model.getIndexOfChild(root, b));
+    assertEquals(new TreePath(new Object[]{root, b}), model.getPath(b));
+    assertTrue(model.isLeaf(model.getChild(root, 0)));
+  }
+
+  @Test
+  public void setChildrenKeepsSubtreesOfMatchingChildren() {
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", true));
+    final InspectorTreeModel.Node root = model.getRoot();
+    final DiagnosticsNode a = node("a", true);
+    final DiagnosticsNode b = node("b", true);
+    model.setChildren(root, Arrays.asList(a, b));
+    model.setChildren(model.getChild(root, 0), Arrays.asList(node("a1", false), node("a2", false)));
+    model.setChildren(model.getChild(root, 1), Arrays.asList(node("b1", false)));
+    assertEquals(6, model.getNodeCount());
+
+    final InspectorTreeModel.Node oldB = model.getChild(root, 1);
+    model.setChildren(root, Arrays.asList(a, node("c", true)));
+    assertEquals(2, model.getChildCount(model.getChild(root, 0)));
+    assertFalse(model.childrenLoaded(model.getChild(root, 1)));
+    assertEquals(5, model.getNodeCount());
+    // Swing nodes for released subtrees no longer match anything.
+    assertNull(model.getDiagnostic(oldB));
+    assertNotEquals(oldB, model.getChild(root, 1));
+  }
+
+  @Test
+  public void setRootInvalidatesOldNodes() {
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", false));
+    final InspectorTreeModel.Node oldRoot = model.getRoot();
+    model.setRoot(node("new root", false));
+    assertNull(model.getDiagnostic(oldRoot));
+    assertNotEquals(oldRoot, model.getRoot());
+    model.clear();
+    assertNull(model.getRoot());
+    assertEquals(0, model.getNodeCount());
+  }
+
+  @Test
+  public void setRootWithSameObjectKeepsTree() {
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", true, "root"));
+    final InspectorTreeModel.Node rootNode = model.getRoot();
+    model.setChildren(rootNode, Arrays.asList(node("a", false, "a"), node("b", false, "b")));
+    final InspectorTreeModel.Node aNode = model.getChild(rootNode, 0);
+
+    final List<String> events = new ArrayList<>();
+    model.addTreeModelListener(new TreeModelListener() {
+      @Override
+      public void treeNodesChanged(TreeModelEvent e) {
+        events.add(e.getChildIndices() == null ? "changed root" : "changed " + e.getChildIndices().length);
+      }
+
+      @Override
+      public void treeNodesInserted(TreeModelEvent e) {
+        events.add("inserted");
+      }
+
+      @Override
+      public void treeNodesRemoved(TreeModelEvent e) {
+        events.add("removed");
+      }
+
+      @Override
+      public void treeStructureChanged(TreeModelEvent e) {
+        events.add("structure");
+      }
+    });
+
+    // A refresh returns new DiagnosticsNodes for the same Dart objects.
+    model.setRoot(node("root", true, "root"));
+    model.setChildren(rootNode, Arrays.asList(node("a", false, "a"), node("b", false, "b")));
+    assertSame(rootNode, model.getRoot());
+    assertSame(aNode, model.getChild(rootNode, 0));
+    assertEquals(3, model.getNodeCount());
+    // Only the root and the one child that was handed out are reported, and nothing collapses.
+    assertEquals(Arrays.asList("changed root", "changed 1"), events);
+  }
+
+  @Test
+  public void insertsAndRemovesThroughSwingNodes() {
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", true));
+    final InspectorTreeModel.Node root = model.getRoot();
+    assertNotNull(root);
+
+    root.add(new DefaultMutableTreeNode(node("b", false)));
+    root.insert(new DefaultMutableTreeNode(node("a", true)), 0);
+    assertTrue(model.childrenLoaded(root));
+    assertEquals(2, root.getChildCount());
+    assertEquals("a", model.getDiagnostic(model.getChild(root, 0)).getDescription());
+    assertEquals("b", model.getDiagnostic(model.getChild(root, 1)).getDescription());
+    assertEquals(root, model.getChild(root, 1).getParent());
+
+    final InspectorTreeModel.Node a = model.getChild(root, 0);
+    model.setChildren(a, Arrays.asList(node("a1", false), node("a2", false)));
+    assertEquals(5, model.getNodeCount());
+    root.remove(0);
+    assertEquals(1, root.getChildCount());
+    assertEquals("b", model.getDiagnostic(model.getChild(root, 0)).getDescription());
+    assertNull(model.getDiagnostic(a));
+    assertEquals(2, model.getNodeCount());
+  }
+
+  @Test
+  public void loadsFiftyThousandNodeTreeLazily() {
+    final int branches = 50;
+    final int leavesPerBranch = 1000;
+    final InspectorTreeModel model = new InspectorTreeModel();
+    model.setRoot(node("root", true));
+    final InspectorTreeModel.Node root = model.getRoot();
+    assertNotNull(root);
+    final List<DiagnosticsNode> branchNodes = new ArrayList<>();
+    for (int i = 0; i < branches; ++i) {
+      branchNodes.add(node("branch " + i, true));
+    }
+    model.setChildren(root, branchNodes);
+    for (int i = 0; i < branches; ++i) {
+      final List<DiagnosticsNode> leaves = new ArrayList<>();
+      for (int j = 0; j < leavesPerBranch; ++j) {
+        leaves.add(node("leaf " + j, false));
+      }
+      model.setChildren(model.getChild(root, i), leaves);
+    }
+    assertEquals(1 + branches + branches * leavesPerBranch, model.getNodeCount());
+
+    // A collapsed tree only materializes the rows it displays, the root and its children.
+    assertEquals(1 + branches, model.getMaterializedCount());
+
+    // Painting asks for the same rows again, which reuses their nodes.
+    for (int i = 0; i < model.getChildCount(root); ++i) {
+      assertSame(model.getChild(root, i), model.getChild(root, i));
+      assertFalse(model.isLeaf(model.getChild(root, i)));
+      assertEquals(leavesPerBranch, model.getChildCount(model.getChild(root, i)));
+      assertSame(root, model.getChild(root, i).getParent());
+    }
+    assertEquals(1 + branches, model.getMaterializedCount());
+
+    // Expanding one branch materializes only its leaves.
+    final InspectorTreeModel.Node branch = model.getChild(root, 7);
+    for (int j = 0; j < leavesPerBranch; ++j) {
+      assertTrue(model.isLeaf(model.getChild(branch, j)));
+    }
+    assertEquals(1 + branches + leavesPerBranch, model.getMaterializedCount());
+  }
+}
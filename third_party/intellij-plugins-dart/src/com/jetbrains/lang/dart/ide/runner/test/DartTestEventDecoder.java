@@ -0,0 +1,438 @@
+package com.jetbrains.lang.dart.ide.runner.test;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * Decodes single events of the package:test JSON reporter protocol without building a JSON tree.
+ * <p>
+ * The event type is found with a scan of the raw text, so events the converter ignores are never
+ * parsed. Other events are read with a {@link JsonReader} into a reused {@link Event}, keeping only
+ * the members the converter uses.
+ */
+class DartTestEventDecoder {
+  static final int TYPE_NONE = 0;
+  static final int TYPE_START = 1;
+  static final int TYPE_SUITE = 2;
+  static final int TYPE_ERROR = 3;
+  static final int TYPE_GROUP = 4;
+  static final int TYPE_PRINT = 5;
+  static final int TYPE_DONE = 6;
+  static final int TYPE_ALL_SUITES = 7;
+  static final int TYPE_TEST_START = 8;
+  static final int TYPE_TEST_DONE = 9;
+
+  /**
+   * The type of events that have a type the converter does not handle.
+   */
+  static final int TYPE_UNHANDLED = -1;
+
+  /**
+   * Type names indexed by type.
+   */
+  private static final String[] TYPE_NAMES =
+    {null, "start", "suite", "error", "group", "print", "done", "allSuites", "testStart", "testDone"};
+
+  private final Event event = new Event();
+
+  /**
+   * Returns the type of the event in text without parsing it.
+   * <p>
+   * Returns {@link #TYPE_NONE} if text has no top-level type member, and {@link #TYPE_UNHANDLED} if the type is
+   * not one the converter handles. Strings are skipped and nesting is tracked, so a type member of a nested
+   * object or inside string content is not mistaken for the event type.
+   */
+  static int peekType(@NotNull String text) {
+    final int length = text.length();
+    int depth = 0;
+    boolean expectName = false;
+    for (int i = 0; i < length; i++) {
+      switch (text.charAt(i)) {
+        case '"': {
+          final int end = skipString(text, i);
+          if (end < 0) {
+            return TYPE_NONE;
+          }
+          if (depth == 1 && expectName && end - i == 5 && text.startsWith("type", i + 1)) {
+            return peekTypeValue(text, end + 1);
+          }
+          expectName = false;
+          i = end;
+          break;
+        }
+        case '{':
+          depth++;
+          expectName = true;
+          break;
+        case '[':
+          depth++;
+          expectName = false;
+          break;
+        case '}':
+        case ']':
+          depth--;
+          break;
+        case ',':
+          expectName = true;
+          break;
+        case ':':
+          expectName = false;
+          break;
+        default:
+      }
+    }
+    return TYPE_NONE;
+  }
+
+  /**
+   * Returns the type named by the value that follows the type member name ending before start.
+   */
+  private static int peekTypeValue(@NotNull String text, int start) {
+    int i = skipWhitespace(text, start);
+    if (i >= text.length() || text.charAt(i) != ':') {
+      return TYPE_NONE;
+    }
+    i = skipWhitespace(text, i + 1);
+    if (i >= text.length() || text.charAt(i) != '"') {
+      return TYPE_UNHANDLED;
+    }
+    i++;
+    for (int type = 1; type < TYPE_NAMES.length; type++) {
+      final String name = TYPE_NAMES[type];
+      if (text.startsWith(name, i) && text.length() > i + name.length() && text.charAt(i + name.length()) == '"') {
+        return type;
+      }
+    }
+    return TYPE_UNHANDLED;
+  }
+
+  /**
+   * Returns the index of the quote that closes the string starting at start, or -1 if it is not closed.
+   */
+  private static int skipString(@NotNull String text, int start) {
+    for (int i = start + 1; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (c == '\\') {
+        i++;
+      }
+      else if (c == '"') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int skipWhitespace(@NotNull String text, int start) {
+    int i = start;
+    while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Decodes the JSON object in text.
+   * <p>
+   * The returned event is reused by the next call.
+   *
+   * @throws JsonSyntaxException if text is not a single JSON object
+   */
+  @NotNull
+  Event decode(@NotNull String text) throws JsonSyntaxException {
+    final JsonReader reader = new JsonReader(new StringReader(text));
+    reader.setLenient(true);
+    event.reset();
+    try {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "type":
+            event.type = typeOf(readString(reader));
+            break;
+          case "time":
+            event.time = readLong(reader);
+            break;
+          case "testID":
+            event.testId = readInt(reader, -1);
+            break;
+          case "count":
+            event.count = readInt(reader, -1);
+            break;
+          case "message":
+            event.message = readString(reader);
+            break;
+          case "error":
+            event.error = readString(reader);
+            break;
+          case "stackTrace":
+            event.stackTrace = readString(reader);
+            break;
+          case "result":
+            event.result = readString(reader);
+            break;
+          case "isFailure":
+            event.isFailure = readBoolean(reader);
+            break;
+          case "test":
+          case "group":
+          case "suite":
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+              readItem(reader, event.item);
+              event.hasItem = true;
+            }
+            else {
+              reader.skipValue();
+            }
+            break;
+          default:
+            reader.skipValue();
+        }
+      }
+      reader.endObject();
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("Did not consume the entire document.");
+      }
+    }
+    catch (IOException | IllegalStateException | NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+    return event;
+  }
+
+  private static int typeOf(@Nullable String name) {
+    if (name == null) {
+      return TYPE_NONE;
+    }
+    for (int type = 1; type < TYPE_NAMES.length; type++) {
+      if (TYPE_NAMES[type].equals(name)) {
+        return type;
+      }
+    }
+    return TYPE_UNHANDLED;
+  }
+
+  private static void readItem(@NotNull JsonReader reader, @NotNull ItemData item) throws IOException {
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "id":
+          item.id = readInt(reader, -1);
+          item.hasId = item.id >= 0;
+          break;
+        case "name":
+          item.name = readString(reader);
+          break;
+        case "suiteID":
+          item.suiteId = readInt(reader, -1);
+          break;
+        case "parentID":
+          item.parentId = readInt(reader, -1);
+          break;
+        case "groupIDs":
+          readGroupIds(reader, item);
+          break;
+        case "testCount":
+          item.testCount = readInt(reader, -1);
+          break;
+        case "line":
+          item.line = readInt(reader, -1);
+          break;
+        case "column":
+          item.column = readInt(reader, -1);
+          break;
+        case "url":
+          item.url = readString(reader);
+          break;
+        case "path":
+          item.path = readString(reader);
+          break;
+        case "platform":
+          item.platform = readString(reader);
+          break;
+        case "metadata":
+          readMetadata(reader, item);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+  }
+
+  private static void readGroupIds(@NotNull JsonReader reader, @NotNull ItemData item) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+      reader.skipValue();
+      return;
+    }
+    reader.beginArray();
+    while (reader.hasNext()) {
+      final int id = readInt(reader, -1);
+      if (item.groupIdCount == item.groupIds.length) {
+        final int[] groupIds = new int[item.groupIds.length * 2];
+        System.arraycopy(item.groupIds, 0, groupIds, 0, item.groupIdCount);
+        item.groupIds = groupIds;
+      }
+      item.groupIds[item.groupIdCount++] = id;
+    }
+    reader.endArray();
+  }
+
+  private static void readMetadata(@NotNull JsonReader reader, @NotNull ItemData item) throws IOException {
+    if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+      reader.skipValue();
+      return;
+    }
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "skip":
+          item.skip = readBoolean(reader) == Boolean.TRUE;
+          break;
+        case "skipReason":
+          item.skipReason = readString(reader);
+          break;
+        default:
+          reader.skipValue();
+      }
+    }
+    reader.endObject();
+  }
+
+  @Nullable
+  private static String readString(@NotNull JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case STRING:
+      case NUMBER:
+        return reader.nextString();
+      case BOOLEAN:
+        return String.valueOf(reader.nextBoolean());
+      default:
+        reader.skipValue();
+        return null;
+    }
+  }
+
+  private static int readInt(@NotNull JsonReader reader, int defaultValue) throws IOException {
+    switch (reader.peek()) {
+      case STRING:
+      case NUMBER:
+        return reader.nextInt();
+      default:
+        reader.skipValue();
+        return defaultValue;
+    }
+  }
+
+  @Nullable
+  private static Long readLong(@NotNull JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case STRING:
+      case NUMBER:
+        return reader.nextLong();
+      default:
+        reader.skipValue();
+        return null;
+    }
+  }
+
+  @Nullable
+  private static Boolean readBoolean(@NotNull JsonReader reader) throws IOException {
+    switch (reader.peek()) {
+      case BOOLEAN:
+        return reader.nextBoolean();
+      case STRING:
+        return Boolean.parseBoolean(reader.nextString());
+      default:
+        reader.skipValue();
+        return null;
+    }
+  }
+
+  /**
+   * The members of a package:test event that the converter uses.
+   * <p>
+   * Absent int members are -1 and absent object members are null.
+   */
+  static class Event {
+    int type;
+    @Nullable Long time;
+    int testId;
+    int count;
+    @Nullable String message;
+    @Nullable String error;
+    @Nullable String stackTrace;
+    @Nullable String result;
+    @Nullable Boolean isFailure;
+
+    /**
+     * The test, group or suite of the event, valid if hasItem is set.
+     */
+    final ItemData item = new ItemData();
+    boolean hasItem;
+
+    void reset() {
+      type = TYPE_NONE;
+      time = null;
+      testId = -1;
+      count = -1;
+      message = null;
+      error = null;
+      stackTrace = null;
+      result = null;
+      isFailure = null;
+      item.reset();
+      hasItem = false;
+    }
+  }
+
+  /**
+   * The members of a test, group or suite.
+   */
+  static class ItemData {
+    int id;
+    boolean hasId;
+    @Nullable String name;
+    int suiteId;
+    int parentId;
+    int[] groupIds = new int[8];
+    int groupIdCount;
+    int testCount;
+    int line;
+    int column;
+    @Nullable String url;
+    @Nullable String path;
+    @Nullable String platform;
+    boolean skip;
+    @Nullable String skipReason;
+
+    void reset() {
+      id = -1;
+      hasId = false;
+      name = null;
+      suiteId = -1;
+      parentId = -1;
+      groupIdCount = 0;
+      testCount = -1;
+      line = -1;
+      column = -1;
+      url = null;
+      path = null;
+      platform = null;
+      skip = false;
+      skipReason = null;
+    }
+
+    /**
+     * Returns the innermost group id, or -1 if the item has no groups.
+     */
+    int getLastGroupId() {
+      return groupIdCount > 0 ? groupIds[groupIdCount - 1] : -1;
+    }
+  }
+}
@@ -13,16 +13,14 @@ import com.intellij.util.PathUtil;
 import com.jetbrains.lang.dart.ide.runner.util.DartTestLocationProvider;
 import com.jetbrains.lang.dart.util.DartUrlResolver;
 import gnu.trove.TIntLongHashMap;
+import gnu.trove.TIntObjectHashMap;
 import jetbrains.buildServer.messages.serviceMessages.ServiceMessageVisitor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -37,42 +35,6 @@ import java.util.regex.Pattern;
 public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter {
   private static final Logger LOG = Logger.getInstance(DartTestEventsConverterZ.class);
 
-  private static final String TYPE_START = "start";
-  private static final String TYPE_SUITE = "suite";
-  private static final String TYPE_ERROR = "error";
-  private static final String TYPE_GROUP = "group";
-  private static final String TYPE_PRINT = "print";
-  private static final String TYPE_DONE = "done";
-  private static final String TYPE_ALL_SUITES = "allSuites";
-  private static final String TYPE_TEST_START = "testStart";
-  private static final String TYPE_TEST_DONE = "testDone";
-
-  private static final String DEF_GROUP = "group";
-  private static final String DEF_SUITE = "suite";
-  private static final String DEF_TEST = "test";
-  private static final String DEF_METADATA = "metadata";
-
-  private static final String JSON_TYPE = "type";
-  private static final String JSON_NAME = "name";
-  private static final String JSON_ID = "id";
-  private static final String JSON_TEST_ID = "testID";
-  private static final String JSON_SUITE_ID = "suiteID";
-  private static final String JSON_PARENT_ID = "parentID";
-  private static final String JSON_GROUP_IDS = "groupIDs";
-  private static final String JSON_RESULT = "result";
-  private static final String JSON_MILLIS = "time";
-  private static final String JSON_COUNT = "count";
-  private static final String JSON_TEST_COUNT = "testCount";
-  private static final String JSON_MESSAGE = "message";
-  private static final String JSON_ERROR_MESSAGE = "error";
-  private static final String JSON_STACK_TRACE = "stackTrace";
-  private static final String JSON_IS_FAILURE = "isFailure";
-  private static final String JSON_PATH = "path";
-  private static final String JSON_PLATFORM = "platform";
-  private static final String JSON_LINE = "line";
-  private static final String JSON_COLUMN = "column";
-  private static final String JSON_URL = "url";
-
   private static final String RESULT_SUCCESS = "success";
   private static final String RESULT_FAILURE = "failure";
   private static final String RESULT_ERROR = "error";
@@ -88,14 +50,15 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   private static final Gson GSON = new Gson();
 
   @NotNull private final DartUrlResolver myUrlResolver;
+  @NotNull private final DartTestEventDecoder myDecoder = new DartTestEventDecoder();
 
   private String myLocation;
   private Key myCurrentOutputType;
   private ServiceMessageVisitor myCurrentVisitor;
   private TIntLongHashMap myTestIdToTimestamp;
-  private Map<Integer, Test> myTestData;
-  private Map<Integer, Group> myGroupData;
-  private Map<Integer, Suite> mySuiteData;
+  private TIntObjectHashMap<Test> myTestData;
+  private TIntObjectHashMap<Group> myGroupData;
+  private TIntObjectHashMap<Suite> mySuiteData;
   private int mySuitCount;
 
   public DartTestEventsConverterZ(@NotNull final String testFrameworkName,
@@ -104,9 +67,9 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     super(testFrameworkName, consoleProperties);
     myUrlResolver = urlResolver;
     myTestIdToTimestamp = new TIntLongHashMap();
-    myTestData = new HashMap<>();
-    myGroupData = new HashMap<>();
-    mySuiteData = new HashMap<>();
+    myTestData = new TIntObjectHashMap<>();
+    myGroupData = new TIntObjectHashMap<>();
+    mySuiteData = new TIntObjectHashMap<>();
   }
 
   protected boolean processServiceMessages(final String text, final Key outputType, final ServiceMessageVisitor visitor)
@@ -120,10 +83,19 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
 
   @SuppressWarnings("SimplifiableIfStatement")
   private boolean processEventText(final String text) throws JsonSyntaxException, ParseException {
-    JsonParser jp = new JsonParser();
-    JsonElement elem;
+    final boolean isObject = isJsonObject(text);
+    // Events of types we don't handle are dropped without being parsed.
+    if (isObject && DartTestEventDecoder.peekType(text) == DartTestEventDecoder.TYPE_UNHANDLED) return true;
+
+    DartTestEventDecoder.Event event = null;
+    JsonElement elem = null;
     try {
-      elem = jp.parse(text);
+      if (isObject) {
+        event = myDecoder.decode(text);
+      }
+      else {
+        elem = new JsonParser().parse(text);
+      }
     }
     catch (JsonSyntaxException ex) {
       if (text.contains("\"json\" is not an allowed value for option \"reporter\"")) {
@@ -137,10 +109,18 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
       return doProcessServiceMessages(text);
     }
 
+    if (event != null) return process(event);
+
     if (elem != null && elem.isJsonArray()) return process(elem.getAsJsonArray());
+    return false;
+  }
 
-    if (elem == null || !elem.isJsonObject()) return false;
-    return process(elem.getAsJsonObject());
+  private static boolean isJsonObject(@NotNull String text) {
+    for (int i = 0; i < text.length(); i++) {
+      final char c = text.charAt(i);
+      if (!Character.isWhitespace(c)) return c == '{';
+    }
+    return false;
   }
 
   /**
@@ -155,47 +135,34 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return super.processServiceMessages(text, myCurrentOutputType, myCurrentVisitor);
   }
 
-  @SuppressWarnings("SimplifiableIfStatement")
-  private boolean process(JsonObject obj) throws JsonSyntaxException, ParseException {
-    String type = obj.get(JSON_TYPE).getAsString();
-    if (TYPE_TEST_START.equals(type)) {
-      return handleTestStart(obj);
-    }
-    else if (TYPE_TEST_DONE.equals(type)) {
-      return handleTestDone(obj);
-    }
-    else if (TYPE_ERROR.equals(type)) {
-      return handleError(obj);
-    }
-    else if (TYPE_PRINT.equals(type)) {
-      return handlePrint(obj);
-    }
-    else if (TYPE_GROUP.equals(type)) {
-      return handleGroup(obj);
-    }
-    else if (TYPE_SUITE.equals(type)) {
-      return handleSuite(obj);
-    }
-    else if (TYPE_ALL_SUITES.equals(type)) {
-      return handleAllSuites(obj);
-    }
-    else if (TYPE_START.equals(type)) {
-      return handleStart(obj);
-    }
-    else if (TYPE_DONE.equals(type)) {
-      return handleDone(obj);
-    }
-    else {
-      return true;
-    }
-  }
-
-  private boolean handleTestStart(JsonObject obj) throws ParseException {
-    final JsonObject testObj = obj.getAsJsonObject(DEF_TEST);
-
-    // Not reached if testObj == null.
-    final Test test = getTest(obj);
-    myTestIdToTimestamp.put(test.getId(), getTimestamp(obj));
+  private boolean process(DartTestEventDecoder.Event event) throws ParseException {
+    switch (event.type) {
+      case DartTestEventDecoder.TYPE_TEST_START:
+        return handleTestStart(event);
+      case DartTestEventDecoder.TYPE_TEST_DONE:
+        return handleTestDone(event);
+      case DartTestEventDecoder.TYPE_ERROR:
+        return handleError(event);
+      case DartTestEventDecoder.TYPE_PRINT:
+        return handlePrint(event);
+      case DartTestEventDecoder.TYPE_GROUP:
+        return handleGroup(event);
+      case DartTestEventDecoder.TYPE_SUITE:
+        return handleSuite(event);
+      case DartTestEventDecoder.TYPE_ALL_SUITES:
+        return handleAllSuites(event);
+      case DartTestEventDecoder.TYPE_START:
+        return handleStart(event);
+      case DartTestEventDecoder.TYPE_DONE:
+        return handleDone(event);
+      default:
+        return true;
+    }
+  }
+
+  private boolean handleTestStart(DartTestEventDecoder.Event event) throws ParseException {
+    final Test test = getTest(event);
+    myTestIdToTimestamp.put(test.getId(), getTimestamp(event));
 
     if (shouldTestBeHiddenIfPassed(test)) {
       // Virtual test that represents loading or compiling a test suite. See lib/src/runner/loader.dart -> Loader.loadFile() in pkg/test source code
@@ -223,7 +190,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     addLocationHint(testStarted, test);
     boolean result = finishMessage(testStarted, test.getId(), test.getValidParentId());
 
-    final Metadata metadata = Metadata.from(testObj.getAsJsonObject(DEF_METADATA));
+    final Metadata metadata = test.getMetadata();
     if (metadata.skip) {
       final ServiceMessageBuilder message = ServiceMessageBuilder.testIgnored(test.getBaseName());
       if (metadata.skipReason != null) message.addAttribute("message", metadata.skipReason);
@@ -251,14 +218,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
            group != null && group.getDoneTestsCount() > 0 && test.getBaseName().equals(TEAR_DOWN_ALL_VIRTUAL_TEST_NAME);
   }
 
-  private boolean handleTestDone(JsonObject obj) throws ParseException {
-    final Test test = getTest(obj);
+  private boolean handleTestDone(DartTestEventDecoder.Event event) throws ParseException {
+    final Test test = getTest(event);
 
     if (!test.myTestStartReported) return true;
 
-    String result = getResult(obj);
+    String result = getResult(event);
     if (!result.equals(RESULT_SUCCESS) && !result.equals(RESULT_FAILURE) && !result.equals(RESULT_ERROR)) {
-      throw new ParseException("Unknown result: " + obj, 0);
+      throw new ParseException("Unknown result: " + result, 0);
     }
 
     test.testDone();
@@ -266,7 +233,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     //if (test.getMetadata().skip) return true; // skipped tests are reported as ignored in handleTestStart(). testFinished signal must follow
 
     ServiceMessageBuilder testFinished = ServiceMessageBuilder.testFinished(test.getBaseName());
-    long duration = getTimestamp(obj) - myTestIdToTimestamp.get(test.getId());
+    long duration = getTimestamp(event) - myTestIdToTimestamp.get(test.getId());
     testFinished.addAttribute("duration", Long.toString(duration));
 
     return finishMessage(testFinished, test.getId(), test.getValidParentId()) && checkGroupDone(test.getParent());
@@ -280,8 +247,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return true;
   }
 
-  private boolean handleGroup(JsonObject obj) throws ParseException {
-    final Group group = getGroup(obj.getAsJsonObject(DEF_GROUP));
+  private boolean handleGroup(DartTestEventDecoder.Event event) throws ParseException {
+    final Group group = getGroup(event);
     return handleGroup(group);
   }
 
@@ -303,17 +270,17 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return finishMessage(groupMsg, group.getId(), group.getValidParentId());
   }
 
-  private boolean handleSuite(JsonObject obj) throws ParseException {
-    Suite suite = getSuite(obj.getAsJsonObject(DEF_SUITE));
+  private boolean handleSuite(DartTestEventDecoder.Event event) throws ParseException {
+    Suite suite = getSuite(event);
     if (!suite.hasPath()) {
       mySuiteData.remove(suite.getId());
     }
     return true;
   }
 
-  private boolean handleError(JsonObject obj) throws ParseException {
-    final Test test = getTest(obj);
-    final String message = getErrorMessage(obj);
+  private boolean handleError(DartTestEventDecoder.Event event) throws ParseException {
+    final Test test = getTest(event);
+    final String message = getErrorMessage(event);
     boolean result = true;
 
     if (!test.myTestStartReported) {
@@ -349,13 +316,13 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
         }
       }
 
-      if (!getBoolean(obj, JSON_IS_FAILURE)) testError.addAttribute("error", "true");
+      if (!isFailure(event)) testError.addAttribute("error", "true");
       testError.addAttribute("message", appendLineBreakIfNeeded(failureMessage));
 
       result &= finishMessage(testError, test.getId(), test.getValidParentId());
     }
 
-    final String stackTrace = getStackTrace(obj);
+    final String stackTrace = getStackTrace(event);
     if (!StringUtil.isEmptyOrSpaces(stackTrace)) {
       final ServiceMessageBuilder stackTraceMessage = ServiceMessageBuilder.testStdErr(test.getBaseName());
       stackTraceMessage.addAttribute("out", appendLineBreakIfNeeded(stackTrace));
@@ -370,15 +337,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     return message.endsWith("\n") ? message : message + "\n";
   }
 
-  private boolean handleAllSuites(JsonObject obj) {
-    JsonElement elem = obj.get(JSON_COUNT);
-    if (elem == null || !elem.isJsonPrimitive()) return true;
-    mySuitCount = elem.getAsInt();
+  private boolean handleAllSuites(DartTestEventDecoder.Event event) {
+    if (event.count < 0) return true;
+    mySuitCount = event.count;
     return true;
   }
 
-  private boolean handlePrint(JsonObject obj) throws ParseException {
-    final Test test = getTest(obj);
+  private boolean handlePrint(DartTestEventDecoder.Event event) throws ParseException {
+    final Test test = getTest(event);
     boolean result = true;
 
     if (!test.myTestStartReported) {
@@ -392,12 +358,12 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     }
 
     ServiceMessageBuilder message = ServiceMessageBuilder.testStdOut(test.getBaseName());
-    message.addAttribute("out", appendLineBreakIfNeeded(getMessage(obj)));
+    message.addAttribute("out", appendLineBreakIfNeeded(getMessage(event)));
 
     return result & finishMessage(message, test.getId(), test.getValidParentId());
   }
 
-  private boolean handleStart(JsonObject obj) throws ParseException {
+  private boolean handleStart(DartTestEventDecoder.Event event) throws ParseException {
     myTestIdToTimestamp.clear();
     myTestData.clear();
     myGroupData.clear();
@@ -408,7 +374,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   }
 
   @SuppressWarnings("RedundantThrows")
-  private boolean handleDone(JsonObject obj) throws ParseException {
+  private boolean handleDone(DartTestEventDecoder.Event event) throws ParseException {
     // The test runner has reached the end of the tests.
     processAllTestsDone();
     return true;
@@ -416,7 +382,7 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
 
   private void processAllTestsDone() {
     // All tests are done.
-    for (Group group : myGroupData.values()) {
+    myGroupData.forEachValue(group -> {
       // For package: test prior to v. 0.12.9 there were no Group.testCount field, so need to finish them all at the end.
       // AFAIK the order does not matter. A depth-first post-order traversal of the tree would work
       // if order does matter. Note: Currently, there is no tree representation, just parent links.
@@ -429,7 +395,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
           // ignore it
         }
       }
-    }
+      return true;
+    });
     myTestIdToTimestamp.clear();
     myTestData.clear();
     myGroupData.clear();
@@ -473,101 +440,66 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     messageBuilder.addAttribute("locationHint", location);
   }
 
-  private static long getTimestamp(JsonObject obj) throws ParseException {
-    return getLong(obj, JSON_MILLIS);
+  private static long getTimestamp(DartTestEventDecoder.Event event) throws ParseException {
+    if (event.time == null) throw new ParseException("Value is not type long: null", 0);
+    return event.time;
   }
 
-  private static long getLong(JsonObject obj, String name) throws ParseException {
-    JsonElement val = obj == null ? null : obj.get(name);
-    if (val == null || !val.isJsonPrimitive()) throw new ParseException("Value is not type long: " + val, 0);
-    return val.getAsLong();
-  }
-
-  private static boolean getBoolean(JsonObject obj, String name) throws ParseException {
-    JsonElement val = obj == null ? null : obj.get(name);
-    if (val == null || !val.isJsonPrimitive()) throw new ParseException("Value is not type boolean: " + val, 0);
-    return val.getAsBoolean();
-  }
-
-  @NotNull
-  private Test getTest(JsonObject obj) throws ParseException {
-    return getItem(obj, myTestData);
+  private static boolean isFailure(DartTestEventDecoder.Event event) throws ParseException {
+    if (event.isFailure == null) throw new ParseException("Value is not type boolean: null", 0);
+    return event.isFailure;
   }
 
   @NotNull
-  private Group getGroup(JsonObject obj) throws ParseException {
-    return getItem(obj, myGroupData);
+  private Test getTest(DartTestEventDecoder.Event event) throws ParseException {
+    if (event.testId >= 0) {
+      return myTestData.get(event.testId);
+    }
+    if (!event.hasItem) throw new ParseException("No testId in json object", 0);
+    final Test test = Test.from(getItemData(event), myGroupData, mySuiteData);
+    myTestData.put(test.getId(), test);
+    return test;
   }
 
   @NotNull
-  private Suite getSuite(JsonObject obj) throws ParseException {
-    return getItem(obj, mySuiteData);
+  private Group getGroup(DartTestEventDecoder.Event event) throws ParseException {
+    final Group group = Group.from(getItemData(event), myGroupData, mySuiteData);
+    myGroupData.put(group.getId(), group);
+    return group;
   }
 
   @NotNull
-  private <T extends Item> T getItem(JsonObject obj, Map<Integer, T> items) throws ParseException {
-    if (obj == null) throw new ParseException("Unexpected null json object", 0);
-    T item;
-    JsonElement id = obj.get(JSON_ID);
-    if (id != null) {
-      if (items == myTestData) {
-        @SuppressWarnings("unchecked") T type = (T)Test.from(obj, myGroupData, mySuiteData);
-        item = type;
-      }
-      else if (items == myGroupData) {
-        @SuppressWarnings("unchecked") T group = (T)Group.from(obj, myGroupData, mySuiteData);
-        item = group;
-      }
-      else {
-        @SuppressWarnings("unchecked") T suite = (T)Suite.from(obj);
-        item = suite;
-      }
-      items.put(id.getAsInt(), item);
-    }
-    else {
-      JsonElement testId = obj.get(JSON_TEST_ID);
-      if (testId != null) {
-        int baseId = testId.getAsInt();
-        item = items.get(baseId);
-      }
-      else {
-        JsonElement testObj = obj.get(DEF_TEST);
-        if (testObj != null) {
-          return getItem(testObj.getAsJsonObject(), items);
-        }
-        else {
-          throw new ParseException("No testId in json object", 0);
-        }
-      }
-    }
-    return item;
+  private Suite getSuite(DartTestEventDecoder.Event event) throws ParseException {
+    final Suite suite = Suite.from(getItemData(event));
+    mySuiteData.put(suite.getId(), suite);
+    return suite;
   }
 
   @NotNull
-  private static String getErrorMessage(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_ERROR_MESSAGE, "<no error message>");
+  private static DartTestEventDecoder.ItemData getItemData(DartTestEventDecoder.Event event) throws ParseException {
+    if (!event.hasItem) throw new ParseException("Unexpected null json object", 0);
+    if (!event.item.hasId) throw new ParseException("No testId in json object", 0);
+    return event.item;
   }
 
   @NotNull
-  private static String getMessage(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_MESSAGE, "<no message>");
+  private static String getErrorMessage(DartTestEventDecoder.Event event) {
+    return event.error != null ? event.error : "<no error message>";
   }
 
   @NotNull
-  private static String getStackTrace(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_STACK_TRACE, "<no stack trace>");
+  private static String getMessage(DartTestEventDecoder.Event event) {
+    return event.message != null ? event.message : "<no message>";
   }
 
   @NotNull
-  private static String getResult(JsonObject obj) {
-    return nonNullJsonValue(obj, JSON_RESULT, "<no result>");
+  private static String getStackTrace(DartTestEventDecoder.Event event) {
+    return event.stackTrace != null ? event.stackTrace : "<no stack trace>";
   }
 
   @NotNull
-  private static String nonNullJsonValue(JsonObject obj, @NotNull String id, @NotNull String def) {
-    JsonElement val = obj == null ? null : obj.get(id);
-    if (val == null || !val.isJsonPrimitive()) return def;
-    return val.getAsString();
+  private static String getResult(DartTestEventDecoder.Event event) {
+    return event.result != null ? event.result : "<no result>";
   }
 
   protected static class Item {
@@ -584,30 +516,12 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private final int myLine;
     private final int myColumn;
 
-    static int extractInt(JsonObject obj, String memberName) {
-      JsonElement elem = obj.get(memberName);
-      if (elem == null || !elem.isJsonPrimitive()) return -1;
-      return elem.getAsInt();
-    }
-
-    static String extractString(JsonObject obj, String memberName, String defaultResult) {
-      JsonElement elem = obj.get(memberName);
-      if (elem == null || elem.isJsonNull()) return defaultResult;
-      return elem.getAsString();
-    }
-
-    static Metadata extractMetadata(JsonObject obj) {
-      return Metadata.from(obj.get(DEF_METADATA));
+    static String nameOrDefault(@Nullable String name, String defaultResult) {
+      return name == null ? defaultResult : name;
     }
 
-    static Suite lookupSuite(JsonObject obj, Map<Integer, Suite> suites) {
-      JsonElement suiteObj = obj.get(JSON_SUITE_ID);
-      Suite suite = null;
-      if (suiteObj != null && suiteObj.isJsonPrimitive()) {
-        int parentId = suiteObj.getAsInt();
-        suite = suites.get(parentId);
-      }
-      return suite;
+    static Suite lookupSuite(DartTestEventDecoder.ItemData data, TIntObjectHashMap<Suite> suites) {
+      return data.suiteId >= 0 ? suites.get(data.suiteId) : null;
     }
 
     Item(int id, String name, Group parent, Suite suite, Metadata metadata, int line, int column, String url) {
@@ -733,17 +647,14 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private boolean myTestStartReported = false;
     private boolean myTestErrorReported = false;
 
-    static Test from(JsonObject obj, Map<Integer, Group> groups, Map<Integer, Suite> suites) {
-      int[] groupIds = GSON.fromJson(obj.get(JSON_GROUP_IDS), (Type)int[].class);
-      Group parent = null;
-      if (groupIds != null && groupIds.length > 0) {
-        parent = groups.get(groupIds[groupIds.length - 1]);
-      }
-      Suite suite = lookupSuite(obj, suites);
-      final int line = extractInt(obj, JSON_LINE);
-      final int column = extractInt(obj, JSON_COLUMN);
-      return new Test(extractInt(obj, JSON_ID), extractString(obj, JSON_NAME, NO_NAME), parent, suite, extractMetadata(obj),
-                      line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1, extractString(obj, JSON_URL, null));
+    static Test from(DartTestEventDecoder.ItemData data, TIntObjectHashMap<Group> groups, TIntObjectHashMap<Suite> suites) {
+      final int groupId = data.getLastGroupId();
+      Group parent = groupId >= 0 ? groups.get(groupId) : null;
+      Suite suite = lookupSuite(data, suites);
+      final int line = data.line;
+      final int column = data.column;
+      return new Test(data.id, nameOrDefault(data.name, NO_NAME), parent, suite, Metadata.from(data),
+                      line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1, data.url);
     }
 
     Test(int id, String name, Group parent, Suite suite, Metadata metadata, int line, int column, String url) {
@@ -761,19 +672,13 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     private int myTestCount = 0;
     private int myDoneTestsCount = 0;
 
-    static Group from(JsonObject obj, Map<Integer, Group> groups, Map<Integer, Suite> suites) {
-      JsonElement parentObj = obj.get(JSON_PARENT_ID);
-      Group parent = null;
-      if (parentObj != null && parentObj.isJsonPrimitive()) {
-        int parentId = parentObj.getAsInt();
-        parent = groups.get(parentId);
-      }
-      Suite suite = lookupSuite(obj, suites);
-      final int line = extractInt(obj, JSON_LINE);
-      final int column = extractInt(obj, JSON_COLUMN);
-      return new Group(extractInt(obj, JSON_ID), extractString(obj, JSON_NAME, NO_NAME), parent, suite, extractMetadata(obj),
-                       extractInt(obj, JSON_TEST_COUNT), line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1,
-                       extractString(obj, JSON_URL, null));
+    static Group from(DartTestEventDecoder.ItemData data, TIntObjectHashMap<Group> groups, TIntObjectHashMap<Suite> suites) {
+      Group parent = data.parentId >= 0 ? groups.get(data.parentId) : null;
+      Suite suite = lookupSuite(data, suites);
+      final int line = data.line;
+      final int column = data.column;
+      return new Group(data.id, nameOrDefault(data.name, NO_NAME), parent, suite, Metadata.from(data),
+                       data.testCount, line < 0 ? -1 : line - 1, column < 0 ? -1 : column - 1, data.url);
     }
 
     Group(int id, String name, Group parent, Suite suite, Metadata metadata, int count, int line, int column, String url) {
@@ -802,8 +707,8 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
     static Metadata NoMetadata = new Metadata();
     static String NONE = "<none>";
 
-    static Suite from(JsonObject obj) {
-      return new Suite(extractInt(obj, JSON_ID), extractString(obj, JSON_PATH, NONE), extractString(obj, JSON_PLATFORM, NONE));
+    static Suite from(DartTestEventDecoder.ItemData data) {
+      return new Suite(data.id, nameOrDefault(data.path, NONE), nameOrDefault(data.platform, NONE));
     }
 
     private final String myPlatform;
@@ -828,12 +733,20 @@ public class DartTestEventsConverterZ extends OutputToGeneralTestEventsConverter
   }
 
   private static class Metadata {
-    @SuppressWarnings("unused") private boolean skip; // assigned by GSON via reflection
-    @SuppressWarnings("unused") private String skipReason; // assigned by GSON via reflection
+    private final boolean skip;
+    private final String skipReason;
+
+    Metadata() {
+      this(false, null);
+    }
+
+    Metadata(boolean skip, String skipReason) {
+      this.skip = skip;
+      this.skipReason = skipReason;
+    }
 
-    static Metadata from(JsonElement elem) {
-      if (elem == null) return new Metadata();
-      return GSON.fromJson(elem, (Type)Metadata.class);
+    static Metadata from(DartTestEventDecoder.ItemData data) {
+      return new Metadata(data.skip, data.skipReason);
     }
   }
 }
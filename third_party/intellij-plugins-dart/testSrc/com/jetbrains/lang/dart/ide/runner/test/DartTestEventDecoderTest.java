@@ -0,0 +1,152 @@
+package com.jetbrains.lang.dart.ide.runner.test;
+
+import com.google.gson.JsonSyntaxException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DartTestEventDecoderTest {
+  private static final String TEST_START =
+    "{\"test\":{\"id\":4,\"name\":\"counter increments\",\"suiteID\":0,\"groupIDs\":[2,3],\"metadata\":{\"skip\":true," +
+    "\"skipReason\":\"flaky\"},\"line\":12,\"column\":5,\"url\":\"file:///app/test/counter_test.dart\"},\"type\":\"testStart\"," +
+    "\"time\":1042}";
+
+  @Test
+  public void peeksTypeWithoutParsing() {
+    assertEquals(DartTestEventDecoder.TYPE_TEST_START, DartTestEventDecoder.peekType(TEST_START));
+    assertEquals(DartTestEventDecoder.TYPE_TEST_DONE, DartTestEventDecoder.peekType("{\"testID\":4,\"type\":\"testDone\"}"));
+    assertEquals(DartTestEventDecoder.TYPE_UNHANDLED, DartTestEventDecoder.peekType("{\"type\":\"debug\",\"time\":1}"));
+    assertEquals(DartTestEventDecoder.TYPE_NONE, DartTestEventDecoder.peekType("{\"event\":\"test.startedProcess\"}"));
+    // Quotes in strings are escaped, so a type in a printed message is not mistaken for the event type.
+    assertEquals(DartTestEventDecoder.TYPE_PRINT,
+                 DartTestEventDecoder.peekType("{\"message\":\"{\\\"type\\\":\\\"done\\\"}\",\"type\":\"print\"}"));
+  }
+
+  @Test
+  public void peeksTypeWithWhitespace() {
+    assertEquals(DartTestEventDecoder.TYPE_DONE, DartTestEventDecoder.peekType("{ \"success\" : true, \"type\" : \"done\" }"));
+    assertEquals(DartTestEventDecoder.TYPE_TEST_DONE,
+                 DartTestEventDecoder.peekType("{\n  \"testID\": 4,\n  \"type\":\t\"testDone\"\n}"));
+  }
+
+  @Test
+  public void peeksOnlyTopLevelType() {
+    // The nested type comes first, but belongs to the test, not the event.
+    assertEquals(DartTestEventDecoder.TYPE_TEST_START,
+                 DartTestEventDecoder.peekType("{\"test\":{\"type\":\"done\",\"tags\":[{\"type\":\"error\"}]},\"type\":\"testStart\"}"));
+    assertEquals(DartTestEventDecoder.TYPE_NONE, DartTestEventDecoder.peekType("{\"test\":{\"type\":\"done\"}}"));
+    // A string value equal to "type" is not a member name.
+    assertEquals(DartTestEventDecoder.TYPE_PRINT,
+                 DartTestEventDecoder.peekType("{\"message\":\"type\",\"type\":\"print\"}"));
+  }
+
+  @Test
+  public void decodesTestStart() {
+    final DartTestEventDecoder.Event event = new DartTestEventDecoder().decode(TEST_START);
+    assertEquals(DartTestEventDecoder.TYPE_TEST_START, event.type);
+    assertEquals(Long.valueOf(1042), event.time);
+    assertEquals(-1, event.testId);
+    assertTrue(event.hasItem);
+
+    final DartTestEventDecoder.ItemData test = event.item;
+    assertEquals(4, test.id);
+    assertEquals("counter increments", test.name);
+    assertEquals(0, test.suiteId);
+    assertEquals(3, test.getLastGroupId());
+    assertEquals(12, test.line);
+    assertEquals(5, test.column);
+    assertEquals("file:///app/test/counter_test.dart", test.url);
+    assertTrue(test.skip);
+    assertEquals("flaky", test.skipReason);
+  }
+
+  @Test
+  public void resetsEventBetweenDecodes() {
+    final DartTestEventDecoder decoder = new DartTestEventDecoder();
+    decoder.decode(TEST_START);
+    final DartTestEventDecoder.Event event =
+      decoder.decode("{\"testID\":4,\"error\":\"boom\",\"stackTrace\":null,\"isFailure\":false,\"type\":\"error\",\"time\":1050}");
+    assertEquals(DartTestEventDecoder.TYPE_ERROR, event.type);
+    assertEquals(4, event.testId);
+    assertEquals("boom", event.error);
+    assertNull(event.stackTrace);
+    assertEquals(Boolean.FALSE, event.isFailure);
+    assertFalse(event.hasItem);
+    assertEquals(-1, event.item.getLastGroupId());
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void rejectsTrailingText() {
+    new DartTestEventDecoder().decode("{\"type\":\"done\"} 00:01 +1: All tests passed!");
+  }
+
+  /**
+   * Replays the machine log of a 20k test run, decoding each event the way the converter does.
+   */
+  @Test
+  public void replaysLargeMachineLog() {
+    final int suites = 20;
+    final int testsPerSuite = 1000;
+    final List<String> log = createMachineLog(suites, testsPerSuite);
+    final DartTestEventDecoder decoder = new DartTestEventDecoder();
+
+    final int[] counts = new int[DartTestEventDecoder.TYPE_TEST_DONE + 1];
+    for (String line : log) {
+      final int type = DartTestEventDecoder.peekType(line);
+      assertTrue(line, type > DartTestEventDecoder.TYPE_NONE);
+      assertEquals(line, type, decoder.decode(line).type);
+      counts[type]++;
+    }
+    assertEquals(1, counts[DartTestEventDecoder.TYPE_START]);
+    assertEquals(1, counts[DartTestEventDecoder.TYPE_ALL_SUITES]);
+    assertEquals(suites, counts[DartTestEventDecoder.TYPE_SUITE]);
+    assertEquals(suites, counts[DartTestEventDecoder.TYPE_GROUP]);
+    assertEquals(suites * testsPerSuite, counts[DartTestEventDecoder.TYPE_TEST_START]);
+    assertEquals(suites * testsPerSuite / 10, counts[DartTestEventDecoder.TYPE_PRINT]);
+    assertEquals(suites * testsPerSuite / 100, counts[DartTestEventDecoder.TYPE_ERROR]);
+    assertEquals(suites * testsPerSuite, counts[DartTestEventDecoder.TYPE_TEST_DONE]);
+    assertEquals(1, counts[DartTestEventDecoder.TYPE_DONE]);
+  }
+
+  /**
+   * Returns the events of a <code>flutter test --machine</code> run of suites with one group of tests each.
+   */
+  private static List<String> createMachineLog(int suites, int testsPerSuite) {
+    final List<String> log = new ArrayList<>();
+    int time = 0;
+    int nextId = 0;
+    log.add("{\"protocolVersion\":\"0.1.0\",\"runnerVersion\":null,\"type\":\"start\",\"time\":0}");
+    log.add("{\"count\":" + suites + ",\"type\":\"allSuites\",\"time\":" + time++ + "}");
+    for (int s = 0; s < suites; s++) {
+      final int suiteId = nextId++;
+      final String path = "/app/test/suite_" + s + "_test.dart";
+      log.add("{\"suite\":{\"id\":" + suiteId + ",\"platform\":\"vm\",\"path\":\"" + path + "\"},\"type\":\"suite\",\"time\":" +
+              time++ + "}");
+      final int rootGroupId = nextId++;
+      log.add("{\"group\":{\"id\":" + rootGroupId + ",\"suiteID\":" + suiteId + ",\"parentID\":null,\"name\":null,\"metadata\":" +
+              "{\"skip\":false,\"skipReason\":null},\"testCount\":" + testsPerSuite + ",\"line\":null,\"column\":null,\"url\":null}," +
+              "\"type\":\"group\",\"time\":" + time++ + "}");
+      for (int t = 0; t < testsPerSuite; t++) {
+        final int testId = nextId++;
+        log.add("{\"test\":{\"id\":" + testId + ",\"name\":\"widget " + t + " renders\",\"suiteID\":" + suiteId + ",\"groupIDs\":[" +
+                rootGroupId + "],\"metadata\":{\"skip\":false,\"skipReason\":null},\"line\":" + (t + 10) +
+                ",\"column\":3,\"url\":\"file://" + path + "\"},\"type\":\"testStart\",\"time\":" + time++ + "}");
+        if (t % 10 == 0) {
+          log.add("{\"testID\":" + testId + ",\"messageType\":\"print\",\"message\":\"pumped frame " + t +
+                  "\",\"type\":\"print\",\"time\":" + time++ + "}");
+        }
+        if (t % 100 == 0) {
+          log.add("{\"testID\":" + testId + ",\"error\":\"Expected: <1>\\n  Actual: <0>\\n\",\"stackTrace\":\"package:test " +
+                  "expect\\n" + path + " 12:5  main.<fn>\\n\",\"isFailure\":true,\"type\":\"error\",\"time\":" + time++ + "}");
+        }
+        log.add("{\"testID\":" + testId + ",\"result\":\"" + (t % 100 == 0 ? "failure" : "success") +
+                "\",\"skipped\":false,\"hidden\":false,\"type\":\"testDone\",\"time\":" + time++ + "}");
+      }
+    }
+    log.add("{\"success\":false,\"type\":\"done\",\"time\":" + time + "}");
+    return log;
+  }
+}
@@ -0,0 +1,140 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:io';
+
+/// Compiles resources/flutter/colors.properties and icons.properties into a
+/// Java index so that the editor does not parse properties at runtime.
+void main() {
+  Map<String, String> colors =
+      _readProperties(new File('resources/flutter/colors.properties'));
+  Map<String, String> iconProperties =
+      _readProperties(new File('resources/flutter/icons.properties'));
+
+  List<String> colorNames = colors.keys.toList()..sort();
+
+  // icons.properties maps 'codepoint.codepoint' to a name and the name to
+  // '/flutter/icons/category/name.png'.
+  Map<int, String> codePoints = <int, String>{};
+  Map<String, String> iconCategories = <String, String>{};
+  iconProperties.forEach((String key, String value) {
+    if (key.endsWith('.codepoint')) {
+      codePoints[int.parse(key.substring(0, key.length - '.codepoint'.length),
+          radix: 16)] = value;
+    } else {
+      iconCategories[key] = value.split('/')[3];
+    }
+  });
+  List<String> iconNames = iconCategories.keys.toList()..sort();
+  List<String> categories = iconCategories.values.toSet().toList()..sort();
+  List<int> sortedCodePoints = codePoints.keys.toList()..sort();
+
+  StringBuffer buf = new StringBuffer();
+  buf.writeln('/*');
+  buf.writeln(' * Copyright 2018 The Chromium Authors. All rights reserved.');
+  buf.writeln(
+      ' * Use of this source code is governed by a BSD-style license that can be');
+  buf.writeln(' * found in the LICENSE file.');
+  buf.writeln(' */');
+  buf.writeln('package io.flutter.editor;');
+  buf.writeln();
+  buf.writeln('// Generated file - do not edit.');
+  buf.writeln('// Compiled from resources/flutter/colors.properties and '
+      'icons.properties by tool/editor/material_index_main.dart.');
+  buf.writeln();
+  buf.writeln('/**');
+  buf.writeln(' * Precompiled index of the material colors and icons.');
+  buf.writeln(' */');
+  buf.writeln('final class MaterialIndex {');
+  buf.writeln('  private MaterialIndex() {');
+  buf.writeln('  }');
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln(
+      '   * Names of the material colors relative to Colors, sorted for binary search.');
+  buf.writeln('   */');
+  _writeStrings(buf, 'COLOR_NAMES', colorNames);
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln('   * ARGB value of each color in COLOR_NAMES.');
+  buf.writeln('   */');
+  _writeNumbers(buf, 'int', 'COLOR_VALUES',
+      colorNames.map((name) => '0x${colors[name]}').toList());
+  buf.writeln();
+  _writeStrings(buf, 'ICON_CATEGORIES', categories);
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln(
+      '   * Names of the material icons relative to Icons, sorted for binary search.');
+  buf.writeln('   */');
+  _writeStrings(buf, 'ICON_NAMES', iconNames);
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln(
+      '   * Index into ICON_CATEGORIES of each icon in ICON_NAMES. The image for an icon is');
+  buf.writeln('   * /flutter/icons/&lt;category&gt;/&lt;name&gt;.png.');
+  buf.writeln('   */');
+  _writeNumbers(
+      buf,
+      'byte',
+      'ICON_CATEGORY',
+      iconNames
+          .map((name) => '${categories.indexOf(iconCategories[name])}')
+          .toList());
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln('   * Code points of the material icons, sorted for binary search.');
+  buf.writeln('   */');
+  _writeNumbers(
+      buf,
+      'int',
+      'ICON_CODE_POINTS',
+      sortedCodePoints
+          .map((codePoint) => '0x${codePoint.toRadixString(16)}')
+          .toList());
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln('   * Index into ICON_NAMES of each code point in ICON_CODE_POINTS.');
+  buf.writeln('   */');
+  _writeNumbers(
+      buf,
+      'short',
+      'ICON_CODE_POINT_NAMES',
+      sortedCodePoints
+          .map((codePoint) => '${iconNames.indexOf(codePoints[codePoint])}')
+          .toList());
+  buf.writeln('}');
+
+  File outFile = new File('src/io/flutter/editor/MaterialIndex.java');
+  outFile.writeAsStringSync(buf.toString());
+  print('Wrote ${outFile.path}.');
+}
+
+Map<String, String> _readProperties(File file) {
+  Map<String, String> properties = <String, String>{};
+  for (String line in file.readAsLinesSync()) {
+    line = line.trim();
+    if (line.isEmpty || line.startsWith('#')) continue;
+    int index = line.indexOf('=');
+    properties[line.substring(0, index)] = line.substring(index + 1);
+  }
+  return properties;
+}
+
+void _writeStrings(StringBuffer buf, String name, List<String> values) {
+  buf.writeln('  static final String[] ${name} = {');
+  for (String value in values) {
+    buf.writeln('    "${value}",');
+  }
+  buf.writeln('  };');
+}
+
+void _writeNumbers(
+    StringBuffer buf, String type, String name, List<String> values) {
+  buf.writeln('  static final ${type}[] ${name} = {');
+  for (int i = 0; i < values.length; i += 8) {
+    buf.writeln('    ${values.skip(i).take(8).join(', ')},');
+  }
+  buf.writeln('  };');
+}
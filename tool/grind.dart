@@ -10,7 +10,7 @@ import 'package:grinder/grinder.dart';
 main(List<String> args) => grind(args);
 
 @Task()
-@Depends(colors, icons)
+@Depends(colors, icons, materialIndex, widgets)
 generate() => null;
 
 @Task('Generate Flutter color information')
@@ -57,3 +57,17 @@ icons() async {
   // Run tool/icons/icons_main.dart.
   await Dart.runAsync('tool/icons/icons_main.dart');
 }
+
+@Task('Generate the precompiled widget catalog')
+widgets() async {
+  // Run tool/widgets/widgets_main.dart, which compiles
+  // src/io/flutter/inspector/widgets.json into WidgetCatalogIndex.java.
+  await Dart.runAsync('tool/widgets/widgets_main.dart');
+}
+
+@Task('Generate the precompiled material color and icon index')
+materialIndex() async {
+  // Run tool/editor/material_index_main.dart, which compiles colors.properties
+  // and icons.properties into src/io/flutter/editor/MaterialIndex.java.
+  await Dart.runAsync('tool/editor/material_index_main.dart');
+}
@@ -0,0 +1,92 @@
+// Copyright 2018 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:convert';
+import 'dart:io';
+
+/// Compiles src/io/flutter/inspector/widgets.json into a Java index so that
+/// the plugin does not have to parse the JSON at runtime.
+void main() {
+  File jsonFile = new File('src/io/flutter/inspector/widgets.json');
+  List<Map<String, dynamic>> widgets = new List<Map<String, dynamic>>.from(
+      JSON.decode(jsonFile.readAsStringSync()));
+
+  List<String> categories = _distinct(widgets, 'categories');
+  List<String> subcategories = _distinct(widgets, 'subcategories');
+
+  StringBuffer buf = new StringBuffer();
+  buf.writeln('/*');
+  buf.writeln(' * Copyright 2018 The Chromium Authors. All rights reserved.');
+  buf.writeln(
+      ' * Use of this source code is governed by a BSD-style license that can be');
+  buf.writeln(' * found in the LICENSE file.');
+  buf.writeln(' */');
+  buf.writeln('package io.flutter.inspector;');
+  buf.writeln();
+  buf.writeln('// Generated file - do not edit.');
+  buf.writeln(
+      '// Compiled from widgets.json by tool/widgets/widgets_main.dart.');
+  buf.writeln();
+  buf.writeln('/**');
+  buf.writeln(' * Precompiled index of the widgets in widgets.json.');
+  buf.writeln(' */');
+  buf.writeln('final class WidgetCatalogIndex {');
+  buf.writeln('  private WidgetCatalogIndex() {');
+  buf.writeln('  }');
+  buf.writeln();
+  _writeStrings(buf, 'CATEGORIES', categories);
+  buf.writeln();
+  _writeStrings(buf, 'SUBCATEGORIES', subcategories);
+  buf.writeln();
+  _writeStrings(buf, 'NAMES',
+      widgets.map((widget) => widget['name'] as String).toList());
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln('   * Indexes into CATEGORIES for each widget in NAMES.');
+  buf.writeln('   */');
+  _writeIndexes(buf, 'WIDGET_CATEGORIES', widgets, 'categories', categories);
+  buf.writeln();
+  buf.writeln('  /**');
+  buf.writeln('   * Indexes into SUBCATEGORIES for each widget in NAMES.');
+  buf.writeln('   */');
+  _writeIndexes(
+      buf, 'WIDGET_SUBCATEGORIES', widgets, 'subcategories', subcategories);
+  buf.writeln('}');
+
+  File outFile = new File('src/io/flutter/inspector/WidgetCatalogIndex.java');
+  outFile.writeAsStringSync(buf.toString());
+  print('Wrote ${outFile.path}.');
+}
+
+List<String> _distinct(List<Map<String, dynamic>> widgets, String key) {
+  Set<String> values = new Set<String>();
+  for (Map<String, dynamic> widget in widgets) {
+    values.addAll(_stringList(widget, key));
+  }
+  return values.toList()..sort();
+}
+
+List<String> _stringList(Map<String, dynamic> widget, String key) {
+  return widget[key] == null
+      ? <String>[]
+      : new List<String>.from(widget[key] as List);
+}
+
+void _writeStrings(StringBuffer buf, String name, List<String> values) {
+  buf.writeln('  static final String[] ${name} = {');
+  for (String value in values) {
+    buf.writeln('    ${JSON.encode(value)},');
+  }
+  buf.writeln('  };');
+}
+
+void _writeIndexes(StringBuffer buf, String name,
+    List<Map<String, dynamic>> widgets, String key, List<String> values) {
+  buf.writeln('  static final byte[][] ${name} = {');
+  for (Map<String, dynamic> widget in widgets) {
+    List<String> widgetValues = _stringList(widget, key);
+    buf.writeln('    {${widgetValues.map(values.indexOf).join(', ')}},');
+  }
+  buf.writeln('  };');
+}